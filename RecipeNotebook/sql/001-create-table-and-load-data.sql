@@ -33,10 +33,16 @@ CREATE TABLE recipes (
   favorite BOOLEAN NOT NULL DEFAULT FALSE,
   created_at DATETIME,
   updated_at DATETIME,
+  version INT NOT NULL DEFAULT 0,
   PRIMARY KEY(id),
   FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+CREATE INDEX idx_recipes_user_id_created_at_id ON recipes (user_id, created_at, id);
+CREATE INDEX idx_recipes_user_id_updated_at ON recipes (user_id, updated_at);
+CREATE INDEX idx_recipes_image_path ON recipes (image_path);
+CREATE FULLTEXT INDEX ft_recipes_name ON recipes (name) WITH PARSER ngram;
+
 INSERT INTO recipes (user_id, name, image_path, recipe_source, servings, remark, favorite, created_at, updated_at)
 VALUES
 (1, '卵焼き', '/images/tamagoyaki.jpg', null, '2人前', '基本的な卵焼きのレシピ。', FALSE,'2024-09-22 17:00:00', '2024-10-22 17:00:00'),
@@ -56,6 +62,8 @@ CREATE TABLE ingredients (
   FOREIGN KEY (recipe_id) REFERENCES recipes(id) ON DELETE CASCADE
 );
 
+CREATE FULLTEXT INDEX ft_ingredients_name ON ingredients (name) WITH PARSER ngram;
+
 INSERT INTO ingredients (recipe_id, name, quantity, arrange)
 VALUES
 (1, '卵', '3個', FALSE), (1, 'サラダ油', '適量', FALSE), (1, '醤油', '大さじ1/2', FALSE), (1, '砂糖', '大さじ1', FALSE),
@@ -110,10 +118,13 @@ DROP TABLE IF EXISTS recipe_categories;
 CREATE TABLE recipe_categories (
   recipe_id INT NOT NULL,
   category_id INT NOT NULL,
+  PRIMARY KEY(recipe_id, category_id),
   FOREIGN KEY (recipe_id) REFERENCES recipes(id) ON DELETE CASCADE,
   FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE CASCADE
 );
 
+CREATE INDEX idx_recipe_categories_category_id_recipe_id ON recipe_categories (category_id, recipe_id);
+
 INSERT INTO recipe_categories (recipe_id, category_id)
 VALUES (1, 2), (1, 4), (2, 1);
 
@@ -129,7 +140,8 @@ CREATE TABLE nutrition_facts (
   protein DECIMAL(10,1),
   fat DECIMAL(10,1),
   carbohydrates DECIMAL(10,1),
-  sce DECIMAL(10,1)
+  sce DECIMAL(10,1),
+  PRIMARY KEY(food_number)
 );
 
 LOAD DATA INFILE '/var/lib/mysql-files/nutrition_facts.csv'
@@ -139,3 +151,25 @@ OPTIONALLY ENCLOSED BY '"'
 LINES TERMINATED BY '\n'
 IGNORE 1 LINES
 (food_category, food_number, index_number, name, kcal, protein, fat, carbohydrates, sce);
+
+
+DROP TABLE IF EXISTS recipe_nutrition;
+
+CREATE TABLE recipe_nutrition (
+  recipe_id INT NOT NULL,
+  servings DECIMAL(5,1),
+  kcal DECIMAL(10,1) NOT NULL,
+  protein DECIMAL(10,1) NOT NULL,
+  fat DECIMAL(10,1) NOT NULL,
+  carbohydrates DECIMAL(10,1) NOT NULL,
+  salt_equivalent DECIMAL(10,1) NOT NULL,
+  serving_kcal DECIMAL(10,1) NOT NULL,
+  serving_protein DECIMAL(10,1) NOT NULL,
+  complete BOOLEAN NOT NULL,
+  calculated_at DATETIME(6) NOT NULL,
+  PRIMARY KEY(recipe_id),
+  FOREIGN KEY (recipe_id) REFERENCES recipes(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_recipe_nutrition_serving_kcal ON recipe_nutrition (serving_kcal);
+CREATE INDEX idx_recipe_nutrition_serving_protein ON recipe_nutrition (serving_protein);
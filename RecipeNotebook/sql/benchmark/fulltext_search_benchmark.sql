@@ -0,0 +1,74 @@
+-- レシピ名・材料名検索のベンチマーク（LIKE と FULLTEXT(ngram) + LIKE の比較）
+-- 初期化スクリプトとしては実行されないため、起動済みのコンテナで手動で実行する
+--   docker exec -i docker-mysql-recipe-notebook mysql -uroot -ppassword RecipeNotebook < sql/benchmark/fulltext_search_benchmark.sql
+-- ベンチマーク用ユーザーに10万件のレシピと50万件の材料を登録し、同じ検索条件をEXPLAIN ANALYZEで比較する
+-- 実行後はベンチマーク用ユーザーを削除する（レシピと材料はデリートカスケードで削除される）
+
+SET SESSION cte_max_recursion_depth = 100000;
+
+INSERT INTO users (username, password, email, role, enabled, created_at, updated_at)
+VALUES ('benchmark', 'benchmark', 'benchmark@example.com', 'USER', TRUE, NOW(), NOW());
+SET @benchmark_user_id = LAST_INSERT_ID();
+
+INSERT INTO recipes (user_id, name, servings, created_at, updated_at)
+WITH RECURSIVE seq (n) AS (
+  SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 100000
+)
+SELECT @benchmark_user_id,
+  CONCAT(ELT(1 + n % 8, '卵焼き', '目玉焼き', 'ナポリタン', '肉味噌', '親子丼', '味噌汁', '野菜炒め', 'カレー'),
+    '（アレンジ', n, '）'),
+  '2人前',
+  TIMESTAMP('2024-01-01 00:00:00') + INTERVAL n MINUTE,
+  TIMESTAMP('2024-01-01 00:00:00') + INTERVAL n MINUTE
+FROM seq;
+
+INSERT INTO ingredients (recipe_id, name, quantity)
+WITH RECURSIVE seq (n) AS (
+  SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 5
+)
+SELECT r.id,
+  ELT(1 + (r.id + seq.n * 7) % 12, '卵', 'サラダ油', '醤油', '砂糖', '玉ねぎ', '豚ひき肉', 'ピーマン',
+    'ケチャップ', '味噌', '人参', 'じゃがいも', 'しょうが'),
+  '適量'
+FROM recipes r CROSS JOIN seq
+WHERE r.user_id = @benchmark_user_id;
+
+ANALYZE TABLE recipes, ingredients;
+
+-- レシピ名検索：LIKEのみ（変更前）
+EXPLAIN ANALYZE
+SELECT * FROM recipes
+WHERE user_id = @benchmark_user_id
+  AND (name LIKE CONCAT('%', 'ナポリ', '%') AND name LIKE CONCAT('%', 'アレンジ', '%'))
+ORDER BY created_at ASC, id ASC
+LIMIT 31;
+
+-- レシピ名検索：FULLTEXTで絞り込み、LIKEで判定（変更後）
+EXPLAIN ANALYZE
+SELECT * FROM recipes
+WHERE user_id = @benchmark_user_id
+  AND MATCH(name) AGAINST('+"ナポリ" +"アレンジ"' IN BOOLEAN MODE)
+  AND (name LIKE CONCAT('%', 'ナポリ', '%') AND name LIKE CONCAT('%', 'アレンジ', '%'))
+ORDER BY created_at ASC, id ASC
+LIMIT 31;
+
+-- 材料名検索：LIKEのみ（変更前）
+EXPLAIN ANALYZE
+SELECT i.recipe_id FROM ingredients i
+JOIN recipes r ON r.id = i.recipe_id
+WHERE r.user_id = @benchmark_user_id
+  AND (i.name LIKE CONCAT('%', 'ひき肉', '%') OR i.name LIKE CONCAT('%', 'ケチャップ', '%'))
+GROUP BY i.recipe_id
+HAVING COUNT(DISTINCT i.name) >= 2;
+
+-- 材料名検索：FULLTEXTで絞り込み、LIKEで判定（変更後）
+EXPLAIN ANALYZE
+SELECT i.recipe_id FROM ingredients i
+JOIN recipes r ON r.id = i.recipe_id
+WHERE r.user_id = @benchmark_user_id
+  AND MATCH(i.name) AGAINST('"ひき肉" "ケチャップ"' IN BOOLEAN MODE)
+  AND (i.name LIKE CONCAT('%', 'ひき肉', '%') OR i.name LIKE CONCAT('%', 'ケチャップ', '%'))
+GROUP BY i.recipe_id
+HAVING COUNT(DISTINCT i.name) >= 2;
+
+DELETE FROM users WHERE id = @benchmark_user_id;
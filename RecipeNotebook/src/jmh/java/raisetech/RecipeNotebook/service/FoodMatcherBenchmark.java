@@ -0,0 +1,132 @@
+package raisetech.RecipeNotebook.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import raisetech.RecipeNotebook.data.NutritionFact;
+
+/**
+ * 材料名10,000件から食品を検索する一括処理のベンチマークです。
+ * 食品は日本食品標準成分表のCSV（sql/csv/nutrition_facts.csv）を使用し、材料名は食品名の語にグループの記号や表記の揺れを加えて生成します。
+ * 索引を使った検索（記憶なし・記憶あり）と、全食品の語を走査してDice係数を求める方法を比較します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FoodMatcherBenchmark {
+
+  private static final String[] GROUP_PREFIXES = {"", "", "A", "B", "☆", "(A)"};
+
+  @Param("sql/csv/nutrition_facts.csv")
+  private String nutritionFactsCsv;
+
+  @Param("10000")
+  private int batchSize;
+
+  private List<NutritionFact> nutritionFacts;
+
+  private List<String> ingredientNames;
+
+  private List<String[]> foodWordBigrams;
+
+  private FoodMatcher memoizedMatcher;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    nutritionFacts = new ArrayList<>();
+    List<String> lines = Files.readAllLines(Path.of(nutritionFactsCsv), StandardCharsets.UTF_8);
+    for (String line : lines.subList(1, lines.size())) {
+      String[] columns = line.split(",", -1);
+      nutritionFacts.add(new NutritionFact(columns[1], columns[3], Double.parseDouble(columns[4]),
+          0, 0, 0, 0));
+    }
+
+    List<String> words = new ArrayList<>();
+    foodWordBigrams = new ArrayList<>();
+    for (NutritionFact nutritionFact : nutritionFacts) {
+      for (String word : FoodMatcher.wordsOf(nutritionFact.getName())) {
+        words.add(word);
+        foodWordBigrams.add(FoodMatcher.bigramsOf(word));
+      }
+    }
+
+    // 同じ材料名が繰り返し現れるレシピの材料を想定し、語の末尾を欠いたものやグループの記号を付けたものを混ぜる
+    Random random = new Random(42);
+    ingredientNames = new ArrayList<>(batchSize);
+    for (int i = 0; i < batchSize; i++) {
+      String word = words.get(random.nextInt(words.size()));
+      if (random.nextBoolean() && word.length() > 2) {
+        word = word.substring(0, word.length() - 1);
+      }
+      ingredientNames.add(GROUP_PREFIXES[random.nextInt(GROUP_PREFIXES.length)] + word);
+    }
+
+    memoizedMatcher = new FoodMatcher(nutritionFacts, batchSize);
+    ingredientNames.forEach(memoizedMatcher::match);
+  }
+
+  @Benchmark
+  public FoodMatcher buildIndex() {
+    return new FoodMatcher(nutritionFacts, batchSize);
+  }
+
+  @Benchmark
+  public void matchBatch(Blackhole blackhole) {
+    FoodMatcher matcher = new FoodMatcher(nutritionFacts, batchSize);
+    for (String ingredientName : ingredientNames) {
+      blackhole.consume(matcher.match(ingredientName));
+    }
+  }
+
+  @Benchmark
+  public void matchBatchMemoized(Blackhole blackhole) {
+    for (String ingredientName : ingredientNames) {
+      blackhole.consume(memoizedMatcher.match(ingredientName));
+    }
+  }
+
+  @Benchmark
+  public void topMatchesBatch(Blackhole blackhole) {
+    for (String ingredientName : ingredientNames) {
+      blackhole.consume(memoizedMatcher.topMatches(ingredientName, 5));
+    }
+  }
+
+  /**
+   * 索引を使わず、材料名ごとに全食品の語とのDice係数を求める方法です。比較の基準として使用します。
+   */
+  @Benchmark
+  public void linearScanBatch(Blackhole blackhole) {
+    for (String ingredientName : ingredientNames) {
+      List<String> queryBigrams = List.of(
+          FoodMatcher.bigramsOf(FoodMatcher.normalize(ingredientName)));
+      double best = 0;
+      for (String[] bigrams : foodWordBigrams) {
+        int overlap = 0;
+        for (String bigram : bigrams) {
+          if (queryBigrams.contains(bigram)) {
+            overlap++;
+          }
+        }
+        best = Math.max(best, 2.0 * overlap / (queryBigrams.size() + bigrams.length));
+      }
+      blackhole.consume(best);
+    }
+  }
+
+}
@@ -0,0 +1,87 @@
+package raisetech.RecipeNotebook.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import raisetech.RecipeNotebook.data.User;
+import raisetech.RecipeNotebook.exception.ErrorResponse;
+import raisetech.RecipeNotebook.service.ApiTokenService;
+
+/**
+ * AuthorizationヘッダーのBearerトークン（APIトークン）で認証するフィルターです。
+ * トークンが有効な場合は、そのリクエストの間だけ認証済みの状態にします。セッションは作成しません。
+ * トークンが無効な場合は、他の認証方式に進まずに401（Unauthorized）を返します。
+ * Bearerトークンを指定しないリクエストは、フォームログインやBasic認証など他の認証方式で処理します。
+ * SecurityFilterChainにのみ登録するため、コンポーネントとしては登録しません。
+ */
+public class ApiTokenAuthenticationFilter extends OncePerRequestFilter {
+
+  private static final String BEARER_PREFIX = ApiTokenService.TOKEN_TYPE + " ";
+
+  private final ApiTokenService apiTokenService;
+
+  private final ObjectMapper objectMapper;
+
+  public ApiTokenAuthenticationFilter(ApiTokenService apiTokenService,
+      ObjectMapper objectMapper) {
+    this.apiTokenService = apiTokenService;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * リクエストにBearerトークンが指定されているかを判定します。
+   *
+   * @param request リクエスト
+   * @return Bearerトークンが指定されている場合はtrue
+   */
+  public static boolean hasBearerToken(HttpServletRequest request) {
+    String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+    return authorization != null && authorization.startsWith(BEARER_PREFIX);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    if (!hasBearerToken(request)) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    String token = request.getHeader(HttpHeaders.AUTHORIZATION)
+        .substring(BEARER_PREFIX.length()).trim();
+    User user = apiTokenService.verify(token);
+    if (user == null) {
+      SecurityContextHolder.clearContext();
+      writeUnauthorized(response);
+      return;
+    }
+
+    SecurityContext context = SecurityContextHolder.createEmptyContext();
+    context.setAuthentication(
+        UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+    SecurityContextHolder.setContext(context);
+    filterChain.doFilter(request, response);
+  }
+
+  private void writeUnauthorized(HttpServletResponse response) throws IOException {
+    response.setStatus(HttpStatus.UNAUTHORIZED.value());
+    response.setHeader(HttpHeaders.WWW_AUTHENTICATE,
+        ApiTokenService.TOKEN_TYPE + " error=\"invalid_token\"");
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    objectMapper.writeValue(response.getWriter(),
+        new ErrorResponse(HttpStatus.UNAUTHORIZED, "APIトークンが無効または期限切れです"));
+  }
+
+}
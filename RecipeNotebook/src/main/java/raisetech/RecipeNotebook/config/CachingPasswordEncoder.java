@@ -0,0 +1,109 @@
+package raisetech.RecipeNotebook.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * 照合に成功したパスワードを一定時間記憶し、同じパスワードの照合ではBCryptなどの計算を省略するPasswordEncoderです。
+ * 記憶するキーは、起動ごとに生成する秘密鍵によるハッシュ化済みパスワードと入力されたパスワードのHMAC（SHA-256）で、平文のパスワードは保持しません。
+ * ハッシュ化済みパスワードはユーザーごとにソルトが異なるため、キーはユーザーとパスワードの組み合わせごとに異なり、パスワードが変更されると以前の照合結果は使用されなくなります。
+ * 照合に失敗した結果は記憶しません。
+ */
+public class CachingPasswordEncoder implements PasswordEncoder, MeterBinder {
+
+  static final String CACHE_NAME = "verifiedCredentials";
+
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+  private final PasswordEncoder delegate;
+
+  private final Cache<String, Boolean> verifiedCredentials;
+
+  private final SecretKeySpec secretKey;
+
+  public CachingPasswordEncoder(PasswordEncoder delegate, Duration expireAfterWrite,
+      long maximumSize) {
+    this.delegate = delegate;
+    this.verifiedCredentials = Caffeine.newBuilder()
+        .expireAfterWrite(expireAfterWrite)
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build();
+    byte[] key = new byte[32];
+    new SecureRandom().nextBytes(key);
+    this.secretKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return delegate.encode(rawPassword);
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    if (rawPassword == null || encodedPassword == null) {
+      return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    String key = keyOf(rawPassword, encodedPassword);
+    if (verifiedCredentials.getIfPresent(key) != null) {
+      return true;
+    }
+    boolean matched = delegate.matches(rawPassword, encodedPassword);
+    if (matched) {
+      verifiedCredentials.put(key, Boolean.TRUE);
+    }
+    return matched;
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  /**
+   * 記憶している照合結果をすべて破棄します。
+   */
+  public void invalidateAll() {
+    verifiedCredentials.invalidateAll();
+  }
+
+  /**
+   * ヒット・ミス・追い出しの件数を「verifiedCredentials」という名前のキャッシュのメトリクスとして公開します。
+   *
+   * @param registry メトリクスの登録先
+   */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, verifiedCredentials, CACHE_NAME);
+  }
+
+  /**
+   * ハッシュ化済みパスワードと入力されたパスワードからキャッシュのキーを作成します。
+   */
+  private String keyOf(CharSequence rawPassword, String encodedPassword) {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(secretKey);
+      mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+      // 区切り文字を挟み、ハッシュ化済みパスワードと入力されたパスワードの境界を一意にする
+      mac.update((byte) 0);
+      return HexFormat.of().formatHex(
+          mac.doFinal(rawPassword.toString().getBytes(StandardCharsets.UTF_8)));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("パスワードの照合結果のキーを作成できませんでした", e);
+    }
+  }
+
+}
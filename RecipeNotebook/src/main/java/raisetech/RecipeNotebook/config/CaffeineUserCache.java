@@ -0,0 +1,57 @@
+package raisetech.RecipeNotebook.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * 認証時に読み込んだユーザー情報を、ユーザー名をキーに短い時間だけ保持するキャッシュです。
+ * Basic認証のようにリクエストごとに認証する場合に、ユーザーテーブルへの問い合わせを省略します。
+ * 保持期間を過ぎたユーザーは読み込み直すため、データベース上でパスワードや有効フラグを変更した場合も保持期間内に反映されます。
+ * アプリケーションからパスワードや有効フラグを変更する場合は、変更後にremoveUserFromCacheを呼び出してください。
+ */
+public class CaffeineUserCache implements UserCache, MeterBinder {
+
+  static final String CACHE_NAME = "userDetails";
+
+  private final Cache<String, UserDetails> cache;
+
+  public CaffeineUserCache(Duration expireAfterWrite, long maximumSize) {
+    this.cache = Caffeine.newBuilder()
+        .expireAfterWrite(expireAfterWrite)
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build();
+  }
+
+  @Override
+  public UserDetails getUserFromCache(String username) {
+    return cache.getIfPresent(username);
+  }
+
+  @Override
+  public void putUserInCache(UserDetails user) {
+    cache.put(user.getUsername(), user);
+  }
+
+  @Override
+  public void removeUserFromCache(String username) {
+    cache.invalidate(username);
+  }
+
+  /**
+   * ヒット・ミス・追い出しの件数を「userDetails」という名前のキャッシュのメトリクスとして公開します。
+   *
+   * @param registry メトリクスの登録先
+   */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+  }
+
+}
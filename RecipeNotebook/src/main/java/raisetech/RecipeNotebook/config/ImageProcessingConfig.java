@@ -0,0 +1,33 @@
+package raisetech.RecipeNotebook.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 画像の縮小処理に使用するスレッドプールの設定です。
+ */
+@Configuration
+public class ImageProcessingConfig {
+
+  /**
+   * 縮小画像の作成に使用するスレッドプールです。
+   * 画像の縮小はCPUとメモリの負荷が高いため、スレッド数と待ち行列の長さに上限を設けます。
+   * 待ち行列が満杯の場合はRejectedExecutionExceptionをスローし、呼び出し側で作成を見送ります。
+   */
+  @Bean(name = "imageProcessingExecutor")
+  public ThreadPoolTaskExecutor imageProcessingExecutor(
+      @Value("${app.image.processing.pool-size:2}") int poolSize,
+      @Value("${app.image.processing.queue-capacity:100}") int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("image-processing-");
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(30);
+    return executor;
+  }
+
+}
@@ -0,0 +1,28 @@
+package raisetech.RecipeNotebook.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 栄養成分の集計をバックグラウンドで計算するスレッドの設定です。
+ */
+@Configuration
+public class NutritionConfig {
+
+  /**
+   * 栄養成分の集計の一括計算に使用するスレッドです。
+   * 一括計算はデータベースへの問い合わせを伴うため1スレッドで順に実行し、実行中の処理がある場合の予約は1件までとします。
+   * 一括計算は未計算のレシピから再開できるため、アプリケーションの終了時には完了を待ちません。
+   */
+  @Bean(name = "nutritionTaskExecutor")
+  public ThreadPoolTaskExecutor nutritionTaskExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setQueueCapacity(1);
+    executor.setThreadNamePrefix("nutrition-");
+    return executor;
+  }
+
+}
@@ -1,18 +1,25 @@
 package raisetech.RecipeNotebook.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.security.web.savedrequest.HttpSessionRequestCache;
 import raisetech.RecipeNotebook.repository.UserRepository;
+import raisetech.RecipeNotebook.service.ApiTokenService;
 import raisetech.RecipeNotebook.service.CustomUserDetailsService;
 
 @Configuration
@@ -20,9 +27,15 @@ import raisetech.RecipeNotebook.service.CustomUserDetailsService;
 public class SecurityConfig {
 
   @Bean
-  public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+  public SecurityFilterChain securityFilterChain(HttpSecurity http,
+      ApiTokenService apiTokenService, ObjectMapper objectMapper) throws Exception {
     http
-        .csrf(csrf -> csrf.ignoringRequestMatchers("/csrf-token", "/v3/api-docs/**"))
+        // Bearerトークンはブラウザが自動で送信しないため、APIトークンで認証するリクエストはCSRF対策の対象外とする
+        .csrf(csrf -> csrf
+            .ignoringRequestMatchers("/csrf-token", "/v3/api-docs/**", "/api/auth/token")
+            .ignoringRequestMatchers(ApiTokenAuthenticationFilter::hasBearerToken))
+        .addFilterBefore(new ApiTokenAuthenticationFilter(apiTokenService, objectMapper),
+            BasicAuthenticationFilter.class)
         .formLogin(login -> login
             .loginProcessingUrl("/login")
             .loginPage("/login")
@@ -41,7 +54,8 @@ public class SecurityConfig {
         .authorizeHttpRequests(auth -> auth
             .requestMatchers("/csrf-token", "/v3/api-docs/**").permitAll()
             .requestMatchers(PathRequest.toStaticResources().atCommonLocations()).permitAll()
-            .requestMatchers("/login", "/login/guest").permitAll()
+            .requestMatchers("/login", "/login/guest", "/api/auth/token").permitAll()
+            .requestMatchers("/api/admin/**").hasRole("ADMIN")
             .anyRequest().authenticated()
         );
     return http.build();
@@ -52,9 +66,51 @@ public class SecurityConfig {
     return new CustomUserDetailsService(userRepository);
   }
 
+  /**
+   * パスワードの照合に使用するPasswordEncoderです。
+   * BCryptの照合はCPUの負荷が高いため、照合に成功したパスワードを一定時間記憶し、Basic認証などで繰り返し照合する場合の計算を省略します。
+   */
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public CachingPasswordEncoder passwordEncoder(
+      @Value("${app.security.credential-cache.expire-after-write:10m}") Duration expireAfterWrite,
+      @Value("${app.security.credential-cache.maximum-size:10000}") long maximumSize) {
+    return new CachingPasswordEncoder(new BCryptPasswordEncoder(), expireAfterWrite,
+        maximumSize);
+  }
+
+  /**
+   * 認証時に読み込んだユーザー情報のキャッシュです。
+   */
+  @Bean
+  public CaffeineUserCache userCache(
+      @Value("${app.security.user-cache.expire-after-write:30s}") Duration expireAfterWrite,
+      @Value("${app.security.user-cache.maximum-size:10000}") long maximumSize) {
+    return new CaffeineUserCache(expireAfterWrite, maximumSize);
+  }
+
+  /**
+   * フォームログイン・Basic認証で使用する認証処理です。ユーザー情報はキャッシュから取得し、キャッシュにない場合にデータベースから読み込みます。
+   * キャッシュのユーザー情報でパスワードが一致しない場合は、データベースから読み込み直して照合します。
+   */
+  @Bean
+  public DaoAuthenticationProvider authenticationProvider(
+      CustomUserDetailsService customUserDetailsService, PasswordEncoder passwordEncoder,
+      UserCache userCache) {
+    DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
+    authenticationProvider.setUserDetailsService(customUserDetailsService);
+    authenticationProvider.setPasswordEncoder(passwordEncoder);
+    authenticationProvider.setUserCache(userCache);
+    return authenticationProvider;
+  }
+
+  /**
+   * APIトークンの発行・検証に使用するサービスです。署名の鍵を指定しない場合は起動ごとに生成します。
+   */
+  @Bean
+  public ApiTokenService apiTokenService(
+      @Value("${app.security.api-token.secret:}") String secret,
+      @Value("${app.security.api-token.expires-in:1h}") Duration expiresIn) {
+    return new ApiTokenService(secret, expiresIn);
   }
 
   @Bean
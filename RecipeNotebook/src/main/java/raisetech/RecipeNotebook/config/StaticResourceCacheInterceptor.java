@@ -0,0 +1,37 @@
+package raisetech.RecipeNotebook.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 静的リソース（CSS・JavaScript・画像）のキャッシュの制御を設定するインターセプターです。
+ * 内容のハッシュ値を含むURL（例：/js/recipes-{ハッシュ値}.js）は内容が変わらないため、1年間再検証せずに使用できるようにします。
+ * ハッシュ値を含まないURLは内容が変わる可能性があるため、使用のたびに再検証させます（変更がなければ304を返します）。
+ */
+public class StaticResourceCacheInterceptor implements HandlerInterceptor {
+
+  /**
+   * VersionResourceResolverがファイル名に付与するハッシュ値（MD5の16進数32文字）の形式です。
+   */
+  private static final Pattern FINGERPRINTED_PATH = Pattern.compile(".+-[0-9a-f]{32}\\.[^/.]+$");
+
+  static final CacheControl FINGERPRINTED = CacheControl.maxAge(365, TimeUnit.DAYS)
+      .cachePublic().immutable();
+
+  static final CacheControl REVALIDATE = CacheControl.noCache().cachePublic();
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+      Object handler) {
+    CacheControl cacheControl = FINGERPRINTED_PATH.matcher(request.getRequestURI()).matches()
+        ? FINGERPRINTED : REVALIDATE;
+    response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+    return true;
+  }
+
+}
@@ -17,6 +17,7 @@ public class SwaggerConfig {
   public OpenAPI customOpenAPI() {
     return new OpenAPI()
         .addSecurityItem(new SecurityRequirement().addList("basicAuth"))
+        .addSecurityItem(new SecurityRequirement().addList("bearerAuth"))
         .addSecurityItem(new SecurityRequirement().addList("csrfToken"))
         .components(new Components()
             .addSecuritySchemes("basicAuth", new SecurityScheme()
@@ -24,6 +25,11 @@ public class SwaggerConfig {
                 .scheme("basic")
 
             )
+            .addSecuritySchemes("bearerAuth", new SecurityScheme()
+                .type(SecurityScheme.Type.HTTP)
+                .scheme("bearer")
+                .description("POST /api/auth/token で発行したAPIトークン")
+            )
             .addSecuritySchemes("csrfToken", new SecurityScheme()
                 .type(SecurityScheme.Type.APIKEY)
                 .name("X-CSRF-TOKEN")
@@ -1,31 +1,38 @@
 package raisetech.RecipeNotebook.config;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
-  @Value("${app.upload.dir}")
-  private String uploadDir;
-
-  @Value("${app.feature.someClassEnabled:true}")
-  private boolean activeProfile;
-
   @Override
   public void addResourceHandlers(ResourceHandlerRegistry registry) {
-    if (activeProfile) {
-      // /uploads/** へのリクエストを実際のアップロードディレクトリにマッピング
-      registry.addResourceHandler("/uploads/**")
-          .addResourceLocations("file:" + uploadDir);
-    }
-    registry.addResourceHandler("/css/**")
-        .addResourceLocations("classpath:/static/css/");
-    registry.addResourceHandler("/js/**")
-        .addResourceLocations("classpath:/static/js/");
+    // アップロードされた画像（/uploads/**）はUploadControllerで配信する
+    // CSS・JavaScriptはファイル名に内容のハッシュ値を付与したURLで参照する（テンプレートでは@{...}で記述する）
+    // ビルド時に作成したgzip圧縮版があり、ブラウザが対応している場合は圧縮版を返す
+    addVersionedResourceHandler(registry, "/css/**", "classpath:/static/css/");
+    addVersionedResourceHandler(registry, "/js/**", "classpath:/static/js/");
     registry.addResourceHandler("/images/**")
         .addResourceLocations("classpath:/static/images/");
   }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new StaticResourceCacheInterceptor())
+        .addPathPatterns("/css/**", "/js/**", "/images/**");
+  }
+
+  private static void addVersionedResourceHandler(ResourceHandlerRegistry registry,
+      String pathPattern, String location) {
+    registry.addResourceHandler(pathPattern)
+        .addResourceLocations(location)
+        .resourceChain(true)
+        .addResolver(new EncodedResourceResolver())
+        .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+  }
 }
@@ -0,0 +1,58 @@
+package raisetech.RecipeNotebook.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import raisetech.RecipeNotebook.data.User;
+import raisetech.RecipeNotebook.domain.ApiToken;
+import raisetech.RecipeNotebook.domain.ApiTokenRequest;
+import raisetech.RecipeNotebook.exception.AuthenticationCustomException;
+import raisetech.RecipeNotebook.openapi.LoginResponses.ApiTokenResponses;
+import raisetech.RecipeNotebook.service.ApiTokenService;
+
+/**
+ * APIトークンを発行するためのコントローラーです。
+ */
+@RestController
+public class ApiTokenController {
+
+  private final AuthenticationManager authenticationManager;
+
+  private final ApiTokenService apiTokenService;
+
+  @Autowired
+  public ApiTokenController(AuthenticationManager authenticationManager,
+      ApiTokenService apiTokenService) {
+    this.authenticationManager = authenticationManager;
+    this.apiTokenService = apiTokenService;
+  }
+
+  @Operation(
+      summary = "APIトークンの発行",
+      description = "ユーザー名とパスワードで認証し、APIトークンを発行します。"
+          + "以降のリクエストでは、Authorizationヘッダーに「Bearer {accessToken}」を指定すると、セッションやBasic認証なしでAPIを利用できます。"
+          + "Bearerトークンを指定したリクエストではCSRFトークンは不要です。"
+  )
+  @ApiTokenResponses
+  @PostMapping("/api/auth/token")
+  public ResponseEntity<ApiToken> issueToken(@Valid @RequestBody ApiTokenRequest request) {
+    try {
+      Authentication authentication = authenticationManager.authenticate(
+          UsernamePasswordAuthenticationToken.unauthenticated(request.getUsername(),
+              request.getPassword()));
+      return ResponseEntity.ok(apiTokenService.issue((User) authentication.getPrincipal()));
+
+    } catch (AuthenticationException e) {
+      throw new AuthenticationCustomException("ユーザー名またはパスワードが正しくありません");
+    }
+  }
+
+}
@@ -0,0 +1,37 @@
+package raisetech.RecipeNotebook.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import raisetech.RecipeNotebook.data.Category;
+import raisetech.RecipeNotebook.openapi.CategoryResponses.GetCategoriesResponses;
+import raisetech.RecipeNotebook.service.CategorySearchIndex;
+
+/**
+ * レシピのカテゴリーを取得するためのコントローラーです。
+ */
+@RestController
+public class CategoryController {
+
+  private final CategorySearchIndex categorySearchIndex;
+
+  @Autowired
+  public CategoryController(CategorySearchIndex categorySearchIndex) {
+    this.categorySearchIndex = categorySearchIndex;
+  }
+
+  @Operation(
+      summary = "カテゴリー一覧の取得",
+      description = "レシピに付けられるカテゴリーの一覧を取得します。"
+          + "レシピの登録・更新のcategoriesと、レシピ一覧の検索のcategoryIdsには、ここで取得したカテゴリーIDを指定します。"
+  )
+  @GetCategoriesResponses
+  @GetMapping("/api/categories")
+  public ResponseEntity<List<Category>> getCategories() {
+    return ResponseEntity.ok(categorySearchIndex.getCategories());
+  }
+
+}
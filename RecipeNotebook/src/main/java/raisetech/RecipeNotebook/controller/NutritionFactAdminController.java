@@ -0,0 +1,41 @@
+package raisetech.RecipeNotebook.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import raisetech.RecipeNotebook.openapi.NutritionFactAdminResponses.ImportNutritionFactsResponses;
+import raisetech.RecipeNotebook.service.NutritionFactImportService;
+
+/**
+ * 食品の栄養成分を管理するためのコントローラーです。管理者（ADMIN）のみ利用できます。
+ */
+@RestController
+public class NutritionFactAdminController {
+
+  private final NutritionFactImportService nutritionFactImportService;
+
+  @Autowired
+  public NutritionFactAdminController(NutritionFactImportService nutritionFactImportService) {
+    this.nutritionFactImportService = nutritionFactImportService;
+  }
+
+  @Operation(
+      summary = "食品の栄養成分の取り込み",
+      description = "リクエストボディのCSV（sql/csv/nutrition_facts.csvと同じ形式、UTF-8、1行目は見出し）で食品の栄養成分を置き換えます。"
+          + "CSVは読み込みながら一時テーブルに登録し、すべて登録できた場合のみ現在のテーブルと入れ替えるため、不正な行がある場合は何も変更しません。"
+          + "取り込み後は再起動せずに新しい食品の栄養成分で計算します。"
+  )
+  @ImportNutritionFactsResponses
+  @PostMapping(value = "/api/admin/nutrition-facts", consumes = "text/csv")
+  public ResponseEntity<Map<String, Integer>> importNutritionFacts(InputStream csv)
+      throws IOException {
+    int count = nutritionFactImportService.importCsv(csv);
+    return ResponseEntity.ok(Map.of("count", count));
+  }
+
+}
@@ -3,9 +3,13 @@ package raisetech.RecipeNotebook.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import java.net.URI;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,12 +20,20 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.util.UriComponentsBuilder;
+import raisetech.RecipeNotebook.domain.ImageFileValidator;
 import raisetech.RecipeNotebook.domain.RecipeDetail;
 import raisetech.RecipeNotebook.domain.RecipeDetailWithImageData;
+import raisetech.RecipeNotebook.domain.RecipeDetailWithImageData.Base64ImageFile;
+import raisetech.RecipeNotebook.domain.RecipeNutrition;
+import raisetech.RecipeNotebook.domain.RecipePage;
 import raisetech.RecipeNotebook.domain.RecipeSearchCriteria;
+import raisetech.RecipeNotebook.domain.RecipeSummary;
+import raisetech.RecipeNotebook.domain.RecipeVersion;
 import raisetech.RecipeNotebook.exception.NullOrEmptyObjectException;
 import raisetech.RecipeNotebook.exception.RecipeIdMismatchException;
 import raisetech.RecipeNotebook.openapi.RecipeApiRequests.CreateRecipeRequest;
@@ -30,6 +42,8 @@ import raisetech.RecipeNotebook.openapi.RecipeApiRequests.UpdateRecipeRequest;
 import raisetech.RecipeNotebook.openapi.RecipeApiResponses.CreateRecipeResponses;
 import raisetech.RecipeNotebook.openapi.RecipeApiResponses.DeleteRecipeResponses;
 import raisetech.RecipeNotebook.openapi.RecipeApiResponses.GetRecipeDetailResponses;
+import raisetech.RecipeNotebook.openapi.RecipeApiResponses.GetRecipeNutritionResponses;
+import raisetech.RecipeNotebook.openapi.RecipeApiResponses.SearchRecipeSummariesResponses;
 import raisetech.RecipeNotebook.openapi.RecipeApiResponses.SearchRecipesResponses;
 import raisetech.RecipeNotebook.openapi.RecipeApiResponses.UpdateFavoriteStatusResponses;
 import raisetech.RecipeNotebook.openapi.RecipeApiResponses.UpdateRecipeResponses;
@@ -43,6 +57,11 @@ import raisetech.RecipeNotebook.service.RecipeService;
 @Validated
 public class RecipeApiController {
 
+  /**
+   * 次のページを取得するためのカーソルを返すレスポンスヘッダーです。
+   */
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
   private final RecipeService recipeService;
 
   @Autowired
@@ -52,22 +71,65 @@ public class RecipeApiController {
 
   @Operation(
       summary = "レシピの一覧検索",
-      description = "RecipeSearchCriteriaで定義するリクエストパラメータに応じたレシピ検索を行います。リクエストパラメータが全てnullの場合は全件検索を行います。")
+      description = "RecipeSearchCriteriaで定義するリクエストパラメータに応じたレシピ検索を行います。リクエストパラメータが全てnullの場合は全件検索を行います。"
+          + "検索結果は作成日時の昇順で1ページずつ返します。続きがある場合はレスポンスヘッダー（X-Next-Cursor）のカーソルをcursorに指定してください。"
+          + "レスポンスのETagをIf-None-Matchに指定した場合、レシピが変更されていなければ304を返します。")
   @SearchRecipesResponses
   @GetMapping
   public ResponseEntity<List<RecipeDetail>> searchRecipes(
-      @Valid @ModelAttribute RecipeSearchCriteria recipeSearchCriteria) {
-    return ResponseEntity.ok(recipeService.searchRecipeList(recipeSearchCriteria));
+      @Valid @ModelAttribute RecipeSearchCriteria recipeSearchCriteria, WebRequest webRequest) {
+    String eTag = recipeService.getRecipeListETag(recipeSearchCriteria);
+    if (isNotModified(webRequest, eTag)) {
+      return null;
+    }
+    return createPageResponse(recipeService.searchRecipeList(recipeSearchCriteria), eTag);
+  }
+
+  @Operation(
+      summary = "レシピ概要の一覧検索",
+      description = "view=summaryを指定した場合の一覧検索です。レシピ一覧のカード表示に必要な項目と材料の件数のみを返し、材料・調理手順の一覧は返しません。"
+          + "検索条件とページングの指定方法はレシピの一覧検索と同じです。")
+  @SearchRecipeSummariesResponses
+  @GetMapping(params = "view=summary")
+  public ResponseEntity<List<RecipeSummary>> searchRecipeSummaries(
+      @Valid @ModelAttribute RecipeSearchCriteria recipeSearchCriteria, WebRequest webRequest) {
+    String eTag = recipeService.getRecipeSummaryListETag(recipeSearchCriteria);
+    if (isNotModified(webRequest, eTag)) {
+      return null;
+    }
+    return createPageResponse(recipeService.searchRecipeSummaryList(recipeSearchCriteria), eTag);
   }
 
   @Operation(
       summary = "レシピ詳細情報の取得",
       description = "指定したIDのレシピの詳細情報を取得します。"
+          + "レスポンスのETagをIf-None-Matchに指定した場合、レシピが変更されていなければ304を返します。"
   )
   @GetRecipeDetailResponses
   @GetMapping("/{id}")
-  public ResponseEntity<RecipeDetail> getRecipeDetail(@PathVariable int id) {
-    return ResponseEntity.ok(recipeService.searchRecipeDetail(id));
+  public ResponseEntity<RecipeDetail> getRecipeDetail(@PathVariable int id,
+      WebRequest webRequest) {
+    // レシピ詳細情報を組み立てる前に、バージョン情報のみで変更の有無を判定する
+    String currentETag = recipeService.getRecipeDetailETag(id);
+    if (matchesIfNoneMatch(webRequest, currentETag) && isNotModified(webRequest, currentETag)) {
+      return null;
+    }
+    // キャッシュから削除される前の古い内容を返す場合もあるため、ETagは返却するレシピ詳細情報から求める
+    RecipeDetail recipeDetail = recipeService.searchRecipeDetail(id);
+    return withValidator(ResponseEntity.ok(), RecipeVersion.of(recipeDetail.getRecipe()).toETag())
+        .body(recipeDetail);
+  }
+
+  @Operation(
+      summary = "レシピの栄養成分の取得",
+      description = "指定したIDのレシピの栄養成分（エネルギー・たんぱく質・脂質・炭水化物・食塩相当量）を、レシピ全体と1人分について計算します。"
+          + "材料名に対応する食品と、分量（「100g」「大さじ1/2」「1/3本」「3個」など）を換算した重さから求めます。"
+          + "アレンジの材料は含めません。食品が見つからない材料や「適量」などの分量の材料は合計に含めず、completeをfalseとします。"
+  )
+  @GetRecipeNutritionResponses
+  @GetMapping("/{id}/nutrition")
+  public ResponseEntity<RecipeNutrition> getRecipeNutrition(@PathVariable int id) {
+    return ResponseEntity.ok(recipeService.getRecipeNutrition(id));
   }
 
   @Operation(
@@ -84,13 +146,30 @@ public class RecipeApiController {
     RecipeDetail inputRecipeDetail = inputRecipeDetailWithImageData.getRecipeDetail();
     validateRecipeDetail(inputRecipeDetail);
 
-    MultipartFile file = inputRecipeDetailWithImageData.convertBase64ToMultipartFile();
-    RecipeDetail newRecipeDetail = recipeService.createRecipeDetail(inputRecipeDetail, file);
+    // デコードした画像の一時ファイルは、保存先へ書き込んだ後に削除する
+    try (Base64ImageFile file = inputRecipeDetailWithImageData.convertBase64ToMultipartFile()) {
+      return createRecipeResponse(recipeService.createRecipeDetail(inputRecipeDetail, file),
+          uriBuilder);
+    }
+  }
 
-    URI location = uriBuilder.path("/recipes/{newRecipeId}")
-        .buildAndExpand(newRecipeDetail.getRecipe().getId()).toUri();
+  @Operation(
+      summary = "レシピの新規作成（画像ファイルの添付）",
+      description = "multipart/form-dataでレシピを新規作成します。recipeDetailパートにレシピ詳細情報のJSON、imageパートに画像ファイル（任意）を指定します。"
+          + "画像はBase64に変換せずにそのまま送信するため、サーバー側ではメモリに展開せずに保存先へ書き込みます。"
+  )
+  @CreateRecipeResponses
+  @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<RecipeDetail> createRecipeWithImageFile
+      (@Valid @RequestPart("recipeDetail") RecipeDetail inputRecipeDetail,
+          @RequestPart(value = "image", required = false) MultipartFile image,
+          UriComponentsBuilder uriBuilder) {
 
-    return ResponseEntity.created(location).body(newRecipeDetail);
+    validateRecipeDetail(inputRecipeDetail);
+    validateImageFile(image);
+
+    return createRecipeResponse(recipeService.createRecipeDetail(inputRecipeDetail, image),
+        uriBuilder);
   }
 
   @Operation(
@@ -108,10 +187,29 @@ public class RecipeApiController {
     validateRecipeDetail(inputRecipeDetail);
     validateRecipeId(id, inputRecipeDetail.getRecipe().getId());
 
-    MultipartFile file = inputRecipeDetailWithImageData.convertBase64ToMultipartFile();
-    RecipeDetail updatedRecipeDetail = recipeService.updateRecipeDetail(inputRecipeDetail, file);
+    // デコードした画像の一時ファイルは、保存先へ書き込んだ後に削除する
+    try (Base64ImageFile file = inputRecipeDetailWithImageData.convertBase64ToMultipartFile()) {
+      return ResponseEntity.ok(recipeService.updateRecipeDetail(inputRecipeDetail, file));
+    }
+  }
+
+  @Operation(
+      summary = "レシピの更新（画像ファイルの添付）",
+      description = "multipart/form-dataでレシピを更新します。recipeDetailパートにレシピ詳細情報のJSON、imageパートに画像ファイル（任意）を指定します。"
+          + "画像を指定しない場合は既存の画像を維持します。"
+  )
+  @UpdateRecipeResponses
+  @PatchMapping(value = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<RecipeDetail> updateRecipeDetailWithImageFile
+      (@PathVariable int id,
+          @Valid @RequestPart("recipeDetail") RecipeDetail inputRecipeDetail,
+          @RequestPart(value = "image", required = false) MultipartFile image) {
 
-    return ResponseEntity.ok(updatedRecipeDetail);
+    validateRecipeDetail(inputRecipeDetail);
+    validateRecipeId(id, inputRecipeDetail.getRecipe().getId());
+    validateImageFile(image);
+
+    return ResponseEntity.ok(recipeService.updateRecipeDetail(inputRecipeDetail, image));
   }
 
   @Operation(
@@ -138,6 +236,96 @@ public class RecipeApiController {
     return ResponseEntity.ok("レシピを削除しました");
   }
 
+  /**
+   * 一覧検索の1ページ分の結果からレスポンスを作成するメソッドです。次のページがある場合は、そのカーソルをレスポンスヘッダーに設定します。
+   *
+   * @param page 一覧検索の1ページ分の結果
+   * @param eTag 検索結果のETagの値
+   * @return レスポンス（一覧および次のページのカーソル）
+   */
+  private <T> ResponseEntity<List<T>> createPageResponse(RecipePage<T> page, String eTag) {
+    ResponseEntity.BodyBuilder response = withValidator(ResponseEntity.ok(), eTag);
+    if (page.getNextCursor() != null) {
+      response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+    }
+    return response.body(page.getContent());
+  }
+
+  /**
+   * リクエストのIf-None-MatchヘッダーとETagを比較し、クライアントが保持している内容から変更がないかを判定するメソッドです。
+   * 変更がない場合は、レスポンスのステータスが304（Not Modified）に設定されます。
+   *
+   * @param webRequest リクエスト
+   * @param eTag ETagの値。nullの場合は判定しません
+   * @return 変更がない場合はtrue
+   */
+  private boolean isNotModified(WebRequest webRequest, String eTag) {
+    return eTag != null && webRequest.checkNotModified(eTag);
+  }
+
+  /**
+   * リクエストのIf-None-MatchヘッダーにETagが含まれるかを、レスポンスを変更せずに判定するメソッドです。
+   * 一致しない場合にレスポンスへETagを設定しないよう、{@link #isNotModified}の前に呼び出します。弱いETagも同じ値として比較します。
+   *
+   * @param webRequest リクエスト
+   * @param eTag ETagの値。nullの場合は一致しません
+   * @return If-None-MatchヘッダーにETagが含まれる場合はtrue
+   */
+  private boolean matchesIfNoneMatch(WebRequest webRequest, String eTag) {
+    String[] ifNoneMatch = webRequest.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+    if (eTag == null || ifNoneMatch == null) {
+      return false;
+    }
+    String quotedETag = "\"" + eTag + "\"";
+    return Arrays.stream(ifNoneMatch)
+        .flatMap(value -> Arrays.stream(value.split(",")))
+        .map(String::trim)
+        .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+        .anyMatch(tag -> tag.equals("*") || tag.equals(quotedETag));
+  }
+
+  /**
+   * レスポンスにETagを設定するメソッドです。
+   * ブラウザが保持した内容を使用する前に必ず再検証するよう、キャッシュの制御はno-cacheにします。
+   *
+   * @param response レスポンス
+   * @param eTag ETagの値。nullの場合は設定しません
+   * @return ETagを設定したレスポンス
+   */
+  private ResponseEntity.BodyBuilder withValidator(ResponseEntity.BodyBuilder response,
+      String eTag) {
+    if (eTag == null) {
+      return response;
+    }
+    return response.eTag(eTag).cacheControl(CacheControl.noCache().cachePrivate());
+  }
+
+  /**
+   * 作成したレシピ詳細情報と、そのレシピへのパスからレスポンスを作成するメソッドです。
+   *
+   * @param newRecipeDetail 作成したレシピ詳細情報
+   * @param uriBuilder URIの作成に使用するビルダー
+   * @return レスポンス（作成したレシピ詳細情報およびレシピへのパス）
+   */
+  private ResponseEntity<RecipeDetail> createRecipeResponse(RecipeDetail newRecipeDetail,
+      UriComponentsBuilder uriBuilder) {
+    URI location = uriBuilder.path("/recipes/{newRecipeId}")
+        .buildAndExpand(newRecipeDetail.getRecipe().getId()).toUri();
+
+    return ResponseEntity.created(location).body(newRecipeDetail);
+  }
+
+  /**
+   * 添付された画像ファイルのサイズと形式の検証を行うメソッドです。
+   *
+   * @param image 添付された画像ファイル。添付がない場合はnull
+   */
+  private void validateImageFile(MultipartFile image) {
+    if (image != null && !image.isEmpty()) {
+      ImageFileValidator.validate(image);
+    }
+  }
+
   /**
    * 入力されたレシピ詳細情報の検証を行うメソッドです。
    *
@@ -0,0 +1,182 @@
+package raisetech.RecipeNotebook.controller;
+
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+import raisetech.RecipeNotebook.domain.ImageRendition;
+import raisetech.RecipeNotebook.service.UploadedFileService;
+import raisetech.RecipeNotebook.service.UploadedFileService.UploadedFile;
+
+/**
+ * アップロードされた画像を配信するためのコントローラーです。
+ * ファイルの内容をヒープのバッファにコピーせずに送信するため、サーブレットコンテナ（Tomcat）がsendfileに対応している場合はsendfileで、
+ * 対応していない場合はFileChannel.transferToで送信します。
+ * 条件付きリクエスト（If-None-Match・If-Modified-Since）と、単一の範囲のRangeリクエストに対応します。
+ * app.feature.someClassEnabled=falseの場合は登録せず、アップロードされた画像をアプリケーションから配信しません。
+ */
+@Hidden
+@Controller
+@ConditionalOnProperty(name = "app.feature.someClassEnabled", havingValue = "true",
+    matchIfMissing = true)
+public class UploadController {
+
+  /**
+   * Tomcatがsendfileに対応している場合に設定するリクエスト属性です。
+   */
+  static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+
+  static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+
+  static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+
+  static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+  /**
+   * sendfileを使用するファイルの最小のサイズです。小さいファイルはsendfileの準備の負荷の方が大きいため、通常の書き込みで送信します。
+   */
+  static final long SENDFILE_THRESHOLD = 48 * 1024;
+
+  /**
+   * アップロードされた画像は内容のハッシュ値で名前を付けており、同じパスの内容は変わらないため、ブラウザでの再検証を不要にします。
+   */
+  private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(365, TimeUnit.DAYS)
+      .cachePrivate().immutable();
+
+  private final UploadedFileService uploadedFileService;
+
+  @Autowired
+  public UploadController(UploadedFileService uploadedFileService) {
+    this.uploadedFileService = uploadedFileService;
+  }
+
+  @RequestMapping(value = "/uploads/**", method = {RequestMethod.GET, RequestMethod.HEAD})
+  public void getUploadedFile(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    String path = (String) request.getAttribute(
+        HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+    String relativePath = path.substring(ImageRendition.UPLOADS_PREFIX.length());
+    UploadedFile uploadedFile = uploadedFileService.find(relativePath);
+    if (uploadedFile == null) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    }
+
+    response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL.getHeaderValue());
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+    if (new ServletWebRequest(request, response)
+        .checkNotModified(uploadedFile.eTag(), uploadedFile.lastModified())) {
+      return;
+    }
+
+    long size = uploadedFile.size();
+    long start = 0;
+    long end = size - 1;
+    HttpRange range = requestedRange(request, uploadedFile);
+    if (range != null) {
+      try {
+        start = range.getRangeStart(size);
+        end = range.getRangeEnd(size);
+      } catch (IllegalArgumentException e) {
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+        response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        return;
+      }
+      response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+      response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+    }
+
+    long length = end - start + 1;
+    response.setContentType(uploadedFile.contentType().toString());
+    response.setContentLengthLong(length);
+    if (RequestMethod.HEAD.name().equals(request.getMethod()) || length == 0) {
+      return;
+    }
+
+    if (length >= SENDFILE_THRESHOLD
+        && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+      // Tomcatがレスポンスの送信時にsendfileで送信する
+      request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, uploadedFile.path().toString());
+      request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+      request.setAttribute(SENDFILE_END_ATTRIBUTE, end + 1);
+      return;
+    }
+    transfer(uploadedFile, relativePath, start, length, response);
+  }
+
+  /**
+   * Rangeヘッダーで指定された範囲を返します。
+   * 範囲がない場合、形式が正しくない場合、複数の範囲が指定された場合、If-Rangeの条件に一致しない場合は、ファイル全体を返すためnullを返します。
+   */
+  private static HttpRange requestedRange(HttpServletRequest request,
+      UploadedFile uploadedFile) {
+    String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+    if (rangeHeader == null) {
+      return null;
+    }
+
+    String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    if (ifRange != null && !ifRange.equals(uploadedFile.eTag())) {
+      long ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+      if (ifRangeDate == -1 || uploadedFile.lastModified() / 1000 > ifRangeDate / 1000) {
+        return null;
+      }
+    }
+
+    try {
+      List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+      return ranges.size() == 1 ? ranges.get(0) : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * ファイルの指定された範囲を、FileChannel.transferToでレスポンスに書き込みます。
+   * ファイルの情報の取得後に削除された場合は、キャッシュから情報を削除して404を返します。
+   */
+  private void transfer(UploadedFile uploadedFile, String relativePath, long start, long length,
+      HttpServletResponse response) throws IOException {
+    FileChannel fileChannel;
+    try {
+      fileChannel = FileChannel.open(uploadedFile.path(), StandardOpenOption.READ);
+    } catch (NoSuchFileException e) {
+      uploadedFileService.evict(relativePath);
+      response.reset();
+      response.sendError(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    }
+
+    try (fileChannel) {
+      WritableByteChannel outputChannel = Channels.newChannel(response.getOutputStream());
+      long position = start;
+      long remaining = length;
+      while (remaining > 0) {
+        long transferred = fileChannel.transferTo(position, remaining, outputChannel);
+        if (transferred <= 0) {
+          break;
+        }
+        position += transferred;
+        remaining -= transferred;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,25 @@
+package raisetech.RecipeNotebook.data;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * レシピのカテゴリー（主菜・副菜・和食など）のオブジェクトです。
+ */
+@Schema(description = "カテゴリー")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Category {
+
+  @Schema(description = "カテゴリーID。レシピの登録・更新ではIDのみを指定します。", example = "1")
+  private int id;
+
+  @Schema(description = "カテゴリー名", example = "主菜", accessMode = Schema.AccessMode.READ_ONLY)
+  private String name;
+
+}
@@ -0,0 +1,35 @@
+package raisetech.RecipeNotebook.data;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 食品の栄養成分（可食部100gあたり）のオブジェクトです。日本食品標準成分表の食品ごとの値を保持します。
+ * 値が登録されていない成分は0として扱います。
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NutritionFact {
+
+  private String foodNumber;
+
+  private String name;
+
+  private double kcal;
+
+  private double protein;
+
+  private double fat;
+
+  private double carbohydrates;
+
+  /**
+   * 食塩相当量（g）です。
+   */
+  private double sce;
+
+}
@@ -0,0 +1,39 @@
+package raisetech.RecipeNotebook.data;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 食品の栄養成分のテーブル（nutrition_facts）の1行のオブジェクトです。CSVからの取り込みに使用します。
+ * 値が登録されていない成分はnullとします。
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NutritionFactRow {
+
+  private String foodCategory;
+
+  private String foodNumber;
+
+  private String indexNumber;
+
+  private String name;
+
+  private double kcal;
+
+  private Double protein;
+
+  private Double fat;
+
+  private Double carbohydrates;
+
+  /**
+   * 食塩相当量（g）です。
+   */
+  private Double sce;
+
+}
@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import raisetech.RecipeNotebook.domain.ImageRendition;
 
 /**
  * レシピのオブジェクトです。
@@ -31,6 +32,13 @@ public class Recipe {
     this.updatedAt = updatedAt;
   }
 
+  public Recipe(int id, int userId, String name, String imagePath, String recipeSource,
+      String servings, String remark, boolean favorite, LocalDateTime createdAt,
+      LocalDateTime updatedAt) {
+    this(userId, name, imagePath, recipeSource, servings, remark, favorite, createdAt, updatedAt);
+    this.id = id;
+  }
+
   private int id;
 
   private int userId;
@@ -52,4 +60,28 @@ public class Recipe {
 
   private LocalDateTime updatedAt;
 
+  @Schema(description = "バージョン番号。レシピ・材料・調理手順のいずれかが変更されるたびに進みます",
+      accessMode = Schema.AccessMode.READ_ONLY)
+  private int version;
+
+  /**
+   * 一覧のカード表示用の縮小画像のパスです。縮小画像はアップロード後に非同期で作成するため、作成前は存在しない場合があります。
+   *
+   * @return 縮小画像のパス
+   */
+  @Schema(description = "一覧表示用の縮小画像（幅300px）のパス", accessMode = Schema.AccessMode.READ_ONLY)
+  public String getThumbnailPath() {
+    return ImageRendition.THUMBNAIL.pathOf(imagePath);
+  }
+
+  /**
+   * 詳細画面用の縮小画像のパスです。縮小画像はアップロード後に非同期で作成するため、作成前は存在しない場合があります。
+   *
+   * @return 縮小画像のパス
+   */
+  @Schema(description = "詳細表示用の縮小画像（幅800px）のパス", accessMode = Schema.AccessMode.READ_ONLY)
+  public String getMediumImagePath() {
+    return ImageRendition.MEDIUM.pathOf(imagePath);
+  }
+
 }
@@ -0,0 +1,54 @@
+package raisetech.RecipeNotebook.data;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * レシピごとの栄養成分の集計（recipe_nutrition）のオブジェクトです。
+ * レシピ一覧の栄養成分による絞り込みに使用し、レシピの登録・更新の際に計算し直します。
+ * 1人分の値は、何人分かが不明のレシピではレシピ全体の値とします。
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeNutritionSummary {
+
+  private int recipeId;
+
+  /**
+   * 何人分かを数値に換算した値です。換算できない場合はnullです。
+   */
+  private Double servings;
+
+  private double kcal;
+
+  private double protein;
+
+  private double fat;
+
+  private double carbohydrates;
+
+  private double saltEquivalent;
+
+  /**
+   * 1人分のエネルギー（kcal）です。
+   */
+  private double servingKcal;
+
+  /**
+   * 1人分のたんぱく質（g）です。
+   */
+  private double servingProtein;
+
+  /**
+   * すべての材料の栄養成分を計算できた場合はtrueです。
+   */
+  private boolean complete;
+
+  private LocalDateTime calculatedAt;
+
+}
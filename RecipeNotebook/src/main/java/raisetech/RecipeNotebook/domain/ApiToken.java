@@ -0,0 +1,24 @@
+package raisetech.RecipeNotebook.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 発行したAPIトークンです。
+ */
+@Schema(description = "APIトークン")
+@Getter
+@AllArgsConstructor
+public class ApiToken {
+
+  @Schema(description = "APIトークンです。AuthorizationヘッダーにBearerとして指定します。")
+  private String accessToken;
+
+  @Schema(description = "トークンの種類", example = "Bearer")
+  private String tokenType;
+
+  @Schema(description = "有効期間（秒）", example = "3600")
+  private long expiresIn;
+
+}
@@ -0,0 +1,28 @@
+package raisetech.RecipeNotebook.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * APIトークンの発行時に指定する認証情報です。
+ */
+@Schema(description = "APIトークンの発行に使用する認証情報")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiTokenRequest {
+
+  @Schema(description = "ユーザー名", example = "user")
+  @NotBlank
+  private String username;
+
+  @Schema(description = "パスワード", example = "user_password")
+  @NotBlank
+  private String password;
+
+}
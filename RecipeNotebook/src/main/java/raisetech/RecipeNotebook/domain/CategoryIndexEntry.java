@@ -0,0 +1,26 @@
+package raisetech.RecipeNotebook.domain;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * カテゴリーの検索インデックスの構築に使用するレシピとカテゴリーの対応のオブジェクトです。レシピの所有者のユーザーIDと作成日時を付与します。
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryIndexEntry {
+
+  private int userId;
+
+  private int recipeId;
+
+  private LocalDateTime createdAt;
+
+  private int categoryId;
+
+}
@@ -0,0 +1,104 @@
+package raisetech.RecipeNotebook.domain;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import org.springframework.web.multipart.MultipartFile;
+import raisetech.RecipeNotebook.exception.FileSizeLimitExceededCustomException;
+import raisetech.RecipeNotebook.exception.FileStorageException;
+import raisetech.RecipeNotebook.exception.InvalidFileTypeException;
+
+/**
+ * アップロードされた画像ファイルのサイズと形式を検証するクラスです。
+ * 形式はファイル名や申告されたContent-Typeではなく、ファイルの先頭のバイト列から判定します。
+ * URLConnection.guessContentTypeFromStreamが判定する形式に加えて、WebPを受け付けます。
+ */
+public final class ImageFileValidator {
+
+  /**
+   * アップロードできる画像ファイルの最大のサイズ（バイト数）です。
+   */
+  public static final long MAX_FILE_SIZE = 5 * 1024 * 1024;
+
+  /**
+   * WebPの先頭のバイト列（"RIFF"、4バイトのファイルサイズ、"WEBP"）の長さです。
+   */
+  private static final int WEBP_HEADER_LENGTH = 12;
+
+  private ImageFileValidator() {
+  }
+
+  /**
+   * 画像ファイルのサイズと形式を検証します。形式の判定にはファイルの先頭のみを読み込みます。
+   *
+   * @param file 画像ファイル
+   * @return 画像の形式（MIMEタイプ）
+   */
+  public static String validate(MultipartFile file) {
+    validateSize(file.getSize());
+    try (InputStream inputStream = file.getInputStream()) {
+      return detectImageType(inputStream);
+    } catch (IOException e) {
+      throw new FileStorageException("ファイルの保存に失敗しました");
+    }
+  }
+
+  /**
+   * 画像ファイルのサイズが上限以下であることを検証します。
+   *
+   * @param size 画像ファイルのサイズ（バイト数）
+   */
+  static void validateSize(long size) {
+    if (size > MAX_FILE_SIZE) {
+      throw new FileSizeLimitExceededCustomException(
+          "画像ファイルのサイズが大きすぎます。5MB以下にしてください");
+    }
+  }
+
+  /**
+   * ファイルの先頭のバイト列から画像の形式を判定します。
+   *
+   * @param inputStream ファイルの内容
+   * @return 画像の形式（MIMEタイプ）
+   */
+  static String detectImageType(InputStream inputStream) throws IOException {
+    InputStream bufferedInputStream = new BufferedInputStream(inputStream, 16);
+    if (isWebp(bufferedInputStream)) {
+      return "image/webp";
+    }
+    String mimeType = URLConnection.guessContentTypeFromStream(bufferedInputStream);
+    if (mimeType == null || !mimeType.startsWith("image/")) {
+      throw new InvalidFileTypeException("画像ファイルのみアップロード可能です");
+    }
+    return mimeType;
+  }
+
+  /**
+   * ファイルの先頭のバイト列がWebPの形式であるかを判定します。読み込んだ位置は先頭に戻します。
+   *
+   * @param inputStream ファイルの内容（mark/resetに対応したもの）
+   * @return WebPの場合はtrue
+   */
+  private static boolean isWebp(InputStream inputStream) throws IOException {
+    inputStream.mark(WEBP_HEADER_LENGTH);
+    byte[] header = inputStream.readNBytes(WEBP_HEADER_LENGTH);
+    inputStream.reset();
+    return header.length == WEBP_HEADER_LENGTH
+        && new String(header, 0, 4, StandardCharsets.US_ASCII).equals("RIFF")
+        && new String(header, 8, 4, StandardCharsets.US_ASCII).equals("WEBP");
+  }
+
+  /**
+   * 画像の形式に対応するファイルの拡張子を返します。
+   *
+   * @param mimeType 画像の形式（MIMEタイプ）
+   * @return 拡張子
+   */
+  static String extensionOf(String mimeType) {
+    String subtype = mimeType.substring(mimeType.indexOf('/') + 1);
+    return subtype.equals("jpeg") ? "jpg" : subtype;
+  }
+
+}
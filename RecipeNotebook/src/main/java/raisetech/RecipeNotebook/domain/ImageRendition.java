@@ -0,0 +1,71 @@
+package raisetech.RecipeNotebook.domain;
+
+/**
+ * アップロードされた画像から作成する縮小画像（レンディション）の種類です。
+ * 縮小画像はアップロードディレクトリのrenditions/{種類}/に、元の画像と同じファイル名（拡張子はjpg）で保存します。
+ */
+public enum ImageRendition {
+
+  /**
+   * レシピ一覧のカード表示用の縮小画像です。
+   */
+  THUMBNAIL("thumbnail", 300),
+
+  /**
+   * レシピ詳細画面用の縮小画像です。
+   */
+  MEDIUM("medium", 800);
+
+  /**
+   * アップロードされた画像のパスの接頭辞です。
+   */
+  public static final String UPLOADS_PREFIX = "/uploads/";
+
+  /**
+   * 縮小画像を保存するディレクトリの名前です。
+   */
+  public static final String DIRECTORY = "renditions";
+
+  private final String name;
+
+  private final int maxWidth;
+
+  ImageRendition(String name, int maxWidth) {
+    this.name = name;
+    this.maxWidth = maxWidth;
+  }
+
+  public int getMaxWidth() {
+    return maxWidth;
+  }
+
+  /**
+   * アップロードディレクトリからの縮小画像の相対パスを返します。
+   *
+   * @param fileName 元の画像のファイル名
+   * @return 縮小画像の相対パス
+   */
+  public String relativePathOf(String fileName) {
+    return DIRECTORY + "/" + name + "/" + replaceExtension(fileName);
+  }
+
+  /**
+   * 画像のパスに対応する縮小画像のパスを返します。アップロードされた画像以外（no_imageなど）は元のパスを返します。
+   * 縮小画像はアップロード後に非同期で作成するため、作成前は存在しない場合があります。
+   *
+   * @param imagePath 画像のパス
+   * @return 縮小画像のパス
+   */
+  public String pathOf(String imagePath) {
+    if (imagePath == null || !imagePath.startsWith(UPLOADS_PREFIX)) {
+      return imagePath;
+    }
+    return UPLOADS_PREFIX + relativePathOf(imagePath.substring(UPLOADS_PREFIX.length()));
+  }
+
+  private static String replaceExtension(String fileName) {
+    int dot = fileName.lastIndexOf('.');
+    return (dot > 0 ? fileName.substring(0, dot) : fileName) + ".jpg";
+  }
+
+}
@@ -0,0 +1,28 @@
+package raisetech.RecipeNotebook.domain;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 材料名の検索インデックスの構築に使用する材料のオブジェクトです。材料にレシピの所有者のユーザーIDと作成日時を付与します。
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngredientIndexEntry {
+
+  private int userId;
+
+  private int recipeId;
+
+  private LocalDateTime createdAt;
+
+  private int ingredientId;
+
+  private String name;
+
+}
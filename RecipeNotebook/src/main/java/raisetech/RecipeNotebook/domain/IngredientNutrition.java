@@ -0,0 +1,43 @@
+package raisetech.RecipeNotebook.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 材料ごとの栄養成分の計算結果のオブジェクトです。
+ * 食品が見つからない材料や、分量を重さに換算できない材料（「適量」など）は栄養成分がnullになり、合計に含めません。
+ */
+@Schema(description = "材料ごとの栄養成分")
+@Getter
+@AllArgsConstructor
+public class IngredientNutrition {
+
+  @Schema(description = "材料名")
+  private final String name;
+
+  @Schema(description = "分量")
+  private final String quantity;
+
+  @Schema(description = "対応する食品の食品番号。食品が見つからない場合や栄養成分のない材料（水など）はnull")
+  private final String foodNumber;
+
+  @Schema(description = "対応する食品の名前")
+  private final String foodName;
+
+  @Schema(description = "分量を換算した重さ（g）。換算できない場合はnull")
+  private final Double grams;
+
+  @Schema(description = "栄養成分。計算できない場合はnull")
+  private final Nutrients nutrients;
+
+  /**
+   * 栄養成分を計算できたかどうかを返します。
+   *
+   * @return 栄養成分を計算できた場合はtrue
+   */
+  public boolean isResolved() {
+    return nutrients != null;
+  }
+
+}
@@ -0,0 +1,170 @@
+package raisetech.RecipeNotebook.domain;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.Getter;
+
+/**
+ * 材料の分量（「100g」「大さじ1/2」「1/3本」「3個」など）を数値と単位に変換したオブジェクトです。
+ * 大さじ・小さじ・カップは体積（ml）に換算します。「適量」「少々」など数値のない分量は変換できません。
+ */
+@Getter
+public final class IngredientQuantity {
+
+  /**
+   * 分量の単位の種類です。
+   */
+  public enum Unit {
+    /**
+     * 重さ（g）です。
+     */
+    GRAM,
+    /**
+     * 体積（ml）です。
+     */
+    MILLILITER,
+    /**
+     * 個数です。1個あたりの重さは材料によって異なります。
+     */
+    PIECE
+  }
+
+  /**
+   * 数値の形式です。整数・小数・分数（1/2）・帯分数（1と1/2）に対応します。
+   */
+  private static final String NUMBER = "\\d+(?:\\.\\d+)?(?:と\\d+/\\d+)?|\\d+/\\d+";
+
+  /**
+   * 範囲（1~2）を含む数値の形式です。範囲の場合は中央の値を使用します。
+   */
+  private static final String AMOUNT = "(" + NUMBER + ")(?:[~-](" + NUMBER + "))?";
+
+  private static final Pattern PREFIX_UNIT_QUANTITY = Pattern.compile(
+      "(大さじ|大匙|小さじ|小匙|カップ)(?:" + AMOUNT + ")?杯?");
+
+  private static final Pattern SUFFIX_UNIT_QUANTITY = Pattern.compile(
+      AMOUNT + "(kg|キロ|g|グラム|ml|cc|l|リットル|個|本|枚|片|かけ|玉|株|丁|尾|切れ|房|束|袋|缶|パック)?");
+
+  private static final Pattern LEADING_AMOUNT = Pattern.compile(AMOUNT);
+
+  /**
+   * 大さじ・小さじ・カップの体積（ml）です。
+   */
+  private static final Map<String, Double> SPOON_MILLILITERS = Map.of(
+      "大さじ", 15.0, "大匙", 15.0, "小さじ", 5.0, "小匙", 5.0, "カップ", 200.0);
+
+  private final double amount;
+
+  private final Unit unit;
+
+  private IngredientQuantity(double amount, Unit unit) {
+    this.amount = amount;
+    this.unit = unit;
+  }
+
+  /**
+   * 材料の分量を数値と単位に変換します。単位のない数値は個数とみなします。
+   *
+   * @param quantity 材料の分量
+   * @return 変換した分量。数値のない分量や形式に合致しない分量の場合はnull
+   */
+  public static IngredientQuantity parse(String quantity) {
+    if (quantity == null) {
+      return null;
+    }
+    String normalized = normalize(quantity);
+    if (normalized.equals("半分")) {
+      return new IngredientQuantity(0.5, Unit.PIECE);
+    }
+
+    Matcher prefixUnit = PREFIX_UNIT_QUANTITY.matcher(normalized);
+    if (prefixUnit.matches()) {
+      double amount = prefixUnit.group(2) == null ? 1
+          : amountOf(prefixUnit.group(2), prefixUnit.group(3));
+      return new IngredientQuantity(amount * SPOON_MILLILITERS.get(prefixUnit.group(1)),
+          Unit.MILLILITER);
+    }
+
+    Matcher suffixUnit = SUFFIX_UNIT_QUANTITY.matcher(normalized);
+    if (!suffixUnit.matches()) {
+      return null;
+    }
+    double amount = amountOf(suffixUnit.group(1), suffixUnit.group(2));
+    String unit = suffixUnit.group(3) == null ? "" : suffixUnit.group(3);
+    return switch (unit) {
+      case "g", "グラム" -> new IngredientQuantity(amount, Unit.GRAM);
+      case "kg", "キロ" -> new IngredientQuantity(amount * 1000, Unit.GRAM);
+      case "ml", "cc" -> new IngredientQuantity(amount, Unit.MILLILITER);
+      case "l", "リットル" -> new IngredientQuantity(amount * 1000, Unit.MILLILITER);
+      default -> new IngredientQuantity(amount, Unit.PIECE);
+    };
+  }
+
+  /**
+   * 何人分（「2人分」「2~3人前」など）の文字列から人数を求めます。範囲の場合は中央の値を使用します。
+   *
+   * @param servings 何人分
+   * @return 人数。数値を含まない場合や0人の場合はnull
+   */
+  public static Double parseServings(String servings) {
+    if (servings == null) {
+      return null;
+    }
+    Matcher matcher = LEADING_AMOUNT.matcher(normalize(servings));
+    if (!matcher.find()) {
+      return null;
+    }
+    double amount = amountOf(matcher.group(1), matcher.group(2));
+    return amount > 0 ? amount : null;
+  }
+
+  /**
+   * 重さ（g）に換算します。
+   *
+   * @param density 比重（g/ml）。不明の場合はnullを指定し、水と同じ1.0とみなします
+   * @param pieceWeight 1個あたりの重さ（g）。不明の場合はnull
+   * @return 重さ（g）。個数の分量で1個あたりの重さが不明の場合はnull
+   */
+  public Double toGrams(Double density, Double pieceWeight) {
+    return switch (unit) {
+      case GRAM -> amount;
+      case MILLILITER -> amount * (density == null ? 1.0 : density);
+      case PIECE -> pieceWeight == null ? null : amount * pieceWeight;
+    };
+  }
+
+  /**
+   * 全角の英数字・記号を半角に揃え、空白と「約」「程度」などの概数を表す語を取り除きます。
+   */
+  private static String normalize(String value) {
+    return Normalizer.normalize(value, Normalizer.Form.NFKC)
+        .toLowerCase(Locale.ROOT)
+        .replaceAll("\\s", "")
+        .replace('⁄', '/')
+        .replace('〜', '~')
+        .replaceAll("^約", "")
+        .replaceAll("(程度|くらい|ぐらい|位|前後|弱|強)$", "");
+  }
+
+  private static double amountOf(String from, String to) {
+    double amount = numberOf(from);
+    return to == null ? amount : (amount + numberOf(to)) / 2;
+  }
+
+  private static double numberOf(String number) {
+    int mixed = number.indexOf('と');
+    if (mixed >= 0) {
+      return numberOf(number.substring(0, mixed)) + numberOf(number.substring(mixed + 1));
+    }
+    int slash = number.indexOf('/');
+    if (slash >= 0) {
+      double denominator = Double.parseDouble(number.substring(slash + 1));
+      return denominator == 0 ? 0 : Double.parseDouble(number.substring(0, slash)) / denominator;
+    }
+    return Double.parseDouble(number);
+  }
+
+}
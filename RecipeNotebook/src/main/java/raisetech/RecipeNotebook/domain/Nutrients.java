@@ -0,0 +1,74 @@
+package raisetech.RecipeNotebook.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import raisetech.RecipeNotebook.data.NutritionFact;
+
+/**
+ * 栄養成分の量のオブジェクトです。材料やレシピ全体・1人分の栄養成分を表します。
+ */
+@Schema(description = "栄養成分")
+@Getter
+@AllArgsConstructor
+public class Nutrients {
+
+  /**
+   * 栄養成分がない場合の値です。
+   */
+  public static final Nutrients ZERO = new Nutrients(0, 0, 0, 0, 0);
+
+  @Schema(description = "エネルギー（kcal）")
+  private final double kcal;
+
+  @Schema(description = "たんぱく質（g）")
+  private final double protein;
+
+  @Schema(description = "脂質（g）")
+  private final double fat;
+
+  @Schema(description = "炭水化物（g）")
+  private final double carbohydrates;
+
+  @Schema(description = "食塩相当量（g）")
+  private final double saltEquivalent;
+
+  /**
+   * 食品の重さに対する栄養成分の量を求めます。
+   *
+   * @param nutritionFact 食品の栄養成分（可食部100gあたり）
+   * @param grams 食品の重さ（g）
+   * @return 栄養成分の量
+   */
+  public static Nutrients of(NutritionFact nutritionFact, double grams) {
+    double ratio = grams / 100;
+    return new Nutrients(nutritionFact.getKcal() * ratio, nutritionFact.getProtein() * ratio,
+        nutritionFact.getFat() * ratio, nutritionFact.getCarbohydrates() * ratio,
+        nutritionFact.getSce() * ratio);
+  }
+
+  public Nutrients plus(Nutrients other) {
+    return new Nutrients(kcal + other.kcal, protein + other.protein, fat + other.fat,
+        carbohydrates + other.carbohydrates, saltEquivalent + other.saltEquivalent);
+  }
+
+  public Nutrients divide(double divisor) {
+    return new Nutrients(kcal / divisor, protein / divisor, fat / divisor,
+        carbohydrates / divisor, saltEquivalent / divisor);
+  }
+
+  /**
+   * 表示用に、各成分を小数点以下1桁に丸めます。
+   *
+   * @return 丸めた栄養成分の量
+   */
+  public Nutrients rounded() {
+    return new Nutrients(round(kcal), round(protein), round(fat), round(carbohydrates),
+        round(saltEquivalent));
+  }
+
+  private static double round(double value) {
+    return Math.round(value * 10) / 10.0;
+  }
+
+}
@@ -0,0 +1,92 @@
+package raisetech.RecipeNotebook.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import raisetech.RecipeNotebook.data.Recipe;
+import raisetech.RecipeNotebook.exception.IllegalArgumentCustomException;
+
+/**
+ * レシピ一覧のページングに使用するカーソルです。
+ * 直前のページの最後のレシピの作成日時とIDを保持し、(created_at, id)の複合キーで次のページの開始位置を表します。
+ */
+@Getter
+@AllArgsConstructor
+public class RecipeCursor {
+
+  private static final String SEPARATOR = "_";
+
+  /**
+   * レシピ一覧の並び順（作成日時の昇順、同じ場合はIDの昇順）です。SQLと同じく、作成日時がないレシピを先頭に並べます。
+   */
+  public static final Comparator<RecipeCursor> ORDER = Comparator
+      .comparing(RecipeCursor::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+      .thenComparingInt(RecipeCursor::getId);
+
+  private LocalDateTime createdAt;
+
+  private int id;
+
+  /**
+   * ページの最後のレシピからカーソルを作成します。
+   *
+   * @param recipe ページの最後のレシピ
+   * @return カーソル
+   */
+  public static RecipeCursor of(Recipe recipe) {
+    return new RecipeCursor(recipe.getCreatedAt(), recipe.getId());
+  }
+
+  /**
+   * ページの最後のレシピ概要からカーソルを作成します。
+   *
+   * @param summary ページの最後のレシピ概要
+   * @return カーソル
+   */
+  public static RecipeCursor of(RecipeSummary summary) {
+    return new RecipeCursor(summary.getCreatedAt(), summary.getId());
+  }
+
+  /**
+   * クライアントに返却するためのトークン（Base64URL形式）に変換します。
+   *
+   * @return カーソルのトークン
+   */
+  public String encode() {
+    String value = (createdAt == null ? "" : createdAt.toString()) + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * クライアントから受け取ったトークンをカーソルに変換します。
+   *
+   * @param token カーソルのトークン
+   * @return カーソル。トークンが指定されていない場合はnull
+   */
+  public static RecipeCursor decode(String token) {
+    if (token == null || token.isBlank()) {
+      return null;
+    }
+
+    try {
+      String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separatorIndex = value.lastIndexOf(SEPARATOR);
+      if (separatorIndex < 0) {
+        throw new IllegalArgumentException();
+      }
+
+      String createdAt = value.substring(0, separatorIndex);
+      int id = Integer.parseInt(value.substring(separatorIndex + 1));
+      return new RecipeCursor(createdAt.isEmpty() ? null : LocalDateTime.parse(createdAt), id);
+
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new IllegalArgumentCustomException("不正なカーソルが指定されています");
+    }
+  }
+
+}
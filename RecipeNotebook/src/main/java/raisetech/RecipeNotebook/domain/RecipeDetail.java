@@ -7,12 +7,13 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import raisetech.RecipeNotebook.data.Category;
 import raisetech.RecipeNotebook.data.Ingredient;
 import raisetech.RecipeNotebook.data.Instruction;
 import raisetech.RecipeNotebook.data.Recipe;
 
 /**
- * レシピ詳細情報のオブジェクトです。レシピIDに紐づくレシピ、材料一覧、調理手順一覧をまとめます。
+ * レシピ詳細情報のオブジェクトです。レシピIDに紐づくレシピ、材料一覧、調理手順一覧、カテゴリー一覧をまとめます。
  */
 @Schema(description = "レシピ詳細情報")
 @Getter
@@ -30,4 +31,15 @@ public class RecipeDetail {
   @Valid
   private List<Instruction> instructions;
 
+  @Schema(description = "カテゴリー一覧。レシピの更新で指定しない（null）場合は、登録済みのカテゴリーを変更しません。")
+  private List<Category> categories;
+
+  /**
+   * カテゴリーを指定せずにレシピ詳細情報を作成します。カテゴリーはnull（指定なし）になります。
+   */
+  public RecipeDetail(Recipe recipe, List<Ingredient> ingredients,
+      List<Instruction> instructions) {
+    this(recipe, ingredients, instructions, null);
+  }
+
 }
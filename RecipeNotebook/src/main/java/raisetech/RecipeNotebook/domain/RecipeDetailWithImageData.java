@@ -2,26 +2,28 @@ package raisetech.RecipeNotebook.domain;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
-import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URLConnection;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Base64;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
-import raisetech.RecipeNotebook.exception.FileSizeLimitExceededCustomException;
+import raisetech.RecipeNotebook.exception.FileStorageException;
 import raisetech.RecipeNotebook.exception.IllegalArgumentCustomException;
-import raisetech.RecipeNotebook.exception.InvalidFileTypeException;
 
 /**
  * レシピ詳細情報にBase64の画像データを付与したオブジェクトです。
+ * 画像はmultipart/form-dataで送信する方法もあり、こちらは互換性のために残しています。
  */
 @Schema(description = "レシピ詳細情報＋画像データ（Base64）")
 @Getter
@@ -30,52 +32,155 @@ import raisetech.RecipeNotebook.exception.InvalidFileTypeException;
 @AllArgsConstructor
 public class RecipeDetailWithImageData {
 
+  /**
+   * 一時ファイルへの書き込みに使用するバッファのサイズ（バイト数）です。
+   */
+  private static final int BUFFER_SIZE = 8192;
+
   @Valid
   private RecipeDetail recipeDetail;
 
   private String imageData;
 
-  public MultipartFile convertBase64ToMultipartFile() {
+  /**
+   * Data URL形式のBase64の画像データをデコードし、一時ファイルに書き込みます。
+   * 文字列を分割したりデコード結果をバイト配列にまとめたりせず、一定のサイズのバッファでデコードしながら書き込みます。
+   * 一時ファイルは、返したオブジェクトを閉じると削除されます。
+   *
+   * @return 画像ファイル。画像データがない場合はnull
+   */
+  public Base64ImageFile convertBase64ToMultipartFile() {
     if (imageData == null || imageData.isEmpty()) {
       return null;
     }
 
+    int separator = imageData.indexOf(',');
+    if (separator < 0) {
+      throw new IllegalArgumentCustomException(
+          "不正なデータ形式です。画像データ以外はアップロードできません");
+    }
+
+    Path tempFile = null;
     try {
-      String[] base64Parts = imageData.split(",");
-      if (base64Parts.length < 2) {
-        throw new IllegalArgumentCustomException(
-            "不正なデータ形式です。画像データ以外はアップロードできません");
+      tempFile = Files.createTempFile("recipe-image-", ".tmp");
+      long size = decodeTo(separator + 1, tempFile);
+      String mimeType;
+      try (InputStream inputStream = Files.newInputStream(tempFile)) {
+        mimeType = ImageFileValidator.detectImageType(inputStream);
       }
+      return new Base64ImageFile(tempFile, size, mimeType);
 
-      String base64Image = base64Parts[1];
-      byte[] imageBytes = Base64.getDecoder().decode(base64Image);
-
-      if (imageBytes.length > 5 * 1024 * 1024) {
-        throw new FileSizeLimitExceededCustomException(
-            "画像ファイルのサイズが大きすぎます。5MB以下にしてください");
-      }
+    } catch (IOException e) {
+      deleteQuietly(tempFile);
+      throw new FileStorageException("ファイルの保存に失敗しました");
+    } catch (RuntimeException e) {
+      deleteQuietly(tempFile);
+      throw e;
+    }
+  }
 
-      String mimeType = getMimeType(imageBytes);
-      if (mimeType == null || !mimeType.startsWith("image/")) {
-        throw new InvalidFileTypeException("画像ファイルのみアップロード可能です");
+  /**
+   * 画像データの指定した位置以降をデコードしてファイルに書き込みます。サイズの上限を超えた時点で中断します。
+   */
+  private long decodeTo(int offset, Path file) throws IOException {
+    long size = 0;
+    try (InputStream decoder = Base64.getDecoder().wrap(new AsciiInputStream(imageData, offset));
+        OutputStream outputStream = Files.newOutputStream(file)) {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      int read;
+      while ((read = readDecoded(decoder, buffer)) != -1) {
+        size += read;
+        ImageFileValidator.validateSize(size);
+        outputStream.write(buffer, 0, read);
       }
+    }
+    return size;
+  }
 
-      return new CustomMultipartFile(imageBytes);
+  /**
+   * デコードした画像データを読み込みます。Base64として不正な文字を含む場合は、データ形式のエラーとします。
+   */
+  private static int readDecoded(InputStream decoder, byte[] buffer) {
+    try {
+      return decoder.read(buffer);
+    } catch (IOException e) {
+      throw new IllegalArgumentCustomException(
+          "不正なデータ形式です。画像データ以外はアップロードできません");
+    }
+  }
 
-    } catch (Exception e) {
-      throw new RuntimeException("Base64イメージの変換に失敗しました", e);
+  private static void deleteQuietly(Path file) {
+    if (file == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException ignored) {
+      // 一時ファイルのため、削除できなくても処理を続ける
     }
   }
 
-  private String getMimeType(byte[] imageBytes) {
-    try (InputStream is = new ByteArrayInputStream(imageBytes)) {
-      return URLConnection.guessContentTypeFromStream(is);
-    } catch (IOException e) {
-      return "application/octet-stream";
+  /**
+   * 文字列の指定した位置以降を、複製せずにASCIIのバイト列として読み込むストリームです。
+   * ASCII以外の文字は下位のバイトに切り詰めるとBase64の文字に化けることがあるため、データ形式のエラーとします。
+   */
+  private static final class AsciiInputStream extends InputStream {
+
+    private final String value;
+
+    private int position;
+
+    AsciiInputStream(String value, int offset) {
+      this.value = value;
+      this.position = offset;
+    }
+
+    @Override
+    public int read() {
+      return position < value.length() ? nextAscii() : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      if (length == 0) {
+        return 0;
+      }
+      if (position >= value.length()) {
+        return -1;
+      }
+      int count = Math.min(length, value.length() - position);
+      for (int i = 0; i < count; i++) {
+        bytes[offset + i] = (byte) nextAscii();
+      }
+      return count;
+    }
+
+    private int nextAscii() {
+      char c = value.charAt(position++);
+      if (c > 0x7F) {
+        throw new IllegalArgumentCustomException(
+            "不正なデータ形式です。画像データ以外はアップロードできません");
+      }
+      return c;
     }
   }
 
-  private record CustomMultipartFile(byte[] fileContent) implements MultipartFile {
+  /**
+   * デコードした画像データを保持する一時ファイルです。閉じると一時ファイルを削除します。
+   */
+  public static final class Base64ImageFile implements MultipartFile, Closeable {
+
+    private final Path file;
+
+    private final long size;
+
+    private final String contentType;
+
+    private Base64ImageFile(Path file, long size, String contentType) {
+      this.file = file;
+      this.size = size;
+      this.contentType = contentType;
+    }
 
     @Override
     public String getName() {
@@ -84,44 +189,52 @@ public class RecipeDetailWithImageData {
 
     @Override
     public String getOriginalFilename() {
-      return "image.jpg";
+      return "image." + ImageFileValidator.extensionOf(contentType);
     }
 
     @Override
     public String getContentType() {
-      return "image/jpeg";
+      return contentType;
     }
 
     @Override
     public boolean isEmpty() {
-      return fileContent == null || fileContent.length == 0;
+      return size == 0;
     }
 
     @Override
     public long getSize() {
-      return fileContent.length;
+      return size;
     }
 
     @Override
     public byte[] getBytes() throws IOException {
-      return fileContent;
+      return Files.readAllBytes(file);
     }
 
     @Override
     public InputStream getInputStream() throws IOException {
-      return new ByteArrayInputStream(fileContent);
+      return Files.newInputStream(file);
     }
 
     @Override
     public void transferTo(File dest) throws IOException, IllegalStateException {
-      try (FileOutputStream fos = new FileOutputStream(dest)) {
-        fos.write(fileContent);
-      }
+      transferTo(dest.toPath());
+    }
+
+    @Override
+    public void transferTo(Path dest) throws IOException, IllegalStateException {
+      Files.copy(file, dest, StandardCopyOption.REPLACE_EXISTING);
     }
 
     @Override
     public Resource getResource() {
-      return new ByteArrayResource(fileContent);
+      return new FileSystemResource(file);
+    }
+
+    @Override
+    public void close() {
+      deleteQuietly(file);
     }
   }
 }
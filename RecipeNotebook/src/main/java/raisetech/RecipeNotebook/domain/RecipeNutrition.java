@@ -0,0 +1,35 @@
+package raisetech.RecipeNotebook.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * レシピの栄養成分の計算結果のオブジェクトです。レシピ全体と1人分の栄養成分、材料ごとの計算結果をまとめます。
+ * アレンジの材料は計算に含めません。
+ */
+@Schema(description = "レシピの栄養成分")
+@Getter
+@AllArgsConstructor
+public class RecipeNutrition {
+
+  @Schema(description = "レシピID")
+  private final int recipeId;
+
+  @Schema(description = "何人分かを数値に換算した値。換算できない場合はnull")
+  private final Double servings;
+
+  @Schema(description = "レシピ全体の栄養成分")
+  private final Nutrients total;
+
+  @Schema(description = "1人分の栄養成分。何人分かが不明の場合はnull")
+  private final Nutrients perServing;
+
+  @Schema(description = "すべての材料の栄養成分を計算できた場合はtrue")
+  private final boolean complete;
+
+  @Schema(description = "材料ごとの栄養成分")
+  private final List<IngredientNutrition> ingredients;
+
+}
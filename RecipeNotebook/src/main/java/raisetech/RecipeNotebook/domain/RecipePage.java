@@ -0,0 +1,20 @@
+package raisetech.RecipeNotebook.domain;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * レシピ一覧検索の1ページ分の結果です。次のページが存在する場合は、そのページを取得するためのカーソルを保持します。
+ *
+ * @param <T> 一覧の要素の型
+ */
+@Getter
+@AllArgsConstructor
+public class RecipePage<T> {
+
+  private List<T> content;
+
+  private String nextCursor;
+
+}
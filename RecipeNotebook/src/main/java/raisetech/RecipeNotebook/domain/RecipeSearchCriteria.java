@@ -1,8 +1,12 @@
 package raisetech.RecipeNotebook.domain;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -20,6 +24,11 @@ import raisetech.RecipeNotebook.exception.DateRangeValidation;
 @DateRangeValidation
 public class RecipeSearchCriteria {
 
+  /**
+   * 1ページあたりの取得件数を指定しなかった場合の件数です。
+   */
+  public static final int DEFAULT_LIMIT = 30;
+
   @Schema(description = "指定したキーワードに部分一致するレシピ名を検索します。複数のキーワードを指定した場合はAND検索になります。", example = "[\"目玉\", \"焼\"]")
   private List<String> recipeNames;
 
@@ -41,4 +50,89 @@ public class RecipeSearchCriteria {
   @Schema(description = "指定したキーワードに部分一致する材料を含むレシピを検索します。複数のキーワードを指定した場合はAND検索になります。", example = "[\"卵\", \"水\"]")
   private List<String> ingredientNames;
 
+  @Schema(description = "1人分のエネルギー（kcal）が指定した値以下のレシピを検索します。何人分かが不明のレシピはレシピ全体の値で判定し、栄養成分が未計算のレシピは含まれません。", example = "500")
+  @PositiveOrZero
+  private Double maxKcal;
+
+  @Schema(description = "1人分のたんぱく質（g）が指定した値以上のレシピを検索します。何人分かが不明のレシピはレシピ全体の値で判定し、栄養成分が未計算のレシピは含まれません。", example = "20")
+  @PositiveOrZero
+  private Double minProtein;
+
+  @Schema(description = "指定したカテゴリーIDのカテゴリーが付いたレシピを検索します。", example = "[1, 4]")
+  private List<Integer> categoryIds;
+
+  @Schema(description = "複数のカテゴリーIDを指定した場合の検索方法です。ALLはすべてのカテゴリーが付いたレシピ（AND検索）、ANYはいずれかのカテゴリーが付いたレシピ（OR検索）を検索します。指定しない場合はALLです。", example = "ALL")
+  private CategoryMatch categoryMatch;
+
+  @Schema(description = "前回の検索結果のレスポンスヘッダー（X-Next-Cursor）で返されたカーソルです。指定した場合はその続きから検索します。", example = "MjAyNC0wOS0yMlQxNzowMF8x")
+  private String cursor;
+
+  @Schema(description = "1ページあたりの取得件数です。指定しない場合は30件です。", example = "30")
+  @Min(1)
+  @Max(100)
+  private Integer limit;
+
+  public RecipeSearchCriteria(List<String> recipeNames, Boolean favoriteRecipe,
+      LocalDate createDateFrom, LocalDate createDateTo, LocalDate updateDateFrom,
+      LocalDate updateDateTo, List<String> ingredientNames) {
+    this.recipeNames = recipeNames;
+    this.favoriteRecipe = favoriteRecipe;
+    this.createDateFrom = createDateFrom;
+    this.createDateTo = createDateTo;
+    this.updateDateFrom = updateDateFrom;
+    this.updateDateTo = updateDateTo;
+    this.ingredientNames = ingredientNames;
+  }
+
+  /**
+   * 検索結果が同じになる検索条件が同じ内容になるよう、検索条件を正規化します。
+   * キーワードは前後の空白を除き、空のキーワードと重複を取り除いて並べ替えます（キーワードはAND検索のため、結果は変わりません）。
+   * キーワードが残らない場合と、カーソルが空の場合はnullにします。
+   * カテゴリーIDも重複を取り除いて並べ替え、カテゴリーIDを指定しない場合は検索方法をnull、1件のみの場合はALLにします。
+   */
+  public void normalize() {
+    recipeNames = normalizeKeywords(recipeNames);
+    ingredientNames = normalizeKeywords(ingredientNames);
+    categoryIds = categoryIds == null ? null : categoryIds.stream()
+        .filter(Objects::nonNull)
+        .distinct()
+        .sorted()
+        .toList();
+    if (categoryIds == null || categoryIds.isEmpty()) {
+      categoryIds = null;
+      categoryMatch = null;
+    } else if (categoryMatch == null || categoryIds.size() == 1) {
+      categoryMatch = CategoryMatch.ALL;
+    }
+    cursor = cursor == null || cursor.isBlank() ? null : cursor.strip();
+  }
+
+  private static List<String> normalizeKeywords(List<String> keywords) {
+    if (keywords == null) {
+      return null;
+    }
+    List<String> normalizedKeywords = keywords.stream()
+        .filter(Objects::nonNull)
+        .map(String::strip)
+        .filter(keyword -> !keyword.isEmpty())
+        .distinct()
+        .sorted()
+        .toList();
+    return normalizedKeywords.isEmpty() ? null : normalizedKeywords;
+  }
+
+  /**
+   * 複数のカテゴリーを指定した場合の検索方法です。
+   */
+  public enum CategoryMatch {
+    /**
+     * すべてのカテゴリーが付いたレシピを検索します。
+     */
+    ALL,
+    /**
+     * いずれかのカテゴリーが付いたレシピを検索します。
+     */
+    ANY
+  }
+
 }
@@ -0,0 +1,55 @@
+package raisetech.RecipeNotebook.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * レシピ一覧表示用のレシピ概要のオブジェクトです。一覧のカード表示に必要な項目と材料の件数のみを保持します。
+ */
+@Schema(description = "レシピ概要")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeSummary {
+
+  private int id;
+
+  private String name;
+
+  private String imagePath;
+
+  private boolean favorite;
+
+  private LocalDateTime createdAt;
+
+  private LocalDateTime updatedAt;
+
+  @Schema(description = "材料の件数")
+  private int ingredientCount;
+
+  /**
+   * 一覧のカード表示用の縮小画像のパスです。縮小画像はアップロード後に非同期で作成するため、作成前は存在しない場合があります。
+   *
+   * @return 縮小画像のパス
+   */
+  @Schema(description = "一覧表示用の縮小画像（幅300px）のパス", accessMode = Schema.AccessMode.READ_ONLY)
+  public String getThumbnailPath() {
+    return ImageRendition.THUMBNAIL.pathOf(imagePath);
+  }
+
+  /**
+   * 詳細画面用の縮小画像のパスです。縮小画像はアップロード後に非同期で作成するため、作成前は存在しない場合があります。
+   *
+   * @return 縮小画像のパス
+   */
+  @Schema(description = "詳細表示用の縮小画像（幅800px）のパス", accessMode = Schema.AccessMode.READ_ONLY)
+  public String getMediumImagePath() {
+    return ImageRendition.MEDIUM.pathOf(imagePath);
+  }
+
+}
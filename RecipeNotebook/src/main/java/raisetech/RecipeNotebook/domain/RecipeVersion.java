@@ -0,0 +1,50 @@
+package raisetech.RecipeNotebook.domain;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import raisetech.RecipeNotebook.data.Recipe;
+
+/**
+ * レシピ詳細情報のETagの算出に使用するレシピのバージョン情報です。
+ * バージョン番号はレシピ・材料・調理手順のいずれかが変更されるたびに進みます。
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeVersion {
+
+  private int id;
+
+  private LocalDateTime createdAt;
+
+  private LocalDateTime updatedAt;
+
+  private int version;
+
+  /**
+   * レシピからバージョン情報を作成します。レシピ詳細情報のETagを、返却する内容そのものから求めるために使用します。
+   *
+   * @param recipe レシピ
+   * @return バージョン情報
+   */
+  public static RecipeVersion of(Recipe recipe) {
+    return new RecipeVersion(recipe.getId(), recipe.getCreatedAt(), recipe.getUpdatedAt(),
+        recipe.getVersion());
+  }
+
+  /**
+   * バージョン情報からETagの値を作成します。
+   *
+   * @return ETagの値（引用符なし）
+   */
+  public String toETag() {
+    return "recipe-" + id + "-" + version + "-"
+        + Integer.toHexString(Objects.hash(createdAt, updatedAt));
+  }
+
+}
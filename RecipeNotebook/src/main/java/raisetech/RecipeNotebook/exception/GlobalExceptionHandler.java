@@ -9,6 +9,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -126,6 +127,22 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(errorResponse);
   }
 
+  /**
+   * multipart/form-dataで上限を超えるサイズのファイルをアップロードしようとした場合の例外をハンドリングするメソッドです。
+   * MaxUploadSizeExceededExceptionがスローされたとき、ステータス（PayloadTooLarge）およびメッセージを返します。
+   *
+   * @param e 例外クラス（アップロードの上限を超過）
+   * @return エラーレスポンス（ステータスおよびメッセージ）
+   */
+  @ExceptionHandler
+  public ResponseEntity<ErrorResponse> handleMaxUploadSizeExceededException(
+      MaxUploadSizeExceededException e) {
+
+    ErrorResponse errorResponse = new ErrorResponse(HttpStatus.PAYLOAD_TOO_LARGE,
+        "画像ファイルのサイズが大きすぎます。5MB以下にしてください");
+    return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(errorResponse);
+  }
+
   /**
    * 画像以外のファイル形式をアップロードしようとした場合の例外をハンドリングするメソッドです。
    * InvalidFileTypeExceptionがスローされたとき、ステータス（BadRequest）および指定した例外メッセージを返します。
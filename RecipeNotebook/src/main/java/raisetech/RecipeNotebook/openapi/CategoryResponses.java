@@ -0,0 +1,45 @@
+package raisetech.RecipeNotebook.openapi;
+
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+public class CategoryResponses {
+
+  @Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
+  @Retention(RetentionPolicy.RUNTIME)
+  @ApiResponse(
+      responseCode = "200",
+      description = "カテゴリー一覧の取得が成功した場合のレスポンスです。",
+      content = @Content(
+          mediaType = "application/json",
+          examples = {
+              @ExampleObject(
+                  name = "success(get categories)",
+                  summary = "カテゴリー一覧を取得した場合",
+                  description = "カテゴリーIDの昇順で返します。",
+                  value = """
+                      [
+                          {
+                              "id": 1,
+                              "name": "主菜"
+                          },
+                          {
+                              "id": 2,
+                              "name": "副菜"
+                          }
+                      ]
+                      """
+              )
+          }
+      )
+  )
+  public @interface GetCategoriesResponses {
+
+  }
+
+}
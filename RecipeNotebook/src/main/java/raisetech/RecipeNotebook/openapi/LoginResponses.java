@@ -70,4 +70,66 @@ public class LoginResponses {
 
   }
 
+  @Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
+  @Retention(RetentionPolicy.RUNTIME)
+  @ApiResponse(
+      responseCode = "200",
+      description = "APIトークンの発行に成功した場合のレスポンスです。",
+      content = @Content(
+          mediaType = "application/json",
+          examples = {
+              @ExampleObject(
+                  name = "success(issue api token)",
+                  summary = "APIトークンの発行に成功した場合",
+                  description = "APIトークン・トークンの種類・有効期間（秒）を返します。",
+                  value = """
+                      {
+                          "accessToken": "djE6MTpVU0VSOjE3MzAwMDAwMDA6dXNlcg.dGVzdFNpZ25hdHVyZQ",
+                          "tokenType": "Bearer",
+                          "expiresIn": 3600
+                      }
+                      """
+              )
+          }
+      )
+  )
+  public @interface ApiTokenSuccess {
+
+  }
+
+  @Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
+  @Retention(RetentionPolicy.RUNTIME)
+  @ApiResponse(
+      responseCode = "401",
+      description = "APIトークンの発行の認証に失敗した場合のレスポンスです。",
+      content = @Content(
+          mediaType = "application/json",
+          examples = {
+              @ExampleObject(
+                  name = "api token failed",
+                  summary = "ユーザー名またはパスワードが正しくない場合",
+                  description = "エラーステータスとメッセージを返します。",
+                  value = """
+                      {
+                         "status": "UNAUTHORIZED",
+                         "message": "ユーザー名またはパスワードが正しくありません",
+                         "errors": null
+                      }
+                      """
+              )
+          }
+      )
+  )
+  public @interface ApiTokenFailed {
+
+  }
+
+  @Target(ElementType.METHOD)
+  @Retention(RetentionPolicy.RUNTIME)
+  @ApiTokenSuccess
+  @ApiTokenFailed
+  public @interface ApiTokenResponses {
+
+  }
+
 }
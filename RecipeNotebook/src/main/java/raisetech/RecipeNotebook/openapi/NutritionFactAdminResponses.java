@@ -0,0 +1,75 @@
+package raisetech.RecipeNotebook.openapi;
+
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import raisetech.RecipeNotebook.exception.ErrorResponse;
+
+public class NutritionFactAdminResponses {
+
+  @Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
+  @Retention(RetentionPolicy.RUNTIME)
+  @ApiResponse(
+      responseCode = "200",
+      description = "食品の栄養成分の取り込みが成功した場合のレスポンスです。",
+      content = @Content(
+          mediaType = "application/json",
+          examples = {
+              @ExampleObject(
+                  name = "success(import nutrition facts)",
+                  summary = "取り込みに成功した場合",
+                  description = "取り込んだ食品の件数を返します。",
+                  value = """
+                      {
+                          "count": 2483
+                      }
+                      """
+              )
+          }
+      )
+  )
+  public @interface ImportNutritionFactsSuccess {
+
+  }
+
+  @Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
+  @Retention(RetentionPolicy.RUNTIME)
+  @ApiResponse(
+      responseCode = "400",
+      description = "CSVの形式や値が不正な場合のレスポンスです。",
+      content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = ErrorResponse.class),
+          examples = {
+              @ExampleObject(
+                  name = "error(invalid csv)",
+                  summary = "成分値を数値に変換できない場合",
+                  description = "エラーの行とメッセージを返します。現在の食品の栄養成分は変更しません。",
+                  value = """
+                      {
+                          "status": "BAD_REQUEST",
+                          "message": "3行目: 成分値「abc」を数値に変換できません"
+                      }
+                      """
+              )
+          }
+      )
+  )
+  public @interface InvalidNutritionFactsCsv {
+
+  }
+
+  @Target(ElementType.METHOD)
+  @Retention(RetentionPolicy.RUNTIME)
+  @ImportNutritionFactsSuccess
+  @InvalidNutritionFactsCsv
+  public @interface ImportNutritionFactsResponses {
+
+  }
+
+}
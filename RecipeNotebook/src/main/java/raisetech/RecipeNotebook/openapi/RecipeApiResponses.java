@@ -1,5 +1,6 @@
 package raisetech.RecipeNotebook.openapi;
 
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -9,6 +10,8 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import raisetech.RecipeNotebook.domain.RecipeDetail;
+import raisetech.RecipeNotebook.domain.RecipeNutrition;
+import raisetech.RecipeNotebook.domain.RecipeSummary;
 import raisetech.RecipeNotebook.exception.ErrorResponse;
 
 public class RecipeApiResponses {
@@ -18,6 +21,10 @@ public class RecipeApiResponses {
   @ApiResponse(
       responseCode = "200",
       description = "一覧検索の処理が成功した場合のレスポンスです。",
+      headers = @Header(
+          name = "X-Next-Cursor",
+          description = "次のページを取得するためのカーソルです。次のページがない場合は返しません。",
+          schema = @Schema(type = "string")),
       content = @Content(
           mediaType = "application/json",
           schema = @Schema(implementation = RecipeDetail.class),
@@ -131,14 +138,77 @@ public class RecipeApiResponses {
 
   }
 
+  @Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
+  @Retention(RetentionPolicy.RUNTIME)
+  @ApiResponse(
+      responseCode = "304",
+      description = "If-None-Matchに指定したETagから内容が変更されていない場合のレスポンスです。レスポンスボディは返しません。",
+      headers = @Header(
+          name = "ETag",
+          description = "内容が変更されていないことを確認したETagです。",
+          schema = @Schema(type = "string")),
+      content = @Content
+  )
+  public @interface NotModified {
+
+  }
+
   @Target(ElementType.METHOD)
   @Retention(RetentionPolicy.RUNTIME)
   @SearchRecipesSuccess
+  @NotModified
   @SearchRecipesBadRequest
   public @interface SearchRecipesResponses {
 
   }
 
+  @Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
+  @Retention(RetentionPolicy.RUNTIME)
+  @ApiResponse(
+      responseCode = "200",
+      description = "レシピ概要の一覧検索の処理が成功した場合のレスポンスです。",
+      headers = @Header(
+          name = "X-Next-Cursor",
+          description = "次のページを取得するためのカーソルです。次のページがない場合は返しません。",
+          schema = @Schema(type = "string")),
+      content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = RecipeSummary.class),
+          examples = {
+              @ExampleObject(
+                  name = "success(find 1 recipe summary)",
+                  summary = "検索条件に合致するレシピが1件見つかった場合",
+                  description = "見つかったレシピの概要の一覧を返します。",
+                  value = """
+                      [
+                          {
+                              "id": 2,
+                              "name": "目玉焼き",
+                              "imagePath": "/images/medamayaki.jpg",
+                              "favorite": false,
+                              "createdAt": "2024-09-23T17:00:00",
+                              "updatedAt": "2024-10-23T17:00:00",
+                              "ingredientCount": 3
+                          }
+                      ]
+                      """
+              )
+          }
+      )
+  )
+  public @interface SearchRecipeSummariesSuccess {
+
+  }
+
+  @Target(ElementType.METHOD)
+  @Retention(RetentionPolicy.RUNTIME)
+  @SearchRecipeSummariesSuccess
+  @NotModified
+  @SearchRecipesBadRequest
+  public @interface SearchRecipeSummariesResponses {
+
+  }
+
   @Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
   @Retention(RetentionPolicy.RUNTIME)
   @ApiResponse(
@@ -253,11 +323,103 @@ public class RecipeApiResponses {
   @Target(ElementType.METHOD)
   @Retention(RetentionPolicy.RUNTIME)
   @GetRecipeDetailSuccess
+  @NotModified
   @RecipeIdNotFound
   public @interface GetRecipeDetailResponses {
 
   }
 
+  @Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
+  @Retention(RetentionPolicy.RUNTIME)
+  @ApiResponse(
+      responseCode = "200",
+      description = "栄養成分の計算が成功した場合のレスポンスです。",
+      content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(implementation = RecipeNutrition.class),
+          examples = {
+              @ExampleObject(
+                  name = "success",
+                  summary = "目玉焼き（1人分）の栄養成分を計算した場合",
+                  description = "サラダ油は分量が「適量」のため合計に含めず、completeがfalseになります。",
+                  value = """
+                      {
+                          "recipeId": 2,
+                          "servings": 1.0,
+                          "total": {
+                              "kcal": 71.0,
+                              "protein": 6.1,
+                              "fat": 5.1,
+                              "carbohydrates": 0.2,
+                              "saltEquivalent": 0.2
+                          },
+                          "perServing": {
+                              "kcal": 71.0,
+                              "protein": 6.1,
+                              "fat": 5.1,
+                              "carbohydrates": 0.2,
+                              "saltEquivalent": 0.2
+                          },
+                          "complete": false,
+                          "ingredients": [
+                              {
+                                  "name": "卵",
+                                  "quantity": "1個",
+                                  "foodNumber": "12004",
+                                  "foodName": "鶏卵　全卵　生",
+                                  "grams": 50.0,
+                                  "nutrients": {
+                                      "kcal": 71.0,
+                                      "protein": 6.1,
+                                      "fat": 5.1,
+                                      "carbohydrates": 0.2,
+                                      "saltEquivalent": 0.2
+                                  },
+                                  "resolved": true
+                              },
+                              {
+                                  "name": "サラダ油",
+                                  "quantity": "適量",
+                                  "foodNumber": "14006",
+                                  "foodName": "（植物油脂類）　調合油",
+                                  "grams": null,
+                                  "nutrients": null,
+                                  "resolved": false
+                              },
+                              {
+                                  "name": "水",
+                                  "quantity": null,
+                                  "foodNumber": null,
+                                  "foodName": null,
+                                  "grams": null,
+                                  "nutrients": {
+                                      "kcal": 0.0,
+                                      "protein": 0.0,
+                                      "fat": 0.0,
+                                      "carbohydrates": 0.0,
+                                      "saltEquivalent": 0.0
+                                  },
+                                  "resolved": true
+                              }
+                          ]
+                      }
+                      """
+              )
+          }
+      )
+  )
+  public @interface GetRecipeNutritionSuccess {
+
+  }
+
+  @Target(ElementType.METHOD)
+  @Retention(RetentionPolicy.RUNTIME)
+  @GetRecipeNutritionSuccess
+  @RecipeIdNotFound
+  public @interface GetRecipeNutritionResponses {
+
+  }
+
 
   @Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
   @Retention(RetentionPolicy.RUNTIME)
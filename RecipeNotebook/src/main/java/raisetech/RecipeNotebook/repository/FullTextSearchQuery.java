@@ -0,0 +1,57 @@
+package raisetech.RecipeNotebook.repository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * MySQLの全文検索（ngramパーサーのFULLTEXTインデックス）に渡すBOOLEAN MODEの検索クエリを組み立てます。
+ * マッパーXMLからOGNLの静的メソッド呼び出しで使用します。
+ * 全文検索はインデックスによる候補の絞り込みにのみ使用し、検索結果の判定はLIKEで行います。
+ * そのため、全文検索で正しく扱えないキーワード（トークン長未満、空白や引用符を含むもの）は絞り込みの対象外にします。
+ */
+public final class FullTextSearchQuery {
+
+  /**
+   * ngramパーサーのトークン長です。MySQLのngram_token_sizeの設定値に合わせます。
+   */
+  static final int NGRAM_TOKEN_SIZE = 2;
+
+  private FullTextSearchQuery() {
+  }
+
+  /**
+   * すべてのキーワードを含むレコードに絞り込むクエリを作成します。
+   * 全文検索で扱えないキーワードは条件から除外します（LIKEでの判定は行われるため、検索結果は変わりません）。
+   *
+   * @param keywords キーワード一覧
+   * @return 検索クエリ。絞り込みに使用できるキーワードがない場合はnull
+   */
+  public static String allOf(List<String> keywords) {
+    if (keywords == null) {
+      return null;
+    }
+
+    String query = keywords.stream()
+        .filter(FullTextSearchQuery::isSearchable)
+        .map(keyword -> "+" + toPhrase(keyword))
+        .collect(Collectors.joining(" "));
+    return query.isEmpty() ? null : query;
+  }
+
+  /**
+   * キーワードが全文検索の絞り込みに使用できるかを判定します。
+   *
+   * @param keyword キーワード
+   * @return トークン長以上で、空白と引用符を含まない場合はtrue
+   */
+  public static boolean isSearchable(String keyword) {
+    return keyword != null
+        && keyword.codePointCount(0, keyword.length()) >= NGRAM_TOKEN_SIZE
+        && keyword.codePoints().noneMatch(c -> Character.isWhitespace(c) || c == '"');
+  }
+
+  private static String toPhrase(String keyword) {
+    return "\"" + keyword + "\"";
+  }
+
+}
@@ -0,0 +1,49 @@
+package raisetech.RecipeNotebook.repository;
+
+import java.util.List;
+import org.apache.ibatis.annotations.Mapper;
+import raisetech.RecipeNotebook.data.NutritionFact;
+import raisetech.RecipeNotebook.data.NutritionFactRow;
+
+@Mapper
+public interface NutritionFactRepository {
+
+  List<NutritionFact> findAll();
+
+  /**
+   * 取り込み用の一時テーブル（nutrition_facts_new）を空の状態で作成します。
+   * 前回の取り込みで残ったテーブルがある場合は、先に{@link #dropShadowTable()}で削除してください。
+   */
+  void createShadowTable();
+
+  /**
+   * 一時テーブルに食品の栄養成分を一括で登録します。同じ食品番号の食品がある場合は上書きします。
+   *
+   * @param rows 食品の栄養成分の一覧
+   */
+  void upsertShadowNutritionFacts(List<NutritionFactRow> rows);
+
+  /**
+   * 一時テーブルに登録した食品の件数を取得します。
+   *
+   * @return 食品の件数
+   */
+  int countShadowNutritionFacts();
+
+  /**
+   * 一時テーブルと現在のテーブルの名前を入れ替え、一時テーブルを食品の栄養成分のテーブルにします。
+   * 入れ替え前のテーブルはnutrition_facts_oldとして残るため、{@link #dropOldTable()}で削除してください。
+   */
+  void swapShadowTable();
+
+  /**
+   * 入れ替え前のテーブル（nutrition_facts_old）を削除します。
+   */
+  void dropOldTable();
+
+  /**
+   * 取り込み用の一時テーブルを削除します。テーブルがない場合は何もしません。
+   */
+  void dropShadowTable();
+
+}
@@ -0,0 +1,51 @@
+package raisetech.RecipeNotebook.repository;
+
+import java.util.List;
+import org.apache.ibatis.annotations.Mapper;
+import raisetech.RecipeNotebook.data.Recipe;
+import raisetech.RecipeNotebook.data.RecipeNutritionSummary;
+
+@Mapper
+public interface RecipeNutritionRepository {
+
+  /**
+   * レシピIDに紐づく栄養成分の集計を取得します。
+   *
+   * @param recipeId レシピID
+   * @return 栄養成分の集計（未計算の場合はnull）
+   */
+  RecipeNutritionSummary getRecipeNutrition(int recipeId);
+
+  /**
+   * 栄養成分の集計を計算するレシピを、IDの昇順で指定したIDの後から最大で指定件数取得します。
+   *
+   * @param afterId 取得を開始する位置のレシピID（このIDより大きいレシピを取得する）
+   * @param recalculateAll 集計済みのレシピも取得する場合はtrue。未計算のレシピのみ取得する場合はfalse
+   * @param limit 取得件数の上限
+   * @return レシピ一覧
+   */
+  List<Recipe> getRecipesForNutrition(int afterId, boolean recalculateAll, int limit);
+
+  /**
+   * 栄養成分の集計を一括で登録します。同じレシピの集計がすでにある場合は上書きします。
+   *
+   * @param summaries 栄養成分の集計の一覧
+   */
+  void upsertRecipeNutritions(List<RecipeNutritionSummary> summaries);
+
+  /**
+   * 栄養成分の集計を一括で登録します。同じレシピの集計がすでにある場合は、既存の集計の計算日時が登録する集計の計算日時以前のときのみ上書きします。
+   * 一括の再計算の間に、レシピの更新で計算し直された新しい集計を古い内容で上書きしないために使用します。
+   *
+   * @param summaries 栄養成分の集計の一覧
+   */
+  void upsertRecipeNutritionsIfOutdated(List<RecipeNutritionSummary> summaries);
+
+  /**
+   * 栄養成分の集計を一括で登録します。同じレシピの集計がすでにある場合は、既存の集計を残します。
+   *
+   * @param summaries 栄養成分の集計の一覧
+   */
+  void insertRecipeNutritionsIfAbsent(List<RecipeNutritionSummary> summaries);
+
+}
@@ -3,10 +3,16 @@ package raisetech.RecipeNotebook.repository;
 
 import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
+import raisetech.RecipeNotebook.data.Category;
 import raisetech.RecipeNotebook.data.Ingredient;
 import raisetech.RecipeNotebook.data.Instruction;
 import raisetech.RecipeNotebook.data.Recipe;
+import raisetech.RecipeNotebook.domain.CategoryIndexEntry;
+import raisetech.RecipeNotebook.domain.IngredientIndexEntry;
+import raisetech.RecipeNotebook.domain.RecipeCursor;
 import raisetech.RecipeNotebook.domain.RecipeSearchCriteria;
+import raisetech.RecipeNotebook.domain.RecipeSummary;
+import raisetech.RecipeNotebook.domain.RecipeVersion;
 
 @Mapper
 public interface RecipeRepository {
@@ -20,6 +26,61 @@ public interface RecipeRepository {
    */
   List<Recipe> getRecipes(int userId, RecipeSearchCriteria criteria);
 
+  /**
+   * ユーザーIDと検索条件に応じてレシピ一覧を1ページ分取得します。作成日時とIDの昇順で、カーソルの続きから最大で指定件数を返します。
+   *
+   * @param userId ユーザーID
+   * @param criteria レシピ検索条件
+   * @param filterIngredients 材料名の条件をSQLで絞り込む場合はtrue。呼び出し側で絞り込む場合はfalse
+   * @param cursor 前のページの最後のレシピを表すカーソル。先頭のページを取得する場合はnull
+   * @param limit 取得件数の上限
+   * @return レシピ一覧
+   */
+  List<Recipe> getRecipePage(int userId, RecipeSearchCriteria criteria,
+      boolean filterIngredients, RecipeCursor cursor, int limit);
+
+  /**
+   * ユーザーIDと検索条件に応じてレシピ概要一覧を1ページ分取得します。レシピ一覧のカード表示に使用し、材料・調理手順の本文は取得しません。
+   *
+   * @param userId ユーザーID
+   * @param criteria レシピ検索条件
+   * @param filterIngredients 材料名の条件をSQLで絞り込む場合はtrue。呼び出し側で絞り込む場合はfalse
+   * @param cursor 前のページの最後のレシピを表すカーソル。先頭のページを取得する場合はnull
+   * @param limit 取得件数の上限
+   * @return レシピ概要一覧
+   */
+  List<RecipeSummary> getRecipeSummaryPage(int userId, RecipeSearchCriteria criteria,
+      boolean filterIngredients, RecipeCursor cursor, int limit);
+
+  /**
+   * ユーザーIDと検索条件に応じたレシピのうち、指定したIDのレシピを1ページ分取得します。作成日時とIDの昇順で、カーソルの続きから最大で指定件数を返します。
+   * インデックスで合致するレシピが少ない場合に、レシピ一覧を順に読み進めずに1ページ分を取得するために使用します。
+   *
+   * @param userId ユーザーID
+   * @param criteria レシピ検索条件
+   * @param filterIngredients 材料名の条件をSQLで絞り込む場合はtrue。呼び出し側で絞り込む場合はfalse
+   * @param recipeIds 取得するレシピのID一覧（空でないこと）
+   * @param cursor 前のページの最後のレシピを表すカーソル。先頭のページを取得する場合はnull
+   * @param limit 取得件数の上限
+   * @return レシピ一覧
+   */
+  List<Recipe> getRecipePageByIds(int userId, RecipeSearchCriteria criteria,
+      boolean filterIngredients, List<Integer> recipeIds, RecipeCursor cursor, int limit);
+
+  /**
+   * ユーザーIDと検索条件に応じたレシピのうち、指定したIDのレシピ概要を1ページ分取得します。作成日時とIDの昇順で、カーソルの続きから最大で指定件数を返します。
+   *
+   * @param userId ユーザーID
+   * @param criteria レシピ検索条件
+   * @param filterIngredients 材料名の条件をSQLで絞り込む場合はtrue。呼び出し側で絞り込む場合はfalse
+   * @param recipeIds 取得するレシピのID一覧（空でないこと）
+   * @param cursor 前のページの最後のレシピを表すカーソル。先頭のページを取得する場合はnull
+   * @param limit 取得件数の上限
+   * @return レシピ概要一覧
+   */
+  List<RecipeSummary> getRecipeSummaryPageByIds(int userId, RecipeSearchCriteria criteria,
+      boolean filterIngredients, List<Integer> recipeIds, RecipeCursor cursor, int limit);
+
   /**
    * IDに紐づくレシピを取得します。
    *
@@ -28,6 +89,38 @@ public interface RecipeRepository {
    */
   Recipe getRecipe(int id);
 
+  /**
+   * IDに紐づくレシピのバージョン情報を取得します。条件付きリクエストの判定に使用し、主キーのみで検索します。
+   *
+   * @param id レシピID
+   * @return レシピのバージョン情報（レシピが存在しない場合はnull）
+   */
+  RecipeVersion getRecipeVersion(int id);
+
+  /**
+   * 材料が属するレシピを取得します。材料の削除の際に、材料の存在確認とレシピの所有者の特定を1回の問い合わせで行うために使用します。
+   *
+   * @param ingredientId 材料ID
+   * @return レシピ（材料が存在しない場合はnull）
+   */
+  Recipe getRecipeByIngredientId(int ingredientId);
+
+  /**
+   * 調理手順が属するレシピを取得します。調理手順の削除の際に、調理手順の存在確認とレシピの所有者の特定を1回の問い合わせで行うために使用します。
+   *
+   * @param instructionId 調理手順ID
+   * @return レシピ（調理手順が存在しない場合はnull）
+   */
+  Recipe getRecipeByInstructionId(int instructionId);
+
+  /**
+   * 指定した画像のパスを参照するレシピの件数を取得します。画像ファイルを削除してよいかの判定に使用します。
+   *
+   * @param imagePath 画像のパス
+   * @return 画像を参照するレシピの件数
+   */
+  int countRecipesByImagePath(String imagePath);
+
   /**
    * 材料を全件取得します。テストに使用します。
    *
@@ -43,6 +136,35 @@ public interface RecipeRepository {
    */
   List<Ingredient> getIngredients(int recipeId);
 
+  /**
+   * レシピID一覧に紐づく材料一覧を一括で取得します。レシピ一覧の検索時に、レシピごとの問い合わせを避けるために使用します。
+   *
+   * @param recipeIds レシピID一覧
+   * @return レシピID一覧に紐づく材料一覧（レシピID、材料IDの昇順）
+   */
+  List<Ingredient> getIngredientsByRecipeIds(List<Integer> recipeIds);
+
+  /**
+   * 材料名の検索インデックスを構築するために、全ユーザーの材料をレシピの所有者のユーザーIDと作成日時とともに取得します。
+   *
+   * @return 材料一覧（ユーザーIDと作成日時付き）
+   */
+  List<IngredientIndexEntry> getIngredientIndexEntries();
+
+  /**
+   * カテゴリーの一覧を取得します。
+   *
+   * @return カテゴリー一覧（カテゴリーIDの昇順）
+   */
+  List<Category> getCategories();
+
+  /**
+   * カテゴリーの検索インデックスを構築するために、全ユーザーのレシピとカテゴリーの対応をレシピの所有者のユーザーIDと作成日時とともに取得します。
+   *
+   * @return レシピとカテゴリーの対応の一覧（ユーザーIDと作成日時付き）
+   */
+  List<CategoryIndexEntry> getCategoryIndexEntries();
+
   /**
    * IDに紐づく材料を取得します。
    *
@@ -67,22 +189,20 @@ public interface RecipeRepository {
   List<Instruction> getInstructions(int recipeId);
 
   /**
-   * IDに紐づく調理手順を取得します。
+   * レシピID一覧に紐づく調理手順一覧を一括で取得します。レシピ一覧の検索時に、レシピごとの問い合わせを避けるために使用します。
    *
-   * @param id 調理手順のID
-   * @return 調理手順
+   * @param recipeIds レシピID一覧
+   * @return レシピID一覧に紐づく調理手順一覧（レシピID、手順番号の昇順）
    */
-  Instruction getInstruction(int id);
+  List<Instruction> getInstructionsByRecipeIds(List<Integer> recipeIds);
 
   /**
-   * レシピID一覧に紐づき、かつ指定したキーワードに合致する材料のID一覧を取得します。
+   * IDに紐づく調理手順を取得します。
    *
-   * @param recipeIds レシピID一覧
-   * @param ingredientNames 材料名
-   * @return 材料のID一覧
+   * @param id 調理手順のID
+   * @return 調理手順
    */
-  List<Integer> getRecipeIdsWithMatchingIngredients(List<Integer> recipeIds,
-      List<String> ingredientNames);
+  Instruction getInstruction(int id);
 
   /**
    * レシピの新規登録です。新規レシピをレシピテーブルに追加します。
@@ -105,6 +225,20 @@ public interface RecipeRepository {
    */
   void registerInstruction(Instruction instruction);
 
+  /**
+   * 材料の一括登録です。複数の材料を1回の問い合わせで材料テーブルに追加し、自動採番されたIDを各材料にセットします。
+   *
+   * @param ingredients レシピの材料一覧（1件以上）
+   */
+  void registerIngredients(List<Ingredient> ingredients);
+
+  /**
+   * 調理手順の一括登録です。複数の調理手順を1回の問い合わせで調理手順テーブルに追加し、自動採番されたIDを各調理手順にセットします。
+   *
+   * @param instructions レシピの調理手順一覧（1件以上）
+   */
+  void registerInstructions(List<Instruction> instructions);
+
   /**
    * レシピの更新です。レシピ情報の中にあるIDを参照して、レシピテーブルで該当するレコードを更新します。
    *
@@ -113,11 +247,21 @@ public interface RecipeRepository {
   void updateRecipe(Recipe recipe);
 
   /**
-   * お気に入りレシピの更新です。IDを参照して、お気に入りボタンのオン/オフの切り替えに使用します。
+   * お気に入りレシピの更新です。IDとユーザーIDを参照して、お気に入りボタンのオン/オフの切り替えに使用します。
    *
+   * @param id レシピID
+   * @param userId レシピの所有者のユーザーID
    * @param favorite レシピのお気に入りフラグ
+   * @return 更新件数（ユーザーのレシピが存在しない場合は0）
    */
-  void updateFavoriteStatus(int id, boolean favorite);
+  int updateFavoriteStatus(int id, int userId, boolean favorite);
+
+  /**
+   * レシピのバージョン番号を進めます。レシピ自体を更新せずに材料・調理手順を変更した場合に使用します。
+   *
+   * @param id レシピID
+   */
+  void incrementRecipeVersion(int id);
 
   /**
    * レシピの材料の更新です。材料情報の中にあるIDを参照して、材料テーブルで該当するレコードを更新します。
@@ -133,26 +277,76 @@ public interface RecipeRepository {
    */
   void updateInstruction(Instruction instruction);
 
+  /**
+   * レシピの材料の一括更新です。指定したレシピの材料のうち、材料一覧のIDに該当するレコードを1回の問い合わせで更新します。
+   *
+   * @param recipeId レシピID
+   * @param ingredients レシピの材料一覧（1件以上）
+   */
+  void updateIngredients(int recipeId, List<Ingredient> ingredients);
+
+  /**
+   * レシピの調理手順の一括更新です。指定したレシピの調理手順のうち、調理手順一覧のIDに該当するレコードを1回の問い合わせで更新します。
+   *
+   * @param recipeId レシピID
+   * @param instructions レシピの調理手順一覧（1件以上）
+   */
+  void updateInstructions(int recipeId, List<Instruction> instructions);
+
   /**
    * レシピの削除です。レシピテーブルにおいて、指定したIDに紐づくレコードを削除します。
    * データベース側でデリートカスケードの設定をしているため、このメソッドが成功するとレシピIDに紐づく材料と調理手順がすべて削除されます。
    *
    * @param id レシピID
+   * @return 削除件数（レシピが存在しない場合は0）
    */
-  void deleteRecipe(int id);
+  int deleteRecipe(int id);
 
   /**
    * レシピの材料の削除です。材料テーブルにおいて、指定したIDに紐づくレコードを削除します。
    *
    * @param id 材料ID
+   * @return 削除件数（材料が存在しない場合は0）
    */
-  void deleteIngredient(int id);
+  int deleteIngredient(int id);
 
   /**
    * レシピの調理手順の削除です。調理手順テーブルにおいて、指定したIDに紐づくレコードを削除します。
    *
    * @param id 調理手順ID
+   * @return 削除件数（調理手順が存在しない場合は0）
+   */
+  int deleteInstruction(int id);
+
+  /**
+   * レシピの材料の一括削除です。指定したレシピの材料のうち、IDが一覧に含まれるレコードを1回の問い合わせで削除します。
+   *
+   * @param recipeId レシピID
+   * @param ids 材料ID一覧（1件以上）
+   */
+  void deleteIngredients(int recipeId, List<Integer> ids);
+
+  /**
+   * レシピの調理手順の一括削除です。指定したレシピの調理手順のうち、IDが一覧に含まれるレコードを1回の問い合わせで削除します。
+   *
+   * @param recipeId レシピID
+   * @param ids 調理手順ID一覧（1件以上）
+   */
+  void deleteInstructions(int recipeId, List<Integer> ids);
+
+  /**
+   * レシピのカテゴリーの一括登録です。複数行のINSERTを1回の問い合わせで実行します。
+   *
+   * @param recipeId レシピID
+   * @param categoryIds カテゴリーID一覧（1件以上、重複なし）
+   */
+  void registerRecipeCategories(int recipeId, List<Integer> categoryIds);
+
+  /**
+   * レシピのカテゴリーをすべて削除します。
+   *
+   * @param recipeId レシピID
    */
-  void deleteInstruction(int id);
+  void deleteRecipeCategories(int recipeId);
 
 }
@@ -0,0 +1,139 @@
+package raisetech.RecipeNotebook.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import raisetech.RecipeNotebook.data.User;
+import raisetech.RecipeNotebook.domain.ApiToken;
+
+/**
+ * APIトークンの発行と検証を行うサービスです。
+ * トークンはユーザーID・ロール・有効期限・ユーザー名を含む自己完結型で、HMAC（SHA-256）の署名を付与します。
+ * 検証は署名と有効期限の確認のみで行うため、リクエストごとのデータベースへの問い合わせやパスワードの照合は不要です。
+ * 署名の鍵（app.security.api-token.secret）を指定しない場合は起動ごとに生成するため、再起動すると発行済みのトークンは無効になります。
+ */
+public class ApiTokenService {
+
+  /**
+   * 発行するトークンの種類です。AuthorizationヘッダーでBearerとして送信します。
+   */
+  public static final String TOKEN_TYPE = "Bearer";
+
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+  private static final String VERSION = "v1";
+
+  /**
+   * 署名の鍵の最小のバイト数です。
+   */
+  private static final int MINIMUM_SECRET_LENGTH = 32;
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private final SecretKeySpec secretKey;
+
+  private final Duration expiresIn;
+
+  private final Clock clock;
+
+  public ApiTokenService(String secret, Duration expiresIn) {
+    this(secret, expiresIn, Clock.systemUTC());
+  }
+
+  ApiTokenService(String secret, Duration expiresIn, Clock clock) {
+    this.secretKey = new SecretKeySpec(resolveSecret(secret), HMAC_ALGORITHM);
+    this.expiresIn = expiresIn;
+    this.clock = clock;
+  }
+
+  /**
+   * ユーザーのAPIトークンを発行します。
+   *
+   * @param user 認証済みのユーザー
+   * @return APIトークン
+   */
+  public ApiToken issue(User user) {
+    long expiresAt = Instant.now(clock).plus(expiresIn).getEpochSecond();
+    String payload = String.join(":", VERSION, String.valueOf(user.getId()), user.getRole(),
+        String.valueOf(expiresAt), user.getUsername());
+    String encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    String token = encodedPayload + "." + ENCODER.encodeToString(sign(encodedPayload));
+    return new ApiToken(token, TOKEN_TYPE, expiresIn.toSeconds());
+  }
+
+  /**
+   * APIトークンを検証し、トークンに含まれるユーザーを復元します。データベースへの問い合わせは行いません。
+   * 復元したユーザーはユーザーID・ユーザー名・ロールのみを保持し、パスワードは保持しません。
+   *
+   * @param token APIトークン
+   * @return ユーザー。署名が一致しない場合・有効期限が切れている場合・形式が不正な場合はnull
+   */
+  public User verify(String token) {
+    int separator = token.indexOf('.');
+    if (separator <= 0 || separator != token.lastIndexOf('.')) {
+      return null;
+    }
+    String encodedPayload = token.substring(0, separator);
+
+    try {
+      byte[] signature = DECODER.decode(token.substring(separator + 1));
+      if (!MessageDigest.isEqual(signature, sign(encodedPayload))) {
+        return null;
+      }
+
+      String[] fields = new String(DECODER.decode(encodedPayload), StandardCharsets.UTF_8)
+          .split(":", 5);
+      if (fields.length != 5 || !VERSION.equals(fields[0])
+          || Instant.now(clock).getEpochSecond() >= Long.parseLong(fields[3])) {
+        return null;
+      }
+
+      User user = new User();
+      user.setId(Integer.parseInt(fields[1]));
+      user.setRole(fields[2]);
+      user.setUsername(fields[4]);
+      user.setEnabled(true);
+      return user;
+    } catch (IllegalArgumentException e) {
+      // Base64や数値の形式が不正な場合（NumberFormatExceptionを含む）
+      return null;
+    }
+  }
+
+  private byte[] sign(String encodedPayload) {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(secretKey);
+      return mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("APIトークンの署名を作成できませんでした", e);
+    }
+  }
+
+  /**
+   * 署名の鍵を決定します。指定がない場合は起動ごとに生成します。
+   */
+  private static byte[] resolveSecret(String secret) {
+    if (secret == null || secret.isBlank()) {
+      byte[] generated = new byte[MINIMUM_SECRET_LENGTH];
+      new SecureRandom().nextBytes(generated);
+      return generated;
+    }
+    byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length < MINIMUM_SECRET_LENGTH) {
+      throw new IllegalStateException(
+          "APIトークンの署名の鍵は" + MINIMUM_SECRET_LENGTH + "バイト以上で指定してください");
+    }
+    return bytes;
+  }
+
+}
@@ -0,0 +1,251 @@
+package raisetech.RecipeNotebook.service;
+
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import raisetech.RecipeNotebook.data.Category;
+import raisetech.RecipeNotebook.domain.CategoryIndexEntry;
+import raisetech.RecipeNotebook.domain.RecipeCursor;
+import raisetech.RecipeNotebook.domain.RecipeSearchCriteria.CategoryMatch;
+import raisetech.RecipeNotebook.exception.ResourceNotFoundException;
+import raisetech.RecipeNotebook.repository.RecipeRepository;
+
+/**
+ * カテゴリーからレシピを検索するためのインメモリのインデックスです。
+ * ユーザーごとにカテゴリーIDからレシピの集合（ビットマップ）を引けるようにし、複数カテゴリーのAND検索・OR検索をビットマップの積・和で求めます。
+ * レシピの検索ではカテゴリーの条件をSQLに含めず、取得したレシピをこのインデックスの結果で絞り込むため、レシピ一覧の取得に結合が増えません。
+ * レシピ詳細情報のカテゴリーもこのインデックスから引くため、カテゴリーの取得にデータベースへの問い合わせは行いません。
+ * インデックスは起動時にデータベースから構築し、その後はレシピの登録・更新・削除のトランザクションのコミット後に更新します。
+ */
+@Component
+public class CategorySearchIndex {
+
+  private final RecipeRepository repository;
+
+  private volatile Map<Integer, String> categoryNames = Map.of();
+
+  private final Map<Integer, UserIndex> userIndexes = new ConcurrentHashMap<>();
+
+  private final Map<Integer, Integer> recipeOwners = new ConcurrentHashMap<>();
+
+  @Autowired
+  public CategorySearchIndex(RecipeRepository repository) {
+    this.repository = repository;
+  }
+
+  /**
+   * データベースのカテゴリーとレシピのカテゴリーからインデックスを構築します。アプリケーションの起動時に実行されます。
+   */
+  @PostConstruct
+  public void rebuild() {
+    Map<Integer, String> names = new LinkedHashMap<>();
+    repository.getCategories().forEach(category -> names.put(category.getId(), category.getName()));
+
+    Map<Integer, UserIndex> rebuiltIndexes = new HashMap<>();
+    Map<Integer, Integer> rebuiltOwners = new HashMap<>();
+    for (CategoryIndexEntry entry : repository.getCategoryIndexEntries()) {
+      rebuiltIndexes.computeIfAbsent(entry.getUserId(), userId -> new UserIndex())
+          .add(entry.getRecipeId(), entry.getCreatedAt(), entry.getCategoryId());
+      rebuiltOwners.put(entry.getRecipeId(), entry.getUserId());
+    }
+
+    categoryNames = names;
+    userIndexes.clear();
+    userIndexes.putAll(rebuiltIndexes);
+    recipeOwners.clear();
+    recipeOwners.putAll(rebuiltOwners);
+  }
+
+  /**
+   * カテゴリーの一覧を取得します。
+   *
+   * @return カテゴリー一覧（カテゴリーIDの昇順）
+   */
+  public List<Category> getCategories() {
+    List<Category> categories = new ArrayList<>();
+    categoryNames.forEach((id, name) -> categories.add(new Category(id, name)));
+    return categories;
+  }
+
+  /**
+   * レシピに登録するカテゴリーを確認し、カテゴリー名を付けて返します。重複したカテゴリーは1件にまとめます。
+   *
+   * @param categories 登録するカテゴリー一覧（カテゴリーIDのみ参照します）。nullの場合は空の一覧として扱います
+   * @return カテゴリー一覧（カテゴリーIDの昇順、カテゴリー名付き）
+   * @throws ResourceNotFoundException 存在しないカテゴリーIDが含まれる場合
+   */
+  public List<Category> resolve(List<Category> categories) {
+    if (categories == null) {
+      return new ArrayList<>();
+    }
+    Map<Integer, String> names = categoryNames;
+    return categories.stream()
+        .filter(Objects::nonNull)
+        .map(Category::getId)
+        .distinct()
+        .sorted()
+        .map(id -> {
+          String name = names.get(id);
+          if (name == null) {
+            throw new ResourceNotFoundException("カテゴリーID「" + id + "」は存在しません");
+          }
+          return new Category(id, name);
+        })
+        .collect(ArrayList::new, List::add, List::addAll);
+  }
+
+  /**
+   * レシピのカテゴリー一覧を取得します。
+   *
+   * @param recipeId レシピID
+   * @return カテゴリー一覧（カテゴリーIDの昇順）。カテゴリーのないレシピの場合は空の一覧
+   */
+  public List<Category> getRecipeCategories(int recipeId) {
+    Integer userId = recipeOwners.get(recipeId);
+    UserIndex userIndex = userId == null ? null : userIndexes.get(userId);
+    List<Category> categories = new ArrayList<>();
+    if (userIndex == null) {
+      return categories;
+    }
+    Map<Integer, String> names = categoryNames;
+    for (int categoryId : userIndex.categoryIdsOf(recipeId)) {
+      categories.add(new Category(categoryId, names.get(categoryId)));
+    }
+    return categories;
+  }
+
+  /**
+   * カテゴリーの条件に合致するレシピのID一覧を取得します。
+   *
+   * @param userId ユーザーID
+   * @param categoryIds カテゴリーID一覧（1件以上）
+   * @param match すべてのカテゴリーを含むレシピを検索する場合はALL、いずれかのカテゴリーを含むレシピを検索する場合はANY
+   * @return 条件に合致するレシピのID一覧
+   */
+  public Set<Integer> findRecipeIds(int userId, List<Integer> categoryIds, CategoryMatch match) {
+    UserIndex userIndex = userIndexes.get(userId);
+    if (userIndex == null) {
+      return new HashSet<>();
+    }
+    return userIndex.search(categoryIds, match == CategoryMatch.ANY);
+  }
+
+  /**
+   * レシピのID一覧のうち、カーソルより後に並ぶレシピの位置（作成日時とID）を、レシピ一覧の並び順で先頭から最大で指定件数取得します。
+   * 検索条件に合致したレシピを、1ページ分ずつレシピIDで絞り込んで取得するために使用します。インデックスに登録されていないレシピは含めません。
+   *
+   * @param userId ユーザーID
+   * @param recipeIds レシピのID一覧
+   * @param cursor 開始位置のカーソル。先頭から取得する場合はnull
+   * @param limit 最大件数
+   * @return レシピの位置の一覧（レシピ一覧の並び順）
+   */
+  public List<RecipeCursor> findRecipePositions(int userId, Set<Integer> recipeIds,
+      RecipeCursor cursor, int limit) {
+    UserIndex userIndex = userIndexes.get(userId);
+    if (userIndex == null) {
+      return List.of();
+    }
+    return userIndex.positionsOf(recipeIds, cursor, limit);
+  }
+
+  /**
+   * レシピのカテゴリーをインデックスに登録します。登録済みのレシピの場合はカテゴリーを置き換えます。
+   * トランザクション中に呼び出した場合は、コミット後に反映します。
+   *
+   * @param userId レシピの所有者のユーザーID
+   * @param recipeId レシピID
+   * @param createdAt レシピの作成日時
+   * @param categories レシピのカテゴリー一覧
+   */
+  public void putRecipe(int userId, int recipeId, LocalDateTime createdAt,
+      List<Category> categories) {
+    List<Integer> categoryIds = categories.stream().map(Category::getId).toList();
+    TransactionCallbacks.afterCommitOrNow(() -> {
+      recipeOwners.put(recipeId, userId);
+      userIndexes.computeIfAbsent(userId, id -> new UserIndex())
+          .replace(recipeId, createdAt, categoryIds);
+    });
+  }
+
+  /**
+   * レシピをインデックスから削除します。トランザクション中に呼び出した場合は、コミット後に反映します。
+   *
+   * @param recipeId レシピID
+   */
+  public void removeRecipe(int recipeId) {
+    TransactionCallbacks.afterCommitOrNow(() -> {
+      Integer userId = recipeOwners.remove(recipeId);
+      if (userId != null) {
+        userIndexes.get(userId).remove(recipeId);
+      }
+    });
+  }
+
+  /**
+   * 1ユーザー分のインデックスです。レシピごとにカテゴリーIDの一覧（昇順）を保持し、カテゴリーIDで索引します。
+   */
+  private static class UserIndex {
+
+    private final RecipeBitmapIndex<Integer, List<Integer>> index =
+        new RecipeBitmapIndex<>(ArrayList::new, categoryIds -> categoryIds);
+
+    synchronized void add(int recipeId, LocalDateTime createdAt, int categoryId) {
+      int ordinal = index.ordinalOf(recipeId, createdAt);
+      List<Integer> categoryIds = index.valueOf(ordinal);
+      if (!categoryIds.contains(categoryId)) {
+        categoryIds.add(categoryId);
+        categoryIds.sort(null);
+      }
+      index.index(categoryId, ordinal);
+    }
+
+    synchronized void replace(int recipeId, LocalDateTime createdAt, List<Integer> categoryIds) {
+      int ordinal = index.ordinalOf(recipeId, createdAt);
+      index.unindex(ordinal);
+      index.valueOf(ordinal).clear();
+      categoryIds.forEach(categoryId -> add(recipeId, createdAt, categoryId));
+    }
+
+    synchronized void remove(int recipeId) {
+      index.remove(recipeId);
+    }
+
+    synchronized List<Integer> categoryIdsOf(int recipeId) {
+      Integer ordinal = index.findOrdinal(recipeId);
+      return ordinal == null ? List.of() : List.copyOf(index.valueOf(ordinal));
+    }
+
+    synchronized List<RecipeCursor> positionsOf(Set<Integer> recipeIds, RecipeCursor cursor,
+        int limit) {
+      return index.positionsOf(recipeIds, cursor, limit);
+    }
+
+    synchronized Set<Integer> search(List<Integer> categoryIds, boolean matchAny) {
+      BitSet result = null;
+      for (int categoryId : categoryIds) {
+        BitSet posting = index.postingOf(categoryId);
+        if (result == null) {
+          result = posting;
+        } else if (matchAny) {
+          result.or(posting);
+        } else {
+          result.and(posting);
+        }
+      }
+      return result == null ? new HashSet<>() : index.recipeIdsOf(result);
+    }
+  }
+
+}
@@ -0,0 +1,173 @@
+package raisetech.RecipeNotebook.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import raisetech.RecipeNotebook.exception.IllegalArgumentCustomException;
+
+/**
+ * CSV（RFC 4180）を1レコードずつ読み込むリーダーです。
+ * ファイル全体を読み込まずに現在のレコードのみを保持するため、ファイルの大きさにかかわらずメモリの使用量は1レコードの上限までに収まります。
+ * 引用符で囲んだフィールド内のカンマ・改行・二重の引用符（""）に対応し、改行はLF・CRLF・CRのいずれも扱えます。
+ * 先頭のBOMは読み飛ばします。
+ */
+public final class CsvRecordReader implements Closeable {
+
+  private static final int BOM = '\uFEFF';
+
+  private static final int END_OF_STREAM = -1;
+
+  private final Reader reader;
+
+  private final int maxRecordLength;
+
+  private final StringBuilder field = new StringBuilder();
+
+  private int pushedBack = END_OF_STREAM - 1;
+
+  private boolean started;
+
+  private int lineNumber = 1;
+
+  private int recordLineNumber;
+
+  /**
+   * @param reader          読み込むCSV。呼び出し側でバッファリングしたReaderを渡してください
+   * @param maxRecordLength 1レコードあたりの最大の文字数。引用符が閉じられていない場合に残りの全体を読み込まないための上限です
+   */
+  public CsvRecordReader(Reader reader, int maxRecordLength) {
+    this.reader = reader;
+    this.maxRecordLength = maxRecordLength;
+  }
+
+  /**
+   * 次のレコードを読み込みます。空行は読み飛ばします。
+   *
+   * @return レコードのフィールドの一覧。ファイルの終わりに達した場合はnull
+   * @throws IOException                     読み込みに失敗した場合
+   * @throws IllegalArgumentCustomException 引用符が閉じられていないなどCSVの形式が不正な場合
+   */
+  public List<String> readRecord() throws IOException {
+    if (!started) {
+      started = true;
+      int first = reader.read();
+      if (first != BOM) {
+        pushedBack = first;
+      }
+    }
+
+    int c;
+    do {
+      c = read();
+      if (c == '\r' || c == '\n') {
+        skipLineBreak(c);
+      }
+    } while (c == '\r' || c == '\n');
+    if (c == END_OF_STREAM) {
+      return null;
+    }
+    pushedBack = c;
+    recordLineNumber = lineNumber;
+
+    List<String> fields = new ArrayList<>();
+    int length = 0;
+    while (true) {
+      field.setLength(0);
+      c = read();
+      if (c == '"') {
+        c = readQuotedField(length);
+      } else {
+        while (c != ',' && c != '\r' && c != '\n' && c != END_OF_STREAM) {
+          append(c, length);
+          c = read();
+        }
+      }
+      length += field.length() + 1;
+      fields.add(field.toString());
+
+      if (c != ',') {
+        if (c != END_OF_STREAM) {
+          skipLineBreak(c);
+        }
+        return fields;
+      }
+    }
+  }
+
+  /**
+   * 現在のレコードが始まる行番号（1始まり）です。エラーメッセージでの位置の表示に使用します。
+   *
+   * @return 行番号
+   */
+  public int getRecordLineNumber() {
+    return recordLineNumber;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  /**
+   * 開始の引用符の後から、閉じる引用符とその後の区切り文字までを読み込みます。
+   *
+   * @return 閉じる引用符の後の区切り文字（カンマ・改行・ファイルの終わり）
+   */
+  private int readQuotedField(int length) throws IOException {
+    while (true) {
+      int c = read();
+      if (c == END_OF_STREAM) {
+        throw invalid("引用符が閉じられていません");
+      }
+      if (c == '"') {
+        int next = read();
+        if (next != '"') {
+          if (next != ',' && next != '\r' && next != '\n' && next != END_OF_STREAM) {
+            throw invalid("引用符で囲んだフィールドの後に区切り文字がありません");
+          }
+          return next;
+        }
+      } else if (c == '\n' || (c == '\r' && peek() != '\n')) {
+        lineNumber++;
+      }
+      append(c, length);
+    }
+  }
+
+  private void append(int c, int length) {
+    if (length + field.length() >= maxRecordLength) {
+      throw invalid("1行の文字数が上限（" + maxRecordLength + "文字）を超えています");
+    }
+    field.append((char) c);
+  }
+
+  private void skipLineBreak(int c) throws IOException {
+    if (c == '\r' && peek() == '\n') {
+      read();
+    }
+    lineNumber++;
+  }
+
+  private int read() throws IOException {
+    if (pushedBack >= END_OF_STREAM) {
+      int c = pushedBack;
+      pushedBack = END_OF_STREAM - 1;
+      return c;
+    }
+    return reader.read();
+  }
+
+  private int peek() throws IOException {
+    if (pushedBack < END_OF_STREAM) {
+      pushedBack = reader.read();
+    }
+    return pushedBack;
+  }
+
+  private IllegalArgumentCustomException invalid(String message) {
+    return new IllegalArgumentCustomException(recordLineNumber + "行目: " + message);
+  }
+
+}
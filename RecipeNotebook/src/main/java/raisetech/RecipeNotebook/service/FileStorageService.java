@@ -1,63 +1,256 @@
 package raisetech.RecipeNotebook.service;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLConnection;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.web.multipart.MultipartFile;
+import raisetech.RecipeNotebook.domain.ImageRendition;
 import raisetech.RecipeNotebook.exception.FileStorageException;
+import raisetech.RecipeNotebook.repository.RecipeRepository;
 
+/**
+ * アップロードされた画像をファイルの内容のハッシュ値（SHA-256）で名前を付けて保存するサービスです。
+ * 同じ内容の画像は同じパスになるため、何度アップロードしても1つのファイルのみを保存します。
+ * ファイルはハッシュ値の先頭2文字・次の2文字のディレクトリに振り分け（例：/uploads/ab/cd/abcd….png）、1つのディレクトリのファイル数を抑えます。
+ * 同じファイルを複数のレシピが参照するため、削除はそのファイルを参照するレシピがなくなった場合に限り行います。
+ */
+@Slf4j
 @Service
 public class FileStorageService {
 
+  private static final String NO_IMAGE_PATH = "/images/no_image.jpg";
+
+  /**
+   * 保存と削除の排他に使用するロックの数です。
+   */
+  private static final int LOCK_STRIPES = 64;
+
   @Value("${app.upload.dir}")
   private String uploadDir;
 
-  @Value("${app.feature.someClassEnabled:true}")
-  private boolean activeProfile;
+  private final ImageRenditionService imageRenditionService;
+
+  private final RecipeRepository recipeRepository;
+
+  private final Object[] locks = new Object[LOCK_STRIPES];
+
+  /**
+   * 保存したトランザクションが完了していない画像のパスと、その件数です。
+   * コミット前のレシピはデータベースの参照件数に含まれないため、その間に他のレシピの削除で画像を削除しないように記録します。
+   */
+  private final Map<String, Integer> pendingReferences = new ConcurrentHashMap<>();
+
+  @Autowired
+  public FileStorageService(ImageRenditionService imageRenditionService,
+      RecipeRepository recipeRepository) {
+    this.imageRenditionService = imageRenditionService;
+    this.recipeRepository = recipeRepository;
+    for (int i = 0; i < LOCK_STRIPES; i++) {
+      locks[i] = new Object();
+    }
+  }
 
+  /**
+   * 画像を保存し、画像のパスを返します。
+   * 画像は一時ファイルに書き込みながらハッシュ値を求め、同じ内容のファイルがない場合に限り保存先へ移動します。
+   * トランザクション中に保存した画像は、ロールバックされた場合に参照するレシピがなければ削除します。
+   *
+   * @param file 画像ファイル
+   * @return 画像のパス。画像がない場合はno_image画像のパス
+   */
   public String storeFile(MultipartFile file) {
-    try {
-      if (file != null && !file.isEmpty()) {
-        String filename = UUID.randomUUID() + "_" + file.getOriginalFilename();
-        Path uploadPath = Paths.get(uploadDir);
+    if (file == null || file.isEmpty()) {
+      return NO_IMAGE_PATH;
+    }
 
-        if (!Files.exists(uploadPath)) {
-          Files.createDirectories(uploadPath);
-        }
+    Path tempFile = null;
+    try {
+      Path uploadPath = Paths.get(uploadDir);
+      Files.createDirectories(uploadPath);
+      tempFile = Files.createTempFile(uploadPath, "upload-", ".tmp");
 
-        Path filePath = uploadPath.resolve(filename);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+      String hash = copyWithHash(file, tempFile);
+      String relativePath = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash
+          + extensionOf(tempFile, file.getOriginalFilename());
+      String imagePath = ImageRendition.UPLOADS_PREFIX + relativePath;
 
-        return "/uploads/" + filename;
+      boolean created;
+      synchronized (lockFor(imagePath)) {
+        pendingReferences.merge(imagePath, 1, Integer::sum);
+        Path filePath = uploadPath.resolve(relativePath);
+        created = Files.notExists(filePath);
+        if (created) {
+          Files.createDirectories(filePath.getParent());
+          Files.move(tempFile, filePath, StandardCopyOption.ATOMIC_MOVE);
+        }
+      }
+      releaseOnCompletion(imagePath);
 
-      } else {
-        return "/images/no_image.jpg";
+      if (created) {
+        // 一覧・詳細画面用の縮小画像は非同期で作成する
+        imageRenditionService.scheduleRenditions(relativePath);
       }
+      return imagePath;
 
     } catch (IOException e) {
       throw new FileStorageException("ファイルの保存に失敗しました");
+    } finally {
+      deleteTempFile(tempFile);
     }
   }
 
+  /**
+   * 画像を削除します。画像を参照するレシピが残っている場合は削除しません。
+   * トランザクション中に呼び出した場合は、参照の有無をコミット後に確認して削除します。
+   *
+   * @param imagePath 画像のパス
+   */
   public void deleteFile(String imagePath) {
-    try {
-      Path uploadPath = Paths.get(uploadDir);
-      String fileName = imagePath.substring(imagePath.lastIndexOf("/") + 1);
-      Path filePath = uploadPath.resolve(fileName);
+    if (!TransactionCallbacks.afterCommit(() -> deleteIfUnreferencedQuietly(imagePath))) {
+      deleteIfUnreferenced(imagePath);
+    }
+  }
 
-      // ディレクトリにファイルが存在する場合に限り削除。存在しなければ何もしないことを許容する。
-      if (Files.exists(filePath)) {
-        Files.delete(filePath);
+  /**
+   * 画像を参照するレシピがない場合に、画像とその縮小画像を削除します。
+   */
+  private void deleteIfUnreferenced(String imagePath) {
+    Path filePath = resolveUploadedFile(imagePath);
+    String relativePath = Paths.get(uploadDir).toAbsolutePath().normalize()
+        .relativize(filePath).toString().replace('\\', '/');
+    try {
+      synchronized (lockFor(imagePath)) {
+        if (pendingReferences.containsKey(imagePath)
+            || recipeRepository.countRecipesByImagePath(imagePath) > 0) {
+          return;
+        }
+        // ディレクトリにファイルが存在する場合に限り削除。存在しなければ何もしないことを許容する。
+        Files.deleteIfExists(filePath);
       }
+      imageRenditionService.deleteRenditions(relativePath);
 
     } catch (IOException e) {
       throw new FileStorageException(
           "ファイルの削除に失敗しました");
     }
   }
+
+  /**
+   * コミット後の削除で使用します。削除に失敗してもレシピの変更は確定しているため、例外はスローしません。
+   */
+  private void deleteIfUnreferencedQuietly(String imagePath) {
+    try {
+      deleteIfUnreferenced(imagePath);
+    } catch (RuntimeException e) {
+      log.warn("画像を削除できませんでした: {}", imagePath, e);
+    }
+  }
+
+  /**
+   * 画像のパスからアップロードディレクトリ内のファイルのパスを求めます。
+   * /uploads/以降をアップロードディレクトリからの相対パスとし、それ以外の形式はファイル名のみを使用します。
+   * アップロードディレクトリの外を指すパスは受け付けません。
+   */
+  private Path resolveUploadedFile(String imagePath) {
+    String relativePath = imagePath.startsWith(ImageRendition.UPLOADS_PREFIX)
+        ? imagePath.substring(ImageRendition.UPLOADS_PREFIX.length())
+        : imagePath.substring(imagePath.lastIndexOf("/") + 1);
+    Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+    Path filePath = uploadPath.resolve(relativePath).normalize();
+    if (!filePath.startsWith(uploadPath) || filePath.equals(uploadPath)) {
+      throw new FileStorageException("ファイルの削除に失敗しました");
+    }
+    return filePath;
+  }
+
+  /**
+   * 保存したトランザクションの完了後に、保存中の記録を解除します。
+   * ロールバックされた場合は、画像を参照するレシピがなければ削除します。
+   */
+  private void releaseOnCompletion(String imagePath) {
+    TransactionCallbacks.afterCompletionOrNow(status -> {
+      release(imagePath);
+      if (status != TransactionSynchronization.STATUS_COMMITTED) {
+        deleteIfUnreferencedQuietly(imagePath);
+      }
+    });
+  }
+
+  private void release(String imagePath) {
+    synchronized (lockFor(imagePath)) {
+      pendingReferences.computeIfPresent(imagePath, (path, count) -> count > 1 ? count - 1 : null);
+    }
+  }
+
+  private Object lockFor(String imagePath) {
+    return locks[Math.floorMod(imagePath.hashCode(), LOCK_STRIPES)];
+  }
+
+  /**
+   * ファイルの内容を一時ファイルに書き込みながら、SHA-256のハッシュ値を求めます。
+   */
+  private static String copyWithHash(MultipartFile file, Path tempFile) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    try (InputStream inputStream = new DigestInputStream(file.getInputStream(), digest);
+        OutputStream outputStream = Files.newOutputStream(tempFile)) {
+      inputStream.transferTo(outputStream);
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  /**
+   * 保存するファイルの拡張子を求めます。
+   * 同じ内容のファイルが同じパスになるよう、ファイルの先頭のバイト列から判定し、判定できない場合に限り元のファイル名の拡張子を使用します。
+   */
+  private static String extensionOf(Path file, String originalFilename) throws IOException {
+    String mimeType;
+    try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(file), 16)) {
+      mimeType = URLConnection.guessContentTypeFromStream(inputStream);
+    }
+    if (mimeType != null && mimeType.startsWith("image/")) {
+      String subtype = mimeType.substring("image/".length());
+      return "." + (subtype.equals("jpeg") ? "jpg" : subtype);
+    }
+
+    if (originalFilename == null || originalFilename.lastIndexOf('.') < 0) {
+      return "";
+    }
+    String extension = originalFilename.substring(originalFilename.lastIndexOf('.') + 1)
+        .toLowerCase(Locale.ROOT);
+    return extension.matches("[a-z0-9]{1,10}") ? "." + extension : "";
+  }
+
+  private static void deleteTempFile(Path tempFile) {
+    if (tempFile == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(tempFile);
+    } catch (IOException e) {
+      log.warn("一時ファイルを削除できませんでした: {}", tempFile, e);
+    }
+  }
 }
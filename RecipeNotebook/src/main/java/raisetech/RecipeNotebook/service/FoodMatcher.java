@@ -0,0 +1,333 @@
+package raisetech.RecipeNotebook.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import raisetech.RecipeNotebook.data.NutritionFact;
+
+/**
+ * 材料名に最も近い食品を探すための、食品名の文字bigramの転置インデックスです。
+ * 食品名は分類を表す括弧書きを除いて語に分け、語ごとに前後の境界を含む文字bigramを索引します。
+ * 中分類・小分類の括弧書き（（しょうゆ類）・［小麦粉］）も「類」を除いた語として索引し、その分類の先頭の食品に対応させます。
+ * 材料名と語の類似度はbigramのDice係数で求め、先頭の語（「たまねぎ　りん茎　生」の「たまねぎ」）、分類の語、それ以外の語の順に優先します。
+ * 同じ語を持つ食品は成分表の掲載順で先のもの（生の状態などの基本の食品）を使用します。
+ * 材料名と語はいずれも正規化（全角・半角の統一、カタカナのひらがな化、A・Bなどのグループの記号の除去）してから比較し、正規化した材料名ごとに結果を記憶します。
+ * 索引は構築後に変更せず、結果の記憶にはスレッドセーフなキャッシュを使用するため、複数のスレッドから同時に使用できます。
+ */
+public final class FoodMatcher {
+
+  /**
+   * 類似した食品として採用するDice係数の下限です。
+   */
+  static final double MIN_SCORE = 0.5;
+
+  /**
+   * 分類の語に一致した場合の類似度の係数です。
+   */
+  static final double CATEGORY_WORD_WEIGHT = 0.95;
+
+  /**
+   * 先頭・分類以外の語に一致した場合の類似度の係数です。
+   */
+  static final double SECONDARY_WORD_WEIGHT = 0.9;
+
+  private static final char BOUNDARY = '\u0000';
+
+  /**
+   * 食品名の分類を表す括弧書き（＜いも類＞・（砂糖類）・［小麦粉］）です。NFKCで半角にした後の形式です。
+   */
+  private static final Pattern FOOD_CATEGORY = Pattern.compile(
+      "<[^>]*>|\\([^)]*\\)|\\[[^\\]]*\\]");
+
+  /**
+   * 食品名の中分類・小分類の括弧書き（（しょうゆ類）・［小麦粉］）です。大分類（＜調味料類＞）は範囲が広いため含めません。
+   */
+  private static final Pattern FOOD_SUBCATEGORY = Pattern.compile(
+      "\\(([^)]*)\\)|\\[([^\\]]*)\\]");
+
+  /**
+   * 材料名の先頭の、調味料のグループなどを表す記号（「A醤油」のA、「☆砂糖」の☆、「(B)酒」の(B)など）です。
+   * 英字の記号は、直後が英数字でない（日本語の）場合のみ記号とみなします。
+   */
+  private static final Pattern GROUP_PREFIX = Pattern.compile(
+      "^(?:[☆★◎●○◯◆◇■□※*・]+|[(\\[<【]?[a-z][)\\]>】]?(?=[^\\x00-\\x7f]))");
+
+  private static final Match NO_MATCH = new Match(null, 0);
+
+  private final List<NutritionFact> nutritionFacts;
+
+  /**
+   * 索引する語の一覧です。同じ語は1回のみ索引します。
+   */
+  private final List<Entry> entries;
+
+  /**
+   * 語の正規化した文字列から索引する語を引くマップです。完全に一致する語の検索に使用します。
+   */
+  private final Map<String, Entry> entriesByWord;
+
+  /**
+   * bigramから、そのbigramを含む語の番号の一覧を引く転置インデックスです。
+   */
+  private final Map<String, int[]> postings;
+
+  private final Cache<String, Match> memo;
+
+  /**
+   * 食品の一覧から索引を構築します。
+   *
+   * @param nutritionFacts 食品の一覧（成分表の掲載順）
+   * @param memoSize 記憶する材料名の件数の上限
+   */
+  public FoodMatcher(List<NutritionFact> nutritionFacts, long memoSize) {
+    Map<String, Entry> words = new LinkedHashMap<>();
+    for (int food = 0; food < nutritionFacts.size(); food++) {
+      String foodName = nutritionFacts.get(food).getName();
+      List<String> foodWords = wordsOf(foodName);
+      for (int i = 0; i < foodWords.size(); i++) {
+        addWord(words, foodWords.get(i), i == 0 ? 1.0 : SECONDARY_WORD_WEIGHT, food);
+      }
+      for (String categoryWord : categoryWordsOf(foodName)) {
+        addWord(words, categoryWord, CATEGORY_WORD_WEIGHT, food);
+      }
+    }
+    this.nutritionFacts = List.copyOf(nutritionFacts);
+    this.entries = List.copyOf(words.values());
+    this.entriesByWord = Map.copyOf(words);
+
+    Map<String, List<Integer>> postingLists = new HashMap<>();
+    for (int i = 0; i < entries.size(); i++) {
+      for (String bigram : bigramsOf(entries.get(i).word())) {
+        postingLists.computeIfAbsent(bigram, key -> new ArrayList<>()).add(i);
+      }
+    }
+    Map<String, int[]> builtPostings = new HashMap<>();
+    postingLists.forEach((bigram, list) ->
+        builtPostings.put(bigram, list.stream().mapToInt(Integer::intValue).toArray()));
+    this.postings = Map.copyOf(builtPostings);
+
+    this.memo = Caffeine.newBuilder().maximumSize(memoSize).build();
+  }
+
+  /**
+   * 材料名に最も近い食品を取得します。結果は正規化した材料名ごとに記憶します。
+   *
+   * @param ingredientName 材料名
+   * @return 最も近い食品と類似度。類似度が下限に満たない場合はnull
+   */
+  public Match match(String ingredientName) {
+    String name = normalize(ingredientName);
+    if (name.isEmpty()) {
+      return null;
+    }
+    Match match = memo.get(name, key -> {
+      List<Match> matches = search(key, 1);
+      return matches.isEmpty() || matches.get(0).score() < MIN_SCORE ? NO_MATCH : matches.get(0);
+    });
+    return match == NO_MATCH ? null : match;
+  }
+
+  /**
+   * 材料名に近い食品を類似度の高い順に取得します。結果は記憶しません。
+   *
+   * @param ingredientName 材料名
+   * @param limit 取得する件数
+   * @return 食品と類似度の一覧。類似度の下限は適用しません
+   */
+  public List<Match> topMatches(String ingredientName, int limit) {
+    return search(normalize(ingredientName), limit);
+  }
+
+  /**
+   * 索引した語の件数を返します。
+   *
+   * @return 索引した語の件数
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * 比較のために文字列を正規化します。
+   * 全角の英数字を半角に揃えて小文字にし、カタカナをひらがなにして、空白を取り除きます。先頭のグループの記号も取り除きます。
+   *
+   * @param value 材料名
+   * @return 正規化した文字列
+   */
+  public static String normalize(String value) {
+    if (value == null) {
+      return "";
+    }
+    String normalized = Normalizer.normalize(value, Normalizer.Form.NFKC)
+        .toLowerCase(Locale.ROOT)
+        .replaceAll("\\s", "");
+    return toHiragana(GROUP_PREFIX.matcher(normalized).replaceFirst(""));
+  }
+
+  /**
+   * 正規化した材料名に近い語を、カウンタの配列でbigramの一致数を数えて求め、類似度の高い順に取得します。
+   */
+  private List<Match> search(String name, int limit) {
+    if (name.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+    Entry exact = entriesByWord.get(name);
+    if (exact != null && limit == 1) {
+      return List.of(new Match(nutritionFacts.get(exact.food()), exact.weight()));
+    }
+
+    String[] queryBigrams = bigramsOf(name);
+    int[] overlaps = new int[entries.size()];
+    int[] touched = new int[entries.size()];
+    int touchedCount = 0;
+    for (String bigram : new LinkedHashSet<>(Arrays.asList(queryBigrams))) {
+      int[] posting = postings.get(bigram);
+      if (posting == null) {
+        continue;
+      }
+      for (int index : posting) {
+        if (overlaps[index]++ == 0) {
+          touched[touchedCount++] = index;
+        }
+      }
+    }
+
+    // 1つの食品が複数の語で索引されているため、食品ごとに最も高い類似度を使用する
+    Map<Integer, Double> scoresByFood = new HashMap<>();
+    for (int i = 0; i < touchedCount; i++) {
+      Entry entry = entries.get(touched[i]);
+      double dice = 2.0 * overlaps[touched[i]] / (queryBigrams.length + entry.bigramCount());
+      scoresByFood.merge(entry.food(), dice * entry.weight(), Math::max);
+    }
+
+    // 類似度が同じ場合は成分表の掲載順で先の食品を優先し、上位の件数のみをヒープに残す
+    Comparator<Scored> order = Comparator.comparingDouble(Scored::score)
+        .thenComparing(Comparator.comparingInt(Scored::food).reversed());
+    PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, order);
+    scoresByFood.forEach((food, score) -> {
+      top.add(new Scored(food, score));
+      if (top.size() > limit) {
+        top.poll();
+      }
+    });
+
+    List<Match> matches = new ArrayList<>(top.size());
+    while (!top.isEmpty()) {
+      Scored scored = top.poll();
+      matches.add(new Match(nutritionFacts.get(scored.food()), scored.score()));
+    }
+    Collections.reverse(matches);
+    return matches;
+  }
+
+  /**
+   * 語を索引する語の一覧に追加します。同じ語がすでにある場合は、係数の大きい方を残します。
+   * 係数が同じ場合は成分表の掲載順で先の食品を残します。
+   */
+  private static void addWord(Map<String, Entry> words, String word, double weight, int food) {
+    Entry existing = words.get(word);
+    if (existing == null || weight > existing.weight()) {
+      words.put(word, new Entry(word, bigramsOf(word).length, weight, food));
+    }
+  }
+
+  /**
+   * 食品名を、分類を表す括弧書きを除いて正規化した語に分けます。
+   * 例：「（たまねぎ類）　たまねぎ　りん茎　生」は「たまねぎ」「りん茎」「生」
+   */
+  static List<String> wordsOf(String foodName) {
+    String withoutCategory = FOOD_CATEGORY.matcher(
+        Normalizer.normalize(foodName, Normalizer.Form.NFKC)).replaceAll(" ");
+    List<String> words = new ArrayList<>();
+    for (String word : withoutCategory.strip().split("\\s+")) {
+      String normalized = toHiragana(word.toLowerCase(Locale.ROOT));
+      if (!normalized.isEmpty()) {
+        words.add(normalized);
+      }
+    }
+    return words;
+  }
+
+  /**
+   * 食品名の中分類・小分類の括弧書きから、末尾の「類」を除いて正規化した語を取得します。
+   * 例：「＜調味料類＞　（しょうゆ類）　こいくちしょうゆ」は「しょうゆ」
+   */
+  static List<String> categoryWordsOf(String foodName) {
+    Matcher matcher = FOOD_SUBCATEGORY.matcher(
+        Normalizer.normalize(foodName, Normalizer.Form.NFKC));
+    List<String> words = new ArrayList<>();
+    while (matcher.find()) {
+      String category = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+      String word = toHiragana(category.replaceAll("\\s", "").replaceFirst("類$", "")
+          .toLowerCase(Locale.ROOT));
+      if (!word.isEmpty()) {
+        words.add(word);
+      }
+    }
+    return words;
+  }
+
+  /**
+   * 前後の境界を含む文字bigramの一覧を求めます。重複するbigramは1回のみ含めます。
+   * 例：「卵」は「^卵」「卵$」、「鶏卵」は「^鶏」「鶏卵」「卵$」
+   */
+  static String[] bigramsOf(String word) {
+    int[] codePoints = word.codePoints().toArray();
+    Set<String> bigrams = new LinkedHashSet<>();
+    int previous = BOUNDARY;
+    for (int codePoint : codePoints) {
+      bigrams.add(new String(new int[] {previous, codePoint}, 0, 2));
+      previous = codePoint;
+    }
+    bigrams.add(new String(new int[] {previous, BOUNDARY}, 0, 2));
+    return bigrams.toArray(String[]::new);
+  }
+
+  /**
+   * カタカナ（ァ～ヶ）をひらがなに変換します。長音符などのひらがなにない文字はそのままにします。
+   */
+  private static String toHiragana(String value) {
+    StringBuilder builder = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      builder.append(c >= 'ァ' && c <= 'ヶ' ? (char) (c - 0x60) : c);
+    }
+    return builder.toString();
+  }
+
+  /**
+   * 材料名に近い食品と類似度です。
+   *
+   * @param nutritionFact 食品の栄養成分
+   * @param score 類似度（0～1）
+   */
+  public record Match(NutritionFact nutritionFact, double score) {
+
+  }
+
+  /**
+   * 索引する語です。foodは食品の一覧での番号です。
+   */
+  private record Entry(String word, int bigramCount, double weight, int food) {
+
+  }
+
+  private record Scored(int food, double score) {
+
+  }
+
+}
@@ -0,0 +1,194 @@
+package raisetech.RecipeNotebook.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.concurrent.RejectedExecutionException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import raisetech.RecipeNotebook.domain.ImageRendition;
+
+/**
+ * アップロードされた画像から縮小画像（サムネイル・中サイズ）を作成するサービスです。
+ * 縮小画像の作成は上限のあるスレッドプールで非同期に行い、アップロードのレスポンスを待たせません。
+ * 縮小画像はJPEGで保存します。作成が終わるまで、またはキューが満杯で作成を見送った場合は縮小画像が存在しないため、画面では元の画像を表示します。
+ * 画素数の多い画像は間引いて読み込み、展開後の画像が画素数の上限（app.image.processing.max-pixels）を超えないようにします。
+ */
+@Slf4j
+@Service
+public class ImageRenditionService {
+
+  /**
+   * 縮小画像のJPEGの品質です。
+   */
+  private static final float JPEG_QUALITY = 0.8f;
+
+  private final TaskExecutor executor;
+
+  private final Path uploadPath;
+
+  private final long maxPixels;
+
+  @Autowired
+  public ImageRenditionService(@Qualifier("imageProcessingExecutor") TaskExecutor executor,
+      @Value("${app.upload.dir}") String uploadDir,
+      @Value("${app.image.processing.max-pixels:40000000}") long maxPixels) {
+    this.executor = executor;
+    this.uploadPath = Paths.get(uploadDir);
+    this.maxPixels = maxPixels;
+  }
+
+  /**
+   * 画像の縮小画像の作成を予約します。
+   * トランザクション中に呼び出した場合は、ロールバックされた画像を処理しないようにコミット後に予約します。
+   *
+   * @param fileName アップロードディレクトリに保存した画像のファイル名
+   */
+  public void scheduleRenditions(String fileName) {
+    TransactionCallbacks.afterCommitOrNow(() -> submit(fileName));
+  }
+
+  /**
+   * 画像の縮小画像を削除します。存在しない縮小画像は無視します。
+   *
+   * @param fileName アップロードディレクトリに保存した画像のファイル名
+   */
+  public void deleteRenditions(String fileName) {
+    for (ImageRendition rendition : ImageRendition.values()) {
+      try {
+        Files.deleteIfExists(uploadPath.resolve(rendition.relativePathOf(fileName)));
+      } catch (IOException e) {
+        log.warn("縮小画像を削除できませんでした: {}", fileName, e);
+      }
+    }
+  }
+
+  /**
+   * 画像のすべての種類の縮小画像を作成します。非同期の処理から呼び出します。
+   *
+   * @param fileName アップロードディレクトリに保存した画像のファイル名
+   */
+  void createRenditions(String fileName) {
+    try {
+      BufferedImage original = read(uploadPath.resolve(fileName));
+      if (original == null) {
+        // ImageIOで読み込めない形式（WebPなど）は縮小せず、元の画像を表示する
+        return;
+      }
+      for (ImageRendition rendition : ImageRendition.values()) {
+        writeJpeg(resize(original, rendition.getMaxWidth()),
+            uploadPath.resolve(rendition.relativePathOf(fileName)));
+      }
+    } catch (IOException | RuntimeException e) {
+      // 壊れた画像などでデコーダーが実行時例外をスローした場合も、元の画像を表示する
+      log.warn("縮小画像を作成できませんでした: {}", fileName, e);
+    }
+  }
+
+  /**
+   * 画像を読み込みます。画素数が上限を超える場合は、画素を間引いて上限以下の大きさで読み込みます。
+   *
+   * @param file 画像のパス
+   * @return 読み込んだ画像。ImageIOで読み込めない形式の場合はnull
+   */
+  private BufferedImage read(Path file) throws IOException {
+    try (ImageInputStream inputStream = ImageIO.createImageInputStream(file.toFile())) {
+      if (inputStream == null) {
+        return null;
+      }
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(inputStream);
+      if (!readers.hasNext()) {
+        return null;
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(inputStream, true, true);
+        // 画素を展開する前に、ヘッダーから幅と高さのみを読み込んで間引く間隔を決める
+        long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+        ImageReadParam param = reader.getDefaultReadParam();
+        if (pixels > maxPixels) {
+          int subsampling = (int) Math.ceil(Math.sqrt((double) pixels / maxPixels));
+          param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+        }
+        return reader.read(0, param);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  private void submit(String fileName) {
+    try {
+      executor.execute(() -> createRenditions(fileName));
+    } catch (RejectedExecutionException e) {
+      log.warn("縮小画像の作成待ちが上限に達したため、作成を見送りました: {}", fileName);
+    }
+  }
+
+  /**
+   * 画像を縦横比を保ったまま指定した幅以下に縮小します。元の画像より大きくはしません。
+   * JPEGは透過に対応しないため、背景を白にしたRGBの画像を返します。
+   */
+  static BufferedImage resize(BufferedImage original, int maxWidth) {
+    int width = Math.min(original.getWidth(), maxWidth);
+    int height = Math.max(1,
+        (int) Math.round((double) original.getHeight() * width / original.getWidth()));
+
+    BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = resized.createGraphics();
+    try {
+      graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+          RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+      graphics.drawImage(original, 0, 0, width, height, Color.WHITE, null);
+    } finally {
+      graphics.dispose();
+    }
+    return resized;
+  }
+
+  /**
+   * 画像をJPEGで書き込みます。書き込み途中のファイルを配信しないよう、一時ファイルに書き込んでから置き換えます。
+   */
+  private static void writeJpeg(BufferedImage image, Path destination) throws IOException {
+    Files.createDirectories(destination.getParent());
+    Path tempFile = Files.createTempFile(destination.getParent(), "rendition-", ".tmp");
+
+    Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+    ImageWriter writer = writers.next();
+    try (ImageOutputStream outputStream = ImageIO.createImageOutputStream(tempFile.toFile())) {
+      ImageWriteParam param = writer.getDefaultWriteParam();
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      param.setCompressionQuality(JPEG_QUALITY);
+      writer.setOutput(outputStream);
+      writer.write(null, new IIOImage(image, null, null), param);
+    } catch (IOException e) {
+      Files.deleteIfExists(tempFile);
+      throw e;
+    } finally {
+      writer.dispose();
+    }
+    Files.move(tempFile, destination, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+
+}
@@ -0,0 +1,304 @@
+package raisetech.RecipeNotebook.service;
+
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import raisetech.RecipeNotebook.data.Ingredient;
+import raisetech.RecipeNotebook.domain.IngredientIndexEntry;
+import raisetech.RecipeNotebook.domain.RecipeCursor;
+import raisetech.RecipeNotebook.repository.RecipeRepository;
+
+/**
+ * 材料名からレシピを検索するためのインメモリの転置インデックスです。
+ * ユーザーごとに材料名の1文字・2文字のn-gramからレシピの集合（ビットマップ）を引けるようにし、複数キーワードのAND検索をビットマップの積で求めます。
+ * 候補のレシピは材料名の部分一致で確定するため、検索結果はLIKEによる部分一致検索と同じになります。
+ * インデックスは起動時にデータベースから構築し、その後はレシピの登録・更新・削除のトランザクションのコミット後に更新します。
+ * 無効にした場合（app.search.ingredient-index.enabled=false）はインデックスを構築せず、材料名の絞り込みはSQLで行います。
+ */
+@Component
+public class IngredientSearchIndex {
+
+  private final RecipeRepository repository;
+
+  @Value("${app.search.ingredient-index.enabled:true}")
+  private boolean enabled = true;
+
+  private final Map<Integer, UserIndex> userIndexes = new ConcurrentHashMap<>();
+
+  private final Map<Integer, Integer> recipeOwners = new ConcurrentHashMap<>();
+
+  @Autowired
+  public IngredientSearchIndex(RecipeRepository repository) {
+    this.repository = repository;
+  }
+
+  /**
+   * データベースの材料からインデックスを構築します。アプリケーションの起動時に実行されます。
+   */
+  @PostConstruct
+  public void rebuild() {
+    if (!enabled) {
+      return;
+    }
+
+    Map<Integer, UserIndex> rebuiltIndexes = new HashMap<>();
+    Map<Integer, Integer> rebuiltOwners = new HashMap<>();
+    for (IngredientIndexEntry entry : repository.getIngredientIndexEntries()) {
+      rebuiltIndexes.computeIfAbsent(entry.getUserId(), userId -> new UserIndex())
+          .add(entry.getRecipeId(), entry.getCreatedAt(), entry.getIngredientId(), entry.getName());
+      rebuiltOwners.put(entry.getRecipeId(), entry.getUserId());
+    }
+
+    userIndexes.clear();
+    userIndexes.putAll(rebuiltIndexes);
+    recipeOwners.clear();
+    recipeOwners.putAll(rebuiltOwners);
+  }
+
+  /**
+   * インデックスが有効かどうかを返します。
+   *
+   * @return インデックスを使用して材料名を絞り込む場合はtrue
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * すべてのキーワードに部分一致する材料を含むレシピのID一覧を取得します。
+   * 空文字のキーワードは無視し、キーワードがない場合は材料が登録されているすべてのレシピが対象になります。
+   *
+   * @param userId ユーザーID
+   * @param keywords 材料名のキーワード一覧
+   * @return 条件に合致するレシピのID一覧
+   */
+  public Set<Integer> findRecipeIds(int userId, List<String> keywords) {
+    UserIndex userIndex = userIndexes.get(userId);
+    if (userIndex == null) {
+      return new HashSet<>();
+    }
+    return userIndex.search(keywords.stream()
+        .filter(keyword -> !keyword.isEmpty())
+        .map(IngredientSearchIndex::normalize)
+        .toList());
+  }
+
+  /**
+   * レシピのID一覧のうち、カーソルより後に並ぶレシピの位置（作成日時とID）を、レシピ一覧の並び順で先頭から最大で指定件数取得します。
+   * 検索条件に合致したレシピを、1ページ分ずつレシピIDで絞り込んで取得するために使用します。インデックスに登録されていないレシピは含めません。
+   *
+   * @param userId ユーザーID
+   * @param recipeIds レシピのID一覧
+   * @param cursor 開始位置のカーソル。先頭から取得する場合はnull
+   * @param limit 最大件数
+   * @return レシピの位置の一覧（レシピ一覧の並び順）
+   */
+  public List<RecipeCursor> findRecipePositions(int userId, Set<Integer> recipeIds,
+      RecipeCursor cursor, int limit) {
+    UserIndex userIndex = userIndexes.get(userId);
+    if (userIndex == null) {
+      return List.of();
+    }
+    return userIndex.positionsOf(recipeIds, cursor, limit);
+  }
+
+  /**
+   * レシピの材料をインデックスに登録します。登録済みのレシピの場合は材料を置き換えます。
+   * トランザクション中に呼び出した場合は、コミット後に反映します。
+   *
+   * @param userId レシピの所有者のユーザーID
+   * @param recipeId レシピID
+   * @param createdAt レシピの作成日時
+   * @param ingredients レシピの材料一覧（登録後の材料IDを含むもの）
+   */
+  public void putRecipe(int userId, int recipeId, LocalDateTime createdAt,
+      List<Ingredient> ingredients) {
+    Map<Integer, String> names = new LinkedHashMap<>();
+    ingredients.forEach(ingredient -> names.put(ingredient.getId(), ingredient.getName()));
+
+    afterCommit(() -> {
+      recipeOwners.put(recipeId, userId);
+      userIndexes.computeIfAbsent(userId, id -> new UserIndex())
+          .replace(recipeId, createdAt, names);
+    });
+  }
+
+  /**
+   * レシピをインデックスから削除します。トランザクション中に呼び出した場合は、コミット後に反映します。
+   *
+   * @param recipeId レシピID
+   */
+  public void removeRecipe(int recipeId) {
+    afterCommit(() -> {
+      Integer userId = recipeOwners.remove(recipeId);
+      if (userId != null) {
+        userIndexes.get(userId).remove(recipeId);
+      }
+    });
+  }
+
+  /**
+   * レシピの材料をインデックスから削除します。トランザクション中に呼び出した場合は、コミット後に反映します。
+   *
+   * @param recipeId レシピID
+   * @param ingredientId 材料ID
+   */
+  public void removeIngredient(int recipeId, int ingredientId) {
+    afterCommit(() -> {
+      Integer userId = recipeOwners.get(recipeId);
+      if (userId != null) {
+        userIndexes.get(userId).removeIngredient(recipeId, ingredientId);
+      }
+    });
+  }
+
+  /**
+   * インデックスの更新をトランザクションのコミット後に実行します。ロールバックされた変更はインデックスに反映しません。
+   * インデックスが無効の場合は何もしません。
+   *
+   * @param action インデックスの更新処理
+   */
+  private void afterCommit(Runnable action) {
+    if (enabled) {
+      TransactionCallbacks.afterCommitOrNow(action);
+    }
+  }
+
+  /**
+   * 大文字・小文字を区別せずに比較するため、文字列を小文字に揃えます。
+   */
+  private static String normalize(String value) {
+    return value.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * 文字列に含まれる1文字と2文字のn-gramを取得します。
+   */
+  private static Set<String> ngrams(String value) {
+    int[] codePoints = value.codePoints().toArray();
+    Set<String> ngrams = new HashSet<>();
+    for (int i = 0; i < codePoints.length; i++) {
+      ngrams.add(new String(codePoints, i, 1));
+      if (i + 1 < codePoints.length) {
+        ngrams.add(new String(codePoints, i, 2));
+      }
+    }
+    return ngrams;
+  }
+
+  /**
+   * キーワードの検索に使用するn-gramを取得します。1文字の場合はその文字、2文字以上の場合は2文字のn-gramです。
+   */
+  private static Set<String> queryNgrams(String keyword) {
+    int[] codePoints = keyword.codePoints().toArray();
+    if (codePoints.length == 1) {
+      return Set.of(keyword);
+    }
+    Set<String> ngrams = new HashSet<>();
+    for (int i = 0; i + 1 < codePoints.length; i++) {
+      ngrams.add(new String(codePoints, i, 2));
+    }
+    return ngrams;
+  }
+
+  /**
+   * 1ユーザー分のインデックスです。レシピごとに材料IDと正規化した材料名を保持し、材料名のn-gramで索引します。
+   */
+  private static class UserIndex {
+
+    private final RecipeBitmapIndex<String, Map<Integer, String>> index =
+        new RecipeBitmapIndex<>(HashMap::new,
+            names -> names.values().stream().flatMap(name -> ngrams(name).stream()).toList());
+
+    synchronized void add(int recipeId, LocalDateTime createdAt, int ingredientId, String name) {
+      int ordinal = index.ordinalOf(recipeId, createdAt);
+      String normalizedName = normalize(name);
+      index.valueOf(ordinal).put(ingredientId, normalizedName);
+      ngrams(normalizedName).forEach(ngram -> index.index(ngram, ordinal));
+    }
+
+    synchronized void replace(int recipeId, LocalDateTime createdAt, Map<Integer, String> names) {
+      int ordinal = index.ordinalOf(recipeId, createdAt);
+      index.unindex(ordinal);
+      index.valueOf(ordinal).clear();
+      names.forEach((ingredientId, name) -> add(recipeId, createdAt, ingredientId, name));
+    }
+
+    synchronized void remove(int recipeId) {
+      index.remove(recipeId);
+    }
+
+    synchronized void removeIngredient(int recipeId, int ingredientId) {
+      Integer ordinal = index.findOrdinal(recipeId);
+      if (ordinal == null) {
+        return;
+      }
+      // 同じn-gramを持つ他の材料があるため、レシピ単位で索引し直す
+      index.unindex(ordinal);
+      Map<Integer, String> names = index.valueOf(ordinal);
+      names.remove(ingredientId);
+      names.values().forEach(name -> ngrams(name).forEach(ngram -> index.index(ngram, ordinal)));
+    }
+
+    synchronized List<RecipeCursor> positionsOf(Set<Integer> recipeIds, RecipeCursor cursor,
+        int limit) {
+      return index.positionsOf(recipeIds, cursor, limit);
+    }
+
+    synchronized Set<Integer> search(List<String> keywords) {
+      if (keywords.isEmpty()) {
+        return index.recipeIds();
+      }
+
+      BitSet result = null;
+      for (String keyword : keywords) {
+        BitSet candidates = candidatesOf(keyword);
+        if (result != null) {
+          candidates.and(result);
+        }
+        // n-gramの一致は候補の絞り込みのため、材料名の部分一致で確定する
+        BitSet matched = new BitSet();
+        for (int ordinal = candidates.nextSetBit(0); ordinal >= 0;
+            ordinal = candidates.nextSetBit(ordinal + 1)) {
+          if (index.valueOf(ordinal).values().stream()
+              .anyMatch(name -> name.contains(keyword))) {
+            matched.set(ordinal);
+          }
+        }
+        result = matched;
+        if (result.isEmpty()) {
+          break;
+        }
+      }
+      return index.recipeIdsOf(result);
+    }
+
+    private BitSet candidatesOf(String keyword) {
+      BitSet candidates = null;
+      for (String ngram : queryNgrams(keyword)) {
+        BitSet posting = index.postingOf(ngram);
+        if (candidates == null) {
+          candidates = posting;
+        } else {
+          candidates.and(posting);
+        }
+        if (candidates.isEmpty()) {
+          break;
+        }
+      }
+      return candidates;
+    }
+  }
+
+}
@@ -0,0 +1,142 @@
+package raisetech.RecipeNotebook.service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import raisetech.RecipeNotebook.data.NutritionFact;
+import raisetech.RecipeNotebook.repository.NutritionFactRepository;
+import raisetech.RecipeNotebook.service.FoodMatcher.Match;
+
+/**
+ * 材料名から食品の栄養成分を引くためのインメモリのカタログです。
+ * 起動時に食品の栄養成分（nutrition_facts）を全件読み込み、変更できないマップとして保持するため、栄養成分の計算ではデータベースに問い合わせません。
+ * 材料名は、よく使う材料の標準の食品と重さの換算値（nutrition/standard_ingredients.csv）と一致するものを優先し、
+ * 一致しない場合は{@link FoodMatcher}で食品名の語との類似度が最も高い食品を使用します。
+ * 比較の前に、全角・半角の違いやカタカナ・ひらがなの違い、「A醤油」のAのようなグループの記号を正規化します。
+ */
+@Slf4j
+@Component
+public class NutritionCatalog {
+
+  static final String STANDARD_INGREDIENTS = "nutrition/standard_ingredients.csv";
+
+  private final NutritionFactRepository repository;
+
+  private final long matchCacheSize;
+
+  private volatile Catalog catalog = new Catalog(Map.of(), new FoodMatcher(List.of(), 0));
+
+  @Autowired
+  public NutritionCatalog(NutritionFactRepository repository,
+      @Value("${app.nutrition.match-cache.maximum-size:10000}") long matchCacheSize) {
+    this.repository = repository;
+    this.matchCacheSize = matchCacheSize;
+  }
+
+  /**
+   * データベースの食品の栄養成分からカタログを構築します。アプリケーションの起動時に実行されます。
+   */
+  @PostConstruct
+  public void load() {
+    List<NutritionFact> nutritionFacts = repository.findAll();
+    catalog = Catalog.of(nutritionFacts, readStandardIngredients(), matchCacheSize);
+    log.info("食品の栄養成分を読み込みました: {}件", nutritionFacts.size());
+  }
+
+  /**
+   * 材料名に対応する食品を取得します。
+   *
+   * @param ingredientName 材料名
+   * @return 食品。対応する食品がない場合はnull
+   */
+  public Food find(String ingredientName) {
+    if (ingredientName == null) {
+      return null;
+    }
+    Catalog current = catalog;
+    Food food = current.standardFoods().get(FoodMatcher.normalize(ingredientName));
+    if (food != null) {
+      return food;
+    }
+    Match match = current.foodMatcher().match(ingredientName);
+    return match == null ? null : new Food(match.nutritionFact(), null, null);
+  }
+
+  private static List<StandardIngredient> readStandardIngredients() {
+    ClassPathResource resource = new ClassPathResource(STANDARD_INGREDIENTS);
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+      return reader.lines()
+          .skip(1)
+          .filter(line -> !line.isBlank())
+          .map(line -> line.split(",", -1))
+          .map(columns -> new StandardIngredient(columns[0], columns[1],
+              parseNullable(columns[2]), parseNullable(columns[3])))
+          .toList();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static Double parseNullable(String value) {
+    return value.isBlank() ? null : Double.valueOf(value);
+  }
+
+  /**
+   * 材料名に対応する食品です。
+   *
+   * @param nutritionFact 食品の栄養成分。水など栄養成分のない材料の場合はnull
+   * @param density 比重（g/ml）。不明の場合はnull
+   * @param pieceWeight 1個あたりの重さ（g）。不明の場合はnull
+   */
+  public record Food(NutritionFact nutritionFact, Double density, Double pieceWeight) {
+
+  }
+
+  /**
+   * よく使う材料の標準の食品と重さの換算値です。食品番号が空の材料は栄養成分のない材料です。
+   */
+  private record StandardIngredient(String name, String foodNumber, Double density,
+                                    Double pieceWeight) {
+
+  }
+
+  /**
+   * ある時点のカタログの内容です。再読み込みの際は全体を置き換えます。
+   */
+  private record Catalog(Map<String, Food> standardFoods, FoodMatcher foodMatcher) {
+
+    static Catalog of(List<NutritionFact> nutritionFacts,
+        List<StandardIngredient> standardIngredients, long matchCacheSize) {
+      Map<String, NutritionFact> factsByNumber = nutritionFacts.stream()
+          .collect(Collectors.toMap(NutritionFact::getFoodNumber, Function.identity(),
+              (first, second) -> first));
+
+      Map<String, Food> standardFoods = new HashMap<>();
+      for (StandardIngredient ingredient : standardIngredients) {
+        NutritionFact nutritionFact = factsByNumber.get(ingredient.foodNumber());
+        if (nutritionFact == null && !ingredient.foodNumber().isEmpty()) {
+          continue;
+        }
+        standardFoods.put(FoodMatcher.normalize(ingredient.name()),
+            new Food(nutritionFact, ingredient.density(), ingredient.pieceWeight()));
+      }
+      return new Catalog(Map.copyOf(standardFoods),
+          new FoodMatcher(nutritionFacts, matchCacheSize));
+    }
+  }
+
+}
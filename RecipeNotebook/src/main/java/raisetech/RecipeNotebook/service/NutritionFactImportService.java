@@ -0,0 +1,177 @@
+package raisetech.RecipeNotebook.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import raisetech.RecipeNotebook.data.NutritionFactRow;
+import raisetech.RecipeNotebook.exception.IllegalArgumentCustomException;
+import raisetech.RecipeNotebook.repository.NutritionFactRepository;
+
+/**
+ * 食品の栄養成分（nutrition_facts）をCSVから取り込み直すサービスです。
+ * CSVの形式は{@code sql/csv/nutrition_facts.csv}と同じで、1行目の見出しは読み飛ばします。
+ * CSVは1行ずつ読み込んで一定件数ごとに一時テーブルへ登録し、すべて登録できた場合のみ一時テーブルと現在のテーブルを入れ替えます。
+ * 取り込みの途中で失敗した場合は一時テーブルを削除し、現在のテーブルは変更しません。
+ * 入れ替えの後は{@link NutritionCatalog}を読み込み直し、レシピごとの栄養成分の集計を計算し直すため、再起動は不要です。
+ * 栄養成分で絞り込んだ検索結果が変わるため、入れ替えの後に全ユーザーの検索結果のキャッシュを無効にします。
+ * 計算し直しの途中の集計は、一定件数ごとにレシピの所有者の検索結果のキャッシュを無効にします（{@link NutritionSummaryService#backfill(boolean)}）。
+ */
+@Slf4j
+@Service
+public class NutritionFactImportService {
+
+  private static final int COLUMN_COUNT = 9;
+
+  /**
+   * 1行あたりの最大の文字数です。成分表の食品名は長いもので100文字程度です。
+   */
+  private static final int MAX_RECORD_LENGTH = 4096;
+
+  private final NutritionFactRepository repository;
+
+  private final NutritionCatalog nutritionCatalog;
+
+  private final NutritionSummaryService nutritionSummaryService;
+
+  private final RecipeSearchCache recipeSearchCache;
+
+  private final int batchSize;
+
+  @Autowired
+  public NutritionFactImportService(NutritionFactRepository repository,
+      NutritionCatalog nutritionCatalog, NutritionSummaryService nutritionSummaryService,
+      RecipeSearchCache recipeSearchCache,
+      @Value("${app.nutrition.import.batch-size:500}") int batchSize) {
+    this.repository = repository;
+    this.nutritionCatalog = nutritionCatalog;
+    this.nutritionSummaryService = nutritionSummaryService;
+    this.recipeSearchCache = recipeSearchCache;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * CSVの食品の栄養成分で、現在の食品の栄養成分を置き換えます。同時に複数の取り込みは実行しません。
+   *
+   * @param csv UTF-8のCSV
+   * @return 取り込んだ食品の件数
+   * @throws IOException                     CSVの読み込みに失敗した場合
+   * @throws IllegalArgumentCustomException CSVの形式や値が不正な場合
+   */
+  public synchronized int importCsv(InputStream csv) throws IOException {
+    repository.dropShadowTable();
+    repository.createShadowTable();
+    try {
+      loadShadowTable(csv);
+    } catch (IOException | RuntimeException e) {
+      repository.dropShadowTable();
+      throw e;
+    }
+
+    int count = repository.countShadowNutritionFacts();
+    if (count == 0) {
+      repository.dropShadowTable();
+      throw new IllegalArgumentCustomException("CSVに食品の栄養成分がありません");
+    }
+    repository.swapShadowTable();
+    repository.dropOldTable();
+    log.info("食品の栄養成分を取り込みました: {}件", count);
+
+    nutritionCatalog.load();
+    recipeSearchCache.invalidateAll();
+    nutritionSummaryService.schedule(true);
+    return count;
+  }
+
+  private void loadShadowTable(InputStream csv) throws IOException {
+    // 不正なバイト列を置換文字に置き換えずにエラーとする
+    BufferedReader reader = new BufferedReader(new InputStreamReader(csv,
+        StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT)));
+    try (CsvRecordReader csvReader = new CsvRecordReader(reader, MAX_RECORD_LENGTH)) {
+      csvReader.readRecord();
+      List<NutritionFactRow> rows = new ArrayList<>(batchSize);
+      List<String> record;
+      while ((record = csvReader.readRecord()) != null) {
+        rows.add(toRow(record, csvReader.getRecordLineNumber()));
+        if (rows.size() == batchSize) {
+          repository.upsertShadowNutritionFacts(rows);
+          rows.clear();
+        }
+      }
+      if (!rows.isEmpty()) {
+        repository.upsertShadowNutritionFacts(rows);
+      }
+    } catch (CharacterCodingException e) {
+      throw new IllegalArgumentCustomException("CSVの文字コードはUTF-8にしてください");
+    }
+  }
+
+  /**
+   * CSVの1行を食品の栄養成分に変換します。食品群・食品番号・索引番号と成分値は全角の数字や記号を半角に揃えます。
+   * 食品名は食品の検索で全角の空白を語の区切りとして使用するため、そのまま登録します。
+   */
+  static NutritionFactRow toRow(List<String> record, int lineNumber) {
+    if (record.size() != COLUMN_COUNT) {
+      throw invalid(lineNumber, "列の数が" + COLUMN_COUNT + "ではありません");
+    }
+    String foodNumber = normalize(record.get(1));
+    String name = record.get(3).strip();
+    if (foodNumber.isEmpty() || name.isEmpty()) {
+      throw invalid(lineNumber, "食品番号と食品名は必須です");
+    }
+    Double kcal = parseAmount(record.get(4), lineNumber);
+    if (kcal == null) {
+      throw invalid(lineNumber, "エネルギーは必須です");
+    }
+    return new NutritionFactRow(normalize(record.get(0)), foodNumber, normalize(record.get(2)),
+        name, kcal, parseAmount(record.get(5), lineNumber),
+        parseAmount(record.get(6), lineNumber), parseAmount(record.get(7), lineNumber),
+        parseAmount(record.get(8), lineNumber));
+  }
+
+  /**
+   * 成分値を数値に変換します。成分表の表記に合わせ、推定値の括弧は外し、微量（Tr）は0、未測定（-）と空欄はnullとします。
+   */
+  private static Double parseAmount(String value, int lineNumber) {
+    String amount = normalize(value);
+    if (amount.startsWith("(") && amount.endsWith(")")) {
+      amount = amount.substring(1, amount.length() - 1).strip();
+    }
+    if (amount.isEmpty() || amount.equals("-")) {
+      return null;
+    }
+    if (amount.equalsIgnoreCase("tr")) {
+      return 0.0;
+    }
+    try {
+      double parsed = Double.parseDouble(amount);
+      if (Double.isFinite(parsed)) {
+        return parsed;
+      }
+    } catch (NumberFormatException e) {
+      // 下のエラーとする
+    }
+    throw invalid(lineNumber, "成分値「" + value + "」を数値に変換できません");
+  }
+
+  private static String normalize(String value) {
+    return Normalizer.normalize(value, Normalizer.Form.NFKC).strip();
+  }
+
+  private static IllegalArgumentCustomException invalid(int lineNumber, String message) {
+    return new IllegalArgumentCustomException(lineNumber + "行目: " + message);
+  }
+
+}
@@ -0,0 +1,87 @@
+package raisetech.RecipeNotebook.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import raisetech.RecipeNotebook.data.Ingredient;
+import raisetech.RecipeNotebook.data.NutritionFact;
+import raisetech.RecipeNotebook.domain.IngredientNutrition;
+import raisetech.RecipeNotebook.domain.IngredientQuantity;
+import raisetech.RecipeNotebook.domain.Nutrients;
+import raisetech.RecipeNotebook.domain.RecipeDetail;
+import raisetech.RecipeNotebook.domain.RecipeNutrition;
+import raisetech.RecipeNotebook.service.NutritionCatalog.Food;
+
+/**
+ * レシピの栄養成分を計算するサービスです。
+ * 材料ごとに材料名から食品を引き、分量を重さ（g）に換算して栄養成分を求め、レシピ全体と1人分の合計を計算します。
+ * 食品はインメモリのカタログから引くため、計算の際にデータベースには問い合わせません。
+ */
+@Service
+public class NutritionService {
+
+  private final NutritionCatalog nutritionCatalog;
+
+  @Autowired
+  public NutritionService(NutritionCatalog nutritionCatalog) {
+    this.nutritionCatalog = nutritionCatalog;
+  }
+
+  /**
+   * レシピの栄養成分を計算します。アレンジの材料は計算に含めません。
+   * 食品が見つからない材料や分量を重さに換算できない材料は合計に含めず、計算結果を不完全（complete=false）とします。
+   *
+   * @param recipeDetail レシピ詳細情報
+   * @return レシピの栄養成分
+   */
+  public RecipeNutrition calculate(RecipeDetail recipeDetail) {
+    List<IngredientNutrition> ingredientNutritions = new ArrayList<>();
+    Nutrients total = Nutrients.ZERO;
+    boolean complete = true;
+    for (Ingredient ingredient : recipeDetail.getIngredients()) {
+      if (ingredient.isArrange()) {
+        continue;
+      }
+      IngredientNutrition ingredientNutrition = calculate(ingredient);
+      ingredientNutritions.add(ingredientNutrition);
+      if (ingredientNutrition.isResolved()) {
+        total = total.plus(ingredientNutrition.getNutrients());
+      } else {
+        complete = false;
+      }
+    }
+
+    Double servings = IngredientQuantity.parseServings(recipeDetail.getRecipe().getServings());
+    Nutrients perServing = servings == null ? null : total.divide(servings).rounded();
+    return new RecipeNutrition(recipeDetail.getRecipe().getId(), servings, total.rounded(),
+        perServing, complete, ingredientNutritions);
+  }
+
+  private IngredientNutrition calculate(Ingredient ingredient) {
+    Food food = nutritionCatalog.find(ingredient.getName());
+    if (food == null) {
+      return new IngredientNutrition(ingredient.getName(), ingredient.getQuantity(), null, null,
+          null, null);
+    }
+
+    NutritionFact nutritionFact = food.nutritionFact();
+    String foodNumber = nutritionFact == null ? null : nutritionFact.getFoodNumber();
+    String foodName = nutritionFact == null ? null : nutritionFact.getName();
+    IngredientQuantity quantity = IngredientQuantity.parse(ingredient.getQuantity());
+    Double grams = quantity == null ? null : quantity.toGrams(food.density(), food.pieceWeight());
+
+    Nutrients nutrients;
+    if (nutritionFact == null) {
+      // 水など栄養成分のない材料は、分量によらず栄養成分を0とする
+      nutrients = Nutrients.ZERO;
+    } else if (grams == null) {
+      nutrients = null;
+    } else {
+      nutrients = Nutrients.of(nutritionFact, grams).rounded();
+    }
+    return new IngredientNutrition(ingredient.getName(), ingredient.getQuantity(), foodNumber,
+        foodName, grams == null ? null : Math.round(grams * 10) / 10.0, nutrients);
+  }
+
+}
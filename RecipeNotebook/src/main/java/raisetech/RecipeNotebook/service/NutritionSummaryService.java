@@ -0,0 +1,171 @@
+package raisetech.RecipeNotebook.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import raisetech.RecipeNotebook.data.Ingredient;
+import raisetech.RecipeNotebook.data.Recipe;
+import raisetech.RecipeNotebook.data.RecipeNutritionSummary;
+import raisetech.RecipeNotebook.domain.Nutrients;
+import raisetech.RecipeNotebook.domain.RecipeDetail;
+import raisetech.RecipeNotebook.domain.RecipeNutrition;
+import raisetech.RecipeNotebook.repository.RecipeNutritionRepository;
+import raisetech.RecipeNotebook.repository.RecipeRepository;
+
+/**
+ * レシピごとの栄養成分の集計（recipe_nutrition）を管理するサービスです。
+ * レシピ一覧を栄養成分で絞り込む際に、レシピごとに栄養成分を計算せずインデックスで絞り込めるよう、計算結果をテーブルに保存します。
+ * 集計はレシピの登録・更新の際に対象のレシピのみ計算し直し、集計のない既存のレシピは起動後にバックグラウンドで一定件数ずつ計算します。
+ * バックグラウンドで集計を保存した場合は、栄養成分で絞り込んだ検索結果が変わるため、レシピの所有者の検索結果のキャッシュを無効にします。
+ */
+@Slf4j
+@Service
+public class NutritionSummaryService {
+
+  private final RecipeNutritionRepository nutritionRepository;
+  private final RecipeRepository recipeRepository;
+  private final NutritionService nutritionService;
+  private final RecipeSearchCache recipeSearchCache;
+  private final TaskExecutor executor;
+  private final boolean backfillEnabled;
+  private final int batchSize;
+
+  @Autowired
+  public NutritionSummaryService(RecipeNutritionRepository nutritionRepository,
+      RecipeRepository recipeRepository, NutritionService nutritionService,
+      RecipeSearchCache recipeSearchCache,
+      @Qualifier("nutritionTaskExecutor") TaskExecutor executor,
+      @Value("${app.nutrition.backfill.enabled:true}") boolean backfillEnabled,
+      @Value("${app.nutrition.backfill.batch-size:200}") int batchSize) {
+    this.nutritionRepository = nutritionRepository;
+    this.recipeRepository = recipeRepository;
+    this.nutritionService = nutritionService;
+    this.recipeSearchCache = recipeSearchCache;
+    this.executor = executor;
+    this.backfillEnabled = backfillEnabled;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * レシピ詳細情報から栄養成分の集計を計算し直して保存します。レシピの登録・更新のトランザクション内で呼び出します。
+   *
+   * @param recipeDetail 登録・更新後のレシピ詳細情報（レシピIDと材料の一覧を含む）
+   */
+  public void refresh(RecipeDetail recipeDetail) {
+    nutritionRepository.upsertRecipeNutritions(
+        List.of(summaryOf(nutritionService.calculate(recipeDetail), LocalDateTime.now())));
+  }
+
+  /**
+   * レシピに紐づく材料を取得し、栄養成分の集計を計算し直して保存します。
+   * 材料の削除など、レシピ詳細情報を受け取らずにレシピの材料を変更する処理で使用します。
+   *
+   * @param recipe 材料を変更したレシピ
+   */
+  public void refresh(Recipe recipe) {
+    refresh(new RecipeDetail(recipe, recipeRepository.getIngredients(recipe.getId()), List.of()));
+  }
+
+  /**
+   * アプリケーションの起動後に、集計のないレシピの栄養成分の計算をバックグラウンドで開始します。
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void scheduleBackfill() {
+    if (backfillEnabled) {
+      schedule(false);
+    }
+  }
+
+  /**
+   * 栄養成分の集計の一括計算をバックグラウンドで予約します。すでに予約がある場合は予約しません。
+   *
+   * @param recalculateAll 集計済みのレシピも計算し直す場合はtrue。集計のないレシピのみ計算する場合はfalse
+   */
+  public void schedule(boolean recalculateAll) {
+    try {
+      executor.execute(() -> {
+        try {
+          backfill(recalculateAll);
+        } catch (RuntimeException e) {
+          log.error("栄養成分の集計の一括計算に失敗しました", e);
+        }
+      });
+    } catch (TaskRejectedException e) {
+      log.info("栄養成分の集計の一括計算はすでに予約されています");
+    }
+  }
+
+  /**
+   * レシピIDの昇順に一定件数ずつレシピと材料を取得し、栄養成分の集計を計算して保存します。
+   * 1回あたりの問い合わせはレシピの取得・材料の一括取得・集計の一括登録の3回で、件数にかかわらずメモリの使用量は一定です。
+   * 集計のないレシピのみ計算する場合は、並行して登録・更新された集計を上書きしません。
+   * 集計済みのレシピも計算し直す場合は、レシピの取得より後に計算し直された集計（並行したレシピの更新による集計）を上書きしません。
+   * 保存するたびに、そのレシピの所有者の検索結果のキャッシュを無効にします。
+   *
+   * @param recalculateAll 集計済みのレシピも計算し直す場合はtrue。集計のないレシピのみ計算する場合はfalse
+   * @return 計算したレシピの件数
+   */
+  public int backfill(boolean recalculateAll) {
+    int afterId = 0;
+    int count = 0;
+    while (true) {
+      // 計算日時はレシピと材料を取得する前に決め、取得後にレシピの更新で保存された集計より新しくならないようにする
+      LocalDateTime calculatedAt = LocalDateTime.now();
+      List<Recipe> recipes =
+          nutritionRepository.getRecipesForNutrition(afterId, recalculateAll, batchSize);
+      if (recipes.isEmpty()) {
+        break;
+      }
+
+      List<Integer> recipeIds = recipes.stream().map(Recipe::getId).toList();
+      Map<Integer, List<Ingredient>> ingredientsByRecipeId =
+          recipeRepository.getIngredientsByRecipeIds(recipeIds).stream()
+              .collect(Collectors.groupingBy(Ingredient::getRecipeId));
+      List<RecipeNutritionSummary> summaries = recipes.stream()
+          .map(recipe -> new RecipeDetail(recipe,
+              ingredientsByRecipeId.getOrDefault(recipe.getId(), List.of()), List.of()))
+          .map(recipeDetail -> summaryOf(nutritionService.calculate(recipeDetail), calculatedAt))
+          .toList();
+      if (recalculateAll) {
+        nutritionRepository.upsertRecipeNutritionsIfOutdated(summaries);
+      } else {
+        nutritionRepository.insertRecipeNutritionsIfAbsent(summaries);
+      }
+      // 集計の保存前に栄養成分で絞り込んだ検索結果が、キャッシュとETagに残らないようにする
+      recipes.stream().map(Recipe::getUserId).distinct().forEach(recipeSearchCache::invalidate);
+
+      count += recipes.size();
+      afterId = recipes.getLast().getId();
+      if (recipes.size() < batchSize) {
+        break;
+      }
+    }
+    log.info("栄養成分の集計を計算しました: {}件", count);
+    return count;
+  }
+
+  /**
+   * 栄養成分の計算結果を集計テーブルの行に変換します。何人分かが不明の場合、1人分の値はレシピ全体の値とします。
+   */
+  static RecipeNutritionSummary summaryOf(RecipeNutrition nutrition,
+      LocalDateTime calculatedAt) {
+    Nutrients total = nutrition.getTotal();
+    Nutrients perServing =
+        nutrition.getPerServing() == null ? total : nutrition.getPerServing();
+    return new RecipeNutritionSummary(nutrition.getRecipeId(), nutrition.getServings(),
+        total.getKcal(), total.getProtein(), total.getFat(), total.getCarbohydrates(),
+        total.getSaltEquivalent(), perServing.getKcal(), perServing.getProtein(),
+        nutrition.isComplete(), calculatedAt);
+  }
+
+}
@@ -0,0 +1,208 @@
+package raisetech.RecipeNotebook.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import raisetech.RecipeNotebook.domain.RecipeCursor;
+
+/**
+ * 1ユーザー分のレシピのビットマップインデックスです。材料名のn-gramやカテゴリーIDなどのキーから、レシピの集合をビットマップで引けるようにします。
+ * ビットマップを小さく保つため、レシピIDをユーザー内の連番に置き換えて管理します。削除したレシピの連番は、次に登録するレシピで再利用します。
+ * レシピごとに、索引したキーを求めるための値（材料名の一覧など）と、レシピ一覧の並び順を求めるための作成日時を保持します。
+ * スレッドセーフではないため、呼び出し側で同期します。
+ *
+ * @param <K> ビットマップを引くキーの型
+ * @param <V> レシピごとに保持する値の型
+ */
+final class RecipeBitmapIndex<K, V> {
+
+  private final Supplier<V> valueFactory;
+
+  private final Function<V, Collection<K>> keysOf;
+
+  private final Map<Integer, Integer> ordinals = new HashMap<>();
+
+  private final List<Integer> recipeIds = new ArrayList<>();
+
+  private final List<V> values = new ArrayList<>();
+
+  private final List<LocalDateTime> createdAts = new ArrayList<>();
+
+  private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+
+  private final Map<K, BitSet> postings = new HashMap<>();
+
+  /**
+   * 空のインデックスを作成します。
+   *
+   * @param valueFactory レシピを登録する際に、レシピの値の初期値を作成する処理
+   * @param keysOf レシピの値から、そのレシピを索引しているキーを求める処理
+   */
+  RecipeBitmapIndex(Supplier<V> valueFactory, Function<V, Collection<K>> keysOf) {
+    this.valueFactory = valueFactory;
+    this.keysOf = keysOf;
+  }
+
+  /**
+   * レシピの連番を取得し、レシピの作成日時を記録します。登録されていないレシピの場合は、削除したレシピの連番を再利用するか新しい連番を割り当てます。
+   *
+   * @param recipeId レシピID
+   * @param createdAt レシピの作成日時
+   * @return レシピの連番
+   */
+  int ordinalOf(int recipeId, LocalDateTime createdAt) {
+    int ordinal = ordinals.computeIfAbsent(recipeId, id -> {
+      Integer freeOrdinal = freeOrdinals.poll();
+      if (freeOrdinal == null) {
+        recipeIds.add(id);
+        values.add(valueFactory.get());
+        createdAts.add(null);
+        return recipeIds.size() - 1;
+      }
+      recipeIds.set(freeOrdinal, id);
+      values.set(freeOrdinal, valueFactory.get());
+      return freeOrdinal;
+    });
+    createdAts.set(ordinal, createdAt);
+    return ordinal;
+  }
+
+  /**
+   * 登録済みのレシピの連番を取得します。
+   *
+   * @param recipeId レシピID
+   * @return レシピの連番。登録されていない場合はnull
+   */
+  Integer findOrdinal(int recipeId) {
+    return ordinals.get(recipeId);
+  }
+
+  /**
+   * レシピの値を取得します。
+   *
+   * @param ordinal レシピの連番
+   * @return レシピの値
+   */
+  V valueOf(int ordinal) {
+    return values.get(ordinal);
+  }
+
+  /**
+   * キーのビットマップにレシピを追加します。
+   *
+   * @param key キー
+   * @param ordinal レシピの連番
+   */
+  void index(K key, int ordinal) {
+    postings.computeIfAbsent(key, k -> new BitSet()).set(ordinal);
+  }
+
+  /**
+   * レシピの値から求めたすべてのキーのビットマップから、レシピを除きます。空になったビットマップは削除します。
+   * レシピの値は変更しないため、値を変更する前に呼び出します。
+   *
+   * @param ordinal レシピの連番
+   */
+  void unindex(int ordinal) {
+    for (K key : keysOf.apply(values.get(ordinal))) {
+      BitSet posting = postings.get(key);
+      if (posting != null) {
+        posting.clear(ordinal);
+        if (posting.isEmpty()) {
+          postings.remove(key);
+        }
+      }
+    }
+  }
+
+  /**
+   * レシピをインデックスから削除し、連番を再利用できるようにします。
+   *
+   * @param recipeId レシピID
+   */
+  void remove(int recipeId) {
+    Integer ordinal = ordinals.remove(recipeId);
+    if (ordinal == null) {
+      return;
+    }
+    unindex(ordinal);
+    recipeIds.set(ordinal, null);
+    values.set(ordinal, null);
+    createdAts.set(ordinal, null);
+    freeOrdinals.push(ordinal);
+  }
+
+  /**
+   * キーのビットマップの複製を取得します。
+   *
+   * @param key キー
+   * @return ビットマップの複製。キーに該当するレシピがない場合は空のビットマップ
+   */
+  BitSet postingOf(K key) {
+    BitSet posting = postings.get(key);
+    return posting == null ? new BitSet() : (BitSet) posting.clone();
+  }
+
+  /**
+   * ビットマップの連番をレシピIDに変換します。
+   *
+   * @param matched レシピの連番のビットマップ
+   * @return レシピのID一覧
+   */
+  Set<Integer> recipeIdsOf(BitSet matched) {
+    Set<Integer> matchedRecipeIds = new HashSet<>();
+    matched.stream().forEach(ordinal -> matchedRecipeIds.add(recipeIds.get(ordinal)));
+    return matchedRecipeIds;
+  }
+
+  /**
+   * レシピのID一覧のうち、カーソルより後に並ぶレシピの位置（作成日時とID）を、レシピ一覧の並び順で先頭から最大で指定件数取得します。
+   * 登録されていないレシピは含めません。
+   *
+   * @param targetRecipeIds レシピのID一覧
+   * @param cursor 開始位置のカーソル。先頭から取得する場合はnull
+   * @param limit 最大件数
+   * @return レシピの位置の一覧（レシピ一覧の並び順）
+   */
+  List<RecipeCursor> positionsOf(Collection<Integer> targetRecipeIds, RecipeCursor cursor,
+      int limit) {
+    return targetRecipeIds.stream()
+        .map(recipeId -> {
+          Integer ordinal = ordinals.get(recipeId);
+          return ordinal == null ? null : new RecipeCursor(createdAts.get(ordinal), recipeId);
+        })
+        .filter(Objects::nonNull)
+        .filter(position -> cursor == null || RecipeCursor.ORDER.compare(position, cursor) > 0)
+        .sorted(RecipeCursor.ORDER)
+        .limit(limit)
+        .toList();
+  }
+
+  /**
+   * 登録されているすべてのレシピのID一覧を取得します。
+   *
+   * @return レシピのID一覧
+   */
+  Set<Integer> recipeIds() {
+    return new HashSet<>(ordinals.keySet());
+  }
+
+  /**
+   * 割り当て済みの連番の数を取得します。削除したレシピの連番も含みます。テストに使用します。
+   */
+  int capacity() {
+    return recipeIds.size();
+  }
+
+}
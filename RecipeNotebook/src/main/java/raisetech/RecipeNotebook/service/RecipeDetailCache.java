@@ -0,0 +1,141 @@
+package raisetech.RecipeNotebook.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.RecipeNotebook.data.Category;
+import raisetech.RecipeNotebook.data.Ingredient;
+import raisetech.RecipeNotebook.data.Instruction;
+import raisetech.RecipeNotebook.data.Recipe;
+import raisetech.RecipeNotebook.domain.RecipeDetail;
+
+/**
+ * レシピIDをキーに、組み立て済みのレシピ詳細情報を保持するキャッシュです。
+ * Caffeine（W-TinyLFU）を使用し、レシピ詳細情報のおおよそのサイズ（バイト数）の合計が上限を超えないように保持するエントリーを選びます。
+ * 呼び出し側がレシピ詳細情報を書き換えてもキャッシュに影響しないよう、登録時と取得時にそれぞれ複製します。
+ * ヒット・ミス・追い出しの件数は「recipeDetail」という名前のキャッシュのメトリクスとして公開します。
+ */
+@Component
+public class RecipeDetailCache {
+
+  static final String CACHE_NAME = "recipeDetail";
+
+  /**
+   * オブジェクト1件あたりのおおよそのサイズ（バイト数）です。文字列以外のフィールドとオブジェクトのヘッダーを見込みます。
+   */
+  static final int OBJECT_WEIGHT = 64;
+
+  private final Cache<Integer, RecipeDetail> cache;
+
+  @Autowired
+  public RecipeDetailCache(MeterRegistry meterRegistry,
+      @Value("${app.cache.recipe-detail.maximum-weight:33554432}") long maximumWeight) {
+    this.cache = Caffeine.newBuilder()
+        .maximumWeight(maximumWeight)
+        .weigher((Integer recipeId, RecipeDetail recipeDetail) -> weigh(recipeDetail))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  /**
+   * レシピ詳細情報を取得します。キャッシュにない場合は読み込み処理で取得し、キャッシュに登録します。
+   * トランザクション中はコミット前の変更を読み込む可能性があるため、キャッシュを使用せずに読み込み処理の結果を返します。
+   *
+   * @param recipeId レシピID
+   * @param loader キャッシュにない場合の読み込み処理
+   * @return レシピ詳細情報の複製
+   */
+  public RecipeDetail get(int recipeId, IntFunction<RecipeDetail> loader) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return loader.apply(recipeId);
+    }
+    return copy(cache.get(recipeId, id -> copy(loader.apply(id))));
+  }
+
+  /**
+   * レシピ詳細情報をキャッシュから削除します。
+   * トランザクション中に呼び出した場合は、コミット前に他のリクエストが読み込んだ古い内容を残さないよう、コミット後にも削除します。
+   *
+   * @param recipeId レシピID
+   */
+  public void evict(int recipeId) {
+    TransactionCallbacks.nowAndAfterCommit(() -> cache.invalidate(recipeId));
+  }
+
+  /**
+   * 保留中の追い出しなどのメンテナンス処理を実行します。テストに使用します。
+   */
+  void cleanUp() {
+    cache.cleanUp();
+  }
+
+  /**
+   * レシピ詳細情報のおおよそのサイズ（バイト数）を求めます。
+   */
+  static int weigh(RecipeDetail recipeDetail) {
+    Recipe recipe = recipeDetail.getRecipe();
+    int weight = OBJECT_WEIGHT + weigh(recipe.getName(), recipe.getImagePath(),
+        recipe.getRecipeSource(), recipe.getServings(), recipe.getRemark());
+    for (Ingredient ingredient : recipeDetail.getIngredients()) {
+      weight += OBJECT_WEIGHT + weigh(ingredient.getName(), ingredient.getQuantity());
+    }
+    for (Instruction instruction : recipeDetail.getInstructions()) {
+      weight += OBJECT_WEIGHT + weigh(instruction.getContent());
+    }
+    if (recipeDetail.getCategories() != null) {
+      for (Category category : recipeDetail.getCategories()) {
+        weight += OBJECT_WEIGHT + weigh(category.getName());
+      }
+    }
+    return weight;
+  }
+
+  /**
+   * 文字列のおおよそのサイズ（バイト数）の合計を求めます。
+   */
+  static int weigh(String... values) {
+    return Stream.of(values)
+        .mapToInt(value -> value == null ? 0 : value.length() * Character.BYTES)
+        .sum();
+  }
+
+  /**
+   * レシピ詳細情報を複製します。レシピ・材料・調理手順・カテゴリーもそれぞれ複製します。
+   */
+  static RecipeDetail copy(RecipeDetail recipeDetail) {
+    if (recipeDetail == null) {
+      return null;
+    }
+
+    Recipe recipe = recipeDetail.getRecipe();
+    Recipe copiedRecipe = new Recipe(recipe.getId(), recipe.getUserId(), recipe.getName(),
+        recipe.getImagePath(), recipe.getRecipeSource(), recipe.getServings(),
+        recipe.getRemark(), recipe.isFavorite(), recipe.getCreatedAt(), recipe.getUpdatedAt(),
+        recipe.getVersion());
+    List<Ingredient> copiedIngredients = recipeDetail.getIngredients().stream()
+        .map(ingredient -> new Ingredient(ingredient.getId(), ingredient.getRecipeId(),
+            ingredient.getName(), ingredient.getQuantity(), ingredient.isArrange()))
+        .collect(Collectors.toList());
+    List<Instruction> copiedInstructions = recipeDetail.getInstructions().stream()
+        .map(instruction -> new Instruction(instruction.getId(), instruction.getRecipeId(),
+            instruction.getStepNumber(), instruction.getContent(), instruction.isArrange()))
+        .collect(Collectors.toList());
+    List<Category> copiedCategories = recipeDetail.getCategories() == null ? null
+        : recipeDetail.getCategories().stream()
+            .map(category -> new Category(category.getId(), category.getName()))
+            .collect(Collectors.toList());
+    return new RecipeDetail(copiedRecipe, copiedIngredients, copiedInstructions,
+        copiedCategories);
+  }
+
+}
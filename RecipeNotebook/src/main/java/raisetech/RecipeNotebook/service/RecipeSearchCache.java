@@ -0,0 +1,243 @@
+package raisetech.RecipeNotebook.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+import raisetech.RecipeNotebook.domain.RecipeDetail;
+import raisetech.RecipeNotebook.domain.RecipePage;
+import raisetech.RecipeNotebook.domain.RecipeSearchCriteria;
+import raisetech.RecipeNotebook.domain.RecipeSearchCriteria.CategoryMatch;
+import raisetech.RecipeNotebook.domain.RecipeSummary;
+
+/**
+ * ユーザーごとのレシピ一覧の検索結果を、正規化した検索条件をキーに保持するキャッシュです。
+ * キーにはユーザーごとの世代番号を含め、レシピの登録・更新・削除の際に世代番号を進めることで、そのユーザーの古い検索結果を使用しないようにします。
+ * 古い世代のエントリーは参照されなくなり、検索結果のおおよそのサイズ（バイト数）の合計が上限を超えた際に追い出されます。
+ * ヒット・ミス・追い出しの件数は「recipeSearch」という名前のキャッシュのメトリクスとして公開します。
+ * 食品の栄養成分の取り込みのように全ユーザーの検索結果が変わる場合は、全体の世代番号を進めて全ユーザーの古い検索結果を使用しないようにします。
+ * 世代番号と検索条件からは、一覧検索の条件付きリクエストに使用するETagも作成します。
+ */
+@Component
+public class RecipeSearchCache {
+
+  static final String CACHE_NAME = "recipeSearch";
+
+  private final Cache<SearchKey, RecipePage<?>> cache;
+
+  private final Map<Integer, AtomicLong> generations = new ConcurrentHashMap<>();
+
+  /**
+   * 全ユーザーに共通の世代番号です。ユーザーごとの世代番号とともにキーとETagに含めます。
+   */
+  private final AtomicLong globalGeneration = new AtomicLong();
+
+  /**
+   * 起動ごとに異なる値です。世代番号は起動時に0から数え直すため、再起動前のETagと一致しないようにETagに含めます。
+   */
+  private final String bootId = Long.toHexString(new SecureRandom().nextLong());
+
+  @Autowired
+  public RecipeSearchCache(MeterRegistry meterRegistry,
+      @Value("${app.cache.recipe-search.maximum-weight:33554432}") long maximumWeight) {
+    this.cache = Caffeine.newBuilder()
+        .maximumWeight(maximumWeight)
+        .weigher((SearchKey key, RecipePage<?> page) -> key.weigh() + weighPage(key.view(), page))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  /**
+   * レシピ詳細情報一覧の検索結果を取得します。キャッシュにない場合は読み込み処理で取得し、キャッシュに登録します。
+   *
+   * @param userId ユーザーID
+   * @param criteria 正規化済みのレシピ検索条件
+   * @param loader キャッシュにない場合の読み込み処理
+   * @return レシピ詳細情報の一覧と次のページのカーソル（複製）
+   */
+  public RecipePage<RecipeDetail> getRecipeDetails(int userId, RecipeSearchCriteria criteria,
+      Supplier<RecipePage<RecipeDetail>> loader) {
+    return get(View.DETAIL, userId, criteria, loader, RecipeDetailCache::copy);
+  }
+
+  /**
+   * レシピ概要一覧の検索結果を取得します。キャッシュにない場合は読み込み処理で取得し、キャッシュに登録します。
+   *
+   * @param userId ユーザーID
+   * @param criteria 正規化済みのレシピ検索条件
+   * @param loader キャッシュにない場合の読み込み処理
+   * @return レシピ概要の一覧と次のページのカーソル（複製）
+   */
+  public RecipePage<RecipeSummary> getRecipeSummaries(int userId, RecipeSearchCriteria criteria,
+      Supplier<RecipePage<RecipeSummary>> loader) {
+    return get(View.SUMMARY, userId, criteria, loader, RecipeSearchCache::copy);
+  }
+
+  /**
+   * レシピ詳細情報一覧の検索結果のETagの値を作成します。ユーザーの世代番号が進むまで、同じ検索条件に対して同じ値を返します。
+   *
+   * @param userId ユーザーID
+   * @param criteria 正規化済みのレシピ検索条件
+   * @return ETagの値（引用符なし）
+   */
+  public String recipeDetailsETag(int userId, RecipeSearchCriteria criteria) {
+    return eTagOf(View.DETAIL, userId, criteria);
+  }
+
+  /**
+   * レシピ概要一覧の検索結果のETagの値を作成します。ユーザーの世代番号が進むまで、同じ検索条件に対して同じ値を返します。
+   *
+   * @param userId ユーザーID
+   * @param criteria 正規化済みのレシピ検索条件
+   * @return ETagの値（引用符なし）
+   */
+  public String recipeSummariesETag(int userId, RecipeSearchCriteria criteria) {
+    return eTagOf(View.SUMMARY, userId, criteria);
+  }
+
+  /**
+   * ユーザーの世代番号を進め、それまでの検索結果を使用しないようにします。
+   * トランザクション中に呼び出した場合は、コミット前に他のリクエストが読み込んだ古い内容を残さないよう、コミット後にも世代番号を進めます。
+   *
+   * @param userId ユーザーID
+   */
+  public void invalidate(int userId) {
+    TransactionCallbacks.nowAndAfterCommit(() -> nextGeneration(userId));
+  }
+
+  /**
+   * 全体の世代番号を進め、全ユーザーのそれまでの検索結果を使用しないようにします。
+   * トランザクション中に呼び出した場合は、{@link #invalidate(int)}と同様にコミット後にも世代番号を進めます。
+   */
+  public void invalidateAll() {
+    TransactionCallbacks.nowAndAfterCommit(globalGeneration::incrementAndGet);
+  }
+
+  /**
+   * 保留中の追い出しなどのメンテナンス処理を実行します。テストに使用します。
+   */
+  void cleanUp() {
+    cache.cleanUp();
+  }
+
+  /**
+   * 検索結果を取得します。トランザクション中はコミット前の変更を読み込む可能性があるため、キャッシュを使用せずに読み込み処理の結果を返します。
+   */
+  @SuppressWarnings("unchecked")
+  private <T> RecipePage<T> get(View view, int userId, RecipeSearchCriteria criteria,
+      Supplier<RecipePage<T>> loader, UnaryOperator<T> copier) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return loader.get();
+    }
+    SearchKey key = SearchKey.of(view, userId, globalGeneration.get(), generationOf(userId),
+        criteria);
+    RecipePage<T> page = (RecipePage<T>) cache.get(key, k -> copy(loader.get(), copier));
+    return copy(page, copier);
+  }
+
+  /**
+   * 起動ごとの値・全体とユーザーの世代番号・キャッシュのキーのハッシュ値からETagの値を作成します。
+   */
+  private String eTagOf(View view, int userId, RecipeSearchCriteria criteria) {
+    long global = globalGeneration.get();
+    long generation = generationOf(userId);
+    SearchKey key = SearchKey.of(view, userId, global, generation, criteria);
+    byte[] digest = DigestUtils.md5Digest(key.toString().getBytes(StandardCharsets.UTF_8));
+    return "recipes-" + bootId + "-" + global + "-" + generation + "-"
+        + HexFormat.of().formatHex(digest);
+  }
+
+  private long generationOf(int userId) {
+    return generations.computeIfAbsent(userId, id -> new AtomicLong()).get();
+  }
+
+  private void nextGeneration(int userId) {
+    generations.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+  }
+
+  /**
+   * 検索結果の一覧のおおよそのサイズ（バイト数）を求めます。
+   */
+  private static int weighPage(View view, RecipePage<?> page) {
+    ToIntFunction<Object> weigher = switch (view) {
+      case DETAIL -> row -> RecipeDetailCache.weigh((RecipeDetail) row);
+      case SUMMARY -> row -> RecipeDetailCache.OBJECT_WEIGHT
+          + RecipeDetailCache.weigh(((RecipeSummary) row).getName(),
+          ((RecipeSummary) row).getImagePath());
+    };
+    return page.getContent().stream().mapToInt(weigher).sum()
+        + RecipeDetailCache.weigh(page.getNextCursor());
+  }
+
+  private static <T> RecipePage<T> copy(RecipePage<T> page, UnaryOperator<T> copier) {
+    return new RecipePage<>(page.getContent().stream().map(copier).collect(Collectors.toList()),
+        page.getNextCursor());
+  }
+
+  private static RecipeSummary copy(RecipeSummary summary) {
+    return new RecipeSummary(summary.getId(), summary.getName(), summary.getImagePath(),
+        summary.isFavorite(), summary.getCreatedAt(), summary.getUpdatedAt(),
+        summary.getIngredientCount());
+  }
+
+  /**
+   * 検索結果の表示形式です。同じ検索条件でも形式ごとに別のエントリーとして保持します。
+   */
+  private enum View {
+    DETAIL,
+    SUMMARY
+  }
+
+  /**
+   * キャッシュのキーです。正規化済みの検索条件の各項目と、取得件数の指定がない場合はデフォルトの件数を保持します。
+   */
+  private record SearchKey(View view, int userId, long globalGeneration, long generation,
+                           List<String> recipeNames,
+                           Boolean favoriteRecipe, LocalDate createDateFrom,
+                           LocalDate createDateTo, LocalDate updateDateFrom,
+                           LocalDate updateDateTo, List<String> ingredientNames,
+                           List<Integer> categoryIds, CategoryMatch categoryMatch,
+                           Double maxKcal, Double minProtein, String cursor, int limit) {
+
+    static SearchKey of(View view, int userId, long globalGeneration, long generation,
+        RecipeSearchCriteria criteria) {
+      return new SearchKey(view, userId, globalGeneration, generation,
+          Optional.ofNullable(criteria.getRecipeNames()).map(List::copyOf).orElse(List.of()),
+          criteria.getFavoriteRecipe(), criteria.getCreateDateFrom(), criteria.getCreateDateTo(),
+          criteria.getUpdateDateFrom(), criteria.getUpdateDateTo(),
+          Optional.ofNullable(criteria.getIngredientNames()).map(List::copyOf).orElse(List.of()),
+          Optional.ofNullable(criteria.getCategoryIds()).map(List::copyOf).orElse(List.of()),
+          criteria.getCategoryMatch(), criteria.getMaxKcal(), criteria.getMinProtein(),
+          criteria.getCursor(),
+          Optional.ofNullable(criteria.getLimit()).orElse(RecipeSearchCriteria.DEFAULT_LIMIT));
+    }
+
+    int weigh() {
+      return RecipeDetailCache.OBJECT_WEIGHT
+          + RecipeDetailCache.weigh(recipeNames.toArray(String[]::new))
+          + RecipeDetailCache.weigh(ingredientNames.toArray(String[]::new))
+          + categoryIds.size() * Integer.BYTES
+          + RecipeDetailCache.weigh(cursor);
+    }
+  }
+
+}
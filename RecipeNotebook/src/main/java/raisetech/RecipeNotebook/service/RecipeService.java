@@ -1,20 +1,32 @@
 package raisetech.RecipeNotebook.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import raisetech.RecipeNotebook.data.Category;
 import raisetech.RecipeNotebook.data.Ingredient;
 import raisetech.RecipeNotebook.data.Instruction;
 import raisetech.RecipeNotebook.data.Recipe;
 import raisetech.RecipeNotebook.data.User;
+import raisetech.RecipeNotebook.domain.RecipeCursor;
 import raisetech.RecipeNotebook.domain.RecipeDetail;
+import raisetech.RecipeNotebook.domain.RecipeNutrition;
+import raisetech.RecipeNotebook.domain.RecipePage;
 import raisetech.RecipeNotebook.domain.RecipeSearchCriteria;
+import raisetech.RecipeNotebook.domain.RecipeSummary;
+import raisetech.RecipeNotebook.domain.RecipeVersion;
 import raisetech.RecipeNotebook.exception.ResourceNotFoundException;
 import raisetech.RecipeNotebook.repository.RecipeRepository;
 
@@ -24,70 +36,188 @@ import raisetech.RecipeNotebook.repository.RecipeRepository;
 @Service
 public class RecipeService {
 
+  /**
+   * 材料名やカテゴリーで絞り込む場合に、1回の問い合わせで取得するレシピの最小件数です。
+   */
+  private static final int FILTER_BATCH_SIZE = 200;
+
+  /**
+   * 材料名やカテゴリーで絞り込む場合に、合致するレシピのIDでSQLを絞り込む際のレシピIDの件数の、取得件数（1ページ分より1件多い件数）に対する倍率です。
+   * SQLに渡すレシピIDは、取得件数が上限の100件でも202件までになります。
+   */
+  private static final int ID_FILTER_SIZE_FACTOR = 2;
+
   private final RecipeRepository repository;
   private final CustomUserDetailsService customUserDetailsService;
   private final FileStorageService fileStorageService;
+  private final IngredientSearchIndex ingredientSearchIndex;
+  private final CategorySearchIndex categorySearchIndex;
+  private final RecipeDetailCache recipeDetailCache;
+  private final RecipeSearchCache recipeSearchCache;
+  private final NutritionService nutritionService;
+  private final NutritionSummaryService nutritionSummaryService;
 
   @Autowired
   public RecipeService(RecipeRepository repository,
       CustomUserDetailsService customUserDetailsService,
-      FileStorageService fileStorageService) {
+      FileStorageService fileStorageService,
+      IngredientSearchIndex ingredientSearchIndex,
+      CategorySearchIndex categorySearchIndex,
+      RecipeDetailCache recipeDetailCache,
+      RecipeSearchCache recipeSearchCache,
+      NutritionService nutritionService,
+      NutritionSummaryService nutritionSummaryService) {
     this.repository = repository;
     this.customUserDetailsService = customUserDetailsService;
     this.fileStorageService = fileStorageService;
+    this.ingredientSearchIndex = ingredientSearchIndex;
+    this.categorySearchIndex = categorySearchIndex;
+    this.recipeDetailCache = recipeDetailCache;
+    this.recipeSearchCache = recipeSearchCache;
+    this.nutritionService = nutritionService;
+    this.nutritionSummaryService = nutritionSummaryService;
   }
 
   /**
-   * 検索条件に応じてレシピ詳細情報一覧を取得します。
-   * @return レシピ詳細情報の一覧
+   * 検索条件に応じてレシピ詳細情報一覧を1ページ分取得します。
+   * 検索条件にカーソルが指定されている場合は、そのカーソルが示すレシピの続きから取得します。
+   * 検索条件は正規化したうえで検索し、検索結果はユーザーごとにキャッシュします。
+   *
+   * @param criteria レシピ検索条件
+   * @return レシピ詳細情報の一覧と次のページのカーソル
    */
-  public List<RecipeDetail> searchRecipeList(RecipeSearchCriteria criteria) {
+  public RecipePage<RecipeDetail> searchRecipeList(RecipeSearchCriteria criteria) {
     User loggedInUser = customUserDetailsService.getLoggedInUser();
+    criteria.normalize();
+    return recipeSearchCache.getRecipeDetails(loggedInUser.getId(), criteria,
+        () -> loadRecipeList(loggedInUser.getId(), criteria));
+  }
 
-    // レシピを検索
-    List<Recipe> recipes = repository.getRecipes(loggedInUser.getId(), criteria);
-    if (recipes.isEmpty()) {
-      return Collections.emptyList();
+  /**
+   * データベースから検索条件に応じたレシピ詳細情報一覧を1ページ分取得するメソッドです。
+   *
+   * @param userId ユーザーID
+   * @param criteria 正規化済みのレシピ検索条件
+   * @return レシピ詳細情報の一覧と次のページのカーソル
+   */
+  private RecipePage<RecipeDetail> loadRecipeList(int userId, RecipeSearchCriteria criteria) {
+    RecipePage<Recipe> recipePage = searchPage(userId, criteria,
+        (filterIngredients, recipeIds, cursor, limit) -> recipeIds == null
+            ? repository.getRecipePage(userId, criteria, filterIngredients, cursor, limit)
+            : repository.getRecipePageByIds(userId, criteria, filterIngredients, recipeIds,
+                cursor, limit),
+        RecipeCursor::of, Recipe::getId);
+
+    if (recipePage.getContent().isEmpty()) {
+      return new RecipePage<>(Collections.emptyList(), recipePage.getNextCursor());
     }
 
-    List<Integer> recipeIds = recipes.stream()
-        .map(Recipe::getId).collect(Collectors.toList());
+    return new RecipePage<>(assembleRecipeDetails(recipePage.getContent()),
+        recipePage.getNextCursor());
+  }
 
-    // 材料名での検索
-    List<Integer> recipeIdsWithMatchingIngredients =
-        repository.getRecipeIdsWithMatchingIngredients(recipeIds, criteria.getIngredientNames());
+  /**
+   * 検索条件に応じてレシピ概要一覧を1ページ分取得します。レシピ一覧のカード表示に使用し、材料・調理手順の取得は行いません。
+   * 検索条件にカーソルが指定されている場合は、そのカーソルが示すレシピの続きから取得します。
+   * 検索条件は正規化したうえで検索し、検索結果はユーザーごとにキャッシュします。
+   *
+   * @param criteria レシピ検索条件
+   * @return レシピ概要の一覧と次のページのカーソル
+   */
+  public RecipePage<RecipeSummary> searchRecipeSummaryList(RecipeSearchCriteria criteria) {
+    User loggedInUser = customUserDetailsService.getLoggedInUser();
+    int userId = loggedInUser.getId();
+    criteria.normalize();
+    return recipeSearchCache.getRecipeSummaries(userId, criteria,
+        () -> searchPage(userId, criteria,
+            (filterIngredients, recipeIds, cursor, limit) -> recipeIds == null
+                ? repository.getRecipeSummaryPage(userId, criteria, filterIngredients, cursor,
+                    limit)
+                : repository.getRecipeSummaryPageByIds(userId, criteria, filterIngredients,
+                    recipeIds, cursor, limit),
+            RecipeCursor::of, RecipeSummary::getId));
+  }
 
-    recipeIds = recipeIds.stream()
-        .filter(recipeIdsWithMatchingIngredients::contains)
-        .collect(Collectors.toList());
+  /**
+   * レシピ詳細情報一覧の検索結果のETagの値を取得します。検索条件は正規化したうえで使用します。
+   * ログインユーザーのレシピが変更されるまで、同じ検索条件に対して同じ値を返します。データベースへの問い合わせは行いません。
+   *
+   * @param criteria レシピ検索条件
+   * @return ETagの値（引用符なし）
+   */
+  public String getRecipeListETag(RecipeSearchCriteria criteria) {
+    criteria.normalize();
+    return recipeSearchCache.recipeDetailsETag(
+        customUserDetailsService.getLoggedInUser().getId(), criteria);
+  }
 
-    if (recipeIds.isEmpty()) {
-      return Collections.emptyList();
-    }
+  /**
+   * レシピ概要一覧の検索結果のETagの値を取得します。検索条件は正規化したうえで使用します。
+   * ログインユーザーのレシピが変更されるまで、同じ検索条件に対して同じ値を返します。データベースへの問い合わせは行いません。
+   *
+   * @param criteria レシピ検索条件
+   * @return ETagの値（引用符なし）
+   */
+  public String getRecipeSummaryListETag(RecipeSearchCriteria criteria) {
+    criteria.normalize();
+    return recipeSearchCache.recipeSummariesETag(
+        customUserDetailsService.getLoggedInUser().getId(), criteria);
+  }
 
-    return recipeIds.stream()
-        .map(this::searchRecipeDetail)
-        .collect(Collectors.toList());
+  /**
+   * レシピ詳細情報のETagの値を取得します。レシピのバージョン情報のみを主キーで取得し、レシピ詳細情報は組み立てません。
+   * 条件付きリクエストで変更の有無を判定するために使用し、レスポンスのETagは返却するレシピ詳細情報から求めます。
+   *
+   * @param id レシピのID
+   * @return ETagの値（引用符なし）。レシピが存在しない場合はnull
+   */
+  public String getRecipeDetailETag(int id) {
+    RecipeVersion recipeVersion = repository.getRecipeVersion(id);
+    return recipeVersion == null ? null : recipeVersion.toETag();
   }
 
   /**
    * レシピ検索です。IDに紐づくレシピを取得した後、そのレシピIDに紐づく材料と調理手順を取得し、レシピの詳細情報に変換します。
+   * カテゴリーはカテゴリーのインデックスから取得します。
+   * 取得したレシピ詳細情報はキャッシュし、レシピの登録・更新・削除の際にキャッシュから削除します。
    *
    * @param id レシピのID
    * @return IDに紐づくレシピの詳細情報
    */
   public RecipeDetail searchRecipeDetail(int id) {
-    validateRecipeExists(id);
-    Recipe recipe = repository.getRecipe(id);
+    return recipeDetailCache.get(id, this::loadRecipeDetail);
+  }
+
+  /**
+   * レシピの栄養成分を計算します。レシピ詳細情報はキャッシュから取得し、食品の栄養成分はインメモリのカタログから引きます。
+   *
+   * @param id レシピのID
+   * @return レシピ全体と1人分の栄養成分、材料ごとの計算結果
+   */
+  public RecipeNutrition getRecipeNutrition(int id) {
+    return nutritionService.calculate(searchRecipeDetail(id));
+  }
+
+  /**
+   * データベースからレシピ詳細情報を取得するメソッドです。
+   *
+   * @param id レシピのID
+   * @return IDに紐づくレシピの詳細情報
+   */
+  private RecipeDetail loadRecipeDetail(int id) {
+    Recipe recipe = validateRecipeExists(id);
     List<Ingredient> ingredients = repository.getIngredients(id);
     List<Instruction> instructions = repository.getInstructions(id);
 
-    return new RecipeDetail(recipe, ingredients, instructions);
+    return new RecipeDetail(recipe, ingredients, instructions,
+        categorySearchIndex.getRecipeCategories(id));
   }
 
   /**
    * レシピの新規作成です。引数として渡されたレシピ詳細情報に基づいて新規登録を行います。
    * 登録日時、材料および調理手順に紐づくレシピID、調理手順の番号は自動で登録されます。
+   * 栄養成分の集計は登録したレシピのみ計算して保存します。
+   * カテゴリーは存在するカテゴリーIDであることを確認したうえで、まとめて登録します。
    *
    * @param recipeDetail レシピの詳細情報
    * @return 新規作成されるレシピ詳細情報
@@ -95,6 +225,8 @@ public class RecipeService {
   @Transactional
   public RecipeDetail createRecipeDetail(RecipeDetail recipeDetail, MultipartFile file) {
     User loggedInUser = customUserDetailsService.getLoggedInUser();
+    // 画像を保存する前に、存在しないカテゴリーIDを検知する
+    List<Category> categories = categorySearchIndex.resolve(recipeDetail.getCategories());
 
     Recipe inputRecipe = recipeDetail.getRecipe();
     inputRecipe.setUserId(loggedInUser.getId());
@@ -103,10 +235,13 @@ public class RecipeService {
     inputRecipe.setCreatedAt(LocalDateTime.now());
     repository.registerRecipe(inputRecipe);
 
+    // 材料と調理手順はそれぞれ一括で登録し、件数にかかわらず問い合わせ回数を一定にする
     List<Ingredient> inputIngredients = recipeDetail.getIngredients();
     for (Ingredient ingredient : inputIngredients) {
       ingredient.setRecipeId(inputRecipe.getId());
-      repository.registerIngredient(ingredient);
+    }
+    if (!inputIngredients.isEmpty()) {
+      repository.registerIngredients(inputIngredients);
     }
 
     List<Instruction> inputInstructions = recipeDetail.getInstructions();
@@ -114,14 +249,32 @@ public class RecipeService {
       Instruction instruction = inputInstructions.get(i);
       instruction.setRecipeId(inputRecipe.getId());
       instruction.setStepNumber(i + 1);
-      repository.registerInstruction(instruction);
+    }
+    if (!inputInstructions.isEmpty()) {
+      repository.registerInstructions(inputInstructions);
     }
 
+    if (!categories.isEmpty()) {
+      repository.registerRecipeCategories(inputRecipe.getId(),
+          categories.stream().map(Category::getId).toList());
+    }
+    recipeDetail.setCategories(categories);
+
+    nutritionSummaryService.refresh(recipeDetail);
+    ingredientSearchIndex.putRecipe(loggedInUser.getId(), inputRecipe.getId(),
+        inputRecipe.getCreatedAt(), inputIngredients);
+    categorySearchIndex.putRecipe(loggedInUser.getId(), inputRecipe.getId(),
+        inputRecipe.getCreatedAt(), categories);
+    recipeDetailCache.evict(inputRecipe.getId());
+    recipeSearchCache.invalidate(loggedInUser.getId());
     return recipeDetail;
   }
 
   /**
    * レシピの更新です。引数で渡されたレシピ詳細情報のレシピID・材料ID・調理手順IDにそれぞれ紐づく情報を更新します。
+   * 材料と調理手順は既存のデータとの差分を求め、削除・追加・更新をそれぞれ1回の問い合わせでまとめて反映します。
+   * 栄養成分の集計は更新したレシピのみ計算し直して保存します。
+   * カテゴリーが指定された場合は登録済みのカテゴリーを置き換え、指定されない（null）場合は変更しません。
    *
    * @param recipeDetail レシピ詳細情報
    * @return 更新されるレシピ詳細情報
@@ -133,45 +286,74 @@ public class RecipeService {
     List<Instruction> inputInstructions = recipeDetail.getInstructions();
 
     int recipeId = inputRecipe.getId();
-    validateRecipeExists(recipeId);
+    Recipe existingRecipe = validateRecipeExists(recipeId);
+    // 更新を始める前に、存在しないカテゴリーIDを検知する
+    List<Category> inputCategories = recipeDetail.getCategories() == null ? null
+        : categorySearchIndex.resolve(recipeDetail.getCategories());
     // 入力されたレシピ詳細情報の材料および調理手順のレシピIDにレシピIDをセット
     setRecipeIdForComponents(inputIngredients, inputInstructions, recipeId);
     // 既存のデータを取得
     List<Ingredient> existingIngredients = repository.getIngredients(recipeId);
     List<Instruction> existingInstructions = repository.getInstructions(recipeId);
 
-    updateIngredients(inputIngredients, existingIngredients);
-    updateInstructions(inputInstructions, existingInstructions);
-    updateRecipeWithImage(inputRecipe, recipeId, file);
+    updateIngredients(recipeId, inputIngredients, existingIngredients);
+    updateInstructions(recipeId, inputInstructions, existingInstructions);
+    updateRecipeWithImage(inputRecipe, existingRecipe, file);
+
+    if (inputCategories != null) {
+      updateCategories(recipeId, inputCategories);
+      categorySearchIndex.putRecipe(existingRecipe.getUserId(), recipeId,
+          existingRecipe.getCreatedAt(), inputCategories);
+      recipeDetail.setCategories(inputCategories);
+    } else {
+      recipeDetail.setCategories(categorySearchIndex.getRecipeCategories(recipeId));
+    }
 
+    nutritionSummaryService.refresh(recipeDetail);
+    ingredientSearchIndex.putRecipe(existingRecipe.getUserId(), recipeId,
+        existingRecipe.getCreatedAt(), inputIngredients);
+    recipeDetailCache.evict(recipeId);
+    recipeSearchCache.invalidate(existingRecipe.getUserId());
     return recipeDetail;
   }
 
   /**
-   * レシピのお気に入りフラグを更新するメソッドです。
+   * ログインユーザーのレシピのお気に入りフラグを更新するメソッドです。
    *
    * @param id レシピID
    * @param favorite レシピのお気に入りフラグ
    */
   @Transactional
   public void updateFavoriteStatus(int id, boolean favorite) {
-    validateRecipeExists(id);
-    repository.updateFavoriteStatus(id, favorite);
+    int userId = customUserDetailsService.getLoggedInUser().getId();
+    // 事前の存在確認は行わず、ログインユーザーのレシピの更新件数でレシピの有無を判定する
+    if (repository.updateFavoriteStatus(id, userId, favorite) == 0) {
+      throw recipeNotFound(id);
+    }
+    recipeDetailCache.evict(id);
+    recipeSearchCache.invalidate(userId);
   }
 
   /**
-   * レシピを削除するメソッドです。データベース側の設定により、レシピIDに紐づく材料と調理手順も削除されます。
+   * レシピを削除するメソッドです。データベース側の設定により、レシピIDに紐づく材料・調理手順・カテゴリーも削除されます。
    *
    * @param id レシピID
    */
   @Transactional
   public void deleteRecipe(int id) {
-    validateRecipeExists(id);
-    String imagePathForDeletedRecipe = repository.getRecipe(id).getImagePath();
+    Recipe recipe = validateRecipeExists(id);
+    String imagePathForDeletedRecipe = recipe.getImagePath();
+    // 取得後に他のリクエストで削除された場合も、削除件数で検知する
+    if (repository.deleteRecipe(id) == 0) {
+      throw recipeNotFound(id);
+    }
     if (imagePathForDeletedRecipe.contains("/uploads/")) {
       fileStorageService.deleteFile(imagePathForDeletedRecipe);
     }
-    repository.deleteRecipe(id);
+    ingredientSearchIndex.removeRecipe(id);
+    categorySearchIndex.removeRecipe(id);
+    recipeDetailCache.evict(id);
+    recipeSearchCache.invalidate(recipe.getUserId());
   }
 
   /**
@@ -181,8 +363,17 @@ public class RecipeService {
    */
   @Transactional
   public void deleteIngredient(int id) {
-    validateIngredientExists(id);
-    repository.deleteIngredient(id);
+    // 集計の計算と検索結果のキャッシュを無効にする所有者の特定のため、材料のレシピを取得する
+    Recipe recipe = validateIngredientExists(id);
+    // 取得後に他のリクエストで削除された場合も、削除件数で検知する
+    if (repository.deleteIngredient(id) == 0) {
+      throw ingredientNotFound(id);
+    }
+    repository.incrementRecipeVersion(recipe.getId());
+    nutritionSummaryService.refresh(recipe);
+    ingredientSearchIndex.removeIngredient(recipe.getId(), id);
+    recipeDetailCache.evict(recipe.getId());
+    recipeSearchCache.invalidate(recipe.getUserId());
   }
 
   /**
@@ -192,41 +383,221 @@ public class RecipeService {
    */
   @Transactional
   public void deleteInstruction(int id) {
-    validateInstructionExists(id);
-    repository.deleteInstruction(id);
+    // バージョン番号を進めるレシピと検索結果のキャッシュを無効にする所有者の特定のため、調理手順のレシピを取得する
+    Recipe recipe = validateInstructionExists(id);
+    // 取得後に他のリクエストで削除された場合も、削除件数で検知する
+    if (repository.deleteInstruction(id) == 0) {
+      throw instructionNotFound(id);
+    }
+    repository.incrementRecipeVersion(recipe.getId());
+    recipeDetailCache.evict(recipe.getId());
+    recipeSearchCache.invalidate(recipe.getUserId());
   }
 
   /**
    * レシピの存在確認を行うメソッドです。
    *
    * @param recipeId レシピID
+   * @return レシピ
    */
-  private void validateRecipeExists(int recipeId) {
-    if (repository.getRecipe(recipeId) == null) {
-      throw new ResourceNotFoundException("レシピID「" + recipeId + "」は存在しません");
+  private Recipe validateRecipeExists(int recipeId) {
+    Recipe recipe = repository.getRecipe(recipeId);
+    if (recipe == null) {
+      throw recipeNotFound(recipeId);
     }
+    return recipe;
   }
 
   /**
-   * 材料の存在確認を行うメソッドです。
+   * レシピが存在しない場合の例外を作成するメソッドです。
+   *
+   * @param recipeId レシピID
+   * @return 例外
+   */
+  private static ResourceNotFoundException recipeNotFound(int recipeId) {
+    return new ResourceNotFoundException("レシピID「" + recipeId + "」は存在しません");
+  }
+
+  /**
+   * 材料の存在確認を行い、材料が属するレシピを取得するメソッドです。
    *
    * @param ingredientId 材料ID
+   * @return 材料が属するレシピ
    */
-  private void validateIngredientExists(int ingredientId) {
-    if (repository.getIngredient(ingredientId) == null) {
-      throw new ResourceNotFoundException("材料ID「" + ingredientId + "」は存在しません");
+  private Recipe validateIngredientExists(int ingredientId) {
+    Recipe recipe = repository.getRecipeByIngredientId(ingredientId);
+    if (recipe == null) {
+      throw ingredientNotFound(ingredientId);
     }
+    return recipe;
+  }
+
+  /**
+   * 材料が存在しない場合の例外を作成するメソッドです。
+   *
+   * @param ingredientId 材料ID
+   * @return 例外
+   */
+  private static ResourceNotFoundException ingredientNotFound(int ingredientId) {
+    return new ResourceNotFoundException("材料ID「" + ingredientId + "」は存在しません");
   }
 
   /**
-   * 調理手順の存在確認を行うメソッドです。
+   * 調理手順の存在確認を行い、調理手順が属するレシピを取得するメソッドです。
    *
    * @param instructionId 調理手順ID
+   * @return 調理手順が属するレシピ
    */
-  private void validateInstructionExists(int instructionId) {
-    if (repository.getInstruction(instructionId) == null) {
-      throw new ResourceNotFoundException("調理手順ID「" + instructionId + "」は存在しません");
+  private Recipe validateInstructionExists(int instructionId) {
+    Recipe recipe = repository.getRecipeByInstructionId(instructionId);
+    if (recipe == null) {
+      throw instructionNotFound(instructionId);
     }
+    return recipe;
+  }
+
+  /**
+   * 調理手順が存在しない場合の例外を作成するメソッドです。
+   *
+   * @param instructionId 調理手順ID
+   * @return 例外
+   */
+  private static ResourceNotFoundException instructionNotFound(int instructionId) {
+    return new ResourceNotFoundException("調理手順ID「" + instructionId + "」は存在しません");
+  }
+
+  /**
+   * 検索条件に応じたレシピを1ページ分取得するメソッドです。
+   * 材料名が指定されている場合は材料名のインデックスで合致するレシピを求め、取得したレシピを絞り込みます。
+   * カテゴリーIDが指定されている場合も同様にカテゴリーのインデックスで合致するレシピを求め、材料名の結果との積で絞り込みます。
+   * 合致するレシピはカーソルの位置からレシピ一覧の並び順に取得件数の数倍まで取り出し、そのレシピIDでSQLを絞り込んで1回の問い合わせで取得します。
+   * 他の検索条件で除かれて1ページ分がそろわない場合は、レシピ一覧を順に読み進めて取得したレシピを絞り込み、1ページ分がそろうか最後のレシピに達するまで続きを取得します。
+   * インデックスが無効の場合は、材料名の条件もSQLで絞り込み、1回の問い合わせで1ページ分を取得します。
+   *
+   * @param userId ユーザーID
+   * @param criteria レシピ検索条件
+   * @param pageQuery 材料名の絞り込みの有無・レシピID一覧・カーソル・取得件数を指定してレシピを取得する処理
+   * @param cursorOf レシピからカーソルを作成する処理
+   * @param idOf レシピからレシピIDを取得する処理
+   * @param <T> レシピの型
+   * @return レシピの一覧と次のページのカーソル
+   */
+  private <T> RecipePage<T> searchPage(int userId, RecipeSearchCriteria criteria,
+      PageQuery<T> pageQuery, Function<T, RecipeCursor> cursorOf,
+      ToIntFunction<T> idOf) {
+    RecipeCursor cursor = RecipeCursor.decode(criteria.getCursor());
+    int limit = resolveLimit(criteria);
+
+    Set<Integer> matchingRecipeIds = null;
+    int batchSize = limit + 1;
+    boolean hasIngredientNames =
+        criteria.getIngredientNames() != null && !criteria.getIngredientNames().isEmpty();
+    boolean filterIngredients = hasIngredientNames && !ingredientSearchIndex.isEnabled();
+    if (hasIngredientNames && !filterIngredients) {
+      matchingRecipeIds =
+          ingredientSearchIndex.findRecipeIds(userId, criteria.getIngredientNames());
+    }
+    if (criteria.getCategoryIds() != null && !criteria.getCategoryIds().isEmpty()) {
+      Set<Integer> recipeIdsWithMatchingCategories = categorySearchIndex.findRecipeIds(userId,
+          criteria.getCategoryIds(), criteria.getCategoryMatch());
+      if (matchingRecipeIds == null) {
+        matchingRecipeIds = recipeIdsWithMatchingCategories;
+      } else {
+        matchingRecipeIds = new HashSet<>(matchingRecipeIds);
+        matchingRecipeIds.retainAll(recipeIdsWithMatchingCategories);
+      }
+    }
+
+    List<T> matched = new ArrayList<>();
+    if (matchingRecipeIds != null) {
+      if (matchingRecipeIds.isEmpty()) {
+        return new RecipePage<>(Collections.emptyList(), null);
+      }
+
+      int idFilterSize = batchSize * ID_FILTER_SIZE_FACTOR;
+      List<RecipeCursor> positions;
+      if (hasIngredientNames && !filterIngredients) {
+        positions = ingredientSearchIndex.findRecipePositions(userId, matchingRecipeIds, cursor,
+            idFilterSize);
+      } else {
+        positions = categorySearchIndex.findRecipePositions(userId, matchingRecipeIds, cursor,
+            idFilterSize);
+      }
+      if (positions.isEmpty()) {
+        return new RecipePage<>(Collections.emptyList(), null);
+      }
+      List<T> rows = pageQuery.fetch(filterIngredients,
+          positions.stream().map(RecipeCursor::getId).toList(), cursor, batchSize);
+      if (rows.size() > limit) {
+        List<T> content = new ArrayList<>(rows.subList(0, limit));
+        return new RecipePage<>(content, cursorOf.apply(content.getLast()).encode());
+      }
+      if (positions.size() < idFilterSize) {
+        // 残りの合致するレシピはすべて取り出したため、続きはない
+        return new RecipePage<>(rows, null);
+      }
+
+      // 取り出したレシピの多くが他の検索条件で除かれた場合は、取り出した最後のレシピから順に読み進める
+      matched.addAll(rows);
+      cursor = positions.getLast();
+      batchSize = Math.max(batchSize, FILTER_BATCH_SIZE);
+    }
+
+    while (true) {
+      // 次のページの有無を判定するため、1ページ分より1件多くそろうまで取得する
+      List<T> rows = pageQuery.fetch(filterIngredients, null, cursor, batchSize);
+      for (T row : rows) {
+        if (matchingRecipeIds == null || matchingRecipeIds.contains(idOf.applyAsInt(row))) {
+          matched.add(row);
+        }
+        if (matched.size() > limit) {
+          List<T> content = new ArrayList<>(matched.subList(0, limit));
+          return new RecipePage<>(content, cursorOf.apply(content.getLast()).encode());
+        }
+      }
+
+      if (rows.size() < batchSize) {
+        return new RecipePage<>(matched, null);
+      }
+      cursor = cursorOf.apply(rows.getLast());
+    }
+  }
+
+  /**
+   * 検索条件から1ページあたりの取得件数を決定します。指定がない場合はデフォルトの件数になります。
+   *
+   * @param criteria レシピ検索条件
+   * @return 取得件数
+   */
+  private int resolveLimit(RecipeSearchCriteria criteria) {
+    return Optional.ofNullable(criteria.getLimit()).orElse(RecipeSearchCriteria.DEFAULT_LIMIT);
+  }
+
+  /**
+   * レシピ一覧からレシピ詳細情報の一覧を組み立てるメソッドです。
+   * 材料と調理手順はレシピID一覧でまとめて取得するため、レシピの件数にかかわらず問い合わせ回数は一定です。
+   * カテゴリーはカテゴリーのインデックスから取得するため、問い合わせは行いません。
+   *
+   * @param recipes レシピ一覧
+   * @return レシピ詳細情報の一覧（レシピ一覧と同じ順序）
+   */
+  private List<RecipeDetail> assembleRecipeDetails(List<Recipe> recipes) {
+    List<Integer> recipeIds = recipes.stream()
+        .map(Recipe::getId).collect(Collectors.toList());
+
+    Map<Integer, List<Ingredient>> ingredientsByRecipeId =
+        repository.getIngredientsByRecipeIds(recipeIds).stream()
+            .collect(Collectors.groupingBy(Ingredient::getRecipeId));
+    Map<Integer, List<Instruction>> instructionsByRecipeId =
+        repository.getInstructionsByRecipeIds(recipeIds).stream()
+            .collect(Collectors.groupingBy(Instruction::getRecipeId));
+
+    return recipes.stream()
+        .map(recipe -> new RecipeDetail(recipe,
+            ingredientsByRecipeId.getOrDefault(recipe.getId(), new ArrayList<>()),
+            instructionsByRecipeId.getOrDefault(recipe.getId(), new ArrayList<>()),
+            categorySearchIndex.getRecipeCategories(recipe.getId())))
+        .collect(Collectors.toList());
   }
 
   /**
@@ -246,15 +617,13 @@ public class RecipeService {
    * レシピを更新するメソッドです。
    *
    * @param inputRecipe 入力されたレシピ情報
-   * @param recipeId レシピID
+   * @param existingRecipe 存在確認の際に取得した既存のレシピ
    * @param file 画像ファイル
    */
-  private void updateRecipeWithImage(Recipe inputRecipe, int recipeId, MultipartFile file) {
-    String existingImagePath = repository.getRecipe(recipeId).getImagePath();
+  private void updateRecipeWithImage(Recipe inputRecipe, Recipe existingRecipe,
+      MultipartFile file) {
+    String existingImagePath = existingRecipe.getImagePath();
     if (file != null && !file.isEmpty()) {
-      if (!existingImagePath.contains("/images/") && existingImagePath.contains("/uploads/")) {
-        fileStorageService.deleteFile(existingImagePath);
-      }
       String updateImagePath = fileStorageService.storeFile(file);
       inputRecipe.setImagePath(updateImagePath);
     } else {
@@ -263,58 +632,137 @@ public class RecipeService {
 
     inputRecipe.setUpdatedAt(LocalDateTime.now());
     repository.updateRecipe(inputRecipe);
+
+    // 画像は内容ごとに共有されるため、更新後に他のレシピから参照されていない場合に限り削除される
+    if (!existingImagePath.contains("/images/") && existingImagePath.contains("/uploads/")
+        && !existingImagePath.equals(inputRecipe.getImagePath())) {
+      fileStorageService.deleteFile(existingImagePath);
+    }
+  }
+
+  /**
+   * カテゴリーを更新するメソッドです。登録済みのカテゴリーをまとめて削除し、入力されたカテゴリーをまとめて登録します。
+   *
+   * @param recipeId レシピID
+   * @param inputCategories 確認済みのカテゴリーリスト
+   */
+  private void updateCategories(int recipeId, List<Category> inputCategories) {
+    repository.deleteRecipeCategories(recipeId);
+    if (!inputCategories.isEmpty()) {
+      repository.registerRecipeCategories(recipeId,
+          inputCategories.stream().map(Category::getId).toList());
+    }
   }
 
   /**
    * 材料を更新するメソッドです。
+   * 入力された材料のうち、IDのないものを追加、既存の材料のIDを持つものを更新し、入力に含まれない既存の材料を削除します。
+   * 材料IDの確認はレシピの既存の材料に対してメモリ上で行い、データベースへの反映は削除・追加・更新をそれぞれ一括で行います。
    *
+   * @param recipeId レシピID
    * @param inputIngredients 入力された材料リスト
    * @param existingIngredients 既存の材料リスト
    */
-  private void updateIngredients(List<Ingredient> inputIngredients,
+  private void updateIngredients(int recipeId, List<Ingredient> inputIngredients,
       List<Ingredient> existingIngredients) {
-    Set<Integer> inputIngredientIds = inputIngredients.stream()
+    Set<Integer> existingIngredientIds = existingIngredients.stream()
         .map(Ingredient::getId)
         .collect(Collectors.toSet());
-    // 材料の削除処理
-    existingIngredients.stream()
-        .filter(ingredient -> !inputIngredientIds.contains(ingredient.getId()))
-        .forEach(ingredient -> repository.deleteIngredient(ingredient.getId()));
-    // 材料の追加・更新処理
-    inputIngredients.forEach(ingredient -> {
-      if (ingredient.getId() == 0) {
-        repository.registerIngredient(ingredient);
-      } else {
-        validateIngredientExists(ingredient.getId());
-        repository.updateIngredient(ingredient);
-      }
-    });
+    Map<Boolean, List<Ingredient>> isNewIngredient = inputIngredients.stream()
+        .collect(Collectors.partitioningBy(ingredient -> ingredient.getId() == 0));
+    List<Ingredient> newIngredients = isNewIngredient.get(true);
+    List<Ingredient> modifiedIngredients = isNewIngredient.get(false);
+    // 他のレシピの材料や存在しない材料を更新しないよう、既存の材料のIDであることを確認する
+    modifiedIngredients.stream()
+        .filter(ingredient -> !existingIngredientIds.contains(ingredient.getId()))
+        .findFirst()
+        .ifPresent(ingredient -> {
+          throw ingredientNotFound(ingredient.getId());
+        });
+
+    Set<Integer> inputIngredientIds = modifiedIngredients.stream()
+        .map(Ingredient::getId)
+        .collect(Collectors.toSet());
+    List<Integer> deletedIngredientIds = existingIngredients.stream()
+        .map(Ingredient::getId)
+        .filter(id -> !inputIngredientIds.contains(id))
+        .toList();
+
+    if (!deletedIngredientIds.isEmpty()) {
+      repository.deleteIngredients(recipeId, deletedIngredientIds);
+    }
+    if (!newIngredients.isEmpty()) {
+      repository.registerIngredients(newIngredients);
+    }
+    if (!modifiedIngredients.isEmpty()) {
+      repository.updateIngredients(recipeId, modifiedIngredients);
+    }
   }
 
   /**
    * 調理手順を更新するメソッドです。
+   * 入力された調理手順のうち、IDのないものを追加、既存の調理手順のIDを持つものを更新し、入力に含まれない既存の調理手順を削除します。
+   * 調理手順IDの確認はレシピの既存の調理手順に対してメモリ上で行い、データベースへの反映は削除・追加・更新をそれぞれ一括で行います。
    *
+   * @param recipeId レシピID
    * @param inputInstructions 入力された調理手順リスト
    * @param existingInstructions 既存の調理手順リスト
    */
-  private void updateInstructions(List<Instruction> inputInstructions,
+  private void updateInstructions(int recipeId, List<Instruction> inputInstructions,
       List<Instruction> existingInstructions) {
-    Set<Integer> inputInstructionIds = inputInstructions.stream()
+    Set<Integer> existingInstructionIds = existingInstructions.stream()
         .map(Instruction::getId)
         .collect(Collectors.toSet());
-    // 調理手順の削除処理
-    existingInstructions.stream()
-        .filter(instruction -> !inputInstructionIds.contains(instruction.getId()))
-        .forEach(instruction -> repository.deleteInstruction(instruction.getId()));
-    // 調理手順の追加・更新処理
-    inputInstructions.forEach(instruction -> {
-      if (instruction.getId() == 0) {
-        repository.registerInstruction(instruction);
-      } else {
-        validateInstructionExists(instruction.getId());
-        repository.updateInstruction(instruction);
-      }
-    });
+    Map<Boolean, List<Instruction>> isNewInstruction = inputInstructions.stream()
+        .collect(Collectors.partitioningBy(instruction -> instruction.getId() == 0));
+    List<Instruction> newInstructions = isNewInstruction.get(true);
+    List<Instruction> modifiedInstructions = isNewInstruction.get(false);
+    // 他のレシピの調理手順や存在しない調理手順を更新しないよう、既存の調理手順のIDであることを確認する
+    modifiedInstructions.stream()
+        .filter(instruction -> !existingInstructionIds.contains(instruction.getId()))
+        .findFirst()
+        .ifPresent(instruction -> {
+          throw instructionNotFound(instruction.getId());
+        });
+
+    Set<Integer> inputInstructionIds = modifiedInstructions.stream()
+        .map(Instruction::getId)
+        .collect(Collectors.toSet());
+    List<Integer> deletedInstructionIds = existingInstructions.stream()
+        .map(Instruction::getId)
+        .filter(id -> !inputInstructionIds.contains(id))
+        .toList();
+
+    if (!deletedInstructionIds.isEmpty()) {
+      repository.deleteInstructions(recipeId, deletedInstructionIds);
+    }
+    if (!newInstructions.isEmpty()) {
+      repository.registerInstructions(newInstructions);
+    }
+    if (!modifiedInstructions.isEmpty()) {
+      repository.updateInstructions(recipeId, modifiedInstructions);
+    }
+  }
+
+  /**
+   * レシピを1ページ分取得する処理です。
+   *
+   * @param <T> レシピの型
+   */
+  @FunctionalInterface
+  private interface PageQuery<T> {
+
+    /**
+     * レシピを取得します。
+     *
+     * @param filterIngredients 材料名の条件をSQLで絞り込む場合はtrue
+     * @param recipeIds 取得するレシピのID一覧。レシピIDで絞り込まない場合はnull
+     * @param cursor 取得を開始する位置のカーソル。先頭から取得する場合はnull
+     * @param limit 取得件数の上限
+     * @return レシピ一覧
+     */
+    List<T> fetch(boolean filterIngredients, List<Integer> recipeIds, RecipeCursor cursor,
+        int limit);
   }
 
 }
@@ -0,0 +1,77 @@
+package raisetech.RecipeNotebook.service;
+
+import java.util.function.IntConsumer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * トランザクションのコミット後・完了後に処理を実行するためのユーティリティです。
+ * キャッシュやインメモリのインデックス、ファイルなど、ロールバックされないリソースをデータベースの変更と揃えるために使用します。
+ */
+final class TransactionCallbacks {
+
+  private TransactionCallbacks() {
+  }
+
+  /**
+   * トランザクション中の場合は、処理をコミット後に実行するよう登録します。トランザクション外の場合は何もしません。
+   *
+   * @param action コミット後に実行する処理
+   * @return 登録した場合はtrue。トランザクション外のため登録しなかった場合はfalse
+   */
+  static boolean afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return false;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+    return true;
+  }
+
+  /**
+   * トランザクション中の場合は処理をコミット後に実行し、トランザクション外の場合はすぐに実行します。
+   * ロールバックされた場合は実行しません。
+   *
+   * @param action 実行する処理
+   */
+  static void afterCommitOrNow(Runnable action) {
+    if (!afterCommit(action)) {
+      action.run();
+    }
+  }
+
+  /**
+   * 処理をすぐに実行し、トランザクション中の場合はコミット後にも実行します。
+   * キャッシュの無効化のように、コミット前に他のリクエストが読み込んだ古い内容を残さないために使用します。
+   *
+   * @param action 実行する処理
+   */
+  static void nowAndAfterCommit(Runnable action) {
+    action.run();
+    afterCommit(action);
+  }
+
+  /**
+   * トランザクション中の場合は処理を完了後（コミット・ロールバックのいずれの場合も）に実行し、トランザクション外の場合はすぐに実行します。
+   * トランザクション外の場合は、コミットされたものとして完了状態を渡します。
+   *
+   * @param action 完了状態（{@link TransactionSynchronization#STATUS_COMMITTED}など）を受け取る処理
+   */
+  static void afterCompletionOrNow(IntConsumer action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.accept(TransactionSynchronization.STATUS_COMMITTED);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        action.accept(status);
+      }
+    });
+  }
+
+}
@@ -0,0 +1,118 @@
+package raisetech.RecipeNotebook.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * アップロードディレクトリのファイルを配信するために、ファイルの情報（パス・サイズ・更新日時・ETag・Content-Type）を取得するサービスです。
+ * 画像のたびにファイルシステムへ問い合わせないよう、取得した情報は短い時間キャッシュします。
+ * アップロードされた画像は内容のハッシュ値で名前を付けており同じパスの内容は変わらないため、削除された場合も配信時の読み込みの失敗で検知できます。
+ * ヒット・ミス・追い出しの件数は「uploadedFile」という名前のキャッシュのメトリクスとして公開します。
+ */
+@Service
+public class UploadedFileService {
+
+  static final String CACHE_NAME = "uploadedFile";
+
+  private final Path uploadPath;
+
+  private final Cache<String, UploadedFile> cache;
+
+  @Autowired
+  public UploadedFileService(MeterRegistry meterRegistry,
+      @Value("${app.upload.dir}") String uploadDir,
+      @Value("${app.upload.file-cache.maximum-size:10000}") long maximumSize,
+      @Value("${app.upload.file-cache.expire-after-write:5m}") Duration expireAfterWrite) {
+    this.uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(expireAfterWrite)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  /**
+   * アップロードディレクトリからの相対パスに対応するファイルの情報を取得します。
+   * 存在しないファイルの情報はキャッシュしないため、非同期で作成する縮小画像も作成後に取得できます。
+   *
+   * @param relativePath アップロードディレクトリからの相対パス
+   * @return ファイルの情報。ファイルが存在しない場合、アップロードディレクトリの外を指す場合はnull
+   */
+  public UploadedFile find(String relativePath) {
+    UploadedFile uploadedFile = cache.getIfPresent(relativePath);
+    if (uploadedFile != null) {
+      return uploadedFile;
+    }
+
+    uploadedFile = load(relativePath);
+    if (uploadedFile != null) {
+      cache.put(relativePath, uploadedFile);
+    }
+    return uploadedFile;
+  }
+
+  /**
+   * ファイルの情報をキャッシュから削除します。配信時にファイルが見つからなかった場合に使用します。
+   *
+   * @param relativePath アップロードディレクトリからの相対パス
+   */
+  public void evict(String relativePath) {
+    cache.invalidate(relativePath);
+  }
+
+  private UploadedFile load(String relativePath) {
+    Path filePath = uploadPath.resolve(relativePath).normalize();
+    if (!filePath.startsWith(uploadPath) || filePath.equals(uploadPath)) {
+      return null;
+    }
+
+    BasicFileAttributes attributes;
+    try {
+      // シンボリックリンクを辿ってアップロードディレクトリの外のファイルを配信しないようにする
+      attributes = Files.readAttributes(filePath, BasicFileAttributes.class,
+          LinkOption.NOFOLLOW_LINKS);
+    } catch (IOException e) {
+      return null;
+    }
+    if (!attributes.isRegularFile()) {
+      return null;
+    }
+
+    long size = attributes.size();
+    long lastModified = attributes.lastModifiedTime().toMillis();
+    MediaType contentType = MediaTypeFactory.getMediaType(filePath.getFileName().toString())
+        .orElse(MediaType.APPLICATION_OCTET_STREAM);
+    String eTag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+    return new UploadedFile(filePath, size, lastModified, contentType, eTag);
+  }
+
+  /**
+   * 配信するファイルの情報です。
+   *
+   * @param path ファイルの絶対パス
+   * @param size ファイルのサイズ（バイト数）
+   * @param lastModified 更新日時（エポックミリ秒）
+   * @param contentType Content-Type
+   * @param eTag ETagの値（引用符付き）
+   */
+  public record UploadedFile(Path path, long size, long lastModified, MediaType contentType,
+                             String eTag) {
+
+  }
+
+}
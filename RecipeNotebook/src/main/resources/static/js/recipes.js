@@ -250,11 +250,26 @@ function setupSearchForm() {
 }
 
 // レシピ一覧画面：レシピ一覧の読み込み
-function loadRecipes(searchParams = new URLSearchParams()) {
+// cursorを指定した場合は、前回の検索結果の続きを読み込んで一覧の末尾に追加する
+function loadRecipes(searchParams = new URLSearchParams(), cursor = null) {
     const container = document.getElementById('recipeContainer');
-    container.innerHTML = '<div class="loading">読み込み中...</div>';
+    const loadMoreButton = document.getElementById('loadMoreButton');
+    loadMoreButton.classList.add('d-none');
 
-    fetch(`/api/recipes?${searchParams.toString()}`)
+    if (cursor === null) {
+        container.innerHTML = '<div class="loading">読み込み中...</div>';
+        window.recipeSearchParams = searchParams;
+        window.loadedRecipeCount = 0;
+    }
+
+    const params = new URLSearchParams(searchParams);
+    // 一覧のカード表示に必要な項目のみを取得する
+    params.set('view', 'summary');
+    if (cursor !== null) {
+        params.set('cursor', cursor);
+    }
+
+    fetch(`/api/recipes?${params.toString()}`)
         .then(response => {
             if (!response.ok) {
                 return response.json().then(data => {
@@ -262,11 +277,23 @@ function loadRecipes(searchParams = new URLSearchParams()) {
                     throw new Error(data.message);
                 });
             }
-            return response.json();
+            const nextCursor = response.headers.get('X-Next-Cursor');
+            return response.json().then(recipeSummaries => ({ recipeSummaries, nextCursor }));
         })
-        .then(recipeDetails => {
-            displayRecipes(recipeDetails);
-            updateRecipeCount(recipeDetails.length);
+        .then(({ recipeSummaries, nextCursor }) => {
+            displayRecipes(recipeSummaries, cursor !== null);
+            window.loadedRecipeCount += recipeSummaries.length;
+            updateRecipeCount(window.loadedRecipeCount, nextCursor !== null);
+
+            if (nextCursor !== null) {
+                // 条件に合うレシピがないページは、続けて次のページを読み込む
+                if (recipeSummaries.length === 0) {
+                    loadRecipes(searchParams, nextCursor);
+                    return;
+                }
+                loadMoreButton.onclick = () => loadRecipes(searchParams, nextCursor);
+                loadMoreButton.classList.remove('d-none');
+            }
         })
         .catch(errorMessage => {
             console.error(errorMessage);
@@ -278,13 +305,23 @@ function loadRecipes(searchParams = new URLSearchParams()) {
         });
 }
 
-// レシピ一覧画面：レシピ一覧の表示
-function displayRecipes(recipeDetails) {
+// 縮小画像の作成前など、縮小画像を読み込めなかった場合は元の画像を表示する
+function fallbackToOriginalImage(image) {
+    image.onerror = null;
+    const fallbackSrc = image.dataset.fallbackSrc;
+    if (fallbackSrc && image.getAttribute('src') !== fallbackSrc) {
+        image.src = fallbackSrc;
+    }
+}
+
+// レシピ一覧画面：レシピ一覧の表示（appendがtrueの場合は既存の一覧の末尾に追加）
+function displayRecipes(recipeSummaries, append = false) {
     const container = document.getElementById('recipeContainer');
-    container.innerHTML = '';
+    if (!append) {
+        container.innerHTML = '';
+    }
 
-    recipeDetails.forEach(recipeDetail => {
-        const recipe = recipeDetail.recipe;
+    recipeSummaries.forEach(recipe => {
         const col = document.createElement('div');
         col.className = 'col';
 
@@ -300,7 +337,9 @@ function displayRecipes(recipeDetails) {
                 ${favoriteIcon}
             </button>
                 <div class="card-img-top" >
-                  <img src="${recipe.imagePath}" class="img-fit-contain" alt="${recipe.name}">
+                  <img src="${recipe.thumbnailPath || recipe.imagePath}" class="img-fit-contain"
+                       alt="${recipe.name}" loading="lazy"
+                       data-fallback-src="${recipe.imagePath}" onerror="fallbackToOriginalImage(this)">
                 </div>
                 <div class="card-actions">
                     <button onclick="event.stopPropagation(); location.href='/recipes/${recipe.id}/update'"
@@ -371,10 +410,10 @@ function formatDate(dateString) {
     return date.toLocaleDateString('ja-JP');
 }
 
-// レシピ一覧画面：レシピの件数
-function updateRecipeCount(count) {
+// レシピ一覧画面：レシピの件数（続きがある場合は表示済みの件数）
+function updateRecipeCount(count, hasMore = false) {
     const countElement = document.getElementById('recipeCount');
-    countElement.textContent = `全${count}件`;
+    countElement.textContent = hasMore ? `${count}件を表示中` : `全${count}件`;
 }
 
 //　トースト設定
@@ -444,9 +483,11 @@ function displayRecipe(recipeDetail) {
             <h1 class="display-5 mb-4">${recipe.name || ''}</h1>
             <div class="row justify-content-center mb-4">
                 <div class="col-md-8">
-                    <img src="${recipe.imagePath || ''}"
+                    <img src="${recipe.mediumImagePath || recipe.imagePath || ''}"
                          class="recipe-image img-fluid"
-                         alt="${recipe.name}">
+                         alt="${recipe.name}"
+                         data-fallback-src="${recipe.imagePath || ''}"
+                         onerror="fallbackToOriginalImage(this)">
                 </div>
             </div>
         </div>
@@ -726,13 +767,6 @@ function updateStepNumbers() {
 async function submitRecipeForm(event) {
     event.preventDefault();
 
-    const fileInput = document.getElementById('imageFile');
-    let base64Image = null;
-
-    if (fileInput && fileInput.files.length > 0) {
-        base64Image = await convertToBase64(fileInput.files[0]);
-    }
-
     const idInput = document.getElementById('recipeId');
     const recipeDetail = {
         recipe: {
@@ -747,9 +781,13 @@ async function submitRecipeForm(event) {
         instructions: getInstructions(),
     };
 
-    const recipeDetailWithImageData = {
-        recipeDetail: recipeDetail,
-        imageData: base64Image
+    // 画像はBase64に変換せず、ファイルのままmultipart/form-dataで送信する
+    const formData = new FormData();
+    formData.append('recipeDetail',
+        new Blob([JSON.stringify(recipeDetail)], { type: 'application/json' }));
+    const fileInput = document.getElementById('imageFile');
+    if (fileInput && fileInput.files.length > 0) {
+        formData.append('image', fileInput.files[0]);
     }
 
     const isNewRecipe = !recipeDetail.recipe.id;
@@ -765,9 +803,8 @@ async function submitRecipeForm(event) {
         method: method,
         headers: {
             'X-CSRF-TOKEN': csrfToken,
-            'Content-Type': 'application/json',
         },
-        body: JSON.stringify(recipeDetailWithImageData)
+        body: formData
     })
     .then(response => response.json().then(responseJson => {
         if (!response.ok) { // 200番台以外はエラーハンドリング
@@ -795,26 +832,17 @@ async function submitRecipeForm(event) {
     });
 }
 
-// レシピ新規作成・編集画面：ファイルをBase64に変換する関数
-async function convertToBase64(file) {
-    return new Promise((resolve, reject) => {
-        const reader = new FileReader();
-        reader.readAsDataURL(file);
-        reader.onload = () => resolve(reader.result);
-        reader.onerror = error => reject(error);
-    });
-}
-
 // バリデーションエラー発生時のハンドリング
 function handleValidationErrors(errors) {
     errors.forEach(error => {
         let convertedField;
-        if (error.field === 'recipeDetail.recipe.name') {
+        // multipart/form-dataで送信した場合は、フィールド名の先頭にrecipeDetailが付かない
+        if (/^(recipeDetail\.)?recipe\.name$/.test(error.field)) {
             convertedField = 'recipe.name';
-        } else if (/^recipeDetail\.ingredients\[\d+\]\.name$/.test(error.field)) {
+        } else if (/^(recipeDetail\.)?ingredients\[\d+\]\.name$/.test(error.field)) {
             const index = parseInt(error.field.match(/\[(\d+)\]/)[1], 10) + 1;
             convertedField = `ingredient.name.${index}`;
-        } else if (/^recipeDetail\.instructions\[\d+\]\.content$/.test(error.field)) {
+        } else if (/^(recipeDetail\.)?instructions\[\d+\]\.content$/.test(error.field)) {
             const index = parseInt(error.field.match(/\[(\d+)\]/)[1], 10) + 1;
             convertedField = `instruction.content.${index}`;
         } else {
@@ -1,18 +1,27 @@
 package raisetech.RecipeNotebook;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import raisetech.RecipeNotebook.config.SecurityConfig;
 
@@ -35,4 +44,63 @@ public class LoginIntegrationTest {
         .andExpect(jsonPath("$.message").value("ログイン成功"));
   }
 
+  @Test
+  void APIトークンを発行しBearerトークンでセッションを作成せずにAPIを利用できること() throws Exception {
+    String token = issueToken();
+
+    MvcResult result = mockMvc.perform(get("/api/recipes/{id}", 1)
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.recipe.name").value("卵焼き"))
+        .andReturn();
+
+    assertThat(result.getRequest().getSession(false), is(nullValue()));
+  }
+
+  @Test
+  void BearerトークンでCSRFトークンなしに更新のAPIを利用できること() throws Exception {
+    String token = issueToken();
+
+    mockMvc.perform(patch("/api/recipes/{id}/favorite", 1)
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"favorite\": true}"))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  void 無効なBearerトークンの場合に401エラーが返ること() throws Exception {
+    mockMvc.perform(get("/api/recipes/{id}", 1)
+            .header(HttpHeaders.AUTHORIZATION, "Bearer invalid.token"))
+        .andExpect(status().isUnauthorized())
+        .andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE,
+            "Bearer error=\"invalid_token\""))
+        .andExpect(jsonPath("$.status").value("UNAUTHORIZED"))
+        .andExpect(jsonPath("$.message").value("APIトークンが無効または期限切れです"));
+  }
+
+  @Test
+  void パスワードが正しくない場合にAPIトークンが発行されず401エラーが返ること() throws Exception {
+    mockMvc.perform(post("/api/auth/token")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                {"username": "user", "password": "wrong_password"}
+                """))
+        .andExpect(status().isUnauthorized())
+        .andExpect(jsonPath("$.message").value("ユーザー名またはパスワードが正しくありません"));
+  }
+
+  private String issueToken() throws Exception {
+    MvcResult result = mockMvc.perform(post("/api/auth/token")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                {"username": "user", "password": "user_password"}
+                """))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.tokenType").value("Bearer"))
+        .andExpect(jsonPath("$.expiresIn").value(3600))
+        .andReturn();
+    return JsonPath.read(result.getResponse().getContentAsString(), "$.accessToken");
+  }
+
 }
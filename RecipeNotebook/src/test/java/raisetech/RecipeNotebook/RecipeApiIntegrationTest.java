@@ -5,11 +5,14 @@ import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -22,6 +25,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -45,7 +49,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -236,6 +243,24 @@ public class RecipeApiIntegrationTest {
     );
   }
 
+  @Test
+  void レシピの一覧検索_概要表示を指定した場合に材料と調理手順を含まないレシピ概要の一覧を取得できること()
+      throws Exception {
+    mockMvc.perform(get("/api/recipes")
+            .param("view", "summary")
+            .accept(MediaType.APPLICATION_JSON)
+        )
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[*].id", contains(1, 2)))
+        .andExpect(jsonPath("$[*].name", contains("卵焼き", "目玉焼き")))
+        .andExpect(jsonPath("$[*].favorite", contains(false, true)))
+        .andExpect(jsonPath("$[*].ingredientCount", contains(4, 3)))
+        .andExpect(jsonPath("$[*].createdAt").exists())
+        .andExpect(jsonPath("$[0].ingredients").doesNotExist())
+        .andExpect(jsonPath("$[0].instructions").doesNotExist());
+  }
+
   @Test
   void レシピの検索_正常系_存在するIDを指定した場合にレシピ詳細情報が返ってくること()
       throws Exception {
@@ -303,6 +328,79 @@ public class RecipeApiIntegrationTest {
         .andExpect(jsonPath("$.message").value("レシピID「" + 999 + "」は存在しません"));
   }
 
+  @Test
+  void 栄養成分の取得_材料の分量を重さに換算したレシピ全体と1人分の栄養成分が返ってくること()
+      throws Exception {
+    mockMvc.perform(get("/api/recipes/{id}/nutrition", 1))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.recipeId").value(1))
+        .andExpect(jsonPath("$.servings").value(2.0))
+        .andExpect(jsonPath("$.total.kcal").value(255.0))
+        .andExpect(jsonPath("$.total.protein").value(19.0))
+        .andExpect(jsonPath("$.total.carbohydrates").value(10.2))
+        .andExpect(jsonPath("$.total.saltEquivalent").value(1.9))
+        .andExpect(jsonPath("$.perServing.kcal").value(127.5))
+        .andExpect(jsonPath("$.complete").value(false))
+        .andExpect(jsonPath("$.ingredients[0].foodNumber").value("12004"))
+        .andExpect(jsonPath("$.ingredients[0].grams").value(150.0))
+        .andExpect(jsonPath("$.ingredients[1].name").value("サラダ油"))
+        .andExpect(jsonPath("$.ingredients[1].resolved").value(false))
+        .andExpect(jsonPath("$.ingredients[2].grams").value(9.0))
+        .andExpect(jsonPath("$.ingredients[3].foodNumber").value("03003"));
+  }
+
+  @Test
+  void 栄養成分の取得_存在しないレシピIDを指定したときに404が返ること() throws Exception {
+    mockMvc.perform(get("/api/recipes/{id}/nutrition", 999))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.message").value("レシピID「" + 999 + "」は存在しません"));
+  }
+
+  @Test
+  void レシピの検索_変更がない場合は304が返りお気に入りの切替後は新しい内容が返ってくること() throws Exception {
+    String eTag = mockMvc.perform(get("/api/recipes/{id}", 1))
+        .andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.ETAG))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    mockMvc.perform(get("/api/recipes/{id}", 1).header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified());
+
+    mockMvc.perform(patch("/api/recipes/{id}/favorite", 1)
+            .with(csrf())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"favorite\": true}"))
+        .andExpect(status().isOk());
+
+    mockMvc.perform(get("/api/recipes/{id}", 1).header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+        .andExpect(jsonPath("$.recipe.favorite").value(true));
+  }
+
+  @Test
+  void レシピ概要の一覧検索_変更がない場合は304が返りお気に入りの切替後は新しい内容が返ってくること()
+      throws Exception {
+    String eTag = mockMvc.perform(get("/api/recipes").param("view", "summary"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    mockMvc.perform(get("/api/recipes").param("view", "summary")
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified());
+
+    mockMvc.perform(patch("/api/recipes/{id}/favorite", 1)
+            .with(csrf())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"favorite\": true}"))
+        .andExpect(status().isOk());
+
+    mockMvc.perform(get("/api/recipes").param("view", "summary")
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].favorite").value(true));
+  }
+
   @ParameterizedTest
   @MethodSource("recipeCreateTestCases")
   void レシピの新規作成_JSON形式のリクエストボディを指定して新規作成できること(
@@ -356,6 +454,84 @@ public class RecipeApiIntegrationTest {
                     .toArray())));
   }
 
+  @Test
+  void レシピの新規作成_multipart形式で画像ファイルを添付して新規作成できること() throws Exception {
+    MockMultipartFile image = new MockMultipartFile("image", "photo.png",
+        MediaType.IMAGE_PNG_VALUE, Files.readAllBytes(Paths.get(uploadDir, sampleImageName)));
+
+    String response = mockMvc.perform(multipart("/api/recipes")
+            .file(createRecipeDetailPart(null))
+            .file(image)
+            .with(csrf()))
+        .andExpect(status().isCreated())
+        .andExpect(header().string("Location", containsString("http://localhost/recipes/")))
+        .andExpect(jsonPath("$.recipe.name").value("炒り卵"))
+        .andExpect(jsonPath("$.recipe.imagePath",
+            matchesPattern("/uploads/[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.png")))
+        .andExpect(jsonPath("$.ingredients", hasSize(1)))
+        .andReturn().getResponse().getContentAsString();
+
+    String imagePath = objectMapper.readTree(response).at("/recipe/imagePath").asText();
+    Path storedFile = Paths.get(uploadDir, imagePath.substring("/uploads/".length()));
+    assertTrue(Files.exists(storedFile));
+  }
+
+  @Test
+  void レシピの更新_multipart形式で画像ファイルを添付せずに更新した場合に既存の画像が維持されること()
+      throws Exception {
+    mockMvc.perform(multipart(HttpMethod.PATCH, "/api/recipes/{id}", 1)
+            .file(createRecipeDetailPart(1))
+            .with(csrf()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.recipe.name").value("炒り卵"))
+        .andExpect(jsonPath("$.recipe.imagePath").value("/test-uploads/" + sampleImageName));
+  }
+
+  @Test
+  void レシピの新規作成_multipart形式で画像以外のファイルを添付した場合に400エラーが返ること()
+      throws Exception {
+    MockMultipartFile text = new MockMultipartFile("image", "photo.png",
+        MediaType.IMAGE_PNG_VALUE, "not an image".getBytes());
+
+    mockMvc.perform(multipart("/api/recipes")
+            .file(createRecipeDetailPart(null))
+            .file(text)
+            .with(csrf()))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("画像ファイルのみアップロード可能です"));
+  }
+
+  private static MockMultipartFile createRecipeDetailPart(Integer recipeId) {
+    String recipeDetail = """
+        {
+            "recipe": {
+                "id": %s,
+                "name": "炒り卵",
+                "recipeSource": "https://------3.com",
+                "servings": "3人分",
+                "remark": "備考欄3",
+                "favorite": false
+            },
+            "ingredients": [
+                {
+                    "name": "卵",
+                    "quantity": "3個",
+                    "arrange": false
+                }
+            ],
+            "instructions": [
+                {
+                    "stepNumber": 1,
+                    "content": "卵を溶いて焼きながらかき混ぜる",
+                    "arrange": false
+                }
+            ]
+        }
+        """.formatted(recipeId);
+    return new MockMultipartFile("recipeDetail", "", MediaType.APPLICATION_JSON_VALUE,
+        recipeDetail.getBytes(StandardCharsets.UTF_8));
+  }
+
   static Stream<Arguments> recipeCreateTestCases() {
     return Stream.of(
         // 画像ファイルあり
@@ -415,9 +591,7 @@ public class RecipeApiIntegrationTest {
                 }
                 """,
             createExpectedRecipeDetail3(),
-            allOf(
-                containsString("/uploads/"),
-                containsString("_image"))
+            matchesPattern("/uploads/[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.png")
         ),
         // 画像ファイルなし
         Arguments.of(
@@ -675,9 +849,8 @@ public class RecipeApiIntegrationTest {
         ),
         // ▽既存の項目は更新、▽材料、調理手順の追加・削除なし、▽画像を新たに指定（更新あり）
         Arguments.of(
-            createUpdatedRecipeDetail1(), 4, 4, allOf(
-                containsString("/uploads/"),
-                containsString("image.jpg")),
+            createUpdatedRecipeDetail1(), 4, 4,
+            matchesPattern("/uploads/[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.png"),
             """
                 {
                     "recipeDetail": {
@@ -0,0 +1,192 @@
+package raisetech.RecipeNotebook;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+import raisetech.RecipeNotebook.config.SecurityConfig;
+import raisetech.RecipeNotebook.domain.RecipeVersion;
+import raisetech.RecipeNotebook.service.RecipeService;
+
+/**
+ * エンドポイントごとに発行されるSQLの回数を検証するテストです。
+ * MyBatisのExecutorに割り込むプラグインで、1リクエストあたりの問い合わせ回数を数えます。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(SecurityConfig.class)
+@WithUserDetails(value = "user", userDetailsServiceBeanName = "customUserDetailsService")
+@Transactional
+public class RecipeApiStatementCountTest {
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Autowired
+  private StatementCounter statementCounter;
+
+  @Autowired
+  private RecipeService recipeService;
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("provideEndpointTestCase")
+  void エンドポイントごとのSQLの発行回数が想定どおりであること(String endpoint,
+      RequestBuilder request, int expectedStatementCount) throws Exception {
+    statementCounter.reset();
+
+    mockMvc.perform(request)
+        .andExpect(status().isOk());
+
+    assertThat(statementCounter.getCount(), is(expectedStatementCount));
+  }
+
+  @Test
+  void レシピの検索_ETagが一致する場合はバージョン情報の取得のみで304が返ること() throws Exception {
+    String eTag = new RecipeVersion(1, LocalDateTime.parse("2024-09-22T17:00:00"),
+        LocalDateTime.parse("2024-10-22T17:00:00"), 0).toETag();
+    statementCounter.reset();
+
+    mockMvc.perform(get("/api/recipes/{id}", 1)
+            .header(HttpHeaders.IF_NONE_MATCH, "\"" + eTag + "\""))
+        .andExpect(status().isNotModified());
+
+    assertThat(statementCounter.getCount(), is(1));
+  }
+
+  @Test
+  void レシピ一覧の検索_ETagが一致する場合はSQLを発行せずに304が返ること() throws Exception {
+    String eTag = mockMvc.perform(get("/api/recipes").param("view", "summary"))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    statementCounter.reset();
+
+    mockMvc.perform(get("/api/recipes").param("view", "summary")
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified());
+
+    assertThat(statementCounter.getCount(), is(0));
+  }
+
+  @Test
+  void 調理手順の削除_調理手順のレシピの取得と削除とバージョン番号の更新のみであること() {
+    statementCounter.reset();
+
+    // 調理手順の削除はレシピの更新から呼び出されるため、エンドポイントを介さずに数える
+    recipeService.deleteInstruction(1);
+
+    assertThat(statementCounter.getCount(), is(3));
+  }
+
+  @Test
+  void 材料の削除_材料のレシピの取得と削除とバージョン番号と栄養成分の集計の更新のみであること() {
+    statementCounter.reset();
+
+    // 材料のレシピの取得・削除・バージョン番号の更新・集計のための材料の取得・集計の保存
+    recipeService.deleteIngredient(1);
+
+    assertThat(statementCounter.getCount(), is(5));
+  }
+
+  /**
+   * エンドポイントごとのSQLの発行回数のテストケースです。
+   *
+   * @return Argument
+   */
+  private static Stream<Arguments> provideEndpointTestCase() {
+    return Stream.of(
+        // レシピ一覧の取得・材料の一括取得・調理手順の一括取得
+        Arguments.of("レシピ一覧の検索", get("/api/recipes"), 3),
+        Arguments.of("レシピ概要一覧の検索", get("/api/recipes").param("view", "summary"), 1),
+        // 材料名のインデックスで合致したレシピのIDで絞り込み、レシピ一覧を順に読み進めずに取得する
+        Arguments.of("材料名によるレシピ概要一覧の検索", get("/api/recipes").param("view", "summary")
+            .param("ingredientNames", "砂糖"), 1),
+        // ETagのためのバージョン情報の取得と、レシピ・材料・調理手順の取得（レシピの存在確認で取得したレシピをそのまま使用する）
+        Arguments.of("レシピの検索", get("/api/recipes/{id}", 1), 4),
+        // レシピ・材料・調理手順の取得のみ（食品の栄養成分はインメモリのカタログから引く）
+        Arguments.of("栄養成分の取得", get("/api/recipes/{id}/nutrition", 1), 3),
+        // ログインユーザーのレシピの更新件数で存在を確認するため、更新のみ
+        Arguments.of("お気に入りフラグの切替", patch("/api/recipes/{id}/favorite", 1)
+            .with(csrf())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"favorite\": true}"), 1),
+        // 画像パスの確認のためのレシピの取得と削除
+        Arguments.of("レシピの削除", delete("/api/recipes/{id}", 1).with(csrf()), 2));
+  }
+
+  @TestConfiguration
+  static class StatementCounterConfig {
+
+    @Bean
+    StatementCounter statementCounter() {
+      return new StatementCounter();
+    }
+  }
+
+  /**
+   * MyBatisで実行されたSQLの回数を数えるプラグインです。
+   */
+  @Intercepts({
+      @Signature(type = Executor.class, method = "update",
+          args = {MappedStatement.class, Object.class}),
+      @Signature(type = Executor.class, method = "query",
+          args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+      @Signature(type = Executor.class, method = "query",
+          args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+              CacheKey.class, BoundSql.class})})
+  static class StatementCounter implements Interceptor {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      count.incrementAndGet();
+      return invocation.proceed();
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+    }
+
+    int getCount() {
+      return count.get();
+    }
+
+    void reset() {
+      count.set(0);
+    }
+  }
+
+}
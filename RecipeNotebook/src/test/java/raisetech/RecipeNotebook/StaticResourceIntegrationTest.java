@@ -0,0 +1,110 @@
+package raisetech.RecipeNotebook;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+import raisetech.RecipeNotebook.config.SecurityConfig;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(SecurityConfig.class)
+public class StaticResourceIntegrationTest {
+
+  private static final String IMMUTABLE = "max-age=31536000, public, immutable";
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Autowired
+  ResourceUrlProvider resourceUrlProvider;
+
+  @Value("${app.upload.dir}")
+  String uploadDir;
+
+  @Test
+  void 画面のHTMLでCSSとJavaScriptが内容のハッシュ値を付与したURLで参照されること() throws Exception {
+    mockMvc.perform(get("/login"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(containsString(
+            resourceUrlProvider.getForLookupPath("/js/recipes.js"))))
+        .andExpect(content().string(containsString(
+            resourceUrlProvider.getForLookupPath("/css/recipes.css"))));
+
+    assertThat(resourceUrlProvider.getForLookupPath("/js/recipes.js"),
+        matchesPattern("/js/recipes-[0-9a-f]{32}\\.js"));
+  }
+
+  @Test
+  void ハッシュ値を付与したURLのJavaScriptが再検証不要の長期キャッシュで返ること() throws Exception {
+    String versionedPath = resourceUrlProvider.getForLookupPath("/js/recipes.js");
+
+    mockMvc.perform(get(versionedPath))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, IMMUTABLE));
+  }
+
+  @Test
+  void ハッシュ値のないURLのCSSは再検証が必要で変更がなければ304が返ること() throws Exception {
+    MvcResult result = mockMvc.perform(get("/css/recipes.css"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"))
+        .andReturn();
+    String lastModified = result.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+    mockMvc.perform(get("/css/recipes.css")
+            .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"));
+  }
+
+  @Test
+  void gzipに対応したブラウザにはビルド時に圧縮したJavaScriptが返ること() throws Exception {
+    String versionedPath = resourceUrlProvider.getForLookupPath("/js/recipes.js");
+
+    mockMvc.perform(get(versionedPath)
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+        .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, IMMUTABLE));
+  }
+
+  @Test
+  void アップロードした画像が再検証不要の長期キャッシュで返ること() throws Exception {
+    Path directory = Paths.get(uploadDir, "00", "00");
+    Files.createDirectories(directory);
+    Path file = directory.resolve("0".repeat(64) + ".txt");
+    Files.writeString(file, "image", StandardCharsets.UTF_8);
+
+    try {
+      mockMvc.perform(get("/uploads/00/00/" + file.getFileName())
+              .with(user("user")))
+          .andExpect(status().isOk())
+          .andExpect(header().string(HttpHeaders.CACHE_CONTROL,
+              "max-age=31536000, private, immutable"));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+}
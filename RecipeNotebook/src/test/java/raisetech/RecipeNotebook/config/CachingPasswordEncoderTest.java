@@ -0,0 +1,109 @@
+package raisetech.RecipeNotebook.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import raisetech.RecipeNotebook.data.User;
+
+class CachingPasswordEncoderTest {
+
+  private final PasswordEncoder bcrypt = spy(new BCryptPasswordEncoder(4));
+
+  private final CachingPasswordEncoder sut =
+      new CachingPasswordEncoder(bcrypt, Duration.ofMinutes(10), 100);
+
+  @Test
+  void 照合に成功したパスワードは2回目以降にBCryptの照合を行わないこと() {
+    String encoded = bcrypt.encode("password");
+
+    assertThat(sut.matches("password", encoded), is(true));
+    assertThat(sut.matches("password", encoded), is(true));
+
+    verify(bcrypt, times(1)).matches(any(), anyString());
+  }
+
+  @Test
+  void 照合に失敗したパスワードは記憶されず毎回BCryptで照合すること() {
+    String encoded = bcrypt.encode("password");
+
+    assertThat(sut.matches("wrong", encoded), is(false));
+    assertThat(sut.matches("wrong", encoded), is(false));
+
+    verify(bcrypt, times(2)).matches(any(), anyString());
+  }
+
+  @Test
+  void パスワードが変更された場合は以前の照合結果を使用しないこと() {
+    String oldEncoded = bcrypt.encode("password");
+    String newEncoded = bcrypt.encode("newPassword");
+
+    assertThat(sut.matches("password", oldEncoded), is(true));
+
+    assertThat(sut.matches("password", newEncoded), is(false));
+    assertThat(sut.matches("newPassword", newEncoded), is(true));
+    verify(bcrypt, times(3)).matches(any(), anyString());
+  }
+
+  @Test
+  void ユーザー情報と照合結果のキャッシュにより2回目の認証でデータベースとBCryptを使用しないこと() {
+    User user = new User(1, "user", bcrypt.encode("password"), "user@example.com", "USER", true,
+        null, null);
+    UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    when(userDetailsService.loadUserByUsername("user")).thenReturn(user);
+    CaffeineUserCache userCache = new CaffeineUserCache(Duration.ofSeconds(30), 100);
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    userCache.bindTo(meterRegistry);
+    sut.bindTo(meterRegistry);
+    DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+    provider.setUserDetailsService(userDetailsService);
+    provider.setPasswordEncoder(sut);
+    provider.setUserCache(userCache);
+
+    provider.authenticate(new UsernamePasswordAuthenticationToken("user", "password"));
+    provider.authenticate(new UsernamePasswordAuthenticationToken("user", "password"));
+
+    verify(userDetailsService, times(1)).loadUserByUsername("user");
+    verify(bcrypt, times(1)).matches(any(), anyString());
+    assertThat(meterRegistry.get("cache.gets").tag("cache", CaffeineUserCache.CACHE_NAME)
+        .tag("result", "hit").functionCounter().count(), is(1.0));
+    assertThat(meterRegistry.get("cache.gets").tag("cache", CachingPasswordEncoder.CACHE_NAME)
+        .tag("result", "hit").functionCounter().count(), is(1.0));
+  }
+
+  @Test
+  void 無効化したユーザーはキャッシュから削除すると次の認証で拒否されること() {
+    User user = new User(1, "user", bcrypt.encode("password"), "user@example.com", "USER", true,
+        null, null);
+    CaffeineUserCache userCache = new CaffeineUserCache(Duration.ofSeconds(30), 100);
+    DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+    provider.setUserDetailsService(username -> new User(user.getId(), user.getUsername(),
+        user.getPassword(), user.getEmail(), user.getRole(), user.isEnabled(), null, null));
+    provider.setPasswordEncoder(sut);
+    provider.setUserCache(userCache);
+
+    provider.authenticate(new UsernamePasswordAuthenticationToken("user", "password"));
+    user.setEnabled(false);
+    userCache.removeUserFromCache("user");
+
+    assertThrows(DisabledException.class,
+        () -> provider.authenticate(new UsernamePasswordAuthenticationToken("user", "password")));
+  }
+
+}
@@ -2,14 +2,17 @@ package raisetech.RecipeNotebook.controller;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -20,6 +23,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -33,7 +37,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.multipart.MultipartFile;
@@ -42,7 +48,10 @@ import raisetech.RecipeNotebook.data.Ingredient;
 import raisetech.RecipeNotebook.data.Instruction;
 import raisetech.RecipeNotebook.data.Recipe;
 import raisetech.RecipeNotebook.domain.RecipeDetail;
+import raisetech.RecipeNotebook.domain.RecipePage;
 import raisetech.RecipeNotebook.domain.RecipeSearchCriteria;
+import raisetech.RecipeNotebook.domain.RecipeSummary;
+import raisetech.RecipeNotebook.domain.RecipeVersion;
 import raisetech.RecipeNotebook.exception.RecipeIdMismatchException;
 import raisetech.RecipeNotebook.service.CustomUserDetailsService;
 import raisetech.RecipeNotebook.service.RecipeService;
@@ -71,13 +80,56 @@ class RecipeApiControllerTest {
   @Test
   void レシピの一覧検索_サービスの処理が適切に呼び出されて処理成功のレスポンスが返ってくること()
       throws Exception {
+    when(recipeService.searchRecipeList(any(RecipeSearchCriteria.class)))
+        .thenReturn(new RecipePage<>(List.of(), null));
+
     mockMvc.perform(get("/api/recipes"))
         .andExpect(status().isOk())
-        .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(header().doesNotExist(RecipeApiController.NEXT_CURSOR_HEADER));
 
     verify(recipeService, times(1)).searchRecipeList(any(RecipeSearchCriteria.class));
   }
 
+  @Test
+  void レシピの一覧検索_次のページがある場合にカーソルがレスポンスヘッダーに設定されること()
+      throws Exception {
+    when(recipeService.searchRecipeList(any(RecipeSearchCriteria.class)))
+        .thenReturn(new RecipePage<>(List.of(createTestRecipeDetail(1)), "nextCursor"));
+
+    mockMvc.perform(get("/api/recipes").param("limit", "1"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(RecipeApiController.NEXT_CURSOR_HEADER, "nextCursor"))
+        .andExpect(jsonPath("$[0].recipe.id").value(1));
+  }
+
+  @Test
+  void レシピ概要の一覧検索_概要表示を指定した場合にレシピ概要の検索処理が呼び出されること()
+      throws Exception {
+    RecipeSummary summary = new RecipeSummary(1, "testName", "testImage", false,
+        LocalDateTime.parse("2000-01-01T00:00:00"), LocalDateTime.parse("2001-01-01T00:00:00"), 2);
+    when(recipeService.searchRecipeSummaryList(any(RecipeSearchCriteria.class)))
+        .thenReturn(new RecipePage<>(List.of(summary), null));
+
+    mockMvc.perform(get("/api/recipes").param("view", "summary"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(1))
+        .andExpect(jsonPath("$[0].ingredientCount").value(2));
+
+    verify(recipeService, times(1)).searchRecipeSummaryList(any(RecipeSearchCriteria.class));
+    verify(recipeService, never()).searchRecipeList(any(RecipeSearchCriteria.class));
+  }
+
+  @Test
+  void レシピの一覧検索_取得件数に上限を超える値を指定した場合に入力チェックに異常が発生すること() {
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria();
+    criteria.setLimit(101);
+
+    Set<ConstraintViolation<RecipeSearchCriteria>> violations = validator.validate(criteria);
+
+    assertThat(violations, hasSize(1));
+  }
+
   @Test
   void レシピ詳細情報検索_サービスの処理が適切に呼び出されて処理成功のレスポンスが返ってくること()
       throws Exception {
@@ -92,6 +144,74 @@ class RecipeApiControllerTest {
     verify(recipeService, times(1)).searchRecipeDetail(recipeId);
   }
 
+  @Test
+  void レシピ詳細情報検索_ETagが設定されIfNoneMatchが一致する場合はレシピ詳細情報を取得せずに304が返ること()
+      throws Exception {
+    int recipeId = 1;
+    RecipeDetail recipeDetail = createTestRecipeDetail(recipeId);
+    String eTag = RecipeVersion.of(recipeDetail.getRecipe()).toETag();
+    when(recipeService.getRecipeDetailETag(recipeId)).thenReturn(eTag);
+    when(recipeService.searchRecipeDetail(recipeId)).thenReturn(recipeDetail);
+
+    mockMvc.perform(get("/api/recipes/{id}", recipeId))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"" + eTag + "\""))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+
+    mockMvc.perform(get("/api/recipes/{id}", recipeId)
+            .header(HttpHeaders.IF_NONE_MATCH, "\"" + eTag + "\""))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+
+    verify(recipeService, times(2)).getRecipeDetailETag(recipeId);
+    verify(recipeService, times(1)).searchRecipeDetail(recipeId);
+  }
+
+  @Test
+  void レシピ詳細情報検索_キャッシュの内容がバージョン情報より古い場合は返却する内容のETagが設定されること()
+      throws Exception {
+    int recipeId = 1;
+    RecipeDetail staleRecipeDetail = createTestRecipeDetail(recipeId);
+    String staleETag = RecipeVersion.of(staleRecipeDetail.getRecipe()).toETag();
+    // コミット後のバージョン情報と、キャッシュから削除される前の古いレシピ詳細情報
+    when(recipeService.getRecipeDetailETag(recipeId)).thenReturn("recipe-1-1-abc");
+    when(recipeService.searchRecipeDetail(recipeId)).thenReturn(staleRecipeDetail);
+
+    mockMvc.perform(get("/api/recipes/{id}", recipeId))
+        .andExpect(status().isOk())
+        .andExpect(header().stringValues(HttpHeaders.ETAG, "\"" + staleETag + "\""));
+
+    mockMvc.perform(get("/api/recipes/{id}", recipeId)
+            .header(HttpHeaders.IF_NONE_MATCH, "\"recipe-1-1-abc\""))
+        .andExpect(status().isNotModified());
+  }
+
+  @Test
+  void レシピ詳細情報検索_IfNoneMatchに複数のETagや弱いETagが指定された場合も一致を判定できること()
+      throws Exception {
+    int recipeId = 1;
+    when(recipeService.getRecipeDetailETag(recipeId)).thenReturn("recipe-1-0-abc");
+
+    mockMvc.perform(get("/api/recipes/{id}", recipeId)
+            .header(HttpHeaders.IF_NONE_MATCH, "\"recipe-1-0-old\", W/\"recipe-1-0-abc\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"recipe-1-0-abc\""));
+
+    verify(recipeService, never()).searchRecipeDetail(recipeId);
+  }
+
+  @Test
+  void レシピ概要の一覧検索_IfNoneMatchが一致する場合は検索せずに304が返ること() throws Exception {
+    when(recipeService.getRecipeSummaryListETag(any(RecipeSearchCriteria.class)))
+        .thenReturn("recipes-1");
+
+    mockMvc.perform(get("/api/recipes").param("view", "summary")
+            .header(HttpHeaders.IF_NONE_MATCH, "\"recipes-1\""))
+        .andExpect(status().isNotModified());
+
+    verify(recipeService, never()).searchRecipeSummaryList(any(RecipeSearchCriteria.class));
+  }
+
   @Test
   void レシピの新規登録_エンドポイントでサービスの処理が適切に呼び出され新規作成のレスポンスとURIが返ってくること()
       throws Exception {
@@ -173,6 +293,33 @@ class RecipeApiControllerTest {
         fileCaptor.capture());
   }
 
+  @Test
+  void レシピの新規登録_multipart形式で添付した画像ファイルがそのままサービスに渡されること()
+      throws Exception {
+    RecipeDetail mockRecipeDetail = createTestRecipeDetail(2);
+    ArgumentCaptor<MultipartFile> fileCaptor = ArgumentCaptor.forClass(MultipartFile.class);
+    when(recipeService.createRecipeDetail(any(RecipeDetail.class), fileCaptor.capture()))
+        .thenReturn(mockRecipeDetail);
+
+    byte[] png = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 0, 0, 0, 0x0d};
+    mockMvc.perform(multipart("/api/recipes")
+            .file(new MockMultipartFile("recipeDetail", "", MediaType.APPLICATION_JSON_VALUE,
+                """
+                    {
+                        "recipe": {"name": "炒り卵"},
+                        "ingredients": [{"name": "卵", "quantity": "3個", "arrange": false}],
+                        "instructions": [{"stepNumber": 1, "content": "焼く", "arrange": false}]
+                    }
+                    """.getBytes(StandardCharsets.UTF_8)))
+            .file(new MockMultipartFile("image", "photo.png", MediaType.IMAGE_PNG_VALUE, png))
+            .with(csrf()))
+        .andExpect(status().isCreated())
+        .andExpect(header().string("Location", "http://localhost/recipes/2"));
+
+    assertThat(fileCaptor.getValue().getOriginalFilename(), is("photo.png"));
+    assertThat(fileCaptor.getValue().getSize(), is((long) png.length));
+  }
+
   @Test
   void レシピ詳細情報の更新_正常系_エンドポイントでサービスの処理が適切に呼び出され処理成功のレスポンスが返ってくること()
       throws Exception {
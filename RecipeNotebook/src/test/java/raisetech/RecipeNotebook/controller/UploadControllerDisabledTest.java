@@ -0,0 +1,41 @@
+package raisetech.RecipeNotebook.controller;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import raisetech.RecipeNotebook.config.SecurityConfig;
+import raisetech.RecipeNotebook.service.CustomUserDetailsService;
+import raisetech.RecipeNotebook.service.UploadedFileService;
+
+@WebMvcTest(controllers = UploadController.class,
+    properties = "app.feature.someClassEnabled=false")
+@Import(SecurityConfig.class)
+@WithMockUser(username = "user", roles = "USER")
+class UploadControllerDisabledTest {
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @MockBean
+  UploadedFileService uploadedFileService;
+
+  @MockBean
+  CustomUserDetailsService customUserDetailsService;
+
+  @Test
+  void 無効にした場合はアップロードされたファイルを配信しないこと() throws Exception {
+    mockMvc.perform(get("/uploads/ab/cd/abcd.png"))
+        .andExpect(status().isNotFound());
+
+    verifyNoInteractions(uploadedFileService);
+  }
+
+}
@@ -0,0 +1,181 @@
+package raisetech.RecipeNotebook.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import raisetech.RecipeNotebook.config.SecurityConfig;
+import raisetech.RecipeNotebook.service.CustomUserDetailsService;
+import raisetech.RecipeNotebook.service.UploadedFileService;
+import raisetech.RecipeNotebook.service.UploadedFileService.UploadedFile;
+
+@WebMvcTest(UploadController.class)
+@Import(SecurityConfig.class)
+@WithMockUser(username = "user", roles = "USER")
+class UploadControllerTest {
+
+  private static final String RELATIVE_PATH = "ab/cd/abcd.png";
+
+  private static final String E_TAG = "\"a-18f\"";
+
+  private static final long LAST_MODIFIED = 1_700_000_000_000L;
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @MockBean
+  UploadedFileService uploadedFileService;
+
+  @MockBean
+  CustomUserDetailsService customUserDetailsService;
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void ファイル全体が長期キャッシュと条件付きリクエスト用のヘッダーとともに返ること() throws Exception {
+    createUploadedFile("0123456789");
+
+    mockMvc.perform(get("/uploads/" + RELATIVE_PATH))
+        .andExpect(status().isOk())
+        .andExpect(content().bytes("0123456789".getBytes(StandardCharsets.UTF_8)))
+        .andExpect(content().contentType(MediaType.IMAGE_PNG))
+        .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+        .andExpect(header().string(HttpHeaders.ETAG, E_TAG))
+        .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED))
+        .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL,
+            "max-age=31536000, private, immutable"));
+  }
+
+  @Test
+  void HEADリクエストの場合にヘッダーのみが返ること() throws Exception {
+    createUploadedFile("0123456789");
+
+    mockMvc.perform(head("/uploads/" + RELATIVE_PATH))
+        .andExpect(status().isOk())
+        .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+        .andExpect(content().bytes(new byte[0]));
+  }
+
+  @Test
+  void ETagが一致する場合に304が返り本文が返らないこと() throws Exception {
+    createUploadedFile("0123456789");
+
+    mockMvc.perform(get("/uploads/" + RELATIVE_PATH)
+            .header(HttpHeaders.IF_NONE_MATCH, E_TAG))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, E_TAG))
+        .andExpect(content().bytes(new byte[0]));
+  }
+
+  @Test
+  void Rangeリクエストの場合に指定された範囲のみが206で返ること() throws Exception {
+    createUploadedFile("0123456789");
+
+    mockMvc.perform(get("/uploads/" + RELATIVE_PATH)
+            .header(HttpHeaders.RANGE, "bytes=2-5"))
+        .andExpect(status().isPartialContent())
+        .andExpect(content().string("2345"))
+        .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"));
+
+    mockMvc.perform(get("/uploads/" + RELATIVE_PATH)
+            .header(HttpHeaders.RANGE, "bytes=-3"))
+        .andExpect(status().isPartialContent())
+        .andExpect(content().string("789"))
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"));
+  }
+
+  @Test
+  void ファイルのサイズを超える範囲が指定された場合に416が返ること() throws Exception {
+    createUploadedFile("0123456789");
+
+    mockMvc.perform(get("/uploads/" + RELATIVE_PATH)
+            .header(HttpHeaders.RANGE, "bytes=10-"))
+        .andExpect(status().isRequestedRangeNotSatisfiable())
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+  }
+
+  @Test
+  void IfRangeのETagが一致しない場合や複数の範囲が指定された場合にファイル全体が返ること() throws Exception {
+    createUploadedFile("0123456789");
+
+    mockMvc.perform(get("/uploads/" + RELATIVE_PATH)
+            .header(HttpHeaders.RANGE, "bytes=2-5")
+            .header(HttpHeaders.IF_RANGE, "\"other\""))
+        .andExpect(status().isOk())
+        .andExpect(content().string("0123456789"));
+
+    mockMvc.perform(get("/uploads/" + RELATIVE_PATH)
+            .header(HttpHeaders.RANGE, "bytes=0-1,4-5"))
+        .andExpect(status().isOk())
+        .andExpect(content().string("0123456789"));
+  }
+
+  @Test
+  void sendfileに対応している場合に本文を書き込まずsendfileの範囲がリクエスト属性に設定されること()
+      throws Exception {
+    Path file = createUploadedFile("x".repeat((int) UploadController.SENDFILE_THRESHOLD));
+
+    MvcResult result = mockMvc.perform(get("/uploads/" + RELATIVE_PATH)
+            .requestAttr(UploadController.SENDFILE_SUPPORT_ATTRIBUTE, true)
+            .header(HttpHeaders.RANGE, "bytes=100-"))
+        .andExpect(status().isPartialContent())
+        .andExpect(request().attribute(UploadController.SENDFILE_FILENAME_ATTRIBUTE,
+            file.toString()))
+        .andExpect(request().attribute(UploadController.SENDFILE_START_ATTRIBUTE, 100L))
+        .andExpect(request().attribute(UploadController.SENDFILE_END_ATTRIBUTE,
+            UploadController.SENDFILE_THRESHOLD))
+        .andReturn();
+
+    assertThat(result.getResponse().getContentAsByteArray().length, is(0));
+  }
+
+  @Test
+  void ファイルが存在しない場合に404が返ること() throws Exception {
+    mockMvc.perform(get("/uploads/" + RELATIVE_PATH))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void ファイルの情報の取得後に削除された場合に404が返りキャッシュから削除されること() throws Exception {
+    Path file = createUploadedFile("0123456789");
+    Files.delete(file);
+
+    mockMvc.perform(get("/uploads/" + RELATIVE_PATH))
+        .andExpect(status().isNotFound());
+
+    verify(uploadedFileService).evict(RELATIVE_PATH);
+  }
+
+  private Path createUploadedFile(String content) throws Exception {
+    Path file = tempDir.resolve("abcd.png");
+    Files.writeString(file, content, StandardCharsets.UTF_8);
+    when(uploadedFileService.find(RELATIVE_PATH)).thenReturn(
+        new UploadedFile(file, Files.size(file), LAST_MODIFIED, MediaType.IMAGE_PNG, E_TAG));
+    return file;
+  }
+
+}
@@ -0,0 +1,42 @@
+package raisetech.RecipeNotebook.domain;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+import raisetech.RecipeNotebook.exception.InvalidFileTypeException;
+
+class ImageFileValidatorTest {
+
+  @Test
+  void 先頭のバイト列がPNGの場合にPNGと判定されること() throws Exception {
+    byte[] png = Base64.getDecoder().decode(
+        "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mP8/wcAAwAB/MDFYQAAAABJRU5ErkJggg==");
+
+    assertThat(ImageFileValidator.detectImageType(new ByteArrayInputStream(png)),
+        is("image/png"));
+  }
+
+  @Test
+  void 先頭のバイト列がWebPの場合にWebPと判定され拡張子がwebpになること() throws Exception {
+    byte[] webp = "RIFF$\0\0\0WEBPVP8 ".getBytes(StandardCharsets.ISO_8859_1);
+
+    String actual = ImageFileValidator.detectImageType(new ByteArrayInputStream(webp));
+
+    assertThat(actual, is("image/webp"));
+    assertThat(ImageFileValidator.extensionOf(actual), is("webp"));
+  }
+
+  @Test
+  void RIFF形式でもWebP以外の場合は画像と判定されず例外がスローされること() {
+    byte[] wave = "RIFF$\0\0\0WAVEfmt ".getBytes(StandardCharsets.ISO_8859_1);
+
+    assertThrows(InvalidFileTypeException.class,
+        () -> ImageFileValidator.detectImageType(new ByteArrayInputStream(wave)));
+  }
+
+}
@@ -0,0 +1,74 @@
+package raisetech.RecipeNotebook.domain;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import raisetech.RecipeNotebook.domain.IngredientQuantity.Unit;
+
+class IngredientQuantityTest {
+
+  @ParameterizedTest
+  @MethodSource("provideQuantityTestCase")
+  void 分量の文字列が数値と単位に変換されること(String quantity, double expectedAmount,
+      Unit expectedUnit) {
+    IngredientQuantity actual = IngredientQuantity.parse(quantity);
+
+    assertThat(actual.getAmount(), is(closeTo(expectedAmount, 0.001)));
+    assertThat(actual.getUnit(), is(expectedUnit));
+  }
+
+  private static Stream<Arguments> provideQuantityTestCase() {
+    return Stream.of(
+        Arguments.of("100g", 100, Unit.GRAM),
+        Arguments.of("１００ｇ", 100, Unit.GRAM),
+        Arguments.of("約200グラム", 200, Unit.GRAM),
+        Arguments.of("1.5kg", 1500, Unit.GRAM),
+        Arguments.of("200ml", 200, Unit.MILLILITER),
+        Arguments.of("200cc", 200, Unit.MILLILITER),
+        Arguments.of("大さじ3", 45, Unit.MILLILITER),
+        Arguments.of("大さじ1/2", 7.5, Unit.MILLILITER),
+        Arguments.of("小さじ1と1/2", 7.5, Unit.MILLILITER),
+        Arguments.of("カップ1", 200, Unit.MILLILITER),
+        Arguments.of("3個", 3, Unit.PIECE),
+        Arguments.of("1/3本", 1.0 / 3, Unit.PIECE),
+        Arguments.of("1〜2個", 1.5, Unit.PIECE),
+        Arguments.of("2", 2, Unit.PIECE),
+        Arguments.of("半分", 0.5, Unit.PIECE)
+    );
+  }
+
+  @ParameterizedTest
+  @NullSource
+  @ValueSource(strings = {"適量", "少々", "お好みで", ""})
+  void 数値のない分量の場合にnullが返ること(String quantity) {
+    assertThat(IngredientQuantity.parse(quantity), is(nullValue()));
+  }
+
+  @Test
+  void 単位に応じて比重や1個あたりの重さで重さに換算されること() {
+    assertThat(IngredientQuantity.parse("100g").toGrams(0.5, 30.0), is(100.0));
+    assertThat(IngredientQuantity.parse("大さじ1").toGrams(0.6, null), is(closeTo(9, 0.001)));
+    assertThat(IngredientQuantity.parse("200ml").toGrams(null, null), is(200.0));
+    assertThat(IngredientQuantity.parse("3個").toGrams(null, 50.0), is(150.0));
+    assertThat(IngredientQuantity.parse("3個").toGrams(1.0, null), is(nullValue()));
+  }
+
+  @Test
+  void 何人分の文字列から人数が求められること() {
+    assertThat(IngredientQuantity.parseServings("2人分"), is(2.0));
+    assertThat(IngredientQuantity.parseServings("２〜３人前"), is(2.5));
+    assertThat(IngredientQuantity.parseServings("適量"), is(nullValue()));
+    assertThat(IngredientQuantity.parseServings("0人分"), is(nullValue()));
+    assertThat(IngredientQuantity.parseServings(null), is(nullValue()));
+  }
+
+}
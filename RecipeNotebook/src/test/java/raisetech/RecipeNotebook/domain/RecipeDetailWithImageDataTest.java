@@ -0,0 +1,39 @@
+package raisetech.RecipeNotebook.domain;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import raisetech.RecipeNotebook.domain.RecipeDetailWithImageData.Base64ImageFile;
+import raisetech.RecipeNotebook.exception.IllegalArgumentCustomException;
+
+class RecipeDetailWithImageDataTest {
+
+  private static final String PNG_BASE64 =
+      "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mP8/wcAAwAB/MDFYQAAAABJRU5ErkJggg==";
+
+  @Test
+  void Base64の画像データがデコードされ画像の形式が判定されること() {
+    RecipeDetailWithImageData sut =
+        new RecipeDetailWithImageData(null, "data:image/png;base64," + PNG_BASE64);
+
+    try (Base64ImageFile actual = sut.convertBase64ToMultipartFile()) {
+      assertThat(actual.getContentType(), is("image/png"));
+      assertThat(actual.getSize(), is(67L));
+    }
+  }
+
+  @Test
+  void 画像データにASCII以外の文字が含まれる場合に例外がスローされること() {
+    // 「Ł」（U+0141）は下位のバイトに切り詰めるとBase64の「A」になる
+    RecipeDetailWithImageData sut = new RecipeDetailWithImageData(null,
+        "data:image/png;base64," + PNG_BASE64.replaceFirst("A", "Ł"));
+
+    IllegalArgumentCustomException actual = assertThrows(IllegalArgumentCustomException.class,
+        sut::convertBase64ToMultipartFile);
+    assertThat(actual.getMessage(),
+        is("不正なデータ形式です。画像データ以外はアップロードできません"));
+  }
+
+}
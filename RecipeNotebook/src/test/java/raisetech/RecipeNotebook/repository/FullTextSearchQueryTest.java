@@ -0,0 +1,35 @@
+package raisetech.RecipeNotebook.repository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FullTextSearchQueryTest {
+
+  @Test
+  void すべてのキーワードを含む検索クエリ_トークン長以上のキーワードのみが必須のフレーズになること() {
+    String actual = FullTextSearchQuery.allOf(
+        List.of("卵焼き", "焼", "", "目玉 焼き", "ナポリ\"タン"));
+
+    assertThat(actual, is("+\"卵焼き\""));
+  }
+
+  @Test
+  void すべてのキーワードを含む検索クエリ_絞り込みに使用できるキーワードがない場合はnullになること() {
+    assertThat(FullTextSearchQuery.allOf(List.of("卵", "")), is(nullValue()));
+    assertThat(FullTextSearchQuery.allOf(null), is(nullValue()));
+  }
+
+  @Test
+  void 全文検索の判定_トークン長以上で空白と引用符を含まないキーワードのみが対象になること() {
+    assertThat(FullTextSearchQuery.isSearchable("砂糖"), is(true));
+    assertThat(FullTextSearchQuery.isSearchable("卵"), is(false));
+    assertThat(FullTextSearchQuery.isSearchable("目玉 焼き"), is(false));
+    assertThat(FullTextSearchQuery.isSearchable("ナポリ\"タン"), is(false));
+    assertThat(FullTextSearchQuery.isSearchable(null), is(false));
+  }
+
+}
@@ -0,0 +1,115 @@
+package raisetech.RecipeNotebook.repository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+import raisetech.RecipeNotebook.data.Recipe;
+import raisetech.RecipeNotebook.data.RecipeNutritionSummary;
+
+@MybatisTest
+@Transactional
+class RecipeNutritionRepositoryTest {
+
+  @Autowired
+  private RecipeNutritionRepository sut;
+
+  @Autowired
+  private RecipeRepository recipeRepository;
+
+  @Test
+  void レシピIDに紐づく栄養成分の集計を取得できること() {
+    RecipeNutritionSummary actual = sut.getRecipeNutrition(1);
+
+    assertThat(actual.getServings(), is(2.0));
+    assertThat(actual.getKcal(), is(255.0));
+    assertThat(actual.getServingKcal(), is(127.5));
+    assertThat(actual.getServingProtein(), is(9.5));
+    assertThat(actual.isComplete(), is(true));
+  }
+
+  @Test
+  void 栄養成分の集計を一括で登録し既存の集計は上書きされること() {
+    Recipe recipe = registerRecipe();
+
+    sut.upsertRecipeNutritions(List.of(
+        createSummary(1, 300.0),
+        createSummary(recipe.getId(), 150.0)));
+
+    assertThat(sut.getRecipeNutrition(1).getServingKcal(), is(300.0));
+    assertThat(sut.getRecipeNutrition(recipe.getId()).getServingKcal(), is(150.0));
+  }
+
+  @Test
+  void 既存の集計を残す一括登録では集計のないレシピのみ登録されること() {
+    Recipe recipe = registerRecipe();
+
+    sut.insertRecipeNutritionsIfAbsent(List.of(
+        createSummary(1, 300.0),
+        createSummary(recipe.getId(), 150.0)));
+
+    assertThat(sut.getRecipeNutrition(1).getServingKcal(), is(127.5));
+    assertThat(sut.getRecipeNutrition(recipe.getId()).getServingKcal(), is(150.0));
+  }
+
+  @Test
+  void 計算日時が古い既存の集計のみ上書きされ新しい集計は残ること() {
+    Recipe recipe = registerRecipe();
+    sut.upsertRecipeNutritions(List.of(createSummary(recipe.getId(), 150.0,
+        LocalDateTime.parse("2024-10-01T12:00:00.000002"))));
+
+    sut.upsertRecipeNutritionsIfOutdated(List.of(
+        createSummary(1, 300.0, LocalDateTime.parse("2024-10-23T00:00:00")),
+        createSummary(recipe.getId(), 400.0, LocalDateTime.parse("2024-10-01T12:00:00.000001"))));
+
+    assertThat(sut.getRecipeNutrition(1).getServingKcal(), is(300.0));
+    assertThat(sut.getRecipeNutrition(recipe.getId()).getServingKcal(), is(150.0));
+    assertThat(sut.getRecipeNutrition(recipe.getId()).getCalculatedAt(),
+        is(LocalDateTime.parse("2024-10-01T12:00:00.000002")));
+  }
+
+  @Test
+  void 集計のないレシピのみをIDの順に指定したIDの後から取得できること() {
+    Recipe first = registerRecipe();
+    Recipe second = registerRecipe();
+
+    assertThat(sut.getRecipesForNutrition(0, false, 10).stream().map(Recipe::getId).toList(),
+        contains(first.getId(), second.getId()));
+    assertThat(sut.getRecipesForNutrition(first.getId(), false, 10).stream()
+        .map(Recipe::getId).toList(), contains(second.getId()));
+    assertThat(sut.getRecipesForNutrition(0, true, 2).stream().map(Recipe::getId).toList(),
+        contains(1, 2));
+  }
+
+  @Test
+  void レシピを削除すると栄養成分の集計も削除されること() {
+    recipeRepository.deleteRecipe(1);
+
+    assertThat(sut.getRecipeNutrition(1), is(nullValue()));
+  }
+
+  private Recipe registerRecipe() {
+    Recipe recipe = new Recipe(1, "オムレツ", null, null, "1人分", null, false,
+        LocalDateTime.parse("2024-10-01T12:00:00"), null);
+    recipeRepository.registerRecipe(recipe);
+    return recipe;
+  }
+
+  private static RecipeNutritionSummary createSummary(int recipeId, double servingKcal) {
+    return createSummary(recipeId, servingKcal, LocalDateTime.parse("2024-10-01T12:00:00"));
+  }
+
+  private static RecipeNutritionSummary createSummary(int recipeId, double servingKcal,
+      LocalDateTime calculatedAt) {
+    return new RecipeNutritionSummary(recipeId, 1.0, servingKcal, 10.0, 5.0, 20.0, 1.0,
+        servingKcal, 10.0, true, calculatedAt);
+  }
+
+}
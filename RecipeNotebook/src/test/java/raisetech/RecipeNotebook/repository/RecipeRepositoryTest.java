@@ -1,17 +1,31 @@
 package raisetech.RecipeNotebook.repository;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -19,10 +33,15 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
+import raisetech.RecipeNotebook.data.Category;
 import raisetech.RecipeNotebook.data.Ingredient;
 import raisetech.RecipeNotebook.data.Instruction;
 import raisetech.RecipeNotebook.data.Recipe;
+import raisetech.RecipeNotebook.domain.CategoryIndexEntry;
+import raisetech.RecipeNotebook.domain.RecipeCursor;
 import raisetech.RecipeNotebook.domain.RecipeSearchCriteria;
+import raisetech.RecipeNotebook.domain.RecipeSummary;
+import raisetech.RecipeNotebook.domain.RecipeVersion;
 
 @MybatisTest
 @Transactional
@@ -31,6 +50,12 @@ class RecipeRepositoryTest {
   @Autowired
   private RecipeRepository sut;
 
+  @Autowired
+  private SqlSessionFactory sqlSessionFactory;
+
+  @Autowired
+  private DataSource dataSource;
+
   @ParameterizedTest
   @MethodSource("provideGetRecipeTestCase")
   void 検索条件に応じたレシピを検索できること(RecipeSearchCriteria criteria,
@@ -109,6 +134,134 @@ class RecipeRepositoryTest {
     );
   }
 
+  @Test
+  void 取得件数を指定してレシピを作成日時の順に取得できること() {
+    List<Recipe> actual = sut.getRecipePage(1, new RecipeSearchCriteria(), false, null, 1);
+
+    assertThat(actual, hasSize(1));
+    assertThat(actual.getFirst().getId(), is(1));
+  }
+
+  @Test
+  void カーソルを指定した場合にカーソルより後のレシピのみ取得できること() {
+    Recipe firstRecipe = sut.getRecipe(1);
+
+    List<Recipe> actual = sut.getRecipePage(1, new RecipeSearchCriteria(), false,
+        RecipeCursor.of(firstRecipe), 30);
+
+    assertThat(actual, hasSize(1));
+    assertThat(actual.getFirst().getId(), is(2));
+  }
+
+  @Test
+  void レシピIDを指定した場合に指定したレシピのうち検索条件とカーソルに合致するレシピのみ取得できること() {
+    RecipeSearchCriteria favoriteCriteria = new RecipeSearchCriteria();
+    favoriteCriteria.setFavoriteRecipe(true);
+
+    assertThat(sut.getRecipePageByIds(1, new RecipeSearchCriteria(), false, List.of(2, 999),
+        null, 30).stream().map(Recipe::getId).toList(), contains(2));
+    assertThat(sut.getRecipePageByIds(1, favoriteCriteria, false, List.of(1), null, 30),
+        is(empty()));
+    assertThat(sut.getRecipePageByIds(1, new RecipeSearchCriteria(), false, List.of(1, 2),
+        RecipeCursor.of(sut.getRecipe(1)), 30).stream().map(Recipe::getId).toList(),
+        contains(2));
+    // 他のユーザーのレシピは指定しても取得しない
+    assertThat(sut.getRecipeSummaryPageByIds(2, new RecipeSearchCriteria(), false,
+        List.of(1, 2), null, 30), is(empty()));
+    assertThat(sut.getRecipeSummaryPageByIds(1, new RecipeSearchCriteria(), false,
+        List.of(1, 2), null, 1).stream().map(RecipeSummary::getId).toList(), contains(1));
+  }
+
+  @Test
+  void レシピ概要を材料の件数とともに取得できること() {
+    List<RecipeSummary> actual = sut.getRecipeSummaryPage(1, new RecipeSearchCriteria(), false,
+        null, 30);
+
+    assertThat(actual, hasSize(2));
+    assertAll(
+        () -> assertThat(actual.get(0).getId(), is(1)),
+        () -> assertThat(actual.get(0).getName(), is("卵焼き")),
+        () -> assertThat(actual.get(0).getImagePath(), is("/test-uploads/tamagoyaki_image.png")),
+        () -> assertThat(actual.get(0).isFavorite(), is(false)),
+        () -> assertThat(actual.get(0).getCreatedAt(),
+            is(LocalDateTime.parse("2024-09-22T17:00:00"))),
+        () -> assertThat(actual.get(0).getIngredientCount(), is(4)),
+        () -> assertThat(actual.get(1).getId(), is(2)),
+        () -> assertThat(actual.get(1).getIngredientCount(), is(3))
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideDateRangeExplainTestCase")
+  void 日付範囲の検索条件がインデックスの範囲条件として実行計画に使用されること(
+      RecipeSearchCriteria criteria, String expectedIndexName, String rangeColumn)
+      throws Exception {
+    String plan = explainRecipePage(1, criteria);
+
+    assertAll(
+        () -> assertThat(plan, not(containsString("TABLESCAN"))),
+        () -> assertThat(plan, containsString(expectedIndexName + ":")),
+        () -> assertThat(plan, containsString(rangeColumn + " >=")),
+        () -> assertThat(plan, containsString(rangeColumn + " <"))
+    );
+  }
+
+  /**
+   * 日付範囲の実行計画のテストに適用するテストケースです。
+   *
+   * @return Argument
+   */
+  private static Stream<Arguments> provideDateRangeExplainTestCase() {
+    return Stream.of(
+        Arguments.of(
+            new RecipeSearchCriteria(null, null, LocalDate.of(2024, 9, 22),
+                LocalDate.of(2024, 9, 22), null, null, null),
+            "IDX_RECIPES_USER_ID_CREATED_AT_ID", "CREATED_AT"),
+        Arguments.of(
+            new RecipeSearchCriteria(null, null, null, null, LocalDate.of(2024, 10, 22),
+                LocalDate.of(2024, 10, 22), null),
+            "IDX_RECIPES_USER_ID_UPDATED_AT", "UPDATED_AT")
+    );
+  }
+
+  @Test
+  void 終了日に指定した日付の作成日時のレシピが検索結果に含まれること() {
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria(null, null,
+        LocalDate.of(2024, 9, 22), LocalDate.of(2024, 9, 22), null, null, null);
+
+    List<Recipe> actual = sut.getRecipes(1, criteria);
+
+    assertThat(actual, hasSize(1));
+    assertThat(actual.getFirst().getId(), is(1));
+  }
+
+  @Test
+  void 栄養成分の集計の1人分の値でレシピを絞り込めること() {
+    RecipeSearchCriteria maxKcal = new RecipeSearchCriteria();
+    maxKcal.setMaxKcal(100.0);
+    RecipeSearchCriteria minProtein = new RecipeSearchCriteria();
+    minProtein.setMinProtein(9.5);
+    RecipeSearchCriteria both = new RecipeSearchCriteria();
+    both.setMaxKcal(100.0);
+    both.setMinProtein(9.5);
+
+    assertThat(sut.getRecipes(1, maxKcal).stream().map(Recipe::getId).toList(),
+        containsInAnyOrder(2));
+    assertThat(sut.getRecipes(1, minProtein).stream().map(Recipe::getId).toList(),
+        containsInAnyOrder(1));
+    assertThat(sut.getRecipes(1, both), hasSize(0));
+  }
+
+  @Test
+  void 栄養成分の絞り込みが集計のインデックスの範囲条件として実行計画に使用されること() throws Exception {
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria();
+    criteria.setMaxKcal(500.0);
+
+    String plan = explainRecipePage(1, criteria);
+
+    assertThat(plan, containsString("IDX_RECIPE_NUTRITION_SERVING_KCAL:"));
+  }
+
   @Test
   void IDに紐づくレシピを取得できること() {
     Recipe actual = sut.getRecipe(1);
@@ -119,33 +272,79 @@ class RecipeRepositoryTest {
         LocalDateTime.parse("2024-09-22T17:00:00"), LocalDateTime.parse("2024-10-22T17:00:00"));
   }
 
-  @ParameterizedTest
-  @MethodSource("provideGetRecipeIdsWithMatchingIngredientsTestCase")
-  void レシピIDに紐づきかつ指定したキーワードに合致する材料のID一覧が取得できること(
-      List<Integer> recipeIds, List<String> ingredientNames,
-      List<Integer> expectedIds) {
-    List<Integer> actual = sut.getRecipeIdsWithMatchingIngredients(recipeIds, ingredientNames);
+  @Test
+  void IDに紐づくレシピのバージョン情報を取得できること() {
+    RecipeVersion actual = sut.getRecipeVersion(1);
+
+    assertThat(actual.getId(), is(1));
+    assertThat(actual.getCreatedAt(), is(LocalDateTime.parse("2024-09-22T17:00:00")));
+    assertThat(actual.getUpdatedAt(), is(LocalDateTime.parse("2024-10-22T17:00:00")));
+    assertThat(actual.getVersion(), is(0));
+    assertThat(sut.getRecipeVersion(999), is(nullValue()));
+  }
 
-    assertThat(actual, hasSize(expectedIds.size()));
+  @Test
+  void 材料と調理手順のIDからそれぞれが属するレシピを取得できること() {
+    Recipe recipeOfIngredient = sut.getRecipeByIngredientId(5);
+    Recipe recipeOfInstruction = sut.getRecipeByInstructionId(1);
+
+    assertThat(recipeOfIngredient.getId(), is(2));
+    assertThat(recipeOfIngredient.getUserId(), is(1));
+    assertThat(recipeOfIngredient.getServings(), is("1人分"));
+    assertThat(recipeOfInstruction.getId(), is(1));
+    assertThat(recipeOfInstruction.getUserId(), is(1));
+    assertThat(sut.getRecipeByIngredientId(999), is(nullValue()));
+    assertThat(sut.getRecipeByInstructionId(999), is(nullValue()));
+  }
 
-    for (int i = 0; i < actual.size(); i++) {
-      assertThat(actual.get(i), is(expectedIds.get(i)));
-    }
+  @Test
+  void レシピの更新・お気に入りの切替・バージョン番号の更新のたびにバージョン番号が進むこと() {
+    Recipe recipe = sut.getRecipe(1);
+    recipe.setUpdatedAt(LocalDateTime.parse("2024-11-24T17:00:00"));
+
+    sut.updateRecipe(recipe);
+    sut.updateFavoriteStatus(1, 1, true);
+    sut.incrementRecipeVersion(1);
 
+    assertThat(sut.getRecipeVersion(1).getVersion(), is(3));
+    assertThat(sut.getRecipeVersion(2).getVersion(), is(0));
+    // レシピ詳細情報のETagは取得したレシピのバージョン番号から求めるため、レシピにも同じ値が含まれる
+    assertThat(sut.getRecipe(1).getVersion(), is(3));
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideFilterIngredientsTestCase")
+  void 材料名をSQLで絞り込む場合にすべてのキーワードに合致する材料を含むレシピのみ取得できること(
+      List<String> ingredientNames, List<Integer> expectedIds) {
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria();
+    criteria.setIngredientNames(ingredientNames);
+
+    List<Recipe> actual = sut.getRecipePage(1, criteria, true, null, 30);
+
+    assertThat(actual.stream().map(Recipe::getId).toList(), is(expectedIds));
   }
 
   /**
-   * 材料取得のパラメータテストに適用するテストケースです。
+   * 材料名の絞り込みのパラメータテストに適用するテストケースです。
    *
    * @return Argument
    */
-  private static Stream<Arguments> provideGetRecipeIdsWithMatchingIngredientsTestCase() {
+  private static Stream<Arguments> provideFilterIngredientsTestCase() {
     return Stream.of(
-        Arguments.of(List.of(1, 2), List.of(), List.of(1, 2),
-            Arguments.of(List.of(1, 2), List.of("砂糖")), List.of(1),
-            Arguments.of(List.of(1, 2), List.of("卵", "水")), List.of(2),
-            Arguments.of(List.of(1, 2), List.of("存在しない材料"), List.of())
-        ));
+        Arguments.of(List.of(), List.of(1, 2)),
+        Arguments.of(List.of("砂糖"), List.of(1)),
+        Arguments.of(List.of("卵", "水"), List.of(2)),
+        Arguments.of(List.of("存在しない材料"), List.of()));
+  }
+
+  @Test
+  void 材料名をSQLで絞り込まない場合は材料名の条件が無視されること() {
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria();
+    criteria.setIngredientNames(List.of("存在しない材料"));
+
+    List<Recipe> actual = sut.getRecipePage(1, criteria, false, null, 30);
+
+    assertThat(actual, hasSize(2));
   }
 
   @Test
@@ -160,6 +359,18 @@ class RecipeRepositoryTest {
 
   }
 
+  @Test
+  void レシピID一覧に紐づく材料一覧をまとめて取得できること() {
+    List<Ingredient> actual = sut.getIngredientsByRecipeIds(List.of(1, 2));
+
+    assertThat(actual.size(), is(7));
+    assertIngredientDetail(actual.get(0), 1, "卵", "3個", false);
+    assertIngredientDetail(actual.get(3), 1, "砂糖", "大さじ1", false);
+    assertIngredientDetail(actual.get(4), 2, "卵", "1個", false);
+    assertIngredientDetail(actual.get(6), 2, "水", null, false);
+
+  }
+
   @Test
   void IDに紐づく材料を取得できること() {
     Ingredient actual = sut.getIngredient(1);
@@ -181,6 +392,19 @@ class RecipeRepositoryTest {
 
   }
 
+  @Test
+  void レシピID一覧に紐づく調理手順一覧をまとめて取得できること() {
+    List<Instruction> actual = sut.getInstructionsByRecipeIds(List.of(2, 1));
+
+    assertThat(actual.size(), is(7));
+    assertInstructionDetail(actual.get(0), 1, 1, "卵を溶いて調味料を混ぜ、卵液を作る", false);
+    assertInstructionDetail(actual.get(3), 1, 4, "3の手順を繰り返して完成", false);
+    assertInstructionDetail(actual.get(4), 2, 1, "フライパンに油をたらし、火にかける", false);
+    assertInstructionDetail(actual.get(6), 2, 3,
+        "少し焼けたら水を入れ、ふたをして5分、弱火にかけて完成", false);
+
+  }
+
   @Test
   void IDに紐づく調理手順を取得できること() {
     Instruction actual = sut.getInstruction(1);
@@ -244,6 +468,42 @@ class RecipeRepositoryTest {
 
   }
 
+  @Test
+  void 複数の材料を一括でデータベースに追加し自動採番されたIDがセットされること() {
+    Recipe recipe = createSampleRecipe();
+    sut.registerRecipe(recipe);
+
+    List<Ingredient> ingredients = createSampleIngredients();
+    ingredients.forEach(ingredient -> ingredient.setRecipeId(recipe.getId()));
+    sut.registerIngredients(ingredients);
+
+    List<Ingredient> actual = sut.getIngredients(recipe.getId());
+    assertThat(actual, hasSize(2));
+    assertIngredientDetail(actual.get(0), recipe.getId(), "卵", "1個", false);
+    assertIngredientDetail(actual.get(1), recipe.getId(), "水", null, false);
+    assertThat(ingredients.stream().map(Ingredient::getId).toList(),
+        is(actual.stream().map(Ingredient::getId).toList()));
+  }
+
+  @Test
+  void 複数の調理手順を一括でデータベースに追加し自動採番されたIDがセットされること() {
+    Recipe recipe = createSampleRecipe();
+    sut.registerRecipe(recipe);
+
+    List<Instruction> instructions = createSampleInstructions();
+    instructions.forEach(instruction -> instruction.setRecipeId(recipe.getId()));
+    sut.registerInstructions(instructions);
+
+    List<Instruction> actual = sut.getInstructions(recipe.getId());
+    assertThat(actual, hasSize(2));
+    assertInstructionDetail(actual.get(0), recipe.getId(), 1,
+        "鍋に卵がかぶるくらいの水を入れて沸騰させる", false);
+    assertInstructionDetail(actual.get(1), recipe.getId(), 2,
+        "卵を沸かした水に入れて7~12分茹でる。好みの硬さで時間を調整する", false);
+    assertThat(instructions.stream().map(Instruction::getId).toList(),
+        is(actual.stream().map(Instruction::getId).toList()));
+  }
+
   @Test
   void 指定したIDのレシピを更新できること() {
     Recipe recipe = new Recipe();
@@ -298,14 +558,23 @@ class RecipeRepositoryTest {
 
   @Test
   void 指定したIDのレシピのお気に入り状態が切り替わること() {
-    sut.updateFavoriteStatus(1, true);
+    int updated = sut.updateFavoriteStatus(1, 1, true);
 
     Recipe actual = sut.getRecipe(1);
 
+    assertThat(updated, is(1));
     assertTrue(actual.isFavorite());
 
   }
 
+  @Test
+  void 他のユーザーのレシピのお気に入り状態は切り替わらないこと() {
+    int updated = sut.updateFavoriteStatus(1, 2, true);
+
+    assertThat(updated, is(0));
+    assertThat(sut.getRecipe(1).isFavorite(), is(false));
+  }
+
   @Test
   void 指定したIDのレシピを削除できること() {
     int userId = 1;
@@ -343,6 +612,109 @@ class RecipeRepositoryTest {
 
   }
 
+  @Test
+  void 指定したレシピの複数の材料を一括で更新でき他のレシピの材料は更新されないこと() {
+    List<Ingredient> ingredients = List.of(
+        new Ingredient(1, 1, "卵rev", "4個", true),
+        new Ingredient(2, 1, "サラダ油rev", "小さじ1", false),
+        new Ingredient(5, 1, "卵rev", "2個", true));
+
+    sut.updateIngredients(1, ingredients);
+
+    List<Ingredient> actual = sut.getIngredients(1);
+    assertIngredientDetail(actual.get(0), 1, "卵rev", "4個", true);
+    assertIngredientDetail(actual.get(1), 1, "サラダ油rev", "小さじ1", false);
+    assertIngredientDetail(actual.get(2), 1, "醤油", "大さじ1/2", false);
+    assertIngredientDetail(sut.getIngredient(5), 2, "卵", "1個", false);
+
+  }
+
+  @Test
+  void 指定したレシピの複数の調理手順を一括で更新でき他のレシピの調理手順は更新されないこと() {
+    List<Instruction> instructions = List.of(
+        new Instruction(1, 1, 2, "卵を溶いて調味料を混ぜ、卵液を作るrev", true),
+        new Instruction(2, 1, 1, "フライパンに油をたらし、火にかけるrev", false),
+        new Instruction(5, 1, 9, "他のレシピの手順rev", true));
+
+    sut.updateInstructions(1, instructions);
+
+    assertInstructionDetail(sut.getInstruction(1), 1, 2, "卵を溶いて調味料を混ぜ、卵液を作るrev",
+        true);
+    assertInstructionDetail(sut.getInstruction(2), 1, 1, "フライパンに油をたらし、火にかけるrev",
+        false);
+    assertInstructionDetail(sut.getInstruction(5), 2, 1, "フライパンに油をたらし、火にかける",
+        false);
+
+  }
+
+  @Test
+  void 指定したレシピの複数の材料を一括で削除でき他のレシピの材料は削除されないこと() {
+    sut.deleteIngredients(1, List.of(1, 2, 5));
+
+    List<Ingredient> actual = sut.getAllIngredients();
+
+    assertAll("Multiple assertions", () -> assertThat(actual, hasSize(5)),
+        () -> assertThat(actual.stream().map(Ingredient::getId).toList(),
+            containsInAnyOrder(3, 4, 5, 6, 7)));
+
+  }
+
+  @Test
+  void 指定したレシピの複数の調理手順を一括で削除でき他のレシピの調理手順は削除されないこと() {
+    sut.deleteInstructions(1, List.of(1, 2, 5));
+
+    List<Instruction> actual = sut.getAllInstructions();
+
+    assertAll("Multiple assertions", () -> assertThat(actual, hasSize(5)),
+        () -> assertThat(actual.stream().map(Instruction::getId).toList(),
+            containsInAnyOrder(3, 4, 5, 6, 7)));
+
+  }
+
+  @Test
+  void カテゴリー一覧をIDの順に取得できること() {
+    List<Category> actual = sut.getCategories();
+
+    assertThat(actual, hasSize(6));
+    assertThat(actual.getFirst().getId(), is(1));
+    assertThat(actual.getFirst().getName(), is("主菜"));
+  }
+
+  @Test
+  void カテゴリーのインデックスの構築に使用するレシピの所有者とカテゴリーを取得できること() {
+    List<CategoryIndexEntry> actual = sut.getCategoryIndexEntries();
+
+    assertThat(actual.stream()
+            .map(entry -> entry.getUserId() + ":" + entry.getRecipeId() + ":" + entry.getCategoryId())
+            .toList(),
+        containsInAnyOrder("1:1:2", "1:1:4", "1:2:1"));
+    // レシピ一覧の並び順を求めるため、レシピの作成日時も取得する
+    assertThat(actual.stream().filter(entry -> entry.getRecipeId() == 2)
+        .map(CategoryIndexEntry::getCreatedAt).toList(),
+        contains(LocalDateTime.parse("2024-09-23T17:00:00")));
+  }
+
+  @Test
+  void レシピのカテゴリーを置き換えられ他のレシピのカテゴリーは変更されないこと() {
+    sut.deleteRecipeCategories(1);
+    sut.registerRecipeCategories(1, List.of(3, 5));
+
+    List<CategoryIndexEntry> actual = sut.getCategoryIndexEntries();
+
+    assertThat(actual.stream().filter(entry -> entry.getRecipeId() == 1)
+        .map(CategoryIndexEntry::getCategoryId).sorted().toList(), contains(3, 5));
+    assertThat(actual.stream().filter(entry -> entry.getRecipeId() == 2)
+        .map(CategoryIndexEntry::getCategoryId).toList(), contains(1));
+  }
+
+  @Test
+  void レシピを削除するとレシピのカテゴリーも削除されること() {
+    sut.deleteRecipe(1);
+
+    assertThat(sut.getCategoryIndexEntries().stream()
+        .map(CategoryIndexEntry::getRecipeId).toList(), contains(2));
+  }
+
   /**
    * レシピのアサーションを行うヘルパーメソッドです。
    */
@@ -447,4 +819,37 @@ class RecipeRepositoryTest {
     return instructions;
   }
 
+  /**
+   * レシピ一覧のページ取得のSQLをマッパーの定義から組み立て、その実行計画を取得します。
+   * 比較しやすいように、識別子の引用符を除いて大文字に揃えた文字列を返します。
+   *
+   * @param userId ユーザーID
+   * @param criteria レシピ検索条件
+   * @return 実行計画
+   */
+  private String explainRecipePage(int userId, RecipeSearchCriteria criteria) throws Exception {
+    MappedStatement mappedStatement = sqlSessionFactory.getConfiguration()
+        .getMappedStatement(RecipeRepository.class.getName() + ".getRecipePage");
+
+    ParamMap<Object> parameter = new ParamMap<>();
+    parameter.put("userId", userId);
+    parameter.put("criteria", criteria);
+    parameter.put("filterIngredients", false);
+    parameter.put("cursor", null);
+    parameter.put("limit", 30);
+    BoundSql boundSql = mappedStatement.getBoundSql(parameter);
+
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement(
+            "EXPLAIN " + boundSql.getSql())) {
+      new DefaultParameterHandler(mappedStatement, parameter, boundSql)
+          .setParameters(statement);
+
+      try (ResultSet resultSet = statement.executeQuery()) {
+        resultSet.next();
+        return resultSet.getString(1).replace("\"", "").toUpperCase();
+      }
+    }
+  }
+
 }
@@ -0,0 +1,84 @@
+package raisetech.RecipeNotebook.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+import raisetech.RecipeNotebook.data.User;
+import raisetech.RecipeNotebook.domain.ApiToken;
+
+class ApiTokenServiceTest {
+
+  private static final String SECRET = "test-secret-test-secret-test-secret";
+
+  private static final Instant NOW = Instant.parse("2024-10-01T00:00:00Z");
+
+  private final ApiTokenService sut = new ApiTokenService(SECRET, Duration.ofHours(1),
+      Clock.fixed(NOW, ZoneOffset.UTC));
+
+  @Test
+  void 発行したトークンからユーザーID_ユーザー名_ロールが復元されること() {
+    ApiToken apiToken = sut.issue(createUser());
+
+    User actual = sut.verify(apiToken.getAccessToken());
+
+    assertThat(apiToken.getTokenType(), is("Bearer"));
+    assertThat(apiToken.getExpiresIn(), is(3600L));
+    assertThat(actual.getId(), is(1));
+    assertThat(actual.getUsername(), is("user:name"));
+    assertThat(actual.getRole(), is("USER"));
+    assertThat(actual.getPassword(), is(nullValue()));
+  }
+
+  @Test
+  void 内容を改ざんしたトークンが無効と判定されること() {
+    String token = sut.issue(createUser()).getAccessToken();
+    String payload = token.substring(0, token.indexOf('.'));
+    String tampered = payload.substring(0, payload.length() - 1)
+        + (payload.endsWith("A") ? "B" : "A") + token.substring(token.indexOf('.'));
+
+    assertThat(sut.verify(tampered), is(nullValue()));
+    assertThat(sut.verify(token + "A"), is(nullValue()));
+    assertThat(sut.verify("invalid-token"), is(nullValue()));
+    assertThat(sut.verify("!!!.???"), is(nullValue()));
+  }
+
+  @Test
+  void 有効期限を過ぎたトークンが無効と判定されること() {
+    String token = sut.issue(createUser()).getAccessToken();
+    ApiTokenService expired = new ApiTokenService(SECRET, Duration.ofHours(1),
+        Clock.fixed(NOW.plus(Duration.ofHours(1)), ZoneOffset.UTC));
+
+    assertThat(expired.verify(token), is(nullValue()));
+  }
+
+  @Test
+  void 異なる鍵で署名したトークンが無効と判定されること() {
+    ApiTokenService other = new ApiTokenService(null, Duration.ofHours(1));
+
+    assertThat(other.verify(sut.issue(createUser()).getAccessToken()), is(nullValue()));
+  }
+
+  @Test
+  void 短すぎる鍵を指定した場合に例外が発生すること() {
+    assertThrows(IllegalStateException.class,
+        () -> new ApiTokenService("short-secret", Duration.ofHours(1)));
+  }
+
+  private static User createUser() {
+    User user = new User();
+    user.setId(1);
+    user.setUsername("user:name");
+    user.setPassword("encodedPassword");
+    user.setRole("USER");
+    user.setEnabled(true);
+    return user;
+  }
+
+}
@@ -0,0 +1,157 @@
+package raisetech.RecipeNotebook.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import raisetech.RecipeNotebook.data.Category;
+import raisetech.RecipeNotebook.domain.CategoryIndexEntry;
+import raisetech.RecipeNotebook.domain.RecipeCursor;
+import raisetech.RecipeNotebook.domain.RecipeSearchCriteria.CategoryMatch;
+import raisetech.RecipeNotebook.exception.ResourceNotFoundException;
+import raisetech.RecipeNotebook.repository.RecipeRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CategorySearchIndexTest {
+
+  @Mock
+  private RecipeRepository repository;
+
+  private CategorySearchIndex sut;
+
+  @BeforeEach
+  void setUp() {
+    when(repository.getCategories()).thenReturn(List.of(
+        new Category(1, "主菜"), new Category(2, "副菜"), new Category(3, "デザート"),
+        new Category(4, "和食")));
+    when(repository.getCategoryIndexEntries()).thenReturn(List.of(
+        new CategoryIndexEntry(1, 1, createdAt(24), 2),
+        new CategoryIndexEntry(1, 1, createdAt(24), 4),
+        new CategoryIndexEntry(1, 2, createdAt(22), 1),
+        new CategoryIndexEntry(1, 3, createdAt(23), 1),
+        new CategoryIndexEntry(1, 3, createdAt(23), 4),
+        new CategoryIndexEntry(2, 4, createdAt(22), 1)));
+
+    sut = new CategorySearchIndex(repository);
+    sut.rebuild();
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideSearchTestCase")
+  void カテゴリーの条件に合致するレシピのIDが取得できること(List<Integer> categoryIds,
+      CategoryMatch match, List<Integer> expectedRecipeIds) {
+    assertThat(sut.findRecipeIds(1, categoryIds, match),
+        containsInAnyOrder(expectedRecipeIds.toArray()));
+  }
+
+  /**
+   * カテゴリー検索のパラメータテストに適用するテストケースです。
+   *
+   * @return Argument
+   */
+  private static Stream<Arguments> provideSearchTestCase() {
+    return Stream.of(
+        // 1件のカテゴリー
+        Arguments.of(List.of(1), CategoryMatch.ALL, List.of(2, 3)),
+        // 複数カテゴリーのAND検索
+        Arguments.of(List.of(1, 4), CategoryMatch.ALL, List.of(3)),
+        // 複数カテゴリーのOR検索
+        Arguments.of(List.of(2, 4), CategoryMatch.ANY, List.of(1, 3)),
+        // レシピのないカテゴリーを含むAND検索
+        Arguments.of(List.of(1, 3), CategoryMatch.ALL, List.of()),
+        // 存在しないカテゴリー
+        Arguments.of(List.of(999), CategoryMatch.ANY, List.of())
+    );
+  }
+
+  @Test
+  void 他のユーザーのレシピは検索結果に含まれないこと() {
+    assertThat(sut.findRecipeIds(2, List.of(1), CategoryMatch.ALL), contains(4));
+    assertThat(sut.findRecipeIds(3, List.of(1), CategoryMatch.ALL), empty());
+  }
+
+  @Test
+  void レシピのカテゴリーがカテゴリーIDの順にカテゴリー名とともに取得できること() {
+    List<Category> actual = sut.getRecipeCategories(3);
+
+    assertThat(actual.stream().map(Category::getId).toList(), contains(1, 4));
+    assertThat(actual.stream().map(Category::getName).toList(), contains("主菜", "和食"));
+    assertThat(sut.getRecipeCategories(999), empty());
+  }
+
+  @Test
+  void レシピのカテゴリーを置き換えると検索結果に反映されること() {
+    sut.putRecipe(1, 1, createdAt(24), List.of(new Category(3, "デザート")));
+
+    assertThat(sut.findRecipeIds(1, List.of(4), CategoryMatch.ALL), contains(3));
+    assertThat(sut.findRecipeIds(1, List.of(3), CategoryMatch.ALL), contains(1));
+    assertThat(sut.getRecipeCategories(1).stream().map(Category::getId).toList(), contains(3));
+  }
+
+  @Test
+  void 新しいレシピを登録すると検索結果に含まれること() {
+    sut.putRecipe(3, 5, createdAt(25), List.of(new Category(2, "副菜")));
+
+    assertThat(sut.findRecipeIds(3, List.of(2), CategoryMatch.ALL), contains(5));
+  }
+
+  @Test
+  void 削除したレシピは検索結果に含まれないこと() {
+    sut.removeRecipe(3);
+
+    assertThat(sut.findRecipeIds(1, List.of(1, 4), CategoryMatch.ANY),
+        containsInAnyOrder(1, 2));
+    assertThat(sut.getRecipeCategories(3), empty());
+  }
+
+  @Test
+  void 合致したレシピの位置がカーソルより後からレシピ一覧の並び順で指定件数まで取得できること() {
+    List<RecipeCursor> actual = sut.findRecipePositions(1, Set.of(1, 2, 3), null, 2);
+
+    assertThat(actual.stream().map(RecipeCursor::getId).toList(), contains(2, 3));
+    assertThat(actual.getLast().getCreatedAt(), is(createdAt(23)));
+    assertThat(sut.findRecipePositions(1, Set.of(1, 2, 3), actual.getLast(), 2).stream()
+        .map(RecipeCursor::getId).toList(), contains(1));
+    // 他のユーザーのレシピやインデックスに登録されていないレシピは含まれない
+    assertThat(sut.findRecipePositions(1, Set.of(4, 999), null, 2), empty());
+  }
+
+  @Test
+  void 登録するカテゴリーの重複が除かれカテゴリー名が付与されること() {
+    List<Category> actual = sut.resolve(List.of(
+        new Category(4, null), new Category(1, null), new Category(4, null)));
+
+    assertThat(actual.stream().map(Category::getId).toList(), contains(1, 4));
+    assertThat(actual.stream().map(Category::getName).toList(), contains("主菜", "和食"));
+    assertThat(sut.resolve(null), empty());
+  }
+
+  @Test
+  void 存在しないカテゴリーIDを登録しようとした場合に例外がスローされること() {
+    ResourceNotFoundException actual = assertThrows(ResourceNotFoundException.class,
+        () -> sut.resolve(List.of(new Category(1, null), new Category(999, null))));
+
+    assertThat(actual.getMessage(), is("カテゴリーID「999」は存在しません"));
+  }
+
+  private static LocalDateTime createdAt(int dayOfMonth) {
+    return LocalDateTime.of(2024, 9, dayOfMonth, 17, 0);
+  }
+
+}
@@ -0,0 +1,70 @@
+package raisetech.RecipeNotebook.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+import raisetech.RecipeNotebook.exception.IllegalArgumentCustomException;
+
+class CsvRecordReaderTest {
+
+  @Test
+  void 引用符で囲んだフィールドのカンマや改行や二重の引用符が読み込めること() throws IOException {
+    CsvRecordReader sut = createReader(
+        "\uFEFF食品番号,食品名\r\n01001,\"アマランサス　玄穀\"\n01002,\"あわ,\"\"精白粒\"\"\r\n2行目\",\n");
+
+    assertThat(sut.readRecord(), contains("食品番号", "食品名"));
+    assertThat(sut.readRecord(), contains("01001", "アマランサス　玄穀"));
+    assertThat(sut.readRecord(), contains("01002", "あわ,\"精白粒\"\r\n2行目", ""));
+    assertThat(sut.getRecordLineNumber(), is(3));
+    assertThat(sut.readRecord(), is(nullValue()));
+  }
+
+  @Test
+  void 空行を読み飛ばし最後の行に改行がなくても読み込めること() throws IOException {
+    CsvRecordReader sut = createReader("a,b\r\n\r\n\rc,d");
+
+    assertThat(sut.readRecord(), contains("a", "b"));
+    assertThat(sut.readRecord(), contains("c", "d"));
+    assertThat(sut.getRecordLineNumber(), is(4));
+    assertThat(sut.readRecord(), is(nullValue()));
+  }
+
+  @Test
+  void 引用符が閉じられていない場合に行番号を含む例外がスローされること() throws IOException {
+    CsvRecordReader sut = createReader("a,b\nc,\"d\n");
+    sut.readRecord();
+
+    IllegalArgumentCustomException actual =
+        assertThrows(IllegalArgumentCustomException.class, sut::readRecord);
+    assertThat(actual.getMessage(), is("2行目: 引用符が閉じられていません"));
+  }
+
+  @Test
+  void 引用符で囲んだフィールドの後に区切り文字がない場合に例外がスローされること() {
+    CsvRecordReader sut = createReader("\"a\"b,c\n");
+
+    assertThrows(IllegalArgumentCustomException.class, sut::readRecord);
+  }
+
+  @Test
+  void 1行の文字数が上限を超える場合に例外がスローされること() {
+    CsvRecordReader sut = createReader("\"0123456789\n0123456789\"\n", 16);
+
+    assertThrows(IllegalArgumentCustomException.class, sut::readRecord);
+  }
+
+  private static CsvRecordReader createReader(String csv) {
+    return createReader(csv, 4096);
+  }
+
+  private static CsvRecordReader createReader(String csv, int maxRecordLength) {
+    return new CsvRecordReader(new StringReader(csv), maxRecordLength);
+  }
+
+}
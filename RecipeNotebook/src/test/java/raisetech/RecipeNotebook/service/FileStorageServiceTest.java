@@ -1,19 +1,25 @@
 package raisetech.RecipeNotebook.service;
 
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.allOf;
-import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
-import static org.hamcrest.Matchers.matchesPattern;
-import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,6 +29,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 import raisetech.RecipeNotebook.exception.FileStorageException;
+import raisetech.RecipeNotebook.repository.RecipeRepository;
 
 @ExtendWith(MockitoExtension.class)
 class FileStorageServiceTest {
@@ -30,6 +37,12 @@ class FileStorageServiceTest {
   @Mock
   private MultipartFile mockFile;
 
+  @Mock
+  private ImageRenditionService imageRenditionService;
+
+  @Mock
+  private RecipeRepository recipeRepository;
+
   @InjectMocks
   private FileStorageService sut;
 
@@ -38,28 +51,52 @@ class FileStorageServiceTest {
     ReflectionTestUtils.setField(sut, "uploadDir", "test-uploads");
   }
 
+  @AfterEach
+  void tearDown() throws IOException {
+    Path uploadPath = Paths.get("test-uploads");
+    if (Files.exists(uploadPath)) {
+      try (Stream<Path> paths = Files.walk(uploadPath)) {
+        paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+      }
+    }
+  }
+
   @Test
-  void ファイルの保存_正常系_ファイルが正しく保存されること() throws IOException {
-    String originalFilename = "test.jpg";
-    when(mockFile.getOriginalFilename()).thenReturn(originalFilename);
+  void ファイルの保存_正常系_内容のハッシュ値で振り分けたパスにファイルが保存されること() throws IOException {
+    when(mockFile.getOriginalFilename()).thenReturn("test.jpg");
     when(mockFile.isEmpty()).thenReturn(false);
     when(mockFile.getInputStream()).thenReturn(new ByteArrayInputStream("test data".getBytes()));
 
     String actual = sut.storeFile(mockFile);
 
-    assertThat(actual, allOf(
-        startsWith("/uploads/"),
-        containsString("_" + originalFilename),
-        matchesPattern("/uploads/[\\w-]+_test\\.jpg")
-    ));
-
-    String fileName = actual.substring(
-        "/uploads/".length()); //storeFileメソッドで書き込まれるuploadsという名前の部分を除く
-    Path createdFile = Paths.get("test-uploads", fileName);
-    assertThat(Files.exists(createdFile), is(true));
+    // "test data"のSHA-256
+    String hash = "916f0027a575074ce72a331777c3478d6513f786a591bd892da1a577bf2335f9";
+    assertThat(actual, is("/uploads/91/6f/" + hash + ".jpg"));
+    Path createdFile = Paths.get("test-uploads", "91", "6f", hash + ".jpg");
+    assertThat(Files.readString(createdFile), is("test data"));
+    verify(imageRenditionService).scheduleRenditions("91/6f/" + hash + ".jpg");
+    try (Stream<Path> files = Files.list(Paths.get("test-uploads"))) {
+      assertThat(files.filter(Files::isRegularFile).count(), is(0L));
+    }
+  }
 
-    Files.deleteIfExists(Paths.get("test-uploads", actual.substring("/uploads/".length())));
-    Files.deleteIfExists(Paths.get("test-uploads"));
+  @Test
+  void ファイルの保存_正常系_同じ内容のファイルは同じパスになり1つのみ保存されること() throws IOException {
+    MultipartFile other = mock(MultipartFile.class);
+    for (MultipartFile file : List.of(mockFile, other)) {
+      when(file.getOriginalFilename()).thenReturn("photo.jpg");
+      when(file.isEmpty()).thenReturn(false);
+      when(file.getInputStream()).thenReturn(new ByteArrayInputStream("test data".getBytes()));
+    }
+
+    String first = sut.storeFile(mockFile);
+    String second = sut.storeFile(other);
+
+    assertThat(second, is(first));
+    try (Stream<Path> files = Files.walk(Paths.get("test-uploads"))) {
+      assertThat(files.filter(Files::isRegularFile).count(), is(1L));
+    }
+    verify(imageRenditionService, times(1)).scheduleRenditions(anyString());
   }
 
   @Test
@@ -73,7 +110,6 @@ class FileStorageServiceTest {
   void ファイルの保存_異常系_FileStorageExceptionがスローされること()
       throws IOException {
     when(mockFile.isEmpty()).thenReturn(false);
-    when(mockFile.getOriginalFilename()).thenReturn("test.jpg");
     when(mockFile.getInputStream()).thenThrow(new IOException("Test exception"));
 
     FileStorageException exception = assertThrows(FileStorageException.class,
@@ -82,6 +118,24 @@ class FileStorageServiceTest {
     assertThat(exception.getMessage(), is("ファイルの保存に失敗しました"));
   }
 
+  @Test
+  void ファイルの削除_他のレシピが参照している場合はファイルが削除されないこと() throws IOException {
+    Path testFile = Paths.get("test-uploads", "aa", "bb", "shared.jpg");
+    Files.createDirectories(testFile.getParent());
+    Files.write(testFile, "test data".getBytes());
+    when(recipeRepository.countRecipesByImagePath("/uploads/aa/bb/shared.jpg")).thenReturn(1);
+
+    sut.deleteFile("/uploads/aa/bb/shared.jpg");
+
+    assertThat(Files.exists(testFile), is(true));
+    verify(imageRenditionService, never()).deleteRenditions(anyString());
+  }
+
+  @Test
+  void ファイルの削除_アップロードディレクトリの外を指すパスの場合に例外がスローされること() {
+    assertThrows(FileStorageException.class, () -> sut.deleteFile("/uploads/../../secret.txt"));
+  }
+
   @Test
   void ファイルの削除_ファイルが正しく削除されること() throws IOException {
     Path uploadPath = Paths.get("test-uploads");
@@ -92,6 +146,7 @@ class FileStorageServiceTest {
     sut.deleteFile("/test-uploads/test.jpg");
 
     assertThat(Files.exists(testFile), is(false));
+    verify(imageRenditionService).deleteRenditions("test.jpg");
 
     Files.deleteIfExists(uploadPath);
   }
@@ -0,0 +1,90 @@
+package raisetech.RecipeNotebook.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import raisetech.RecipeNotebook.data.NutritionFact;
+import raisetech.RecipeNotebook.service.FoodMatcher.Match;
+
+class FoodMatcherTest {
+
+  private FoodMatcher sut;
+
+  @BeforeEach
+  void setUp() {
+    sut = new FoodMatcher(List.of(
+        new NutritionFact("01015", "こむぎ　［小麦粉］　薄力粉　1等", 349, 8.3, 1.5, 75.8, 0),
+        new NutritionFact("06153", "（たまねぎ類）　たまねぎ　りん茎　生", 33, 1.0, 0.1, 8.4, 0),
+        new NutritionFact("06156", "（たまねぎ類）　赤たまねぎ　りん茎　生", 34, 0.9, 0.1, 9.0, 0),
+        new NutritionFact("12004", "鶏卵　全卵　生", 142, 12.2, 10.2, 0.4, 0.4),
+        new NutritionFact("17007", "＜調味料類＞　（しょうゆ類）　こいくちしょうゆ", 76, 7.7, 0, 7.9,
+            14.5),
+        new NutritionFact("17031", "＜調味料類＞　（調味ソース類）　オイスターソース", 105, 7.7, 0.3,
+            18.3, 11.4)), 100);
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideMatchTestCase")
+  void 材料名に最も近い食品が取得できること(String ingredientName, String expectedFoodNumber) {
+    Match actual = sut.match(ingredientName);
+
+    assertThat(actual == null ? null : actual.nutritionFact().getFoodNumber(),
+        is(expectedFoodNumber));
+  }
+
+  /**
+   * 食品の検索のパラメータテストに適用するテストケースです。
+   *
+   * @return Argument
+   */
+  private static Stream<Arguments> provideMatchTestCase() {
+    return Stream.of(
+        Arguments.of("たまねぎ", "06153"),
+        Arguments.of("タマネギ", "06153"),
+        Arguments.of("ﾀﾏﾈｷﾞ", "06153"),
+        Arguments.of("赤玉ねぎ", "06156"),
+        Arguments.of("Aオイスターソース", "17031"),
+        Arguments.of("（B）こいくちしょう油", "17007"),
+        Arguments.of("しょうゆ", "17007"),
+        Arguments.of("小麦粉", "01015"),
+        Arguments.of("薄力粉", "01015"),
+        Arguments.of("鶏", null),
+        Arguments.of("謎の調味料", null),
+        Arguments.of("", null));
+  }
+
+  @Test
+  void 類似度の高い順に上位の食品が重複なく取得できること() {
+    List<Match> actual = sut.topMatches("たまねぎ", 2);
+
+    assertThat(actual.stream().map(match -> match.nutritionFact().getFoodNumber()).toList(),
+        contains("06153", "06156"));
+    assertThat(actual.get(0).score(), is(1.0));
+  }
+
+  @Test
+  void 先頭のグループの記号を取り除きカタカナをひらがなに揃えて正規化されること() {
+    assertThat(FoodMatcher.normalize("Ａ　オイスターソース"), is("おいすたーそーす"));
+    assertThat(FoodMatcher.normalize("☆砂糖"), is("砂糖"));
+    assertThat(FoodMatcher.normalize("(b)醤油"), is("醤油"));
+    assertThat(FoodMatcher.normalize("S&B"), is("s&b"));
+    assertThat(FoodMatcher.normalize(null), is(""));
+  }
+
+  @Test
+  void 食品名が分類の括弧書きを除いた語と分類の語に分けられること() {
+    assertThat(FoodMatcher.wordsOf("（たまねぎ類）　赤たまねぎ　りん茎　生"),
+        contains("赤たまねぎ", "りん茎", "生"));
+    assertThat(FoodMatcher.categoryWordsOf("＜調味料類＞　（しょうゆ類）　こいくちしょうゆ"),
+        contains("しょうゆ"));
+  }
+
+}
@@ -0,0 +1,165 @@
+package raisetech.RecipeNotebook.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.RejectedExecutionException;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.SyncTaskExecutor;
+import raisetech.RecipeNotebook.domain.ImageRendition;
+
+class ImageRenditionServiceTest {
+
+  private static final long MAX_PIXELS = 40_000_000;
+
+  @TempDir
+  Path uploadDir;
+
+  @Test
+  void アップロードされた画像から縦横比を保った縮小画像が作成されること() throws IOException {
+    writePhoto("photo.png", 2000, 1500);
+    ImageRenditionService sut = createService();
+
+    sut.scheduleRenditions("photo.png");
+
+    BufferedImage thumbnail = readRendition(ImageRendition.THUMBNAIL, "photo.png");
+    BufferedImage medium = readRendition(ImageRendition.MEDIUM, "photo.png");
+    assertThat(thumbnail.getWidth(), is(300));
+    assertThat(thumbnail.getHeight(), is(225));
+    assertThat(medium.getWidth(), is(800));
+    assertThat(medium.getHeight(), is(600));
+  }
+
+  @Test
+  void 縮小画像の幅より小さい画像は拡大されないこと() throws IOException {
+    writePhoto("small.png", 200, 100);
+    ImageRenditionService sut = createService();
+
+    sut.scheduleRenditions("small.png");
+
+    assertThat(readRendition(ImageRendition.THUMBNAIL, "small.png").getWidth(), is(200));
+  }
+
+  @Test
+  void 一覧表示で転送する画像のサイズが縮小画像により削減されること() throws IOException {
+    // レシピ一覧の1ページ分（20件）のカード画像の合計サイズを、元の画像と縮小画像で比較する
+    ImageRenditionService sut = createService();
+    long originalBytes = 0;
+    long thumbnailBytes = 0;
+    for (int i = 0; i < 20; i++) {
+      String fileName = "photo" + i + ".png";
+      writePhoto(fileName, 1600, 1200);
+      sut.scheduleRenditions(fileName);
+      originalBytes += Files.size(uploadDir.resolve(fileName));
+      thumbnailBytes += Files.size(
+          uploadDir.resolve(ImageRendition.THUMBNAIL.relativePathOf(fileName)));
+    }
+
+    assertThat(thumbnailBytes * 20, lessThan(originalBytes));
+  }
+
+  @Test
+  void 画素数が上限を超える画像は間引いて読み込まれ縦横比を保った縮小画像が作成されること()
+      throws IOException {
+    writePhoto("large.png", 2000, 1500);
+    // 6画素ごとに間引いて334×250で読み込む
+    ImageRenditionService sut = new ImageRenditionService(new SyncTaskExecutor(),
+        uploadDir.toString(), 100_000);
+
+    sut.scheduleRenditions("large.png");
+
+    BufferedImage thumbnail = readRendition(ImageRendition.THUMBNAIL, "large.png");
+    BufferedImage medium = readRendition(ImageRendition.MEDIUM, "large.png");
+    assertThat(thumbnail.getWidth(), is(300));
+    assertThat(thumbnail.getHeight(), is(225));
+    assertThat(medium.getWidth(), is(334));
+    assertThat(medium.getHeight(), is(250));
+  }
+
+  @Test
+  void 画像として読み込めないファイルの場合は縮小画像が作成されないこと() throws IOException {
+    Files.writeString(uploadDir.resolve("text.png"), "not an image");
+    ImageRenditionService sut = createService();
+
+    sut.scheduleRenditions("text.png");
+
+    assertThat(Files.exists(
+        uploadDir.resolve(ImageRendition.THUMBNAIL.relativePathOf("text.png"))), is(false));
+  }
+
+  @Test
+  void 作成待ちが上限に達した場合は例外を発生させずに作成を見送ること() {
+    ImageRenditionService sut = new ImageRenditionService(task -> {
+      throw new RejectedExecutionException();
+    }, uploadDir.toString(), MAX_PIXELS);
+
+    sut.scheduleRenditions("photo.png");
+
+    assertThat(Files.exists(uploadDir.resolve(ImageRendition.DIRECTORY)), is(false));
+  }
+
+  @Test
+  void 縮小画像が削除されること() throws IOException {
+    writePhoto("photo.png", 1000, 500);
+    ImageRenditionService sut = createService();
+    sut.scheduleRenditions("photo.png");
+
+    sut.deleteRenditions("photo.png");
+
+    for (ImageRendition rendition : ImageRendition.values()) {
+      assertThat(Files.exists(uploadDir.resolve(rendition.relativePathOf("photo.png"))),
+          is(false));
+    }
+  }
+
+  @Test
+  void アップロードされた画像のパスのみ縮小画像のパスに変換されること() {
+    assertThat(ImageRendition.THUMBNAIL.pathOf("/uploads/abc_photo.png"),
+        is("/uploads/renditions/thumbnail/abc_photo.jpg"));
+    assertThat(ImageRendition.MEDIUM.pathOf("/uploads/abc_photo.png"),
+        is("/uploads/renditions/medium/abc_photo.jpg"));
+    assertThat(ImageRendition.THUMBNAIL.pathOf("/images/no_image.jpg"),
+        is("/images/no_image.jpg"));
+  }
+
+  private ImageRenditionService createService() {
+    return new ImageRenditionService(new SyncTaskExecutor(), uploadDir.toString(), MAX_PIXELS);
+  }
+
+  /**
+   * 写真に近い（圧縮しにくい）画像を作成します。
+   */
+  private void writePhoto(String fileName, int width, int height) throws IOException {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = image.createGraphics();
+    Random random = new Random(fileName.hashCode());
+    for (int i = 0; i < 200; i++) {
+      graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+      graphics.fillOval(random.nextInt(width), random.nextInt(height), 50 + random.nextInt(400),
+          50 + random.nextInt(400));
+    }
+    graphics.dispose();
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        image.setRGB(x, y, image.getRGB(x, y) ^ random.nextInt(8));
+      }
+    }
+    ImageIO.write(image, "png", uploadDir.resolve(fileName).toFile());
+  }
+
+  private BufferedImage readRendition(ImageRendition rendition, String fileName)
+      throws IOException {
+    return ImageIO.read(uploadDir.resolve(rendition.relativePathOf(fileName)).toFile());
+  }
+
+}
@@ -0,0 +1,116 @@
+package raisetech.RecipeNotebook.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import raisetech.RecipeNotebook.data.Ingredient;
+import raisetech.RecipeNotebook.domain.IngredientIndexEntry;
+import raisetech.RecipeNotebook.repository.RecipeRepository;
+
+@ExtendWith(MockitoExtension.class)
+class IngredientSearchIndexTest {
+
+  private static final LocalDateTime CREATED_AT = LocalDateTime.parse("2024-09-22T17:00:00");
+
+  @Mock
+  private RecipeRepository repository;
+
+  private IngredientSearchIndex sut;
+
+  @BeforeEach
+  void setUp() {
+    when(repository.getIngredientIndexEntries()).thenReturn(List.of(
+        new IngredientIndexEntry(1, 1, CREATED_AT, 1, "卵"),
+        new IngredientIndexEntry(1, 1, CREATED_AT, 2, "サラダ油"),
+        new IngredientIndexEntry(1, 1, CREATED_AT, 3, "醤油"),
+        new IngredientIndexEntry(1, 1, CREATED_AT, 4, "砂糖"),
+        new IngredientIndexEntry(1, 2, CREATED_AT, 5, "卵"),
+        new IngredientIndexEntry(1, 2, CREATED_AT, 6, "サラダ油"),
+        new IngredientIndexEntry(1, 2, CREATED_AT, 7, "水"),
+        new IngredientIndexEntry(2, 3, CREATED_AT, 8, "砂糖")));
+
+    sut = new IngredientSearchIndex(repository);
+    sut.rebuild();
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideSearchTestCase")
+  void 材料名のキーワードすべてに部分一致する材料を含むレシピのIDが取得できること(List<String> keywords,
+      List<Integer> expectedRecipeIds) {
+    assertThat(sut.findRecipeIds(1, keywords),
+        containsInAnyOrder(expectedRecipeIds.toArray()));
+  }
+
+  /**
+   * 材料名検索のパラメータテストに適用するテストケースです。
+   *
+   * @return Argument
+   */
+  private static Stream<Arguments> provideSearchTestCase() {
+    return Stream.of(
+        // 1文字のキーワード
+        Arguments.of(List.of("卵"), List.of(1, 2)),
+        // 2文字以上のキーワード（材料名の途中に一致）
+        Arguments.of(List.of("ダ油"), List.of(1, 2)),
+        // 複数キーワードのAND検索
+        Arguments.of(List.of("卵", "糖"), List.of(1)),
+        // 空文字のキーワードは無視される
+        Arguments.of(List.of("", "砂糖"), List.of(1)),
+        // 文字はすべて含むが、連続した文字列としては含まない
+        Arguments.of(List.of("油サラダ"), List.of()),
+        // 存在しない材料
+        Arguments.of(List.of("存在しない材料", "卵"), List.of())
+    );
+  }
+
+  @Test
+  void 他のユーザーのレシピは検索結果に含まれないこと() {
+    assertThat(sut.findRecipeIds(2, List.of("卵")), empty());
+    assertThat(sut.findRecipeIds(3, List.of("砂糖")), empty());
+  }
+
+  @Test
+  void レシピの材料を置き換えた場合に置き換え後の材料名で検索できること() {
+    sut.putRecipe(1, 2, CREATED_AT, List.of(new Ingredient(5, 2, "砂糖", "大さじ1", false)));
+
+    assertThat(sut.findRecipeIds(1, List.of("砂糖")), containsInAnyOrder(1, 2));
+    assertThat(sut.findRecipeIds(1, List.of("水")), empty());
+  }
+
+  @Test
+  void 新しいレシピを登録した場合にそのレシピが検索できること() {
+    sut.putRecipe(3, 10, CREATED_AT, List.of(new Ingredient(20, 10, "Egg", "1個", false)));
+
+    assertThat(sut.findRecipeIds(3, List.of("egg")), containsInAnyOrder(10));
+  }
+
+  @Test
+  void 材料を削除した場合に同じレシピの他の材料は検索できること() {
+    sut.removeIngredient(1, 2);
+
+    assertThat(sut.findRecipeIds(1, List.of("サラダ油")), containsInAnyOrder(2));
+    assertThat(sut.findRecipeIds(1, List.of("醤油")), containsInAnyOrder(1));
+  }
+
+  @Test
+  void レシピを削除した場合にそのレシピが検索結果に含まれないこと() {
+    sut.removeRecipe(1);
+
+    assertThat(sut.findRecipeIds(1, List.of("卵")), containsInAnyOrder(2));
+    assertThat(sut.findRecipeIds(1, List.of("砂糖")), empty());
+  }
+
+}
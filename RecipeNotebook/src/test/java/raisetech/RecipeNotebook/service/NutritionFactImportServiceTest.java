@@ -0,0 +1,141 @@
+package raisetech.RecipeNotebook.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import raisetech.RecipeNotebook.data.NutritionFactRow;
+import raisetech.RecipeNotebook.exception.IllegalArgumentCustomException;
+import raisetech.RecipeNotebook.repository.NutritionFactRepository;
+
+@ExtendWith(MockitoExtension.class)
+class NutritionFactImportServiceTest {
+
+  private static final String HEADER = "食品群,食品番号,索引番号,食品名　100gあたり栄養素,エネルギー kcal,"
+      + "たんぱく質 g,脂質 g,炭水化物 g,食塩相当量 g\n";
+
+  @Mock
+  private NutritionFactRepository repository;
+
+  @Mock
+  private NutritionCatalog nutritionCatalog;
+
+  @Mock
+  private NutritionSummaryService nutritionSummaryService;
+
+  @Mock
+  private RecipeSearchCache recipeSearchCache;
+
+  private NutritionFactImportService sut;
+
+  @BeforeEach
+  void setUp() {
+    sut = new NutritionFactImportService(repository, nutritionCatalog, nutritionSummaryService,
+        recipeSearchCache, 2);
+  }
+
+  @Test
+  void CSVを一定件数ずつ一時テーブルに登録してからテーブルを入れ替えカタログと検索結果のキャッシュを更新すること()
+      throws IOException {
+    when(repository.countShadowNutritionFacts()).thenReturn(3);
+
+    int actual = sut.importCsv(toInputStream(HEADER
+        + "01,01001,0001,アマランサス　玄穀,343,12.7,6.0,64.9,0\n"
+        + "01,01002,0002,\"あわ　精白粒\",346,11.2,4.4,69.7,0\n"
+        + "01,01003,0003,あわ　あわもち,210,5.1,1.3,45.3,0\n"));
+
+    assertThat(actual, is(3));
+    verify(repository, times(2)).upsertShadowNutritionFacts(anyList());
+    InOrder inOrder =
+        inOrder(repository, nutritionCatalog, recipeSearchCache, nutritionSummaryService);
+    inOrder.verify(repository).dropShadowTable();
+    inOrder.verify(repository).createShadowTable();
+    inOrder.verify(repository).swapShadowTable();
+    inOrder.verify(repository).dropOldTable();
+    inOrder.verify(nutritionCatalog).load();
+    inOrder.verify(recipeSearchCache).invalidateAll();
+    inOrder.verify(nutritionSummaryService).schedule(true);
+  }
+
+  @Test
+  void 不正な行がある場合は一時テーブルを削除し現在のテーブルを変更しないこと() {
+    IllegalArgumentCustomException actual = assertThrows(IllegalArgumentCustomException.class,
+        () -> sut.importCsv(toInputStream(HEADER
+            + "01,01001,0001,アマランサス　玄穀,343,12.7,6.0,64.9,0\n"
+            + "01,01002,0002,あわ　精白粒,abc,11.2,4.4,69.7,0\n")));
+
+    assertThat(actual.getMessage(), is("3行目: 成分値「abc」を数値に変換できません"));
+    verify(repository, times(2)).dropShadowTable();
+    verify(repository, never()).swapShadowTable();
+    verify(nutritionCatalog, never()).load();
+    verify(recipeSearchCache, never()).invalidateAll();
+    verify(nutritionSummaryService, never()).schedule(anyBoolean());
+  }
+
+  @Test
+  void 食品がないCSVの場合はテーブルを入れ替えないこと() {
+    when(repository.countShadowNutritionFacts()).thenReturn(0);
+
+    assertThrows(IllegalArgumentCustomException.class, () -> sut.importCsv(toInputStream(HEADER)));
+
+    verify(repository, never()).upsertShadowNutritionFacts(anyList());
+    verify(repository, never()).swapShadowTable();
+  }
+
+  @Test
+  void UTF8として不正なバイト列を含む場合に例外がスローされること() {
+    byte[] csv = {'0', '1', ',', (byte) 0x82, (byte) 0xA0, '\n'};
+
+    assertThrows(IllegalArgumentCustomException.class,
+        () -> sut.importCsv(new ByteArrayInputStream(csv)));
+
+    verify(repository, never()).swapShadowTable();
+  }
+
+  @Test
+  void 全角の数字や成分表の記号が数値に変換され食品名はそのまま登録されること() {
+    NutritionFactRow actual = NutritionFactImportService.toRow(
+        List.of("０１", " ０１００１ ", "０００１", "アマランサス　玄穀", "３４３", "(0.1)", "Tr", "-", ""),
+        2);
+
+    assertThat(actual.getFoodCategory(), is("01"));
+    assertThat(actual.getFoodNumber(), is("01001"));
+    assertThat(actual.getIndexNumber(), is("0001"));
+    assertThat(actual.getName(), is("アマランサス　玄穀"));
+    assertThat(actual.getKcal(), is(343.0));
+    assertThat(actual.getProtein(), is(0.1));
+    assertThat(actual.getFat(), is(0.0));
+    assertThat(actual.getCarbohydrates(), is(nullValue()));
+    assertThat(actual.getSce(), is(nullValue()));
+  }
+
+  @Test
+  void 列の数が異なる行の場合に例外がスローされること() {
+    assertThrows(IllegalArgumentCustomException.class,
+        () -> NutritionFactImportService.toRow(List.of("01", "01001", "0001"), 2));
+  }
+
+  private static InputStream toInputStream(String csv) {
+    return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+  }
+
+}
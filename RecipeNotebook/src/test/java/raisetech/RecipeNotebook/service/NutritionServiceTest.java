@@ -0,0 +1,135 @@
+package raisetech.RecipeNotebook.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import raisetech.RecipeNotebook.data.Ingredient;
+import raisetech.RecipeNotebook.data.NutritionFact;
+import raisetech.RecipeNotebook.data.Recipe;
+import raisetech.RecipeNotebook.domain.IngredientNutrition;
+import raisetech.RecipeNotebook.domain.RecipeDetail;
+import raisetech.RecipeNotebook.domain.RecipeNutrition;
+import raisetech.RecipeNotebook.repository.NutritionFactRepository;
+
+@ExtendWith(MockitoExtension.class)
+class NutritionServiceTest {
+
+  @Mock
+  private NutritionFactRepository repository;
+
+  private NutritionCatalog nutritionCatalog;
+
+  private NutritionService sut;
+
+  @BeforeEach
+  void setUp() {
+    when(repository.findAll()).thenReturn(List.of(
+        new NutritionFact("03003", "（砂糖類）　車糖　上白糖", 391, 0, 0, 99.3, 0),
+        new NutritionFact("06153", "（たまねぎ類）　たまねぎ　りん茎　生", 33, 1.0, 0.1, 8.4, 0),
+        new NutritionFact("06156", "（たまねぎ類）　赤たまねぎ　りん茎　生", 34, 0.9, 0.1, 9.0, 0),
+        new NutritionFact("12004", "鶏卵　全卵　生", 142, 12.2, 10.2, 0.4, 0.4),
+        new NutritionFact("12005", "鶏卵　全卵　ゆで", 134, 12.5, 10.4, 0.3, 0.3),
+        new NutritionFact("14006", "（植物油脂類）　調合油", 886, 0, 100, 0, 0),
+        new NutritionFact("17007", "＜調味料類＞　（しょうゆ類）　こいくちしょうゆ", 76, 7.7, 0, 7.9,
+            14.5)));
+    nutritionCatalog = new NutritionCatalog(repository, 100);
+    nutritionCatalog.load();
+    sut = new NutritionService(nutritionCatalog);
+  }
+
+  @Test
+  void 材料の分量を重さに換算してレシピ全体と1人分の栄養成分が計算されること() {
+    RecipeDetail recipeDetail = createRecipeDetail("2人分", List.of(
+        new Ingredient(1, 1, "卵", "3個", false),
+        new Ingredient(2, 1, "醤油", "大さじ1/2", false),
+        new Ingredient(3, 1, "砂糖", "大さじ1", false),
+        new Ingredient(4, 1, "水", null, false)));
+
+    RecipeNutrition actual = sut.calculate(recipeDetail);
+
+    assertThat(actual.getRecipeId(), is(1));
+    assertThat(actual.getServings(), is(2.0));
+    assertThat(actual.isComplete(), is(true));
+    assertThat(actual.getIngredients().stream().map(IngredientNutrition::getGrams).toList(),
+        contains(150.0, 9.0, 9.0, null));
+    assertThat(actual.getTotal().getKcal(), is(255.0));
+    assertThat(actual.getTotal().getProtein(), is(19.0));
+    assertThat(actual.getTotal().getCarbohydrates(), is(10.2));
+    assertThat(actual.getPerServing().getKcal(), is(127.5));
+    assertThat(actual.getPerServing().getProtein(), is(9.5));
+  }
+
+  @Test
+  void 食品が見つからない材料や分量を換算できない材料は合計に含めず不完全な計算結果となること() {
+    RecipeDetail recipeDetail = createRecipeDetail("1人分", List.of(
+        new Ingredient(1, 1, "卵", "1個", false),
+        new Ingredient(2, 1, "サラダ油", "適量", false),
+        new Ingredient(3, 1, "謎の調味料", "10g", false)));
+
+    RecipeNutrition actual = sut.calculate(recipeDetail);
+
+    assertThat(actual.isComplete(), is(false));
+    assertThat(actual.getTotal().getKcal(), is(71.0));
+    IngredientNutrition oil = actual.getIngredients().get(1);
+    assertThat(oil.getFoodNumber(), is("14006"));
+    assertThat(oil.getNutrients(), is(nullValue()));
+    IngredientNutrition unknown = actual.getIngredients().get(2);
+    assertThat(unknown.getFoodNumber(), is(nullValue()));
+    assertThat(unknown.isResolved(), is(false));
+  }
+
+  @Test
+  void アレンジの材料は計算に含めず何人分かが不明の場合は1人分の栄養成分がnullになること() {
+    RecipeDetail recipeDetail = createRecipeDetail(null, List.of(
+        new Ingredient(1, 1, "卵", "1個", false),
+        new Ingredient(2, 1, "砂糖", "大さじ1", true)));
+
+    RecipeNutrition actual = sut.calculate(recipeDetail);
+
+    assertThat(actual.getIngredients().size(), is(1));
+    assertThat(actual.getTotal().getKcal(), is(71.0));
+    assertThat(actual.getServings(), is(nullValue()));
+    assertThat(actual.getPerServing(), is(nullValue()));
+  }
+
+  @Test
+  void グループの記号やカタカナとひらがなの違いを正規化して食品が引かれること() {
+    assertThat(nutritionCatalog.find("A砂糖").nutritionFact().getFoodNumber(), is("03003"));
+    assertThat(nutritionCatalog.find("B醤油").nutritionFact().getFoodNumber(), is("17007"));
+    assertThat(nutritionCatalog.find("☆タマネギ").nutritionFact().getFoodNumber(), is("06153"));
+    assertThat(nutritionCatalog.find("(A)しょうゆ").density(), is(1.2));
+  }
+
+  @Test
+  void 標準の材料名にない材料は類似した食品名の語から掲載順で先の食品が使用されること() {
+    assertThat(nutritionCatalog.find("こいくちしょう油").nutritionFact().getFoodNumber(),
+        is("17007"));
+    assertThat(nutritionCatalog.find("赤玉ねぎ").nutritionFact().getFoodNumber(), is("06156"));
+  }
+
+  @Test
+  void 標準の材料名にない材料は食品名の先頭の語と一致する掲載順で先の食品が使用されること() {
+    assertThat(nutritionCatalog.find("たまねぎ").nutritionFact().getFoodNumber(), is("06153"));
+    assertThat(nutritionCatalog.find("赤たまねぎ").nutritionFact().getFoodNumber(), is("06156"));
+    assertThat(nutritionCatalog.find("こいくちしょうゆ").density(), is(nullValue()));
+    assertThat(nutritionCatalog.find("ｻﾗﾀﾞ油").nutritionFact().getFoodNumber(), is("14006"));
+    assertThat(nutritionCatalog.find("鶏"), is(nullValue()));
+  }
+
+  private static RecipeDetail createRecipeDetail(String servings, List<Ingredient> ingredients) {
+    Recipe recipe = new Recipe(1, 1, "卵焼き", null, null, servings, null, false,
+        LocalDateTime.now(), LocalDateTime.now());
+    return new RecipeDetail(recipe, ingredients, List.of());
+  }
+
+}
@@ -0,0 +1,161 @@
+package raisetech.RecipeNotebook.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import raisetech.RecipeNotebook.data.Ingredient;
+import raisetech.RecipeNotebook.data.Recipe;
+import raisetech.RecipeNotebook.data.RecipeNutritionSummary;
+import raisetech.RecipeNotebook.domain.Nutrients;
+import raisetech.RecipeNotebook.domain.RecipeDetail;
+import raisetech.RecipeNotebook.domain.RecipeNutrition;
+import raisetech.RecipeNotebook.domain.RecipePage;
+import raisetech.RecipeNotebook.domain.RecipeSearchCriteria;
+import raisetech.RecipeNotebook.domain.RecipeSummary;
+import raisetech.RecipeNotebook.repository.RecipeNutritionRepository;
+import raisetech.RecipeNotebook.repository.RecipeRepository;
+
+@ExtendWith(MockitoExtension.class)
+class NutritionSummaryServiceTest {
+
+  @Mock
+  private RecipeNutritionRepository nutritionRepository;
+
+  @Mock
+  private RecipeRepository recipeRepository;
+
+  @Mock
+  private NutritionService nutritionService;
+
+  private final RecipeSearchCache recipeSearchCache =
+      new RecipeSearchCache(new SimpleMeterRegistry(), 1_000_000);
+
+  private NutritionSummaryService sut;
+
+  @BeforeEach
+  void setUp() {
+    sut = new NutritionSummaryService(nutritionRepository, recipeRepository, nutritionService,
+        recipeSearchCache, new SyncTaskExecutor(), true, 2);
+  }
+
+  @Test
+  void 集計のないレシピをレシピIDの順に一定件数ずつ計算し既存の集計を上書きせずに登録すること() {
+    List<Recipe> firstBatch = List.of(createRecipe(1), createRecipe(3));
+    List<Recipe> secondBatch = List.of(createRecipe(5));
+    when(nutritionRepository.getRecipesForNutrition(0, false, 2)).thenReturn(firstBatch);
+    when(nutritionRepository.getRecipesForNutrition(3, false, 2)).thenReturn(secondBatch);
+    when(recipeRepository.getIngredientsByRecipeIds(List.of(1, 3))).thenReturn(
+        List.of(new Ingredient(1, 1, "卵", "1個", false)));
+    when(nutritionService.calculate(any(RecipeDetail.class))).thenAnswer(invocation ->
+        createNutrition(invocation.<RecipeDetail>getArgument(0).getRecipe().getId(), 2.0));
+
+    int actual = sut.backfill(false);
+
+    assertThat(actual, is(3));
+    verify(recipeRepository).getIngredientsByRecipeIds(List.of(1, 3));
+    verify(recipeRepository).getIngredientsByRecipeIds(List.of(5));
+    verify(nutritionRepository, times(2)).insertRecipeNutritionsIfAbsent(anyList());
+    verify(nutritionRepository, never()).upsertRecipeNutritions(anyList());
+  }
+
+  @Test
+  void 集計を保存するとレシピの所有者の栄養成分で絞り込んだ検索結果とETagが変わること() {
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria();
+    criteria.setMaxKcal(500.0);
+    criteria.normalize();
+    // 集計テーブルを栄養成分で絞り込む検索の代わりに、保存された集計のレシピを返す
+    List<RecipeSummary> storedSummaries = new ArrayList<>();
+    Supplier<RecipePage<RecipeSummary>> search =
+        () -> new RecipePage<>(List.copyOf(storedSummaries), null);
+    when(nutritionRepository.getRecipesForNutrition(0, false, 2))
+        .thenReturn(List.of(createRecipe(1)));
+    when(nutritionService.calculate(any(RecipeDetail.class)))
+        .thenReturn(createNutrition(1, 2.0));
+    doAnswer(invocation -> storedSummaries.add(
+        new RecipeSummary(1, "卵焼き", null, false, null, null, 1)))
+        .when(nutritionRepository).insertRecipeNutritionsIfAbsent(anyList());
+
+    RecipePage<RecipeSummary> before = recipeSearchCache.getRecipeSummaries(1, criteria, search);
+    String eTagBefore = recipeSearchCache.recipeSummariesETag(1, criteria);
+    sut.backfill(false);
+    RecipePage<RecipeSummary> after = recipeSearchCache.getRecipeSummaries(1, criteria, search);
+
+    assertThat(before.getContent(), hasSize(0));
+    assertThat(after.getContent(), hasSize(1));
+    assertThat(recipeSearchCache.recipeSummariesETag(1, criteria), is(not(eTagBefore)));
+  }
+
+  @Test
+  void 集計済みのレシピも計算し直す場合は計算日時が古い既存の集計のみ上書きすること() {
+    when(nutritionRepository.getRecipesForNutrition(0, true, 2))
+        .thenReturn(List.of(createRecipe(1)));
+    when(nutritionService.calculate(any(RecipeDetail.class)))
+        .thenReturn(createNutrition(1, 2.0));
+
+    sut.schedule(true);
+
+    verify(nutritionRepository).upsertRecipeNutritionsIfOutdated(anyList());
+    verify(nutritionRepository, never()).upsertRecipeNutritions(anyList());
+    verify(nutritionRepository, never()).insertRecipeNutritionsIfAbsent(anyList());
+  }
+
+  @Test
+  void レシピに紐づく材料を取得して集計を計算し直すこと() {
+    Recipe recipe = createRecipe(1);
+    when(recipeRepository.getIngredients(1)).thenReturn(List.of());
+    when(nutritionService.calculate(any(RecipeDetail.class)))
+        .thenReturn(createNutrition(1, 2.0));
+
+    sut.refresh(recipe);
+
+    verify(recipeRepository, never()).getRecipe(anyInt());
+    verify(nutritionRepository).upsertRecipeNutritions(anyList());
+  }
+
+  @Test
+  void 何人分かが不明の場合は1人分の値にレシピ全体の値が使用されること() {
+    LocalDateTime calculatedAt = LocalDateTime.parse("2024-10-01T12:00:00");
+
+    RecipeNutritionSummary actual =
+        NutritionSummaryService.summaryOf(createNutrition(1, null), calculatedAt);
+
+    assertThat(actual.getServings(), is((Double) null));
+    assertThat(actual.getKcal(), is(200.0));
+    assertThat(actual.getServingKcal(), is(200.0));
+    assertThat(actual.getServingProtein(), is(10.0));
+    assertThat(actual.getCalculatedAt(), is(calculatedAt));
+  }
+
+  private static Recipe createRecipe(int id) {
+    return new Recipe(id, 1, "卵焼き", null, null, "2人分", null, false,
+        LocalDateTime.now(), LocalDateTime.now());
+  }
+
+  private static RecipeNutrition createNutrition(int recipeId, Double servings) {
+    Nutrients total = new Nutrients(200, 10, 8, 20, 1);
+    Nutrients perServing = servings == null ? null : new Nutrients(100, 5, 4, 10, 0.5);
+    return new RecipeNutrition(recipeId, servings, total, perServing, true, List.of());
+  }
+
+}
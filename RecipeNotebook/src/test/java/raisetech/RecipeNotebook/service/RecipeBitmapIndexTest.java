@@ -0,0 +1,94 @@
+package raisetech.RecipeNotebook.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import raisetech.RecipeNotebook.domain.RecipeCursor;
+
+class RecipeBitmapIndexTest {
+
+  private final RecipeBitmapIndex<Integer, List<Integer>> sut =
+      new RecipeBitmapIndex<>(ArrayList::new, keys -> keys);
+
+  @Test
+  void キーに索引したレシピのIDが取得できること() {
+    put(1, 10, 20);
+    put(2, 20);
+
+    assertThat(sut.recipeIdsOf(sut.postingOf(20)), containsInAnyOrder(1, 2));
+    assertThat(sut.recipeIdsOf(sut.postingOf(10)), contains(1));
+    assertThat(sut.recipeIdsOf(sut.postingOf(999)), is(empty()));
+    assertThat(sut.recipeIds(), containsInAnyOrder(1, 2));
+  }
+
+  @Test
+  void 削除したレシピは検索結果に含まれず連番が再利用されること() {
+    put(1, 10);
+    put(2, 10);
+
+    sut.remove(1);
+    put(3, 30);
+
+    assertThat(sut.recipeIdsOf(sut.postingOf(10)), contains(2));
+    assertThat(sut.recipeIdsOf(sut.postingOf(30)), contains(3));
+    assertThat(sut.findOrdinal(1), is(nullValue()));
+    assertThat(sut.capacity(), is(2));
+  }
+
+  @Test
+  void 登録と削除を繰り返しても割り当て済みの連番が増えないこと() {
+    for (int recipeId = 1; recipeId <= 1000; recipeId++) {
+      put(recipeId, 10);
+      sut.remove(recipeId);
+    }
+
+    assertThat(sut.capacity(), is(1));
+    assertThat(sut.recipeIds(), is(empty()));
+    assertThat(sut.postingOf(10).isEmpty(), is(true));
+  }
+
+  @Test
+  void 索引を解除するとレシピの値から求めたキーのビットマップから除かれること() {
+    int ordinal = put(1, 10, 20);
+
+    sut.unindex(ordinal);
+
+    assertThat(sut.postingOf(10).isEmpty(), is(true));
+    assertThat(sut.postingOf(20).isEmpty(), is(true));
+    assertThat(sut.findOrdinal(1), is(ordinal));
+  }
+
+  @Test
+  void レシピの位置が作成日時とIDの順に作成日時のないレシピを先頭にして取得できること() {
+    LocalDateTime createdAt = LocalDateTime.parse("2024-09-22T17:00:00");
+    sut.ordinalOf(1, createdAt.plusDays(1));
+    sut.ordinalOf(2, createdAt);
+    sut.ordinalOf(3, createdAt);
+    sut.ordinalOf(4, null);
+
+    List<RecipeCursor> actual = sut.positionsOf(Set.of(1, 2, 3, 4, 999), null, 10);
+
+    assertThat(actual.stream().map(RecipeCursor::getId).toList(), contains(4, 2, 3, 1));
+    assertThat(sut.positionsOf(Set.of(1, 2, 3, 4), new RecipeCursor(createdAt, 2), 1).stream()
+        .map(RecipeCursor::getId).toList(), contains(3));
+  }
+
+  private int put(int recipeId, Integer... keys) {
+    int ordinal = sut.ordinalOf(recipeId, LocalDateTime.parse("2024-09-22T17:00:00"));
+    for (int key : keys) {
+      sut.valueOf(ordinal).add(key);
+      sut.index(key, ordinal);
+    }
+    return ordinal;
+  }
+
+}
@@ -0,0 +1,95 @@
+package raisetech.RecipeNotebook.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.Test;
+import raisetech.RecipeNotebook.data.Ingredient;
+import raisetech.RecipeNotebook.data.Instruction;
+import raisetech.RecipeNotebook.data.Recipe;
+import raisetech.RecipeNotebook.domain.RecipeDetail;
+
+class RecipeDetailCacheTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final RecipeDetailCache sut = new RecipeDetailCache(meterRegistry, 1_000_000);
+
+  private final AtomicInteger loadCount = new AtomicInteger();
+
+  private final IntFunction<RecipeDetail> loader = id -> {
+    loadCount.incrementAndGet();
+    return createRecipeDetail(id);
+  };
+
+  @Test
+  void キャッシュにないレシピ詳細情報のみ読み込まれヒットとミスの件数がメトリクスに記録されること() {
+    sut.get(1, loader);
+    sut.get(1, loader);
+    sut.get(2, loader);
+
+    assertThat(loadCount.get(), is(2));
+    assertThat(meterRegistry.get("cache.gets").tag("cache", "recipeDetail").tag("result", "hit")
+        .functionCounter().count(), is(1.0));
+    assertThat(meterRegistry.get("cache.gets").tag("cache", "recipeDetail").tag("result", "miss")
+        .functionCounter().count(), is(2.0));
+  }
+
+  @Test
+  void 削除したレシピ詳細情報は次の取得で読み込み直されること() {
+    sut.get(1, loader);
+    sut.evict(1);
+    sut.get(1, loader);
+
+    assertThat(loadCount.get(), is(2));
+  }
+
+  @Test
+  void 取得したレシピ詳細情報と読み込み元のオブジェクトを書き換えてもキャッシュの内容が変わらないこと() {
+    RecipeDetail loaded = createRecipeDetail(1);
+    RecipeDetail first = sut.get(1, id -> loaded);
+    first.getRecipe().setName("書き換えた名前");
+    first.getInstructions().clear();
+    loaded.getIngredients().getFirst().setName("書き換えた材料");
+
+    RecipeDetail actual = sut.get(1, loader);
+
+    assertThat(actual.getRecipe().getName(), is("レシピ1"));
+    assertThat(actual.getRecipe().getVersion(), is(3));
+    assertThat(actual.getIngredients().getFirst().getName(), is("材料1"));
+    assertThat(actual.getInstructions().size(), is(1));
+  }
+
+  @Test
+  void サイズの上限を超えた場合にエントリーが追い出されメトリクスに記録されること() {
+    SimpleMeterRegistry smallCacheMeterRegistry = new SimpleMeterRegistry();
+    RecipeDetailCache smallCache = new RecipeDetailCache(smallCacheMeterRegistry, 1_000);
+
+    for (int id = 1; id <= 50; id++) {
+      smallCache.get(id, loader);
+    }
+    smallCache.cleanUp();
+
+    double evictions = smallCacheMeterRegistry.get("cache.evictions").tag("cache", "recipeDetail")
+        .functionCounter().count();
+    assertThat(evictions > 0, is(true));
+  }
+
+  private static RecipeDetail createRecipeDetail(int id) {
+    Recipe recipe = new Recipe();
+    recipe.setId(id);
+    recipe.setName("レシピ" + id);
+    recipe.setVersion(3);
+    List<Ingredient> ingredients = new ArrayList<>(
+        List.of(new Ingredient(1, id, "材料1", "1個", false)));
+    List<Instruction> instructions = new ArrayList<>(
+        List.of(new Instruction(1, id, 1, "手順1", false)));
+    return new RecipeDetail(recipe, ingredients, instructions);
+  }
+
+}
@@ -0,0 +1,139 @@
+package raisetech.RecipeNotebook.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import raisetech.RecipeNotebook.domain.RecipePage;
+import raisetech.RecipeNotebook.domain.RecipeSearchCriteria;
+import raisetech.RecipeNotebook.domain.RecipeSummary;
+
+class RecipeSearchCacheTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final RecipeSearchCache sut = new RecipeSearchCache(meterRegistry, 1_000_000);
+
+  private final AtomicInteger loadCount = new AtomicInteger();
+
+  private final Supplier<RecipePage<RecipeSummary>> loader = () -> {
+    loadCount.incrementAndGet();
+    return new RecipePage<>(
+        List.of(new RecipeSummary(1, "レシピ1", "testPath1", false, null, null, 2)), null);
+  };
+
+  @Test
+  void 同じ検索条件の検索結果のみ再利用されヒットとミスの件数がメトリクスに記録されること() {
+    sut.getRecipeSummaries(1, createCriteria(List.of("卵")), loader);
+    sut.getRecipeSummaries(1, createCriteria(List.of("卵")), loader);
+    sut.getRecipeSummaries(1, createCriteria(List.of("水")), loader);
+    sut.getRecipeSummaries(2, createCriteria(List.of("卵")), loader);
+
+    assertThat(loadCount.get(), is(3));
+    assertThat(meterRegistry.get("cache.gets").tag("cache", "recipeSearch").tag("result", "hit")
+        .functionCounter().count(), is(1.0));
+    assertThat(meterRegistry.get("cache.gets").tag("cache", "recipeSearch").tag("result", "miss")
+        .functionCounter().count(), is(3.0));
+  }
+
+  @Test
+  void 世代番号を進めたユーザーの検索結果のみ読み込み直されること() {
+    sut.getRecipeSummaries(1, createCriteria(List.of("卵")), loader);
+    sut.getRecipeSummaries(2, createCriteria(List.of("卵")), loader);
+    sut.invalidate(1);
+    sut.getRecipeSummaries(1, createCriteria(List.of("卵")), loader);
+    sut.getRecipeSummaries(2, createCriteria(List.of("卵")), loader);
+
+    assertThat(loadCount.get(), is(3));
+  }
+
+  @Test
+  void 全体の世代番号を進めると全ユーザーの検索結果が読み込み直されETagが変わること() {
+    RecipeSearchCriteria criteria = createCriteria(List.of("卵"));
+    sut.getRecipeSummaries(1, criteria, loader);
+    sut.getRecipeSummaries(2, criteria, loader);
+    String eTag = sut.recipeSummariesETag(1, criteria);
+
+    sut.invalidateAll();
+    sut.getRecipeSummaries(1, criteria, loader);
+    sut.getRecipeSummaries(2, criteria, loader);
+
+    assertThat(loadCount.get(), is(4));
+    assertThat(sut.recipeSummariesETag(1, criteria).equals(eTag), is(false));
+  }
+
+  @Test
+  void 取得件数の指定がない場合とデフォルトの件数を指定した場合で同じ検索結果が使用されること() {
+    RecipeSearchCriteria criteria = createCriteria(List.of("卵"));
+    RecipeSearchCriteria defaultLimitCriteria = createCriteria(List.of("卵"));
+    defaultLimitCriteria.setLimit(RecipeSearchCriteria.DEFAULT_LIMIT);
+
+    sut.getRecipeSummaries(1, criteria, loader);
+    sut.getRecipeSummaries(1, defaultLimitCriteria, loader);
+
+    assertThat(loadCount.get(), is(1));
+  }
+
+  @Test
+  void 正規化すると同じになる検索条件のETagが一致し世代番号を進めると変わること() {
+    RecipeSearchCriteria criteria = createCriteria(List.of("卵", "水"));
+    RecipeSearchCriteria sameCriteria = createCriteria(List.of(" 水", "卵", "卵"));
+
+    String eTag = sut.recipeSummariesETag(1, criteria);
+
+    assertThat(sut.recipeSummariesETag(1, sameCriteria), is(eTag));
+    assertThat(sut.recipeDetailsETag(1, criteria).equals(eTag), is(false));
+    assertThat(sut.recipeSummariesETag(2, criteria).equals(eTag), is(false));
+    sut.invalidate(1);
+    assertThat(sut.recipeSummariesETag(1, criteria).equals(eTag), is(false));
+  }
+
+  @Test
+  void 正規化するとカテゴリーの条件が同じになる場合に同じ検索結果が使用されること() {
+    RecipeSearchCriteria criteria = createCriteria(List.of("卵"));
+    criteria.setCategoryIds(List.of(4, 1, 4));
+    criteria.normalize();
+    RecipeSearchCriteria sameCriteria = createCriteria(List.of("卵"));
+    sameCriteria.setCategoryIds(List.of(1, 4));
+    sameCriteria.setCategoryMatch(RecipeSearchCriteria.CategoryMatch.ALL);
+    sameCriteria.normalize();
+    RecipeSearchCriteria anyCriteria = createCriteria(List.of("卵"));
+    anyCriteria.setCategoryIds(List.of(1, 4));
+    anyCriteria.setCategoryMatch(RecipeSearchCriteria.CategoryMatch.ANY);
+    anyCriteria.normalize();
+
+    sut.getRecipeSummaries(1, criteria, loader);
+    sut.getRecipeSummaries(1, sameCriteria, loader);
+    sut.getRecipeSummaries(1, anyCriteria, loader);
+
+    assertThat(loadCount.get(), is(2));
+  }
+
+  @Test
+  void サイズの上限を超えた場合にエントリーが追い出されメトリクスに記録されること() {
+    SimpleMeterRegistry smallCacheMeterRegistry = new SimpleMeterRegistry();
+    RecipeSearchCache smallCache = new RecipeSearchCache(smallCacheMeterRegistry, 1_000);
+
+    for (int i = 1; i <= 50; i++) {
+      smallCache.getRecipeSummaries(1, createCriteria(List.of("材料" + i)), loader);
+    }
+    smallCache.cleanUp();
+
+    double evictions = smallCacheMeterRegistry.get("cache.evictions").tag("cache", "recipeSearch")
+        .functionCounter().count();
+    assertThat(evictions > 0, is(true));
+  }
+
+  private static RecipeSearchCriteria createCriteria(List<String> ingredientNames) {
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria(null, null,
+        LocalDate.parse("2024-01-01"), null, null, null, ingredientNames);
+    criteria.normalize();
+    return criteria;
+  }
+
+}
@@ -1,43 +1,73 @@
 package raisetech.RecipeNotebook.service;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static raisetech.RecipeNotebook.domain.RecipeSearchCriteria.DEFAULT_LIMIT;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.multipart.MultipartFile;
+import raisetech.RecipeNotebook.data.Category;
 import raisetech.RecipeNotebook.data.Ingredient;
 import raisetech.RecipeNotebook.data.Instruction;
 import raisetech.RecipeNotebook.data.Recipe;
 import raisetech.RecipeNotebook.data.User;
+import raisetech.RecipeNotebook.domain.RecipeCursor;
+import raisetech.RecipeNotebook.domain.Nutrients;
 import raisetech.RecipeNotebook.domain.RecipeDetail;
+import raisetech.RecipeNotebook.domain.RecipeNutrition;
+import raisetech.RecipeNotebook.domain.RecipePage;
 import raisetech.RecipeNotebook.domain.RecipeSearchCriteria;
+import raisetech.RecipeNotebook.domain.RecipeSearchCriteria.CategoryMatch;
+import raisetech.RecipeNotebook.domain.RecipeSummary;
+import raisetech.RecipeNotebook.domain.RecipeVersion;
+import raisetech.RecipeNotebook.exception.IllegalArgumentCustomException;
 import raisetech.RecipeNotebook.exception.ResourceNotFoundException;
 import raisetech.RecipeNotebook.repository.RecipeRepository;
 
 @ExtendWith(MockitoExtension.class)
 class RecipeServiceTest {
 
+  private static final int FILTER_BATCH_SIZE = 200;
+
   @Mock
   private RecipeRepository repository;
 
@@ -47,46 +77,80 @@ class RecipeServiceTest {
   @Mock
   private FileStorageService fileStorageService;
 
+  @Mock
+  private IngredientSearchIndex ingredientSearchIndex;
+
+  @Mock
+  private CategorySearchIndex categorySearchIndex;
+
+  @Spy
+  private RecipeDetailCache recipeDetailCache =
+      new RecipeDetailCache(new SimpleMeterRegistry(), 1_000_000);
+
+  @Spy
+  private RecipeSearchCache recipeSearchCache =
+      new RecipeSearchCache(new SimpleMeterRegistry(), 1_000_000);
+
+  @Mock
+  private NutritionService nutritionService;
+
+  @Mock
+  private NutritionSummaryService nutritionSummaryService;
+
   @InjectMocks
   private RecipeService sut;
 
   @ParameterizedTest
   @MethodSource("provideSearchRecipeTestCase")
-  void レシピ詳細情報の一覧検索_検索条件に応じたレシピIDが返されかつメソッドが適切に呼び出されること(
-      List<Integer> recipeIds, List<Integer> recipeIdsWithMatchingIngredients,
-      List<Integer> expectedResultIds) {
+  void レシピ詳細情報の一覧検索_材料名のインデックスで絞り込まれたレシピ詳細情報が返されかつメソッドが適切に呼び出されること(
+      Set<Integer> recipeIdsWithMatchingIngredients, List<Integer> expectedResultIds) {
 
     User user = createMockUser();
 
     RecipeSearchCriteria criteria = new RecipeSearchCriteria();
-    List<Recipe> recipes = createMockRecipes(recipeIds);
-    List<Ingredient> ingredients = createMockIngredients(recipeIds);
-    List<Instruction> instructions = createMockInstructions(recipeIds);
+    criteria.setIngredientNames(List.of("卵"));
+    List<Integer> sortedRecipeIds = recipeIdsWithMatchingIngredients.stream().sorted().toList();
+    List<Recipe> recipes = createMockRecipes(expectedResultIds);
+    List<Ingredient> ingredients = createMockIngredients(expectedResultIds);
+    List<Instruction> instructions = createMockInstructions(expectedResultIds);
 
     when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
-    when(repository.getRecipes(user.getId(), criteria)).thenReturn(recipes);
-
-    if (!recipeIds.isEmpty()) {
-      when(repository.getRecipeIdsWithMatchingIngredients(recipeIds,
-          criteria.getIngredientNames())).thenReturn(recipeIdsWithMatchingIngredients);
-
-      for (int i = 0; i < recipeIdsWithMatchingIngredients.size(); i++) {
-        when(repository.getRecipe(anyInt())).thenReturn(recipes.get(i));
-        when(repository.getIngredients(anyInt())).thenReturn(ingredients);
-        when(repository.getInstructions(anyInt())).thenReturn(instructions);
-      }
+    when(ingredientSearchIndex.isEnabled()).thenReturn(true);
+    when(ingredientSearchIndex.findRecipeIds(user.getId(), List.of("卵")))
+        .thenReturn(recipeIdsWithMatchingIngredients);
+    when(ingredientSearchIndex.findRecipePositions(user.getId(),
+        recipeIdsWithMatchingIngredients, null, (DEFAULT_LIMIT + 1) * 2))
+        .thenReturn(positionsOf(sortedRecipeIds));
+    when(repository.getRecipePageByIds(user.getId(), criteria, false, sortedRecipeIds, null,
+        DEFAULT_LIMIT + 1)).thenReturn(recipes);
+
+    if (!expectedResultIds.isEmpty()) {
+      when(repository.getIngredientsByRecipeIds(expectedResultIds)).thenReturn(ingredients);
+      when(repository.getInstructionsByRecipeIds(expectedResultIds)).thenReturn(instructions);
     }
 
-    List<RecipeDetail> actual = sut.searchRecipeList(criteria);
+    List<RecipeDetail> actual = sut.searchRecipeList(criteria).getContent();
 
     assertThat(actual, hasSize(expectedResultIds.size()));
-
-    verify(repository, times(1)).getRecipes(user.getId(), criteria);
-    if (!recipeIds.isEmpty()) {
-      verify(repository, times(1)).getRecipeIdsWithMatchingIngredients(recipeIds,
-          criteria.getIngredientNames());
+    for (int i = 0; i < actual.size(); i++) {
+      RecipeDetail recipeDetail = actual.get(i);
+      int expectedId = expectedResultIds.get(i);
+      assertThat(recipeDetail.getRecipe().getId(), is(expectedId));
+      assertThat(recipeDetail.getIngredients(), hasSize(2));
+      assertThat(recipeDetail.getInstructions(), hasSize(2));
+      recipeDetail.getIngredients()
+          .forEach(ingredient -> assertThat(ingredient.getRecipeId(), is(expectedId)));
+      recipeDetail.getInstructions()
+          .forEach(instruction -> assertThat(instruction.getRecipeId(), is(expectedId)));
     }
 
+    verify(repository, times(1)).getRecipePageByIds(user.getId(), criteria, false,
+        sortedRecipeIds, null, DEFAULT_LIMIT + 1);
+    verify(repository, never()).getRecipePage(anyInt(), any(), anyBoolean(), any(), anyInt());
+    verify(repository, never()).getRecipe(anyInt());
+    verify(repository, never()).getIngredients(anyInt());
+    verify(repository, never()).getInstructions(anyInt());
+
   }
 
   /**
@@ -96,9 +160,355 @@ class RecipeServiceTest {
    */
   private static Stream<Arguments> provideSearchRecipeTestCase() {
     return Stream.of(
-        Arguments.of(List.of(1, 2), List.of(1, 2), List.of(1, 2)),
-        Arguments.of(List.of(1, 2), List.of(1), List.of(1)),
-        Arguments.of(List.of(1, 2), List.of(), List.of()));
+        Arguments.of(Set.of(1, 2), List.of(1, 2)),
+        Arguments.of(Set.of(1), List.of(1)),
+        // インデックスで合致しても、他の検索条件に合致しない場合はSQLで除外される
+        Arguments.of(Set.of(3), List.of()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 10, 500})
+  void レシピ詳細情報の一覧検索_検索結果の件数にかかわらずリポジトリの呼び出し回数が一定であること(
+      int recipeCount) {
+    User user = createMockUser();
+
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria();
+    criteria.setLimit(recipeCount);
+    List<Integer> recipeIds = IntStream.rangeClosed(1, recipeCount).boxed().toList();
+
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+    when(repository.getRecipePage(user.getId(), criteria, false, null, recipeCount + 1))
+        .thenReturn(createMockRecipes(recipeIds));
+    when(repository.getIngredientsByRecipeIds(recipeIds))
+        .thenReturn(createMockIngredients(recipeIds));
+    when(repository.getInstructionsByRecipeIds(recipeIds))
+        .thenReturn(createMockInstructions(recipeIds));
+
+    List<RecipeDetail> actual = sut.searchRecipeList(criteria).getContent();
+
+    assertThat(actual, hasSize(recipeCount));
+    assertThat(mockingDetails(repository).getInvocations(), hasSize(3));
+  }
+
+  @Test
+  void レシピ詳細情報の一覧検索_検索条件に合致するレシピがない場合に材料と調理手順を取得しないこと() {
+    User user = createMockUser();
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria();
+
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+    when(repository.getRecipePage(user.getId(), criteria, false, null, DEFAULT_LIMIT + 1))
+        .thenReturn(List.of());
+
+    RecipePage<RecipeDetail> actual = sut.searchRecipeList(criteria);
+
+    assertThat(actual.getContent(), hasSize(0));
+    assertThat(actual.getNextCursor(), is(nullValue()));
+    verify(repository, never()).getIngredientsByRecipeIds(anyList());
+    verify(repository, never()).getInstructionsByRecipeIds(anyList());
+  }
+
+  @Test
+  void レシピ詳細情報の一覧検索_取得件数を超えるレシピがある場合に次のページのカーソルが返され続きから検索できること() {
+    User user = createMockUser();
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria();
+    criteria.setLimit(2);
+    List<Recipe> recipes = createMockRecipes(List.of(1, 2, 3));
+    recipes.forEach(recipe -> recipe.setCreatedAt(
+        LocalDateTime.parse("2024-09-22T17:00:00").plusDays(recipe.getId())));
+
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+    when(repository.getRecipePage(user.getId(), criteria, false, null, 3)).thenReturn(recipes);
+    when(repository.getIngredientsByRecipeIds(List.of(1, 2)))
+        .thenReturn(createMockIngredients(List.of(1, 2)));
+    when(repository.getInstructionsByRecipeIds(List.of(1, 2)))
+        .thenReturn(createMockInstructions(List.of(1, 2)));
+
+    RecipePage<RecipeDetail> actual = sut.searchRecipeList(criteria);
+
+    assertThat(actual.getContent(), hasSize(2));
+    assertThat(actual.getNextCursor(), is(notNullValue()));
+
+    RecipeCursor nextCursor = RecipeCursor.decode(actual.getNextCursor());
+    assertThat(nextCursor.getId(), is(2));
+    assertThat(nextCursor.getCreatedAt(), is(recipes.get(1).getCreatedAt()));
+  }
+
+  @Test
+  void レシピ概要の一覧検索_材料名に合致するレシピ概要のみが返され材料と調理手順の取得が行われないこと() {
+    User user = createMockUser();
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria();
+    criteria.setIngredientNames(List.of("卵"));
+    List<RecipeSummary> summaries = List.of(
+        new RecipeSummary(2, "name2", "testPath2", true, null, null, 3));
+
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+    when(ingredientSearchIndex.isEnabled()).thenReturn(true);
+    when(ingredientSearchIndex.findRecipeIds(user.getId(), List.of("卵"))).thenReturn(Set.of(2));
+    when(ingredientSearchIndex.findRecipePositions(user.getId(), Set.of(2), null,
+        (DEFAULT_LIMIT + 1) * 2)).thenReturn(positionsOf(List.of(2)));
+    when(repository.getRecipeSummaryPageByIds(user.getId(), criteria, false, List.of(2), null,
+        DEFAULT_LIMIT + 1)).thenReturn(summaries);
+
+    RecipePage<RecipeSummary> actual = sut.searchRecipeSummaryList(criteria);
+
+    assertThat(actual.getContent(), hasSize(1));
+    assertThat(actual.getContent().getFirst().getId(), is(2));
+    assertThat(actual.getNextCursor(), is(nullValue()));
+    verify(repository, never()).getIngredientsByRecipeIds(anyList());
+    verify(repository, never()).getInstructionsByRecipeIds(anyList());
+    verify(repository, never()).getIngredients(anyInt());
+    verify(repository, never()).getInstructions(anyInt());
+  }
+
+  @Test
+  void レシピ概要の一覧検索_合致するレシピのIDを並び順に取得件数の2倍まで指定し1回の問い合わせで1ページ分と次のページのカーソルを取得すること() {
+    User user = createMockUser();
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria();
+    criteria.setLimit(1);
+    criteria.setIngredientNames(List.of("卵"));
+    List<RecipeSummary> summaries = List.of(
+        new RecipeSummary(7, "name7", "testPath7", false,
+            LocalDateTime.parse("2024-09-22T17:00:00"), null, 2),
+        new RecipeSummary(3, "name3", "testPath3", false,
+            LocalDateTime.parse("2024-09-23T17:00:00"), null, 1));
+
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+    when(ingredientSearchIndex.isEnabled()).thenReturn(true);
+    when(ingredientSearchIndex.findRecipeIds(user.getId(), List.of("卵")))
+        .thenReturn(Set.of(7, 3));
+    // 合致するレシピを作成日時とIDの順に並べ、先頭から取得件数の2倍までのレシピIDで絞り込む
+    when(ingredientSearchIndex.findRecipePositions(user.getId(), Set.of(7, 3), null, 4))
+        .thenReturn(summaries.stream().map(RecipeCursor::of).toList());
+    when(repository.getRecipeSummaryPageByIds(user.getId(), criteria, false, List.of(7, 3),
+        null, 2)).thenReturn(summaries);
+
+    RecipePage<RecipeSummary> actual = sut.searchRecipeSummaryList(criteria);
+
+    assertThat(actual.getContent().stream().map(RecipeSummary::getId).toList(), contains(7));
+    assertThat(RecipeCursor.decode(actual.getNextCursor()).getId(), is(7));
+    // レシピ一覧を順に読み進めず、1回の問い合わせのみで取得する
+    verify(repository, never()).getRecipeSummaryPage(anyInt(), any(), anyBoolean(), any(),
+        anyInt());
+    assertThat(mockingDetails(repository).getInvocations(), hasSize(1));
+  }
+
+  @Test
+  void レシピ詳細情報の一覧検索_レシピIDで絞り込んだレシピが他の検索条件で除かれ件数が不足する場合に続きのレシピを読み進めて1ページ分がそろうこと() {
+    User user = createMockUser();
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria();
+    criteria.setLimit(2);
+    criteria.setIngredientNames(List.of("卵"));
+    List<Integer> positionIds = IntStream.rangeClosed(1001, 1006).boxed().toList();
+    List<Recipe> nextBatch = createMockRecipes(List.of(1007, 1008, 1009, 1010));
+    nextBatch.forEach(recipe -> recipe.setCreatedAt(
+        LocalDateTime.parse("2024-09-22T17:00:00").plusMinutes(recipe.getId())));
+
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+    when(ingredientSearchIndex.isEnabled()).thenReturn(true);
+    Set<Integer> matchingRecipeIds = new HashSet<>(positionIds);
+    matchingRecipeIds.addAll(Set.of(1008, 1010));
+    IntStream.rangeClosed(2001, 3000).forEach(matchingRecipeIds::add);
+    when(ingredientSearchIndex.findRecipeIds(user.getId(), List.of("卵")))
+        .thenReturn(matchingRecipeIds);
+    // 合致するレシピが多くても、SQLに渡すレシピIDは取得件数の2倍まで
+    when(ingredientSearchIndex.findRecipePositions(user.getId(), matchingRecipeIds, null, 6))
+        .thenReturn(positionsOf(positionIds));
+    // 他の検索条件で除かれ、1件しか取得できない
+    when(repository.getRecipePageByIds(user.getId(), criteria, false, positionIds, null, 3))
+        .thenReturn(createMockRecipes(List.of(1003)));
+    when(repository.getRecipePage(eq(user.getId()), eq(criteria), eq(false),
+        any(RecipeCursor.class), eq(FILTER_BATCH_SIZE))).thenReturn(nextBatch);
+    when(repository.getIngredientsByRecipeIds(List.of(1003, 1008)))
+        .thenReturn(createMockIngredients(List.of(1003, 1008)));
+    when(repository.getInstructionsByRecipeIds(List.of(1003, 1008)))
+        .thenReturn(createMockInstructions(List.of(1003, 1008)));
+
+    RecipePage<RecipeDetail> actual = sut.searchRecipeList(criteria);
+
+    assertThat(actual.getContent().stream().map(detail -> detail.getRecipe().getId()).toList(),
+        contains(1003, 1008));
+    assertThat(RecipeCursor.decode(actual.getNextCursor()).getId(), is(1008));
+    // 取り出した最後のレシピの位置から続きを読み進める
+    ArgumentCaptor<RecipeCursor> cursorCaptor = ArgumentCaptor.forClass(RecipeCursor.class);
+    verify(repository, times(1)).getRecipePage(anyInt(), any(), anyBoolean(),
+        cursorCaptor.capture(), anyInt());
+    assertThat(cursorCaptor.getValue().getId(), is(1006));
+  }
+
+  @Test
+  void レシピ詳細情報の一覧検索_材料名に合致するレシピがない場合にレシピの検索を行わないこと() {
+    User user = createMockUser();
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria();
+    criteria.setIngredientNames(List.of("存在しない材料"));
+
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+    when(ingredientSearchIndex.isEnabled()).thenReturn(true);
+    when(ingredientSearchIndex.findRecipeIds(user.getId(), List.of("存在しない材料")))
+        .thenReturn(Set.of());
+
+    RecipePage<RecipeDetail> actual = sut.searchRecipeList(criteria);
+
+    assertThat(actual.getContent(), hasSize(0));
+    assertThat(actual.getNextCursor(), is(nullValue()));
+    assertThat(mockingDetails(repository).getInvocations(), hasSize(0));
+  }
+
+  @Test
+  void レシピ概要の一覧検索_材料名とカテゴリーの両方に合致するレシピ概要のみが返されること() {
+    User user = createMockUser();
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria();
+    criteria.setIngredientNames(List.of("卵"));
+    criteria.setCategoryIds(List.of(4, 2));
+    List<RecipeSummary> summaries = List.of(
+        new RecipeSummary(2, "name2", "testPath2", true, null, null, 3));
+
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+    when(ingredientSearchIndex.isEnabled()).thenReturn(true);
+    when(ingredientSearchIndex.findRecipeIds(user.getId(), List.of("卵")))
+        .thenReturn(Set.of(1, 2));
+    when(categorySearchIndex.findRecipeIds(user.getId(), List.of(2, 4), CategoryMatch.ALL))
+        .thenReturn(Set.of(2, 3));
+    when(ingredientSearchIndex.findRecipePositions(user.getId(), Set.of(2), null,
+        (DEFAULT_LIMIT + 1) * 2)).thenReturn(positionsOf(List.of(2)));
+    // 材料名とカテゴリーの両方に合致するレシピのIDで絞り込む
+    when(repository.getRecipeSummaryPageByIds(user.getId(), criteria, false, List.of(2), null,
+        DEFAULT_LIMIT + 1)).thenReturn(summaries);
+
+    RecipePage<RecipeSummary> actual = sut.searchRecipeSummaryList(criteria);
+
+    assertThat(actual.getContent().stream().map(RecipeSummary::getId).toList(), contains(2));
+    verify(repository, times(1)).getRecipeSummaryPageByIds(anyInt(), any(), anyBoolean(),
+        anyList(), any(), anyInt());
+  }
+
+  @Test
+  void レシピ詳細情報の一覧検索_カテゴリーに合致するレシピがない場合にレシピの検索を行わないこと() {
+    User user = createMockUser();
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria();
+    criteria.setCategoryIds(List.of(1, 3));
+    criteria.setCategoryMatch(CategoryMatch.ANY);
+
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+    when(categorySearchIndex.findRecipeIds(user.getId(), List.of(1, 3), CategoryMatch.ANY))
+        .thenReturn(Set.of());
+
+    RecipePage<RecipeDetail> actual = sut.searchRecipeList(criteria);
+
+    assertThat(actual.getContent(), hasSize(0));
+    assertThat(mockingDetails(repository).getInvocations(), hasSize(0));
+  }
+
+  @Test
+  void レシピ詳細情報の一覧検索_材料名のインデックスが無効の場合に材料名もSQLで絞り込み1回の問い合わせで1ページ分を取得すること() {
+    User user = createMockUser();
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria();
+    criteria.setLimit(2);
+    criteria.setIngredientNames(List.of("卵"));
+    List<Recipe> recipes = createMockRecipes(List.of(1, 2));
+
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+    when(ingredientSearchIndex.isEnabled()).thenReturn(false);
+    when(repository.getRecipePage(user.getId(), criteria, true, null, 3)).thenReturn(recipes);
+    when(repository.getIngredientsByRecipeIds(List.of(1, 2)))
+        .thenReturn(createMockIngredients(List.of(1, 2)));
+    when(repository.getInstructionsByRecipeIds(List.of(1, 2)))
+        .thenReturn(createMockInstructions(List.of(1, 2)));
+
+    RecipePage<RecipeDetail> actual = sut.searchRecipeList(criteria);
+
+    assertThat(actual.getContent().stream().map(detail -> detail.getRecipe().getId()).toList(),
+        contains(1, 2));
+    assertThat(actual.getNextCursor(), is(nullValue()));
+    verify(repository, times(1)).getRecipePage(anyInt(), any(), anyBoolean(), any(), anyInt());
+    verify(ingredientSearchIndex, never()).findRecipeIds(anyInt(), anyList());
+  }
+
+  @Test
+  void レシピ詳細情報の一覧検索_不正なカーソルを指定した場合に例外がスローされること() {
+    User user = createMockUser();
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria();
+    criteria.setCursor("invalid-cursor");
+
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+
+    assertThrows(IllegalArgumentCustomException.class, () -> sut.searchRecipeList(criteria));
+    verify(repository, never()).getRecipePage(anyInt(), any(), anyBoolean(), any(), anyInt());
+  }
+
+  @Test
+  void レシピ概要の一覧検索_正規化すると同じになる検索条件の2回目はキャッシュから取得しリポジトリを呼び出さないこと() {
+    User user = createMockUser();
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria();
+    criteria.setRecipeNames(List.of(" 焼　", "目玉", "目玉"));
+    RecipeSearchCriteria sameCriteria = new RecipeSearchCriteria();
+    sameCriteria.setRecipeNames(List.of("目玉", "", "焼"));
+    sameCriteria.setCursor(" ");
+    sameCriteria.setLimit(DEFAULT_LIMIT);
+    List<RecipeSummary> summaries = List.of(
+        new RecipeSummary(2, "目玉焼き", "testPath2", false, null, null, 3));
+
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+    when(repository.getRecipeSummaryPage(user.getId(), criteria, false, null, DEFAULT_LIMIT + 1))
+        .thenReturn(summaries);
+
+    RecipePage<RecipeSummary> first = sut.searchRecipeSummaryList(criteria);
+    first.getContent().getFirst().setName("書き換えた名前");
+    RecipePage<RecipeSummary> actual = sut.searchRecipeSummaryList(sameCriteria);
+
+    assertThat(criteria.getRecipeNames(), contains("焼", "目玉"));
+    assertThat(actual.getContent(), hasSize(1));
+    assertThat(actual.getContent().getFirst().getName(), is("目玉焼き"));
+    assertThat(mockingDetails(repository).getInvocations(), hasSize(1));
+  }
+
+  @Test
+  void レシピ概要の一覧検索_レシピの変更後は検索結果のキャッシュが使用されず再検索されること() {
+    User user = createMockUser();
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria();
+
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+    when(repository.getRecipeSummaryPage(user.getId(), criteria, false, null, DEFAULT_LIMIT + 1))
+        .thenReturn(List.of());
+    when(repository.updateFavoriteStatus(1, user.getId(), true)).thenReturn(1);
+
+    sut.searchRecipeSummaryList(criteria);
+    sut.updateFavoriteStatus(1, true);
+    sut.searchRecipeSummaryList(criteria);
+
+    verify(recipeSearchCache, times(1)).invalidate(user.getId());
+    verify(repository, times(2)).getRecipeSummaryPage(user.getId(), criteria, false, null,
+        DEFAULT_LIMIT + 1);
+  }
+
+  @Test
+  void レシピ詳細情報のETag_バージョン情報のみを取得しレシピ詳細情報を組み立てないこと() {
+    RecipeVersion recipeVersion = new RecipeVersion(1,
+        LocalDateTime.parse("2024-09-22T17:00:00"), LocalDateTime.parse("2024-10-22T17:00:00"), 3);
+
+    when(repository.getRecipeVersion(1)).thenReturn(recipeVersion);
+    when(repository.getRecipeVersion(999)).thenReturn(null);
+
+    assertThat(sut.getRecipeDetailETag(1), is(recipeVersion.toETag()));
+    assertThat(sut.getRecipeDetailETag(999), is(nullValue()));
+    assertThat(mockingDetails(repository).getInvocations(), hasSize(2));
+  }
+
+  @Test
+  void レシピ概要一覧のETag_レシピの変更後に値が変わりデータベースへの問い合わせを行わないこと() {
+    User user = createMockUser();
+    RecipeSearchCriteria criteria = new RecipeSearchCriteria();
+
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+    when(repository.updateFavoriteStatus(1, user.getId(), true)).thenReturn(1);
+
+    String before = sut.getRecipeSummaryListETag(criteria);
+    String unchanged = sut.getRecipeSummaryListETag(criteria);
+    sut.updateFavoriteStatus(1, true);
+    String after = sut.getRecipeSummaryListETag(criteria);
+
+    assertThat(unchanged, is(before));
+    assertThat(after.equals(before), is(false));
+    assertThat(mockingDetails(repository).getInvocations(), hasSize(1));
   }
 
   @Test
@@ -113,9 +523,10 @@ class RecipeServiceTest {
 
     RecipeDetail actual = sut.searchRecipeDetail(recipe.getId());
 
-    verify(repository, times(2)).getRecipe(recipe.getId());
+    verify(repository, times(1)).getRecipe(recipe.getId());
     verify(repository, times(1)).getIngredients(recipe.getId());
     verify(repository, times(1)).getInstructions(recipe.getId());
+    assertThat(mockingDetails(repository).getInvocations(), hasSize(3));
 
     assertAll("Multiple assertions",
         () -> assertThat(actual.getRecipe().getId(), is(recipe.getId())), () -> {
@@ -144,6 +555,85 @@ class RecipeServiceTest {
 
   }
 
+  @Test
+  void レシピ詳細情報の検索_2回目以降はキャッシュから取得しリポジトリを呼び出さないこと() {
+    Recipe recipe = createMockRecipes(List.of(1)).getFirst();
+
+    when(repository.getRecipe(recipe.getId())).thenReturn(recipe);
+    when(repository.getIngredients(recipe.getId())).thenReturn(createMockIngredients(List.of(1)));
+    when(repository.getInstructions(recipe.getId()))
+        .thenReturn(createMockInstructions(List.of(1)));
+
+    sut.searchRecipeDetail(recipe.getId());
+    RecipeDetail actual = sut.searchRecipeDetail(recipe.getId());
+
+    assertThat(actual.getRecipe().getId(), is(recipe.getId()));
+    assertThat(mockingDetails(repository).getInvocations(), hasSize(3));
+  }
+
+  @Test
+  void 栄養成分の計算_キャッシュしたレシピ詳細情報から計算されリポジトリを再度呼び出さないこと() {
+    Recipe recipe = createMockRecipes(List.of(1)).getFirst();
+    RecipeNutrition recipeNutrition = new RecipeNutrition(recipe.getId(), 2.0, Nutrients.ZERO,
+        Nutrients.ZERO, true, List.of());
+
+    when(repository.getRecipe(recipe.getId())).thenReturn(recipe);
+    when(repository.getIngredients(recipe.getId())).thenReturn(createMockIngredients(List.of(1)));
+    when(repository.getInstructions(recipe.getId()))
+        .thenReturn(createMockInstructions(List.of(1)));
+    when(nutritionService.calculate(any(RecipeDetail.class))).thenReturn(recipeNutrition);
+
+    sut.searchRecipeDetail(recipe.getId());
+    RecipeNutrition actual = sut.getRecipeNutrition(recipe.getId());
+
+    assertThat(actual, is(recipeNutrition));
+    ArgumentCaptor<RecipeDetail> captor = ArgumentCaptor.forClass(RecipeDetail.class);
+    verify(nutritionService, times(1)).calculate(captor.capture());
+    assertThat(captor.getValue().getRecipe().getId(), is(recipe.getId()));
+    assertThat(mockingDetails(repository).getInvocations(), hasSize(3));
+  }
+
+  @Test
+  void レシピ詳細情報の検索_取得したレシピ詳細情報を書き換えてもキャッシュに影響しないこと() {
+    Recipe recipe = createMockRecipes(List.of(1)).getFirst();
+    recipe.setName("卵焼き");
+
+    when(repository.getRecipe(recipe.getId())).thenReturn(recipe);
+    when(repository.getIngredients(recipe.getId())).thenReturn(createMockIngredients(List.of(1)));
+    when(repository.getInstructions(recipe.getId()))
+        .thenReturn(createMockInstructions(List.of(1)));
+
+    RecipeDetail first = sut.searchRecipeDetail(recipe.getId());
+    first.getRecipe().setName("書き換えた名前");
+    first.getIngredients().clear();
+    recipe.setName("読み込み元の書き換え");
+
+    RecipeDetail actual = sut.searchRecipeDetail(recipe.getId());
+
+    assertThat(actual.getRecipe().getName(), is("卵焼き"));
+    assertThat(actual.getIngredients(), hasSize(2));
+  }
+
+  @Test
+  void レシピ詳細情報の変更_お気に入りの切替後はキャッシュから削除され最新の情報を取得すること() {
+    Recipe recipe = createMockRecipes(List.of(1)).getFirst();
+    int id = recipe.getId();
+    User user = createMockUser();
+
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+    when(repository.getRecipe(id)).thenReturn(recipe);
+    when(repository.getIngredients(id)).thenReturn(createMockIngredients(List.of(1)));
+    when(repository.getInstructions(id)).thenReturn(createMockInstructions(List.of(1)));
+    when(repository.updateFavoriteStatus(id, user.getId(), true)).thenReturn(1);
+
+    sut.searchRecipeDetail(id);
+    sut.updateFavoriteStatus(id, true);
+    sut.searchRecipeDetail(id);
+
+    verify(recipeDetailCache, times(1)).evict(id);
+    verify(repository, times(2)).getRecipe(id);
+  }
+
   @Test
   void レシピ詳細情報の新規登録_リポジトリメソッドの呼び出しと初期情報の登録が適切に行われていること() {
     User user = createMockUser();
@@ -166,8 +656,13 @@ class RecipeServiceTest {
     verify(fileStorageService, times(1)).storeFile(any(MultipartFile.class));
     verify(customUserDetailsService, times(1)).getLoggedInUser();
     verify(repository, times(1)).registerRecipe(recipe);
-    verify(repository, times(2)).registerIngredient(any(Ingredient.class));
-    verify(repository, times(2)).registerInstruction(any(Instruction.class));
+    verify(repository, times(1)).registerIngredients(ingredients);
+    verify(repository, times(1)).registerInstructions(instructions);
+    verify(repository, never()).registerIngredient(any(Ingredient.class));
+    verify(repository, never()).registerInstruction(any(Instruction.class));
+    verify(ingredientSearchIndex, times(1)).putRecipe(user.getId(), recipe.getId(), ingredients);
+    verify(nutritionSummaryService, times(1)).refresh(recipeDetail);
+    verify(recipeDetailCache, times(1)).evict(recipe.getId());
 
     assertAll("Multiple assertions",
         () -> assertThat(actualImagePath, is("testPath")),
@@ -187,6 +682,119 @@ class RecipeServiceTest {
 
   }
 
+  @ParameterizedTest
+  @ValueSource(ints = {1, 30, 100})
+  void レシピ詳細情報の新規登録_材料と調理手順の件数にかかわらずリポジトリの呼び出し回数が一定であること(
+      int componentCount) {
+    User user = createMockUser();
+    Recipe recipe = createMockRecipes(List.of(1)).getFirst();
+    List<Ingredient> ingredients = IntStream.rangeClosed(1, componentCount)
+        .mapToObj(i -> new Ingredient(0, 0, "材料" + i, "1個", false))
+        .toList();
+    List<Instruction> instructions = IntStream.rangeClosed(1, componentCount)
+        .mapToObj(i -> new Instruction(0, 0, 0, "手順" + i, false))
+        .toList();
+    RecipeDetail recipeDetail = new RecipeDetail(recipe, ingredients, instructions);
+
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+
+    sut.createRecipeDetail(recipeDetail, null);
+
+    assertThat(mockingDetails(repository).getInvocations(), hasSize(3));
+    verify(repository, times(1)).registerIngredients(ingredients);
+    verify(repository, times(1)).registerInstructions(instructions);
+  }
+
+  @Test
+  void レシピ詳細情報の新規登録_材料と調理手順がない場合に一括登録を行わないこと() {
+    User user = createMockUser();
+    Recipe recipe = createMockRecipes(List.of(1)).getFirst();
+    RecipeDetail recipeDetail = new RecipeDetail(recipe, List.of(), List.of());
+
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+
+    sut.createRecipeDetail(recipeDetail, null);
+
+    verify(repository, times(1)).registerRecipe(recipe);
+    verify(repository, never()).registerIngredients(anyList());
+    verify(repository, never()).registerInstructions(anyList());
+    verify(repository, never()).registerRecipeCategories(anyInt(), anyList());
+  }
+
+  @Test
+  void レシピ詳細情報の新規登録_カテゴリーが一括で登録されインデックスに反映されること() {
+    User user = createMockUser();
+    Recipe recipe = createMockRecipes(List.of(1)).getFirst();
+    List<Category> inputCategories = List.of(new Category(4, null), new Category(2, null));
+    List<Category> categories = List.of(new Category(2, "副菜"), new Category(4, "和食"));
+    RecipeDetail recipeDetail = new RecipeDetail(recipe, List.of(), List.of(), inputCategories);
+
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+    when(categorySearchIndex.resolve(inputCategories)).thenReturn(categories);
+
+    RecipeDetail actual = sut.createRecipeDetail(recipeDetail, null);
+
+    verify(repository, times(1)).registerRecipeCategories(recipe.getId(), List.of(2, 4));
+    verify(categorySearchIndex, times(1)).putRecipe(user.getId(), recipe.getId(), categories);
+    assertThat(actual.getCategories(), is(categories));
+  }
+
+  @Test
+  void レシピ詳細情報の新規登録_存在しないカテゴリーIDの場合に画像とレシピを登録せず例外がスローされること() {
+    User user = createMockUser();
+    Recipe recipe = createMockRecipes(List.of(1)).getFirst();
+    List<Category> inputCategories = List.of(new Category(999, null));
+    RecipeDetail recipeDetail = new RecipeDetail(recipe, List.of(), List.of(), inputCategories);
+
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+    when(categorySearchIndex.resolve(inputCategories))
+        .thenThrow(new ResourceNotFoundException("カテゴリーID「999」は存在しません"));
+
+    assertThrows(ResourceNotFoundException.class,
+        () -> sut.createRecipeDetail(recipeDetail, mock(MultipartFile.class)));
+
+    verify(fileStorageService, never()).storeFile(any());
+    verify(repository, never()).registerRecipe(any());
+  }
+
+  @Test
+  void レシピ詳細情報の更新_カテゴリーを指定した場合に登録済みのカテゴリーが置き換えられること() {
+    Recipe recipe = createMockRecipes(List.of(1)).getFirst();
+    List<Category> inputCategories = List.of(new Category(1, null));
+    List<Category> categories = List.of(new Category(1, "主菜"));
+    RecipeDetail inputRecipeDetail =
+        new RecipeDetail(recipe, List.of(), List.of(), inputCategories);
+
+    when(repository.getRecipe(recipe.getId())).thenReturn(recipe);
+    when(categorySearchIndex.resolve(inputCategories)).thenReturn(categories);
+
+    RecipeDetail actual = sut.updateRecipeDetail(inputRecipeDetail, null);
+
+    InOrder inOrder = inOrder(repository);
+    inOrder.verify(repository).deleteRecipeCategories(recipe.getId());
+    inOrder.verify(repository).registerRecipeCategories(recipe.getId(), List.of(1));
+    verify(categorySearchIndex, times(1)).putRecipe(recipe.getUserId(), recipe.getId(),
+        categories);
+    assertThat(actual.getCategories(), is(categories));
+  }
+
+  @Test
+  void レシピ詳細情報の更新_カテゴリーを指定しない場合に登録済みのカテゴリーが変更されないこと() {
+    Recipe recipe = createMockRecipes(List.of(1)).getFirst();
+    List<Category> categories = List.of(new Category(2, "副菜"));
+    RecipeDetail inputRecipeDetail = new RecipeDetail(recipe, List.of(), List.of());
+
+    when(repository.getRecipe(recipe.getId())).thenReturn(recipe);
+    when(categorySearchIndex.getRecipeCategories(recipe.getId())).thenReturn(categories);
+
+    RecipeDetail actual = sut.updateRecipeDetail(inputRecipeDetail, null);
+
+    verify(repository, never()).deleteRecipeCategories(anyInt());
+    verify(repository, never()).registerRecipeCategories(anyInt(), anyList());
+    verify(categorySearchIndex, never()).putRecipe(anyInt(), anyInt(), anyList());
+    assertThat(actual.getCategories(), is(categories));
+  }
+
   @Test
   void レシピ詳細情報の更新_正常系_既存データの更新_リポジトリメソッドの呼び出しとイメージファイルパスの更新と更新日時の登録が適切に行われていること() {
     Recipe recipe = createMockRecipes(List.of(1)).getFirst();
@@ -199,12 +807,6 @@ class RecipeServiceTest {
     when(fileStorageService.storeFile(any(MultipartFile.class))).thenReturn("testPath");
     when(repository.getIngredients(recipe.getId())).thenReturn(ingredients);
     when(repository.getInstructions(recipe.getId())).thenReturn(instructions);
-    for (Ingredient ingredient : ingredients) {
-      when(repository.getIngredient(ingredient.getId())).thenReturn(ingredient);
-    }
-    for (Instruction instruction : instructions) {
-      when(repository.getInstruction(instruction.getId())).thenReturn(instruction);
-    }
 
     MultipartFile mockFile = mock(MultipartFile.class);
     LocalDateTime testStartedTime = LocalDateTime.now();
@@ -213,15 +815,23 @@ class RecipeServiceTest {
     String actualImagePath = actual.getRecipe().getImagePath();
     LocalDateTime actualUpdatedAt = actual.getRecipe().getUpdatedAt();
 
-    verify(repository, times(2)).getRecipe(recipe.getId());
+    verify(repository, times(1)).getRecipe(recipe.getId());
     verify(repository, times(1)).getIngredients(recipe.getId());
     verify(repository, times(1)).getInstructions(recipe.getId());
-    verify(repository, times(2)).getIngredient(anyInt());
-    verify(repository, times(2)).getInstruction(anyInt());
+    verify(repository, never()).getIngredient(anyInt());
+    verify(repository, never()).getInstruction(anyInt());
     verify(repository, times(1)).updateRecipe(recipe);
-    verify(repository, times(2)).updateIngredient(any(Ingredient.class));
-    verify(repository, times(2)).updateInstruction(any(Instruction.class));
+    verify(repository, times(1)).updateIngredients(recipe.getId(), ingredients);
+    verify(repository, times(1)).updateInstructions(recipe.getId(), instructions);
+    verify(repository, never()).deleteIngredients(anyInt(), anyList());
+    verify(repository, never()).deleteInstructions(anyInt(), anyList());
+    verify(repository, never()).registerIngredients(anyList());
+    verify(repository, never()).registerInstructions(anyList());
     verify(fileStorageService, times(1)).storeFile(any(MultipartFile.class));
+    verify(ingredientSearchIndex, times(1)).putRecipe(recipe.getUserId(), recipe.getId(),
+        ingredients);
+    verify(nutritionSummaryService, times(1)).refresh(inputRecipeDetail);
+    verify(recipeDetailCache, times(1)).evict(recipe.getId());
 
     assertThat(actualImagePath, is("testPath"));
     assertThat(actualUpdatedAt.isAfter(testStartedTime) || actualUpdatedAt.isEqual(testStartedTime),
@@ -235,9 +845,7 @@ class RecipeServiceTest {
     List<Ingredient> existingIngredients = createMockIngredients(List.of(1));
     List<Instruction> existingInstructions = createMockInstructions(List.of(1));
 
-    Ingredient ingredient1 = existingIngredients.get(0);
     Ingredient ingredient2 = existingIngredients.get(1);
-    Instruction instruction1 = existingInstructions.get(0);
     Instruction instruction2 = existingInstructions.get(1);
 
     List<Ingredient> inputIngredients = List.of(existingIngredients.get(0));
@@ -250,13 +858,14 @@ class RecipeServiceTest {
     when(fileStorageService.storeFile(any(MultipartFile.class))).thenReturn("testPath");
     when(repository.getIngredients(recipe.getId())).thenReturn(existingIngredients);
     when(repository.getInstructions(recipe.getId())).thenReturn(existingInstructions);
-    when(repository.getIngredient(ingredient1.getId())).thenReturn(ingredient1);
-    when(repository.getInstruction(instruction1.getId())).thenReturn(instruction1);
 
     sut.updateRecipeDetail(inputRecipeDetail, mockFile);
 
-    verify(repository, times(1)).deleteIngredient(ingredient2.getId());
-    verify(repository, times(1)).deleteInstruction(instruction2.getId());
+    verify(repository, times(1)).deleteIngredients(recipe.getId(), List.of(ingredient2.getId()));
+    verify(repository, times(1)).deleteInstructions(recipe.getId(),
+        List.of(instruction2.getId()));
+    verify(repository, times(1)).updateIngredients(recipe.getId(), inputIngredients);
+    verify(repository, times(1)).updateInstructions(recipe.getId(), inputInstructions);
 
   }
 
@@ -275,13 +884,79 @@ class RecipeServiceTest {
 
     when(repository.getRecipe(recipe.getId())).thenReturn(recipe);
     when(fileStorageService.storeFile(any(MultipartFile.class))).thenReturn("testPath");
-    when(repository.getIngredients(recipe.getId())).thenReturn(inputIngredients);
-    when(repository.getInstructions(recipe.getId())).thenReturn(inputInstructions);
+    when(repository.getIngredients(recipe.getId())).thenReturn(List.of());
+    when(repository.getInstructions(recipe.getId())).thenReturn(List.of());
 
     sut.updateRecipeDetail(inputRecipeDetail, mockFile);
 
-    verify(repository, times(1)).registerIngredient(newIngredient);
-    verify(repository, times(1)).registerInstruction(newInstruction);
+    verify(repository, times(1)).registerIngredients(inputIngredients);
+    verify(repository, times(1)).registerInstructions(inputInstructions);
+    verify(repository, never()).updateIngredients(anyInt(), anyList());
+    verify(repository, never()).updateInstructions(anyInt(), anyList());
+  }
+
+  @Test
+  void レシピ詳細情報の更新_画像を変更した場合にレシピの更新後に元の画像の削除が依頼されること() {
+    Recipe recipe = createMockRecipes(List.of(1)).getFirst();
+    recipe.setImagePath("/uploads/aa/bb/old.png");
+    RecipeDetail inputRecipeDetail = new RecipeDetail(recipe, List.of(), List.of());
+
+    when(repository.getRecipe(recipe.getId())).thenReturn(recipe);
+    when(fileStorageService.storeFile(any(MultipartFile.class)))
+        .thenReturn("/uploads/cc/dd/new.png");
+
+    sut.updateRecipeDetail(inputRecipeDetail, mock(MultipartFile.class));
+
+    InOrder inOrder = inOrder(repository, fileStorageService);
+    inOrder.verify(repository).updateRecipe(recipe);
+    inOrder.verify(fileStorageService).deleteFile("/uploads/aa/bb/old.png");
+  }
+
+  @Test
+  void レシピ詳細情報の更新_同じ内容の画像を指定した場合は画像の削除が依頼されないこと() {
+    Recipe recipe = createMockRecipes(List.of(1)).getFirst();
+    recipe.setImagePath("/uploads/aa/bb/same.png");
+    RecipeDetail inputRecipeDetail = new RecipeDetail(recipe, List.of(), List.of());
+
+    when(repository.getRecipe(recipe.getId())).thenReturn(recipe);
+    when(fileStorageService.storeFile(any(MultipartFile.class)))
+        .thenReturn("/uploads/aa/bb/same.png");
+
+    sut.updateRecipeDetail(inputRecipeDetail, mock(MultipartFile.class));
+
+    verify(fileStorageService, never()).deleteFile(anyString());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 30, 100})
+  void レシピ詳細情報の更新_材料と調理手順の件数にかかわらずリポジトリの呼び出し回数が一定であること(
+      int componentCount) {
+    Recipe recipe = createMockRecipes(List.of(1)).getFirst();
+    List<Ingredient> existingIngredients = IntStream.rangeClosed(1, componentCount * 2)
+        .mapToObj(i -> new Ingredient(i, 1, "材料" + i, "1個", false))
+        .toList();
+    List<Instruction> existingInstructions = IntStream.rangeClosed(1, componentCount * 2)
+        .mapToObj(i -> new Instruction(i, 1, i, "手順" + i, false))
+        .toList();
+    // 既存の半数を更新・残りを削除し、同数を新規に追加する
+    List<Ingredient> inputIngredients = Stream.concat(
+        existingIngredients.stream().limit(componentCount),
+        IntStream.rangeClosed(1, componentCount)
+            .mapToObj(i -> new Ingredient(0, 1, "新しい材料" + i, "1個", false))).toList();
+    List<Instruction> inputInstructions = Stream.concat(
+        existingInstructions.stream().limit(componentCount),
+        IntStream.rangeClosed(1, componentCount)
+            .mapToObj(i -> new Instruction(0, 1, 0, "新しい手順" + i, false))).toList();
+    RecipeDetail inputRecipeDetail = new RecipeDetail(recipe, inputIngredients, inputInstructions);
+
+    when(repository.getRecipe(recipe.getId())).thenReturn(recipe);
+    when(repository.getIngredients(recipe.getId())).thenReturn(existingIngredients);
+    when(repository.getInstructions(recipe.getId())).thenReturn(existingInstructions);
+
+    sut.updateRecipeDetail(inputRecipeDetail, null);
+
+    // 取得3回（レシピ・材料・調理手順）、材料と調理手順の削除・追加・更新を各1回、レシピの更新1回
+    assertThat(mockingDetails(repository).getInvocations(), hasSize(10));
   }
 
   @Test
@@ -303,54 +978,56 @@ class RecipeServiceTest {
   }
 
   @Test
-  void レシピ詳細情報の更新_異常系_存在しない材料IDを指定して更新しようとした場合に例外がスローされること() {
+  void レシピ詳細情報の更新_異常系_レシピに存在しない材料IDを指定して更新しようとした場合に例外がスローされ変更が行われないこと() {
     Recipe recipe = createMockRecipes(List.of(1)).getFirst();
     List<Ingredient> ingredients = createMockIngredients(List.of(1));
     List<Instruction> instructions = createMockInstructions(List.of(1));
+    Ingredient unknownIngredient = new Ingredient(999, 1, "他のレシピの材料", "1個", false);
 
-    RecipeDetail inputRecipeDetail = new RecipeDetail(recipe, ingredients, instructions);
+    RecipeDetail inputRecipeDetail = new RecipeDetail(recipe,
+        List.of(ingredients.get(0), unknownIngredient), instructions);
 
     when(repository.getRecipe(recipe.getId())).thenReturn(recipe);
     when(repository.getIngredients(recipe.getId())).thenReturn(ingredients);
     when(repository.getInstructions(recipe.getId())).thenReturn(instructions);
-    when(repository.getIngredient(anyInt())).thenReturn(null);
 
     ResourceNotFoundException e = assertThrows(ResourceNotFoundException.class,
-        () -> sut.updateRecipeDetail(inputRecipeDetail, any(MultipartFile.class)));
-    assertThat(e.getMessage(), is("材料ID「" + recipe.getId() + "」は存在しません"));
+        () -> sut.updateRecipeDetail(inputRecipeDetail, null));
+    assertThat(e.getMessage(), is("材料ID「999」は存在しません"));
 
     verify(repository, times(1)).getRecipe(recipe.getId());
     verify(repository, times(1)).getIngredients(recipe.getId());
     verify(repository, times(1)).getInstructions(recipe.getId());
-    verify(repository, times(1)).getIngredient(anyInt());
+    verify(repository, never()).getIngredient(anyInt());
+    verify(repository, never()).deleteIngredients(anyInt(), anyList());
+    verify(repository, never()).updateIngredients(anyInt(), anyList());
 
   }
 
   @Test
-  void レシピ詳細情報の更新_異常系_存在しない調理手順IDを指定して更新しようとした場合に例外がスローされること() {
+  void レシピ詳細情報の更新_異常系_レシピに存在しない調理手順IDを指定して更新しようとした場合に例外がスローされること() {
     Recipe recipe = createMockRecipes(List.of(1)).getFirst();
     List<Ingredient> ingredients = createMockIngredients(List.of(1));
     List<Instruction> instructions = createMockInstructions(List.of(1));
+    Instruction unknownInstruction = new Instruction(999, 1, 3, "他のレシピの手順", false);
 
-    RecipeDetail inputRecipeDetail = new RecipeDetail(recipe, ingredients, instructions);
+    RecipeDetail inputRecipeDetail = new RecipeDetail(recipe, ingredients,
+        List.of(instructions.get(0), unknownInstruction));
 
     when(repository.getRecipe(recipe.getId())).thenReturn(recipe);
     when(repository.getIngredients(recipe.getId())).thenReturn(ingredients);
     when(repository.getInstructions(recipe.getId())).thenReturn(instructions);
-    for (Ingredient ingredient : ingredients) {
-      when(repository.getIngredient(ingredient.getId())).thenReturn(ingredient);
-    }
-    when(repository.getInstruction(anyInt())).thenReturn(null);
 
     ResourceNotFoundException e = assertThrows(ResourceNotFoundException.class,
-        () -> sut.updateRecipeDetail(inputRecipeDetail, any(MultipartFile.class)));
-    assertThat(e.getMessage(), is("調理手順ID「" + recipe.getId() + "」は存在しません"));
+        () -> sut.updateRecipeDetail(inputRecipeDetail, null));
+    assertThat(e.getMessage(), is("調理手順ID「999」は存在しません"));
 
     verify(repository, times(1)).getRecipe(recipe.getId());
     verify(repository, times(1)).getIngredients(recipe.getId());
     verify(repository, times(1)).getInstructions(recipe.getId());
-    verify(repository, times(2)).getIngredient(anyInt());
-    verify(repository, times(1)).getInstruction(anyInt());
+    verify(repository, never()).getInstruction(anyInt());
+    verify(repository, never()).deleteInstructions(anyInt(), anyList());
+    verify(repository, never()).updateInstructions(anyInt(), anyList());
 
   }
 
@@ -359,12 +1036,36 @@ class RecipeServiceTest {
     Recipe recipe = createMockRecipes(List.of(1)).getFirst();
     int id = recipe.getId();
     boolean favorite = recipe.isFavorite();
+    User user = createMockUser();
 
-    when(repository.getRecipe(id)).thenReturn(recipe);
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+    when(repository.updateFavoriteStatus(id, user.getId(), favorite)).thenReturn(1);
 
     sut.updateFavoriteStatus(id, favorite);
 
-    verify(repository, times(1)).updateFavoriteStatus(id, favorite);
+    verify(repository, times(1)).updateFavoriteStatus(id, user.getId(), favorite);
+    verify(repository, never()).getRecipe(anyInt());
+    verify(recipeDetailCache, times(1)).evict(id);
+    // ログインユーザーのレシピのみ更新するため、所有者を問い合わせずに検索結果を無効にする
+    verify(recipeSearchCache, times(1)).invalidate(user.getId());
+    assertThat(mockingDetails(repository).getInvocations(), hasSize(1));
+
+  }
+
+  @Test
+  void お気に入りフラグの切替_異常系_存在しないIDを指定した場合に更新件数から例外がスローされること() {
+    int id = 999;
+    User user = createMockUser();
+
+    when(customUserDetailsService.getLoggedInUser()).thenReturn(user);
+    when(repository.updateFavoriteStatus(id, user.getId(), true)).thenReturn(0);
+
+    ResourceNotFoundException e = assertThrows(ResourceNotFoundException.class,
+        () -> sut.updateFavoriteStatus(id, true));
+    assertThat(e.getMessage(), is("レシピID「" + id + "」は存在しません"));
+
+    verify(repository, never()).getRecipe(anyInt());
+    verify(recipeSearchCache, never()).invalidate(anyInt());
 
   }
 
@@ -375,12 +1076,36 @@ class RecipeServiceTest {
     int id = recipe.getId();
 
     when(repository.getRecipe(id)).thenReturn(recipe);
+    when(repository.deleteRecipe(id)).thenReturn(1);
 
     sut.deleteRecipe(id);
 
-    verify(repository, times(2)).getRecipe(id);
+    verify(repository, times(1)).getRecipe(id);
     verify(repository, times(1)).deleteRecipe(id);
     verify(fileStorageService, times(1)).deleteFile(recipe.getImagePath());
+    verify(ingredientSearchIndex, times(1)).removeRecipe(id);
+    verify(categorySearchIndex, times(1)).removeRecipe(id);
+    verify(recipeDetailCache, times(1)).evict(id);
+    verify(recipeSearchCache, times(1)).invalidate(recipe.getUserId());
+    assertThat(mockingDetails(repository).getInvocations(), hasSize(2));
+
+  }
+
+  @Test
+  void レシピの削除_異常系_取得後に削除済みとなった場合に例外がスローされ画像ファイルが削除されないこと() {
+    Recipe recipe = createMockRecipes(List.of(1)).getFirst();
+    recipe.setImagePath("/uploads/test");
+    int id = recipe.getId();
+
+    when(repository.getRecipe(id)).thenReturn(recipe);
+    when(repository.deleteRecipe(id)).thenReturn(0);
+
+    ResourceNotFoundException e = assertThrows(ResourceNotFoundException.class,
+        () -> sut.deleteRecipe(id));
+    assertThat(e.getMessage(), is("レシピID「" + id + "」は存在しません"));
+
+    verify(fileStorageService, never()).deleteFile(anyString());
+    verify(ingredientSearchIndex, never()).removeRecipe(anyInt());
 
   }
 
@@ -402,65 +1127,99 @@ class RecipeServiceTest {
 
   @Test
   void 材料の削除_正常系_IDに紐づく材料削除メソッドが実行されること() {
-    Ingredient ingredient = new Ingredient();
     int id = 1;
-    ingredient.setId(id);
+    Recipe recipe = createMockRecipes(List.of(2)).getFirst();
+    recipe.setUserId(3);
 
-    when(repository.getIngredient(id)).thenReturn(ingredient);
+    when(repository.getRecipeByIngredientId(id)).thenReturn(recipe);
+    when(repository.deleteIngredient(id)).thenReturn(1);
 
     sut.deleteIngredient(id);
 
-    verify(repository, times(1)).getIngredient(id);
+    verify(repository, times(1)).getRecipeByIngredientId(id);
+    verify(repository, never()).getIngredient(anyInt());
+    verify(repository, never()).getRecipe(anyInt());
     verify(repository, times(1)).deleteIngredient(id);
+    verify(repository, times(1)).incrementRecipeVersion(2);
+    verify(nutritionSummaryService, times(1)).refresh(recipe);
+    verify(ingredientSearchIndex, times(1)).removeIngredient(2, id);
+    verify(recipeDetailCache, times(1)).evict(2);
+    // ログインユーザーではなく、レシピの所有者の検索結果を無効にする
+    verify(recipeSearchCache, times(1)).invalidate(3);
+    verifyNoInteractions(customUserDetailsService);
 
   }
 
   @Test
   void 材料の削除_異常系_存在しないIDを指定した場合に例外がスローされること() {
-    Ingredient ingredient = new Ingredient();
     int id = 999;
-    ingredient.setId(id);
 
-    when(repository.getIngredient(id)).thenReturn(null);
+    when(repository.getRecipeByIngredientId(id)).thenReturn(null);
 
     ResourceNotFoundException e = assertThrows(ResourceNotFoundException.class,
         () -> sut.deleteIngredient(id));
     assertThat(e.getMessage(), is("材料ID「" + id + "」は存在しません"));
 
-    verify(repository, times(1)).getIngredient(id);
+    verify(repository, times(1)).getRecipeByIngredientId(id);
     verify(repository, never()).deleteIngredient(id);
+    verify(ingredientSearchIndex, never()).removeIngredient(anyInt(), anyInt());
+
+  }
+
+  @Test
+  void 材料の削除_異常系_取得後に他のリクエストで削除された場合にバージョン番号と集計を更新せず例外がスローされること() {
+    int id = 1;
+
+    when(repository.getRecipeByIngredientId(id))
+        .thenReturn(createMockRecipes(List.of(2)).getFirst());
+    when(repository.deleteIngredient(id)).thenReturn(0);
+
+    ResourceNotFoundException e = assertThrows(ResourceNotFoundException.class,
+        () -> sut.deleteIngredient(id));
+    assertThat(e.getMessage(), is("材料ID「" + id + "」は存在しません"));
+
+    verify(repository, never()).incrementRecipeVersion(anyInt());
+    verify(nutritionSummaryService, never()).refresh(any(Recipe.class));
+    verify(ingredientSearchIndex, never()).removeIngredient(anyInt(), anyInt());
+    verify(recipeDetailCache, never()).evict(anyInt());
 
   }
 
   @Test
   void 調理手順の削除_正常系_IDに紐づく調理手順削除メソッドが実行されること() {
-    Instruction instruction = new Instruction();
     int id = 1;
-    instruction.setId(id);
+    Recipe recipe = createMockRecipes(List.of(2)).getFirst();
+    recipe.setUserId(3);
 
-    when(repository.getInstruction(id)).thenReturn(instruction);
+    when(repository.getRecipeByInstructionId(id)).thenReturn(recipe);
+    when(repository.deleteInstruction(id)).thenReturn(1);
 
     sut.deleteInstruction(id);
 
-    verify(repository, times(1)).getInstruction(id);
+    verify(repository, times(1)).getRecipeByInstructionId(id);
     verify(repository, times(1)).deleteInstruction(id);
+    verify(repository, times(1)).incrementRecipeVersion(2);
+    verify(recipeDetailCache, times(1)).evict(2);
+    // ログインユーザーではなく、レシピの所有者の検索結果を無効にする
+    verify(recipeSearchCache, times(1)).invalidate(3);
+    verifyNoInteractions(customUserDetailsService);
+    assertThat(mockingDetails(repository).getInvocations(), hasSize(3));
 
   }
 
   @Test
   void 調理手順の削除_異常系_存在しないIDを指定した場合に例外がスローされること() {
-    Instruction instruction = new Instruction();
     int id = 999;
-    instruction.setId(id);
 
-    when(repository.getInstruction(id)).thenReturn(null);
+    when(repository.getRecipeByInstructionId(id)).thenReturn(null);
 
     ResourceNotFoundException e = assertThrows(ResourceNotFoundException.class,
         () -> sut.deleteInstruction(id));
     assertThat(e.getMessage(), is("調理手順ID「" + id + "」は存在しません"));
 
-    verify(repository, times(1)).getInstruction(id);
+    verify(repository, times(1)).getRecipeByInstructionId(id);
     verify(repository, never()).deleteInstruction(id);
+    verify(recipeDetailCache, never()).evict(anyInt());
 
   }
 
@@ -475,6 +1234,15 @@ class RecipeServiceTest {
     return user;
   }
 
+  /**
+   * テスト用のレシピの位置（作成日時なし）の一覧を作成するメソッドです。
+   *
+   * @return レシピの位置の一覧
+   */
+  private List<RecipeCursor> positionsOf(List<Integer> ids) {
+    return ids.stream().map(id -> new RecipeCursor(null, id)).toList();
+  }
+
   /**
    * テスト用のサンプルレシピ一覧を作成するメソッドです。
    *
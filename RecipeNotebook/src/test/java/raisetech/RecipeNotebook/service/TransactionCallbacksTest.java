@@ -0,0 +1,78 @@
+package raisetech.RecipeNotebook.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class TransactionCallbacksTest {
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void トランザクション外の場合はすぐに実行されること() {
+    AtomicInteger count = new AtomicInteger();
+
+    TransactionCallbacks.afterCommitOrNow(count::incrementAndGet);
+    TransactionCallbacks.nowAndAfterCommit(count::incrementAndGet);
+
+    assertThat(count.get(), is(2));
+    assertThat(TransactionCallbacks.afterCommit(count::incrementAndGet), is(false));
+    assertThat(count.get(), is(2));
+  }
+
+  @Test
+  void トランザクション中の場合はコミット後に実行されること() {
+    AtomicInteger count = new AtomicInteger();
+    TransactionSynchronizationManager.initSynchronization();
+
+    TransactionCallbacks.afterCommitOrNow(count::incrementAndGet);
+    assertThat(count.get(), is(0));
+
+    commit();
+    assertThat(count.get(), is(1));
+  }
+
+  @Test
+  void すぐに実行する処理はトランザクション中の場合にコミット後にも実行されること() {
+    AtomicInteger count = new AtomicInteger();
+    TransactionSynchronizationManager.initSynchronization();
+
+    TransactionCallbacks.nowAndAfterCommit(count::incrementAndGet);
+    assertThat(count.get(), is(1));
+
+    commit();
+    assertThat(count.get(), is(2));
+  }
+
+  @Test
+  void 完了後の処理にトランザクションの完了状態が渡されること() {
+    AtomicInteger status = new AtomicInteger(-1);
+
+    TransactionCallbacks.afterCompletionOrNow(status::set);
+    assertThat(status.get(), is(TransactionSynchronization.STATUS_COMMITTED));
+
+    TransactionSynchronizationManager.initSynchronization();
+    TransactionCallbacks.afterCompletionOrNow(status::set);
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(synchronization -> synchronization.afterCompletion(
+            TransactionSynchronization.STATUS_ROLLED_BACK));
+
+    assertThat(status.get(), is(TransactionSynchronization.STATUS_ROLLED_BACK));
+  }
+
+  private void commit() {
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+  }
+
+}
@@ -0,0 +1,82 @@
+package raisetech.RecipeNotebook.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import raisetech.RecipeNotebook.service.UploadedFileService.UploadedFile;
+
+class UploadedFileServiceTest {
+
+  @TempDir
+  Path uploadDir;
+
+  private UploadedFileService sut;
+
+  @BeforeEach
+  void before() {
+    sut = new UploadedFileService(new SimpleMeterRegistry(), uploadDir.toString() + "/", 100,
+        Duration.ofMinutes(5));
+  }
+
+  @Test
+  void ファイルの情報を取得し2回目以降はキャッシュした情報が返ること() throws Exception {
+    Path file = createFile("ab/cd/abcd.png", "0123456789");
+
+    UploadedFile actual = sut.find("ab/cd/abcd.png");
+
+    assertThat(actual.path(), is(file.toAbsolutePath().normalize()));
+    assertThat(actual.size(), is(10L));
+    assertThat(actual.lastModified(), is(Files.getLastModifiedTime(file).toMillis()));
+    assertThat(actual.contentType(), is(MediaType.IMAGE_PNG));
+    assertThat(actual.eTag().matches("\"a-[0-9a-f]+\""), is(true));
+    assertThat(sut.find("ab/cd/abcd.png"), is(sameInstance(actual)));
+  }
+
+  @Test
+  void 存在しないファイルの情報はキャッシュされず作成後に取得できること() throws Exception {
+    assertThat(sut.find("renditions/thumbnail/abcd.jpg"), is(nullValue()));
+
+    createFile("renditions/thumbnail/abcd.jpg", "thumbnail");
+
+    assertThat(sut.find("renditions/thumbnail/abcd.jpg").contentType(),
+        is(MediaType.IMAGE_JPEG));
+  }
+
+  @Test
+  void キャッシュから削除した場合にファイルの情報が取得し直されること() throws Exception {
+    createFile("ab/cd/abcd.png", "0123456789");
+    UploadedFile before = sut.find("ab/cd/abcd.png");
+
+    sut.evict("ab/cd/abcd.png");
+    Files.delete(before.path());
+
+    assertThat(sut.find("ab/cd/abcd.png"), is(nullValue()));
+  }
+
+  @Test
+  void アップロードディレクトリの外やディレクトリを指すパスの場合にnullが返ること() throws Exception {
+    createFile("ab/cd/abcd.png", "0123456789");
+
+    assertThat(sut.find("../outside.png"), is(nullValue()));
+    assertThat(sut.find("ab/cd"), is(nullValue()));
+    assertThat(sut.find(""), is(nullValue()));
+  }
+
+  private Path createFile(String relativePath, String content) throws Exception {
+    Path file = uploadDir.resolve(relativePath);
+    Files.createDirectories(file.getParent());
+    return Files.writeString(file, content, StandardCharsets.UTF_8);
+  }
+
+}
@@ -19,3 +19,24 @@ VALUES
 (1, 3, '卵液を1/3くらいフライパンに入れて焼き、巻く', TRUE), (1, 4, '3の手順を繰り返して完成', FALSE),
 (2, 1, 'フライパンに油をたらし、火にかける', FALSE), (2, 2, 'フライパンに卵を割り入れる', FALSE),
 (2, 3, '少し焼けたら水を入れ、ふたをして5分、弱火にかけて完成', FALSE);
+
+INSERT INTO categories (name)
+VALUES ('主菜'), ('副菜'), ('デザート'), ('和食'), ('洋食'), ('ヘルシー');
+
+INSERT INTO recipe_categories (recipe_id, category_id)
+VALUES (1, 2), (1, 4), (2, 1);
+
+INSERT INTO nutrition_facts (food_category, food_number, index_number, name, kcal, protein, fat, carbohydrates, sce)
+VALUES
+('03', '03003', '0279', '（砂糖類）　車糖　上白糖', 391, 0, 0, 99.3, 0),
+('06', '06153', '0633', '（たまねぎ類）　たまねぎ　りん茎　生', 33, 1.0, 0.1, 8.4, 0),
+('06', '06156', '0638', '（たまねぎ類）　赤たまねぎ　りん茎　生', 34, 0.9, 0.1, 9.0, 0),
+('12', '12004', '1926', '鶏卵　全卵　生', 142, 12.2, 10.2, 0.4, 0.4),
+('12', '12005', '1927', '鶏卵　全卵　ゆで', 134, 12.5, 10.4, 0.3, 0.3),
+('14', '14006', '2012', '（植物油脂類）　調合油', 886, 0, 100, 0, 0),
+('17', '17007', '2291', '＜調味料類＞　（しょうゆ類）　こいくちしょうゆ', 76, 7.7, 0, 7.9, 14.5);
+
+INSERT INTO recipe_nutrition (recipe_id, servings, kcal, protein, fat, carbohydrates, salt_equivalent, serving_kcal, serving_protein, complete, calculated_at)
+VALUES
+(1, 2, 255.0, 19.0, 15.3, 10.2, 1.9, 127.5, 9.5, TRUE, '2024-10-22 17:00:00'),
+(2, 1, 71.0, 6.1, 5.1, 0.2, 0.2, 71.0, 6.1, FALSE, '2024-10-23 17:00:00');
@@ -21,10 +21,15 @@ CREATE TABLE recipes (
   favorite BOOLEAN NOT NULL DEFAULT FALSE,
   created_at DATETIME,
   updated_at DATETIME,
+  version INT NOT NULL DEFAULT 0,
   PRIMARY KEY(id),
   FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+CREATE INDEX idx_recipes_user_id_created_at_id ON recipes (user_id, created_at, id);
+CREATE INDEX idx_recipes_user_id_updated_at ON recipes (user_id, updated_at);
+CREATE INDEX idx_recipes_image_path ON recipes (image_path);
+
 CREATE TABLE ingredients (
   id INT NOT NULL AUTO_INCREMENT,
   recipe_id INT NOT NULL,
@@ -44,3 +49,51 @@ CREATE TABLE instructions (
   PRIMARY KEY(id),
   FOREIGN KEY (recipe_id) REFERENCES recipes(id) ON DELETE CASCADE
 );
+
+CREATE TABLE categories (
+  id INT NOT NULL AUTO_INCREMENT,
+  name VARCHAR(255) NOT NULL,
+  PRIMARY KEY(id)
+);
+
+CREATE TABLE recipe_categories (
+  recipe_id INT NOT NULL,
+  category_id INT NOT NULL,
+  PRIMARY KEY(recipe_id, category_id),
+  FOREIGN KEY (recipe_id) REFERENCES recipes(id) ON DELETE CASCADE,
+  FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_recipe_categories_category_id_recipe_id ON recipe_categories (category_id, recipe_id);
+
+CREATE TABLE nutrition_facts (
+  food_category VARCHAR(255) NOT NULL,
+  food_number VARCHAR(255) NOT NULL,
+  index_number VARCHAR(255) NOT NULL,
+  name VARCHAR(255) NOT NULL,
+  kcal DECIMAL(10,1) NOT NULL,
+  protein DECIMAL(10,1),
+  fat DECIMAL(10,1),
+  carbohydrates DECIMAL(10,1),
+  sce DECIMAL(10,1),
+  PRIMARY KEY(food_number)
+);
+
+CREATE TABLE recipe_nutrition (
+  recipe_id INT NOT NULL,
+  servings DECIMAL(5,1),
+  kcal DECIMAL(10,1) NOT NULL,
+  protein DECIMAL(10,1) NOT NULL,
+  fat DECIMAL(10,1) NOT NULL,
+  carbohydrates DECIMAL(10,1) NOT NULL,
+  salt_equivalent DECIMAL(10,1) NOT NULL,
+  serving_kcal DECIMAL(10,1) NOT NULL,
+  serving_protein DECIMAL(10,1) NOT NULL,
+  complete BOOLEAN NOT NULL,
+  calculated_at DATETIME(6) NOT NULL,
+  PRIMARY KEY(recipe_id),
+  FOREIGN KEY (recipe_id) REFERENCES recipes(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_recipe_nutrition_serving_kcal ON recipe_nutrition (serving_kcal);
+CREATE INDEX idx_recipe_nutrition_serving_protein ON recipe_nutrition (serving_protein);